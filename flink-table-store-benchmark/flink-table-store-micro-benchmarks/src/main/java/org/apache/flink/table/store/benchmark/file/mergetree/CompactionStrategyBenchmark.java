@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.benchmark.file.mergetree;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.BinaryRowWriter;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+import org.apache.flink.table.store.file.mergetree.compact.AbstractCompactRewriter;
+import org.apache.flink.table.store.file.mergetree.compact.CompactStrategy;
+import org.apache.flink.table.store.file.mergetree.compact.LeveledCompaction;
+import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactManager;
+import org.apache.flink.table.store.file.mergetree.compact.UniversalCompaction;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation benchmark comparing the write amplification of compaction strategies on the same
+ * workload.
+ *
+ * <p>The real {@link MergeTreeCompactManager} and {@link CompactStrategy}s are used, but files are
+ * only simulated by the sorted keys they contain, so no data is read or written. Each record has
+ * the same size, and the write buffer deduplicates keys before flushing. Compactions are run until
+ * the strategy picks nothing after each flush, as if compaction always keeps up with writing.
+ *
+ * <p>The write amplification is reported as the auxiliary counter {@code writeAmplification}, which
+ * is the number of bytes written by flushes and compactions divided by the number of bytes written
+ * by flushes. Upgraded files are not counted, as they are not rewritten.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class CompactionStrategyBenchmark {
+
+    private static final Comparator<InternalRow> COMPARATOR =
+            Comparator.comparingInt(o -> o.getInt(0));
+
+    private static final int RECORD_SIZE = 100;
+    private static final int NUM_KEYS = 10_000_000;
+    private static final int RECORDS_PER_FLUSH = 100_000;
+    private static final int NUM_FLUSHES = 500;
+    // skewed workload: 90% of the updates go to a hot key range of 1% of the keys
+    private static final double HOT_KEY_RATIO = 0.01;
+    private static final double HOT_UPDATE_RATIO = 0.9;
+
+    private static final long TARGET_FILE_SIZE = 8 * 1024 * 1024;
+    private static final int NUM_SORTED_RUN_COMPACTION_TRIGGER = 5;
+    private static final int NUM_LEVELS = NUM_SORTED_RUN_COMPACTION_TRIGGER + 1;
+    private static final long BASE_LEVEL_SIZE = 64 * 1024 * 1024;
+    private static final int LEVEL_SIZE_MULTIPLIER = 10;
+
+    @Param({"universal", "leveled"})
+    private String strategy;
+
+    @Param({"uniform", "skewed"})
+    private String workload;
+
+    private ExecutorService service;
+    private SimulatedRewriter rewriter;
+    private MergeTreeCompactManager compactManager;
+    private Random random;
+    private long sequenceNumber;
+    private long fileCount;
+
+    public static void main(String[] args) throws Exception {
+        Options opt =
+                new OptionsBuilder()
+                        .verbosity(VerboseMode.NORMAL)
+                        .include(".*" + CompactionStrategyBenchmark.class.getCanonicalName() + ".*")
+                        .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = Executors.newSingleThreadExecutor();
+        rewriter = new SimulatedRewriter();
+        compactManager =
+                new MergeTreeCompactManager(
+                        service,
+                        new Levels(COMPARATOR, Collections.emptyList(), NUM_LEVELS),
+                        createStrategy(),
+                        COMPARATOR,
+                        TARGET_FILE_SIZE,
+                        Integer.MAX_VALUE,
+                        rewriter);
+        // the same workload for all strategies
+        random = new Random(42);
+        sequenceNumber = 0;
+        fileCount = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        service.shutdownNow();
+    }
+
+    @Benchmark
+    public void simulate(WriteAmplification counters) throws Exception {
+        BitSet liveKeys = new BitSet(NUM_KEYS);
+        long flushedBytes = 0;
+        long maxCompactedBytes = 0;
+        for (int i = 0; i < NUM_FLUSHES; i++) {
+            int[] keys = nextBatch();
+            for (int key : keys) {
+                liveKeys.set(key);
+            }
+            DataFileMeta file = rewriter.newFile(0, keys);
+            flushedBytes += file.fileSize();
+            compactManager.addNewFile(file);
+
+            Optional<CompactResult> result;
+            do {
+                compactManager.triggerCompaction(false);
+                result = compactManager.getCompactionResult(true);
+                maxCompactedBytes = Math.max(maxCompactedBytes, rewriter.lastWrittenBytes);
+            } while (result.isPresent());
+        }
+
+        long totalBytes =
+                compactManager.levels().allFiles().stream().mapToLong(DataFileMeta::fileSize).sum();
+        counters.flushedMb = flushedBytes >> 20;
+        counters.compactedMb = rewriter.writtenBytes >> 20;
+        counters.maxCompactionMb = maxCompactedBytes >> 20;
+        counters.writeAmplification =
+                (double) (flushedBytes + rewriter.writtenBytes) / flushedBytes;
+        counters.spaceAmplification =
+                (double) totalBytes / ((long) liveKeys.cardinality() * RECORD_SIZE);
+        counters.sortedRuns = compactManager.levels().numberOfSortedRuns();
+    }
+
+    private CompactStrategy createStrategy() {
+        switch (strategy) {
+            case "universal":
+                return new UniversalCompaction(
+                        200, 1, NUM_SORTED_RUN_COMPACTION_TRIGGER, Integer.MAX_VALUE);
+            case "leveled":
+                return new LeveledCompaction(
+                        COMPARATOR,
+                        NUM_SORTED_RUN_COMPACTION_TRIGGER,
+                        BASE_LEVEL_SIZE,
+                        LEVEL_SIZE_MULTIPLIER);
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + strategy);
+        }
+    }
+
+    /** Generates the sorted and deduplicated keys of a flushed write buffer. */
+    private int[] nextBatch() {
+        int hotKeys = (int) (NUM_KEYS * HOT_KEY_RATIO);
+        int[] keys = new int[RECORDS_PER_FLUSH];
+        for (int i = 0; i < keys.length; i++) {
+            if ("skewed".equals(workload) && random.nextDouble() < HOT_UPDATE_RATIO) {
+                keys[i] = random.nextInt(hotKeys);
+            } else {
+                keys[i] = random.nextInt(NUM_KEYS);
+            }
+        }
+        Arrays.sort(keys);
+        return distinct(keys, keys.length);
+    }
+
+    private static int[] distinct(int[] sorted, int length) {
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || sorted[size - 1] != sorted[i]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    /** Write amplification of a simulation. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteAmplification {
+
+        public long flushedMb;
+        public long compactedMb;
+        public long maxCompactionMb;
+        public double writeAmplification;
+        public double spaceAmplification;
+        public int sortedRuns;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            flushedMb = 0;
+            compactedMb = 0;
+            maxCompactionMb = 0;
+            writeAmplification = 0;
+            spaceAmplification = 0;
+            sortedRuns = 0;
+        }
+    }
+
+    /** A rewriter which merges the keys of simulated files and counts the written bytes. */
+    private class SimulatedRewriter extends AbstractCompactRewriter {
+
+        private final Map<String, int[]> keys = new ConcurrentHashMap<>();
+        private volatile long writtenBytes;
+        private volatile long lastWrittenBytes;
+
+        @Override
+        public CompactResult rewrite(
+                int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) {
+            List<DataFileMeta> before = extractFilesFromSections(sections);
+            int[] merged = new int[0];
+            for (List<SortedRun> section : sections) {
+                for (SortedRun run : section) {
+                    merged = union(merged, concat(run.files()));
+                }
+            }
+            before.forEach(file -> keys.remove(file.fileName()));
+
+            List<DataFileMeta> after = new ArrayList<>();
+            lastWrittenBytes = 0;
+            int recordsPerFile = (int) (TARGET_FILE_SIZE / RECORD_SIZE);
+            for (int start = 0; start < merged.length; start += recordsPerFile) {
+                int end = Math.min(merged.length, start + recordsPerFile);
+                DataFileMeta file = newFile(outputLevel, Arrays.copyOfRange(merged, start, end));
+                writtenBytes += file.fileSize();
+                lastWrittenBytes += file.fileSize();
+                after.add(file);
+            }
+            return new CompactResult(before, after);
+        }
+
+        private DataFileMeta newFile(int level, int[] fileKeys) {
+            String fileName = "data-" + fileCount++;
+            keys.put(fileName, fileKeys);
+            return new DataFileMeta(
+                    fileName,
+                    (long) fileKeys.length * RECORD_SIZE,
+                    fileKeys.length,
+                    row(fileKeys[0]),
+                    row(fileKeys[fileKeys.length - 1]),
+                    DataFileMeta.EMPTY_KEY_STATS,
+                    DataFileMeta.EMPTY_KEY_STATS,
+                    sequenceNumber,
+                    sequenceNumber++,
+                    0,
+                    level);
+        }
+
+        /** Files of a sorted run are sorted and not overlapping. */
+        private int[] concat(List<DataFileMeta> files) {
+            int length = 0;
+            for (DataFileMeta file : files) {
+                length += keys.get(file.fileName()).length;
+            }
+            int[] result = new int[length];
+            int pos = 0;
+            for (DataFileMeta file : files) {
+                int[] fileKeys = keys.get(file.fileName());
+                System.arraycopy(fileKeys, 0, result, pos, fileKeys.length);
+                pos += fileKeys.length;
+            }
+            return result;
+        }
+
+        private int[] union(int[] a, int[] b) {
+            int[] result = new int[a.length + b.length];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < a.length || j < b.length) {
+                int next;
+                if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                    next = a[i++];
+                } else {
+                    next = b[j++];
+                }
+                if (size == 0 || result[size - 1] != next) {
+                    result[size++] = next;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+    }
+
+    private static BinaryRow row(int key) {
+        BinaryRow row = new BinaryRow(1);
+        BinaryRowWriter writer = new BinaryRowWriter(row);
+        writer.writeInt(0, key);
+        writer.complete();
+        return row;
+    }
+}
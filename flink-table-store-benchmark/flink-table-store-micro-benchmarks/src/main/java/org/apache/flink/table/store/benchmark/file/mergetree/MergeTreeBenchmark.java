@@ -100,6 +100,9 @@ public class MergeTreeBenchmark {
     @Param({"avro", "orc", "parquet"})
     protected String format;
 
+    @Param({"min-heap", "loser-tree"})
+    protected String sortEngine;
+
     protected ExecutorService service;
     protected File file;
     protected Comparator<InternalRow> comparator;
@@ -134,6 +137,7 @@ public class MergeTreeBenchmark {
 
     private RecordWriter<KeyValue> recreateMergeTree(
             Configuration configuration, Path path, FileStorePathFactory pathFactory) {
+        configuration.setString(CoreOptions.SORT_ENGINE.key(), sortEngine);
         options = new CoreOptions(configuration);
         RowType keyType = new RowType(singletonList(new DataField(0, "k", new IntType())));
         RowType valueType = new RowType(singletonList(new DataField(1, "v", new IntType())));
@@ -296,7 +300,8 @@ public class MergeTreeBenchmark {
                                     dropDelete,
                                     compactReaderFactory,
                                     comparator,
-                                    DeduplicateMergeFunction.factory().create())));
+                                    DeduplicateMergeFunction.factory().create(),
+                                    options.sortEngine())));
             writer.close();
             return new CompactResult(extractFilesFromSections(sections), writer.result());
         }
@@ -100,7 +100,8 @@ public class MergeTreeReaderBenchmark extends MergeTreeBenchmark {
                         true,
                         readerFactory,
                         comparator,
-                        DeduplicateMergeFunction.factory().create())) {
+                        DeduplicateMergeFunction.factory().create(),
+                        options.sortEngine())) {
             long sum = 0;
             try (RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(reader)) {
                 while (iterator.hasNext()) {
@@ -20,15 +20,16 @@ package org.apache.flink.table.store.fs;
 
 import org.apache.flink.table.store.fs.local.LocalFileIO;
 import org.apache.flink.table.store.options.CatalogOptions;
+import org.apache.flink.table.store.utils.IOUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -162,6 +163,15 @@ public interface FileIO extends Serializable {
         }
     }
 
+    /** Read all bytes of a file. */
+    default byte[] readFileBytes(Path path) throws IOException {
+        try (SeekableInputStream in = newInputStream(path)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IOUtils.copyBytes(in, out, 4096, false);
+            return out.toByteArray();
+        }
+    }
+
     /**
      * Write content to one file atomically, initially writes to temp hidden file and only renames
      * to the target file once temp file is closed.
@@ -169,6 +179,15 @@ public interface FileIO extends Serializable {
      * @return false if target file exists
      */
     default boolean writeFileUtf8(Path path, String content) throws IOException {
+        return writeFileBytes(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write bytes to one file atomically, see {@link #writeFileUtf8}.
+     *
+     * @return false if target file exists
+     */
+    default boolean writeFileBytes(Path path, byte[] content) throws IOException {
         if (exists(path)) {
             return false;
         }
@@ -177,9 +196,8 @@ public interface FileIO extends Serializable {
         boolean success = false;
         try {
             try (PositionOutputStream out = newOutputStream(tmp, false)) {
-                OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-                writer.write(content);
-                writer.flush();
+                out.write(content);
+                out.flush();
             }
 
             success = rename(tmp, path);
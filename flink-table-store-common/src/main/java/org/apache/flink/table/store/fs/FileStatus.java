@@ -43,4 +43,11 @@ public interface FileStatus {
      * @return the corresponding Path to the FileStatus
      */
     Path getPath();
+
+    /**
+     * Get the last modification time of the file.
+     *
+     * @return the time of last modification of the file, in milliseconds since January 1, 1970 UTC
+     */
+    long getModificationTime();
 }
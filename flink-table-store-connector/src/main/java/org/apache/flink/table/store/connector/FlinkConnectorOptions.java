@@ -66,6 +66,30 @@ public class FlinkConnectorOptions {
                                     + "By default, if this option is not defined, the planner will derive the parallelism "
                                     + "for each statement individually by also considering the global configuration.");
 
+    public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+            ConfigOptions.key("lookup.async")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to enable async lookup join. Keys are looked up in batches and "
+                                    + "new snapshots are loaded in background, without blocking the join.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_MAX_BATCH_SIZE =
+            ConfigOptions.key("lookup.async.max-batch-size")
+                    .intType()
+                    .defaultValue(128)
+                    .withDescription(
+                            "The max number of keys looked up in one batch by async lookup join.");
+
+    public static final ConfigOption<String> LOOKUP_DYNAMIC_PARTITION =
+            ConfigOptions.key("lookup.dynamic-partition")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Specific dynamic partition for lookup join of partitioned table, only "
+                                    + "'max_pt()' is supported currently, which loads only the "
+                                    + "greatest partition and switches to a new one once it shows up.");
+
     @Internal
     public static List<ConfigOption<?>> getOptions() {
         final Field[] fields = FlinkConnectorOptions.class.getFields();
@@ -221,5 +221,10 @@ public class FlinkFileIO implements FileIO {
         public Path getPath() {
             return new Path(status.getPath().toUri());
         }
+
+        @Override
+        public long getModificationTime() {
+            return status.getModificationTime();
+        }
     }
 }
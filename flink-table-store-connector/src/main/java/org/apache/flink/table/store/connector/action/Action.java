@@ -99,6 +99,8 @@ public interface Action {
         // supported actions
         private static final String COMPACT = "compact";
         private static final String DROP_PARTITION = "drop-partition";
+        private static final String REMOVE_ORPHAN_FILES = "remove-orphan-files";
+        private static final String RESCALE_BUCKET = "rescale-bucket";
 
         public static Optional<Action> create(String[] args) {
             String action = args[0].toLowerCase();
@@ -109,6 +111,10 @@ public interface Action {
                     return CompactAction.create(actionArgs);
                 case DROP_PARTITION:
                     return DropPartitionAction.create(actionArgs);
+                case REMOVE_ORPHAN_FILES:
+                    return RemoveOrphanFilesAction.create(actionArgs);
+                case RESCALE_BUCKET:
+                    return RescaleBucketAction.create(actionArgs);
                 default:
                     System.err.println("Unknown action \"" + action + "\"");
                     printHelp();
@@ -123,6 +129,8 @@ public interface Action {
             System.out.println("Available actions:");
             System.out.println("  " + COMPACT);
             System.out.println("  " + DROP_PARTITION);
+            System.out.println("  " + REMOVE_ORPHAN_FILES);
+            System.out.println("  " + RESCALE_BUCKET);
             System.out.println();
 
             System.out.println("For detailed options of each action, run <action> --help");
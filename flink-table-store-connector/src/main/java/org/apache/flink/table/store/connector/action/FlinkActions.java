@@ -35,6 +35,14 @@ public class FlinkActions {
         return new CompactAction(tablePath);
     }
 
+    public static RemoveOrphanFilesAction removeOrphanFiles(Path tablePath) {
+        return new RemoveOrphanFilesAction(tablePath);
+    }
+
+    public static RescaleBucketAction rescaleBucket(Path tablePath) {
+        return new RescaleBucketAction(tablePath);
+    }
+
     // ------------------------------------------------------------------------
     //  Flink run methods
     // ------------------------------------------------------------------------
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.action;
+
+import org.apache.flink.api.java.utils.MultipleParameterTool;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.connector.FlinkUtils;
+import org.apache.flink.table.store.file.operation.OrphanFilesClean;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.options.Options;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
+import org.apache.flink.util.TimeUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.flink.table.store.connector.action.Action.getTablePath;
+
+/** Table remove orphan files action for Flink. */
+public class RemoveOrphanFilesAction implements Action {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoveOrphanFilesAction.class);
+
+    private final OrphanFilesClean clean;
+
+    RemoveOrphanFilesAction(Path tablePath) {
+        Options tableOptions = new Options();
+        tableOptions.set(CoreOptions.PATH, tablePath.toString());
+        FileStoreTable table =
+                FileStoreTableFactory.create(
+                        FlinkUtils.catalogOptions(
+                                tableOptions.toMap(),
+                                StreamExecutionEnvironment.getExecutionEnvironment()
+                                        .getConfiguration()));
+        this.clean = table.store().newOrphanFilesClean();
+    }
+
+    // ------------------------------------------------------------------------
+    //  Java API
+    // ------------------------------------------------------------------------
+
+    /** Only removes orphan files which are older than the given duration, 1 day by default. */
+    public RemoveOrphanFilesAction olderThan(Duration olderThan) {
+        clean.olderThan(System.currentTimeMillis() - olderThan.toMillis());
+        return this;
+    }
+
+    /** Number of threads to list directories, read manifests and delete files. */
+    public RemoveOrphanFilesAction withParallelism(int parallelism) {
+        clean.withThreadNum(parallelism);
+        return this;
+    }
+
+    // ------------------------------------------------------------------------
+    //  Flink run methods
+    // ------------------------------------------------------------------------
+
+    public static Optional<Action> create(String[] args) {
+        LOG.info("Remove orphan files job args: {}", String.join(" ", args));
+
+        MultipleParameterTool params = MultipleParameterTool.fromArgs(args);
+
+        if (params.has("help")) {
+            printHelp();
+            return Optional.empty();
+        }
+
+        Path tablePath = getTablePath(params);
+
+        if (tablePath == null) {
+            return Optional.empty();
+        }
+
+        RemoveOrphanFilesAction action = new RemoveOrphanFilesAction(tablePath);
+
+        if (params.has("older-than")) {
+            action.olderThan(TimeUtils.parseDuration(params.get("older-than")));
+        }
+
+        if (params.has("parallelism")) {
+            action.withParallelism(Integer.parseInt(params.get("parallelism")));
+        }
+
+        return Optional.of(action);
+    }
+
+    private static void printHelp() {
+        System.out.println(
+                "Action \"remove-orphan-files\" removes files which are not referenced by any snapshot of a table.");
+        System.out.println();
+
+        System.out.println("Syntax:");
+        System.out.println(
+                "  remove-orphan-files --warehouse <warehouse-path> --database <database-name> "
+                        + "--table <table-name> [--older-than <duration>] [--parallelism <parallelism>]");
+        System.out.println(
+                "  remove-orphan-files --path <table-path> [--older-than <duration>] [--parallelism <parallelism>]");
+        System.out.println();
+
+        System.out.println(
+                "Only files older than the given duration are removed, files of running jobs may not be referenced yet. "
+                        + "The default duration is 1 d.");
+        System.out.println();
+
+        System.out.println("Examples:");
+        System.out.println(
+                "  remove-orphan-files --warehouse hdfs:///path/to/warehouse --database test_db --table test_table");
+        System.out.println(
+                "  remove-orphan-files --path hdfs:///path/to/warehouse/test_db.db/test_table --older-than 3d --parallelism 16");
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Path> deleted = clean.clean();
+        LOG.info("Removed {} orphan files.", deleted.size());
+    }
+}
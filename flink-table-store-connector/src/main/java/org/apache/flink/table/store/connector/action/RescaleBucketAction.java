@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.action;
+
+import org.apache.flink.api.common.RuntimeExecutionMode;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.java.utils.MultipleParameterTool;
+import org.apache.flink.streaming.api.datastream.DataStreamSource;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.connector.FlinkUtils;
+import org.apache.flink.table.store.connector.sink.FlinkSinkBuilder;
+import org.apache.flink.table.store.connector.source.StaticFileStoreSource;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.options.Options;
+import org.apache.flink.table.store.table.BucketRescaler;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.apache.flink.table.store.connector.action.Action.getPartitions;
+import static org.apache.flink.table.store.connector.action.Action.getTablePath;
+import static org.apache.flink.table.store.utils.Preconditions.checkState;
+
+/**
+ * Table rescale bucket action for Flink. Each partition to rescale is rewritten by a batch job, see
+ * {@link BucketRescaler}.
+ */
+public class RescaleBucketAction implements Action {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RescaleBucketAction.class);
+
+    private final FileStoreTable table;
+    private final BucketRescaler rescaler;
+
+    RescaleBucketAction(Path tablePath) {
+        Options tableOptions = new Options();
+        tableOptions.set(CoreOptions.PATH, tablePath.toString());
+        FileStoreTable table =
+                FileStoreTableFactory.create(
+                        FlinkUtils.catalogOptions(
+                                tableOptions.toMap(),
+                                StreamExecutionEnvironment.getExecutionEnvironment()
+                                        .getConfiguration()));
+        this.table = table;
+        this.rescaler = new BucketRescaler(table);
+    }
+
+    // ------------------------------------------------------------------------
+    //  Java API
+    // ------------------------------------------------------------------------
+
+    /** Only rescales the given partitions, all partitions are rescaled by default. */
+    public RescaleBucketAction withPartitions(List<Map<String, String>> partitions) {
+        rescaler.withPartitions(partitions);
+        return this;
+    }
+
+    /**
+     * Builds the job rewriting the given partition from the latest snapshot with the current bucket
+     * number of the table. The rewritten partition is committed based on that snapshot, so the job
+     * fails if the partition is changed in the meantime.
+     */
+    public void build(StreamExecutionEnvironment env, BinaryRow partition) {
+        Map<String, String> partitionSpec = rescaler.partitionSpec(partition);
+        Long snapshotId = table.snapshotManager().latestSnapshotId();
+        checkState(
+                snapshotId != null, "Cannot rescale partition %s without snapshot.", partitionSpec);
+
+        FileStoreTable snapshotTable =
+                table.copy(
+                        Collections.singletonMap(
+                                CoreOptions.SCAN_SNAPSHOT_ID.key(), String.valueOf(snapshotId)));
+        StaticFileStoreSource source =
+                new StaticFileStoreSource(
+                        snapshotTable,
+                        null,
+                        PredicateBuilder.partition(partitionSpec, table.rowType()),
+                        null);
+        DataStreamSource<RowData> input =
+                env.fromSource(
+                        source,
+                        WatermarkStrategy.noWatermarks(),
+                        "Rescale source: " + table.name() + partitionSpec);
+        new FlinkSinkBuilder(table)
+                .withInput(input)
+                .withOverwritePartition(partitionSpec)
+                .withOverwriteBaseSnapshot(snapshotId)
+                .build();
+    }
+
+    // ------------------------------------------------------------------------
+    //  Flink run methods
+    // ------------------------------------------------------------------------
+
+    public static Optional<Action> create(String[] args) {
+        LOG.info("Rescale bucket job args: {}", String.join(" ", args));
+
+        MultipleParameterTool params = MultipleParameterTool.fromArgs(args);
+
+        if (params.has("help")) {
+            printHelp();
+            return Optional.empty();
+        }
+
+        Path tablePath = getTablePath(params);
+
+        if (tablePath == null) {
+            return Optional.empty();
+        }
+
+        RescaleBucketAction action = new RescaleBucketAction(tablePath);
+
+        if (params.has("partition")) {
+            List<Map<String, String>> partitions = getPartitions(params);
+            if (partitions == null) {
+                return Optional.empty();
+            }
+            action.withPartitions(partitions);
+        }
+
+        return Optional.of(action);
+    }
+
+    private static void printHelp() {
+        System.out.println(
+                "Action \"rescale-bucket\" rewrites partitions of a table with the current bucket number of the table, "
+                        + "running one batch job per partition.");
+        System.out.println();
+
+        System.out.println("Syntax:");
+        System.out.println(
+                "  rescale-bucket --warehouse <warehouse-path> --database <database-name> "
+                        + "--table <table-name> [--partition <partition-name> --partition <partition-name> ...]");
+        System.out.println(
+                "  rescale-bucket --path <table-path> [--partition <partition-name> --partition <partition-name> ...]");
+        System.out.println();
+
+        System.out.println("Partition name syntax:");
+        System.out.println("  key1=value1,key2=value2,...");
+        System.out.println();
+
+        System.out.println(
+                "Only partitions which are not laid out with the current bucket number are rewritten. "
+                        + "Change the bucket number with ALTER TABLE first. "
+                        + "Other partitions can be written meanwhile, "
+                        + "but a partition written while it is rescaled fails either the rescale job or the writing job.");
+        System.out.println();
+
+        System.out.println("Examples:");
+        System.out.println(
+                "  rescale-bucket --warehouse hdfs:///path/to/warehouse --database test_db --table test_table");
+        System.out.println(
+                "  rescale-bucket --path hdfs:///path/to/warehouse/test_db.db/test_table --partition dt=20221126");
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<BinaryRow> partitions = rescaler.partitionsToRescale();
+        for (BinaryRow partition : partitions) {
+            StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+            env.setRuntimeMode(RuntimeExecutionMode.BATCH);
+            build(env, partition);
+            env.execute("Rescale bucket job: " + rescaler.partitionSpec(partition));
+        }
+        LOG.info("Rescaled {} partitions.", partitions.size());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.store.connector.FlinkRowData;
+import org.apache.flink.table.store.connector.FlinkRowWrapper;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
+import org.apache.flink.util.function.ThrowingRunnable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An asynchronous lookup {@link AsyncTableFunction} for file store, which wraps a {@link
+ * FileStoreLookupFunction}.
+ *
+ * <p>Keys are queued and looked up in batches of at most {@code maxBatchSize} keys by a single
+ * lookup thread, so that a batch is served by one RocksDB multi-get. New snapshots are read by a
+ * background refresh thread; their changes are then applied by the lookup thread between two
+ * batches, in chunks of at most {@link #MAX_CHANGES_PER_APPLY} rows, so that a large snapshot is
+ * never held in memory as a whole. A new max partition of a dynamic partition lookup is loaded by
+ * the refresh thread into a separate lookup table, which replaces the previous partition once it is
+ * completely loaded.
+ *
+ * <p>Once a refresh fails, the pending and later lookups fail.
+ */
+public class AsyncFileStoreLookupFunction extends AsyncTableFunction<RowData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncFileStoreLookupFunction.class);
+
+    private static final int MAX_CHANGES_PER_APPLY = 1024;
+
+    private final FileStoreLookupFunction function;
+    private final int maxBatchSize;
+
+    private transient Queue<LookupRequest> pendingRequests;
+    private transient AtomicBoolean draining;
+    private transient ExecutorService lookupExecutor;
+    private transient ScheduledExecutorService refreshExecutor;
+    private transient volatile Throwable refreshException;
+
+    public AsyncFileStoreLookupFunction(FileStoreLookupFunction function, int maxBatchSize) {
+        this.function = function;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        super.open(context);
+        // do first load synchronously
+        function.open(context);
+
+        this.pendingRequests = new ConcurrentLinkedQueue<>();
+        this.draining = new AtomicBoolean(false);
+        this.lookupExecutor =
+                Executors.newSingleThreadExecutor(
+                        new ExecutorThreadFactory(
+                                Thread.currentThread().getName() + "-lookup-executor"));
+        this.refreshExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ExecutorThreadFactory(
+                                Thread.currentThread().getName() + "-lookup-refresh"));
+        long interval = function.refreshInterval().toMillis();
+        refreshExecutor.scheduleWithFixedDelay(
+                this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Used by code generation. */
+    @SuppressWarnings("unused")
+    public void eval(CompletableFuture<Collection<RowData>> future, Object... values) {
+        Throwable exception = refreshException;
+        if (exception != null) {
+            future.completeExceptionally(exception);
+            return;
+        }
+
+        pendingRequests.add(
+                new LookupRequest(new FlinkRowWrapper(GenericRowData.of(values)), future));
+        if (draining.compareAndSet(false, true)) {
+            lookupExecutor.execute(this::lookupBatch);
+        }
+    }
+
+    private void lookupBatch() {
+        List<LookupRequest> batch = new ArrayList<>();
+        LookupRequest request;
+        while (batch.size() < maxBatchSize && (request = pendingRequests.poll()) != null) {
+            batch.add(request);
+        }
+
+        Throwable exception = refreshException;
+        if (exception != null) {
+            batch.forEach(r -> r.future.completeExceptionally(exception));
+        } else if (!batch.isEmpty()) {
+            List<InternalRow> keys = new ArrayList<>(batch.size());
+            batch.forEach(r -> keys.add(r.key));
+            try {
+                List<List<InternalRow>> results = function.lookup(keys);
+                for (int i = 0; i < batch.size(); i++) {
+                    List<RowData> rows = new ArrayList<>(results.get(i).size());
+                    results.get(i).forEach(row -> rows.add(new FlinkRowData(row)));
+                    batch.get(i).future.complete(rows);
+                }
+            } catch (Throwable t) {
+                batch.forEach(r -> r.future.completeExceptionally(t));
+            }
+        }
+
+        // submit remaining requests as a new task, so that refreshes are not starved
+        draining.set(false);
+        if (!pendingRequests.isEmpty() && draining.compareAndSet(false, true)) {
+            lookupExecutor.execute(this::lookupBatch);
+        }
+    }
+
+    private void refresh() {
+        try {
+            while (true) {
+                ThrowingRunnable<IOException> apply =
+                        function.readNextChanges(MAX_CHANGES_PER_APPLY);
+                if (apply == null) {
+                    return;
+                }
+                lookupExecutor
+                        .submit(
+                                () -> {
+                                    apply.run();
+                                    return null;
+                                })
+                        .get();
+            }
+        } catch (Throwable t) {
+            LOG.error("Failed to refresh lookup table.", t);
+            refreshException = t;
+            throw new RuntimeException(t);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            refreshExecutor = null;
+        }
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdown();
+            lookupExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            lookupExecutor = null;
+        }
+        function.close();
+        super.close();
+    }
+
+    private static class LookupRequest {
+
+        private final InternalRow key;
+        private final CompletableFuture<Collection<RowData>> future;
+
+        private LookupRequest(InternalRow key, CompletableFuture<Collection<RowData>> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.codegen.CodeGenUtils;
+import org.apache.flink.table.store.codegen.Projection;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.table.sink.BucketComputer;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.utils.TypeUtils;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Shards the buckets of a table among the parallel instances of a lookup join, bucket {@code b} is
+ * owned by the instance {@code b % parallelism}. The bucket of a lookup key is computed in the same
+ * way as {@link BucketComputer} does for writing, so the key fields must contain all bucket keys.
+ */
+public class BucketShard implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int numBuckets;
+    private final RowType keyType;
+    private final int[] bucketKeyMapping;
+
+    private transient Projection bucketKeyProjection;
+
+    /** Creates a shard for keys consisting of the given fields of the table. */
+    public BucketShard(TableSchema schema, List<String> keyFields) {
+        List<String> bucketKeys = schema.logicalBucketKeyType().getFieldNames();
+        checkArgument(
+                keyFields.containsAll(bucketKeys),
+                "Bucket sharding requires the keys %s to contain all bucket keys %s.",
+                keyFields,
+                bucketKeys);
+        this.numBuckets = new CoreOptions(schema.options()).bucket();
+        this.keyType = TypeUtils.project(schema.logicalRowType(), schema.projection(keyFields));
+        this.bucketKeyMapping = bucketKeys.stream().mapToInt(keyFields::indexOf).toArray();
+    }
+
+    /** Computes the bucket of the given key. */
+    public int bucket(InternalRow key) {
+        if (bucketKeyProjection == null) {
+            bucketKeyProjection = CodeGenUtils.newProjection(keyType, bucketKeyMapping);
+        }
+        return BucketComputer.bucket(
+                BucketComputer.hashcode(bucketKeyProjection.apply(key)), numBuckets);
+    }
+
+    /** Returns the index of the parallel instance which owns the given bucket. */
+    public static int shard(int bucket, int parallelism) {
+        return bucket % parallelism;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.store.connector.FlinkRowWrapper;
+import org.apache.flink.table.store.file.schema.TableSchema;
+
+import java.util.List;
+
+/**
+ * A {@link Partitioner} to shuffle the input of a bucket sharded lookup join, so that each key is
+ * sent to the parallel instance owning its bucket, see {@link BucketShard}. The partitioned keys
+ * consist of the given fields of the table.
+ */
+public class BucketShardPartitioner implements Partitioner<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BucketShard shard;
+
+    public BucketShardPartitioner(TableSchema schema, List<String> keyFields) {
+        this.shard = new BucketShard(schema, keyFields);
+    }
+
+    @Override
+    public int partition(RowData key, int numPartitions) {
+        return BucketShard.shard(shard.bucket(new FlinkRowWrapper(key)), numPartitions);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.store.connector.FlinkRowData;
+import org.apache.flink.table.store.connector.FlinkRowWrapper;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.util.Collector;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.apache.flink.table.store.connector.LogicalTypeConversion.toLogicalType;
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * A bucket sharded lookup in DataStream API. Each parallel instance only loads the buckets of the
+ * table it owns (see {@link BucketShard}) instead of the whole table, and the lookup keys are
+ * partitioned by {@link BucketShardPartitioner}, so that every key is looked up by the instance
+ * owning its bucket.
+ *
+ * <p>Flink SQL cannot partition the input of a lookup join by bucket, so bucket sharding is only
+ * provided in DataStream API.
+ */
+public class BucketShardedLookup extends ProcessFunction<RowData, RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FileStoreLookupFunction function;
+
+    private BucketShardedLookup(FileStoreLookupFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * Looks up the given keys in the table, and emits the matched rows of the table for each key.
+     * The keys consist of the given fields of the table, which must contain all bucket keys.
+     */
+    public static DataStream<RowData> lookup(
+            DataStream<RowData> keys, FileStoreTable table, List<String> keyFields) {
+        TableSchema schema = table.schema();
+        checkArgument(
+                schema.fieldNames().containsAll(keyFields),
+                "Lookup keys %s should be fields of the table %s.",
+                keyFields,
+                schema.fieldNames());
+        int[] projection = IntStream.range(0, schema.fields().size()).toArray();
+        int[] joinKeyIndex = keyFields.stream().mapToInt(schema.fieldNames()::indexOf).toArray();
+        FileStoreLookupFunction function =
+                new FileStoreLookupFunction(table, projection, joinKeyIndex, null, true);
+        return keys.partitionCustom(
+                        new BucketShardPartitioner(schema, keyFields),
+                        (KeySelector<RowData, RowData>) key -> key)
+                .process(
+                        new BucketShardedLookup(function),
+                        InternalTypeInfo.of(toLogicalType(schema.logicalRowType())))
+                .name("BucketShardedLookup");
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        function.open(new FunctionContext(getRuntimeContext()));
+    }
+
+    @Override
+    public void processElement(RowData key, Context ctx, Collector<RowData> out) throws Exception {
+        for (InternalRow row : function.get(new FlinkRowWrapper(key))) {
+            out.collect(new FlinkRowData(row));
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        function.close();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.table.store.codegen.CodeGenUtils;
+import org.apache.flink.table.store.codegen.RecordComparator;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.source.DataSplit;
+import org.apache.flink.table.store.table.source.DataTableScan;
+import org.apache.flink.table.store.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Finds the partition to be loaded by the lookup join for the {@code max_pt()} dynamic partition,
+ * which is the greatest partition of the table selected by the pushed predicate.
+ */
+public class DynamicPartitionLoader {
+
+    public static final String MAX_PT = "max_pt()";
+
+    private final FileStoreTable table;
+    @Nullable private final Predicate predicate;
+    private final RecordComparator comparator;
+
+    @Nullable private BinaryRow partition;
+
+    public DynamicPartitionLoader(FileStoreTable table, @Nullable Predicate predicate) {
+        RowType partitionType = table.schema().logicalPartitionType();
+        this.table = table;
+        this.predicate = predicate;
+        this.comparator =
+                CodeGenUtils.newRecordComparator(
+                        partitionType.getFieldTypes(), "PartitionComparator");
+    }
+
+    public static void validate(String dynamicPartition) {
+        checkArgument(
+                MAX_PT.equals(dynamicPartition),
+                "Unsupported dynamic partition '%s', only '%s' is supported.",
+                dynamicPartition,
+                MAX_PT);
+    }
+
+    /** The partition currently loaded, null if the table has no data yet. */
+    @Nullable
+    public BinaryRow partition() {
+        return partition;
+    }
+
+    /** Finds the current max partition, returns true if it is different from the loaded one. */
+    public boolean checkRefresh() {
+        DataTableScan scan = table.newScan();
+        if (predicate != null) {
+            scan.withFilter(predicate);
+        }
+
+        BinaryRow max = null;
+        for (DataSplit split : scan.plan().splits) {
+            if (max == null || comparator.compare(split.partition(), max) > 0) {
+                max = split.partition();
+            }
+        }
+
+        if (max == null || (partition != null && comparator.compare(max, partition) == 0)) {
+            return false;
+        }
+        partition = max.copy();
+        return true;
+    }
+
+    /** Creates a predicate on table fields selecting the given partition. */
+    public Predicate createPartitionFilter(BinaryRow partition) {
+        RowType rowType = table.schema().logicalRowType();
+        RowType partitionType = table.schema().logicalPartitionType();
+        PredicateBuilder builder = new PredicateBuilder(rowType);
+        List<Predicate> predicates = new ArrayList<>();
+        for (int i = 0; i < partitionType.getFieldCount(); i++) {
+            int index = builder.indexOf(partitionType.getFieldNames().get(i));
+            Object value =
+                    InternalRow.createFieldGetter(partitionType.getTypeAt(i), i)
+                            .getFieldOrNull(partition);
+            predicates.add(value == null ? builder.isNull(index) : builder.equal(index, value));
+        }
+        return PredicateBuilder.and(predicates);
+    }
+}
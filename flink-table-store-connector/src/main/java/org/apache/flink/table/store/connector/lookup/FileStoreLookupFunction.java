@@ -27,15 +27,19 @@ import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.connector.FlinkRowData;
 import org.apache.flink.table.store.connector.FlinkRowWrapper;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.InternalSerializers;
+import org.apache.flink.table.store.data.RowDataSerializer;
 import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.predicate.PredicateFilter;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.table.FileStoreTable;
 import org.apache.flink.table.store.table.source.TableStreamingReader;
 import org.apache.flink.table.store.table.source.snapshot.ContinuousDataFileSnapshotEnumerator;
-import org.apache.flink.table.store.types.RowType;
 import org.apache.flink.table.store.utils.FileIOUtils;
+import org.apache.flink.table.store.utils.ProjectedRow;
 import org.apache.flink.table.store.utils.TypeUtils;
+import org.apache.flink.util.function.ThrowingRunnable;
 
 import org.apache.flink.shaded.guava30.com.google.common.primitives.Ints;
 
@@ -48,14 +52,17 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.apache.flink.table.store.connector.FlinkConnectorOptions.LOOKUP_DYNAMIC_PARTITION;
 import static org.apache.flink.table.store.connector.RocksDBOptions.LOOKUP_CACHE_ROWS;
 import static org.apache.flink.table.store.file.predicate.PredicateBuilder.transformFieldMapping;
 import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
@@ -69,26 +76,60 @@ public class FileStoreLookupFunction extends TableFunction<org.apache.flink.tabl
     private final List<String> projectFields;
     private final List<String> joinKeys;
     @Nullable private final Predicate predicate;
+    @Nullable private final BucketShard bucketShard;
 
+    private transient Configuration options;
     private transient Duration refreshInterval;
-    private transient File path;
-    private transient RocksDBStateFactory stateFactory;
-    private transient LookupTable lookupTable;
+    private transient String tmpDirectory;
+    private transient int[] projection;
+    @Nullable private transient IntPredicate bucketFilter;
+    private transient int parallelism;
+    private transient int subtaskIndex;
+    private transient StoredLookupTable lookupTable;
+    private transient RowDataSerializer rowSerializer;
 
     // timestamp when cache expires
     private transient long nextLoadTime;
-    private transient TableStreamingReader streamingReader;
+    @Nullable private transient TableStreamingReader streamingReader;
+
+    @Nullable private transient DynamicPartitionLoader partitionLoader;
+    // whether to look for a new max partition before reading the next batch
+    private transient boolean checkPartition;
+    // whether to drop the loaded partition before applying the next batch
+    private transient boolean resetLookupTable;
+    // the batch whose changes are being read by readNextChanges
+    @Nullable private transient Iterator<InternalRow> pendingBatch;
 
     public FileStoreLookupFunction(
             FileStoreTable table,
             int[] projection,
             int[] joinKeyIndex,
             @Nullable Predicate predicate) {
+        this(table, projection, joinKeyIndex, predicate, false);
+    }
+
+    /**
+     * Creates a lookup function. With bucket sharding, each parallel instance only loads the
+     * buckets it owns, and the lookup keys must be partitioned by {@link BucketShardPartitioner},
+     * see {@link BucketShardedLookup}.
+     */
+    FileStoreLookupFunction(
+            FileStoreTable table,
+            int[] projection,
+            int[] joinKeyIndex,
+            @Nullable Predicate predicate,
+            boolean bucketSharding) {
         TableSchema schema = table.schema();
-        checkArgument(
-                schema.partitionKeys().isEmpty(), "Currently only support non-partitioned table.");
         checkArgument(schema.primaryKeys().size() > 0, "Currently only support primary key table.");
         ContinuousDataFileSnapshotEnumerator.validate(table.schema());
+        String dynamicPartition =
+                Configuration.fromMap(schema.options()).get(LOOKUP_DYNAMIC_PARTITION);
+        if (dynamicPartition != null) {
+            checkArgument(
+                    schema.partitionKeys().size() > 0,
+                    "Dynamic partition is only supported for partitioned table.");
+            DynamicPartitionLoader.validate(dynamicPartition);
+        }
 
         this.table = table;
 
@@ -111,39 +152,72 @@ public class FileStoreLookupFunction extends TableFunction<org.apache.flink.tabl
         }
 
         this.predicate = predicate;
+        this.bucketShard = bucketSharding ? new BucketShard(schema, joinKeys) : null;
     }
 
     @Override
     public void open(FunctionContext context) throws Exception {
         super.open(context);
-        String tmpDirectory = getTmpDirectory(context);
-        this.path = new File(tmpDirectory, "lookup-" + UUID.randomUUID());
-
-        Configuration options = Configuration.fromMap(table.schema().options());
+        StreamingRuntimeContext runtimeContext = getRuntimeContext(context);
+        String[] tmpDirectories = runtimeContext.getTaskManagerRuntimeInfo().getTmpDirectories();
+        this.tmpDirectory =
+                tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+        if (bucketShard != null) {
+            // only load the buckets owned by this subtask
+            this.parallelism = runtimeContext.getNumberOfParallelSubtasks();
+            this.subtaskIndex = runtimeContext.getIndexOfThisSubtask();
+            this.bucketFilter = b -> BucketShard.shard(b, parallelism) == subtaskIndex;
+        }
+        this.options = Configuration.fromMap(table.schema().options());
         this.refreshInterval = options.get(CoreOptions.CONTINUOUS_DISCOVERY_INTERVAL);
-        this.stateFactory = new RocksDBStateFactory(path.toString(), options);
 
         List<String> fieldNames = table.schema().logicalRowType().getFieldNames();
-        int[] projection = projectFields.stream().mapToInt(fieldNames::indexOf).toArray();
-        RowType rowType = TypeUtils.project(table.schema().logicalRowType(), projection);
-
-        PredicateFilter recordFilter = createRecordFilter(projection);
-        this.lookupTable =
-                LookupTable.create(
-                        stateFactory,
-                        rowType,
-                        table.schema().primaryKeys(),
-                        joinKeys,
-                        recordFilter,
-                        options.getLong(LOOKUP_CACHE_ROWS));
+        this.projection = projectFields.stream().mapToInt(fieldNames::indexOf).toArray();
+        this.rowSerializer =
+                InternalSerializers.create(
+                        TypeUtils.project(table.schema().logicalRowType(), projection));
+
+        if (options.get(LOOKUP_DYNAMIC_PARTITION) != null) {
+            this.partitionLoader = new DynamicPartitionLoader(table, predicate);
+            this.checkPartition = true;
+        } else {
+            this.streamingReader =
+                    new TableStreamingReader(table, projection, this.predicate, bucketFilter);
+        }
+        this.lookupTable = createLookupTable();
         this.nextLoadTime = -1;
-        this.streamingReader = new TableStreamingReader(table, projection, this.predicate);
 
         // do first load
         refresh();
     }
 
-    private PredicateFilter createRecordFilter(int[] projection) {
+    private StoredLookupTable createLookupTable() throws IOException {
+        File path = new File(tmpDirectory, "lookup-" + UUID.randomUUID());
+        RocksDBStateFactory stateFactory = new RocksDBStateFactory(path.toString(), options);
+        // only one partition is loaded for dynamic partition, so partition fields are not needed
+        // to identify a row
+        List<String> primaryKeys =
+                partitionLoader == null
+                        ? table.schema().primaryKeys()
+                        : table.schema().trimmedPrimaryKeys();
+        StoredLookupTable lookupTable = new StoredLookupTable(path, stateFactory);
+        try {
+            lookupTable.table =
+                    LookupTable.create(
+                            stateFactory,
+                            TypeUtils.project(table.schema().logicalRowType(), projection),
+                            primaryKeys,
+                            joinKeys,
+                            createRecordFilter(projection),
+                            options.getLong(LOOKUP_CACHE_ROWS));
+        } catch (Throwable t) {
+            lookupTable.close();
+            throw t;
+        }
+        return lookupTable;
+    }
+
+    private java.util.function.Predicate<InternalRow> createRecordFilter(int[] projection) {
         Predicate adjustedPredicate = null;
         if (predicate != null) {
             // adjust to projection index
@@ -155,20 +229,42 @@ public class FileStoreLookupFunction extends TableFunction<org.apache.flink.tabl
                                             .toArray())
                             .orElse(null);
         }
-        return new PredicateFilter(
-                TypeUtils.project(table.schema().logicalRowType(), projection), adjustedPredicate);
+        PredicateFilter predicateFilter =
+                new PredicateFilter(
+                        TypeUtils.project(table.schema().logicalRowType(), projection),
+                        adjustedPredicate);
+        if (bucketShard == null) {
+            return predicateFilter;
+        }
+
+        // the bucket filter only skips the buckets of partitions with the bucket number of the
+        // table, partitions with another bucket number are read as a whole, so the rows must be
+        // checked for being owned by this subtask, rows may be read while keys are looked up, so
+        // the filter has its own shard
+        BucketShard rowShard = new BucketShard(table.schema(), joinKeys);
+        ProjectedRow joinKey =
+                ProjectedRow.from(joinKeys.stream().mapToInt(projectFields::indexOf).toArray());
+        return row ->
+                predicateFilter.test(row)
+                        && BucketShard.shard(rowShard.bucket(joinKey.replaceRow(row)), parallelism)
+                                == subtaskIndex;
     }
 
     /** Used by code generation. */
     @SuppressWarnings("unused")
     public void eval(Object... values) throws Exception {
-        checkRefresh();
-        List<InternalRow> results = lookupTable.get(new FlinkRowWrapper(GenericRowData.of(values)));
-        for (InternalRow matchedRow : results) {
+        for (InternalRow matchedRow : get(new FlinkRowWrapper(GenericRowData.of(values)))) {
             collect(new FlinkRowData(matchedRow));
         }
     }
 
+    /** Refreshes the lookup table if needed and looks up the rows of the given key. */
+    List<InternalRow> get(InternalRow key) throws Exception {
+        checkRefresh();
+        checkBucket(key);
+        return lookupTable.table.get(key);
+    }
+
     private void checkRefresh() throws Exception {
         if (nextLoadTime > System.currentTimeMillis()) {
             return;
@@ -186,34 +282,166 @@ public class FileStoreLookupFunction extends TableFunction<org.apache.flink.tabl
 
     private void refresh() throws Exception {
         while (true) {
-            Iterator<InternalRow> batch = streamingReader.nextBatch();
+            Iterator<InternalRow> batch = nextBatch();
             if (batch == null) {
                 return;
             }
-            this.lookupTable.refresh(batch);
+            apply(batch);
         }
     }
 
+    @Nullable
+    private Iterator<InternalRow> nextBatch() throws Exception {
+        // the max partition is checked once per refresh, as it requires a full scan plan
+        if (checkPartition) {
+            checkPartition = false;
+            boolean loaded = partitionLoader.partition() != null;
+            if (partitionLoader.checkRefresh()) {
+                LOG.info("Lookup table finds a new max partition, switching to it.");
+                // read the new partition from its latest snapshot, the previous partition is
+                // dropped as a whole when the first batch of the new one is applied
+                Predicate partitionFilter =
+                        partitionLoader.createPartitionFilter(partitionLoader.partition());
+                this.streamingReader =
+                        new TableStreamingReader(
+                                table,
+                                projection,
+                                predicate == null
+                                        ? partitionFilter
+                                        : PredicateBuilder.and(predicate, partitionFilter),
+                                bucketFilter);
+                this.resetLookupTable = loaded;
+            }
+        }
+
+        Iterator<InternalRow> batch = streamingReader == null ? null : streamingReader.nextBatch();
+        if (batch == null && partitionLoader != null) {
+            checkPartition = true;
+        }
+        return batch;
+    }
+
+    private void apply(Iterator<InternalRow> batch) throws IOException {
+        if (resetLookupTable) {
+            lookupTable.close();
+            lookupTable = createLookupTable();
+            resetLookupTable = false;
+        }
+        lookupTable.table.refresh(batch);
+    }
+
+    /** Looks up the rows of each key against the current content of the lookup table. */
+    List<List<InternalRow>> lookup(List<InternalRow> keys) throws IOException {
+        keys.forEach(this::checkBucket);
+        return lookupTable.table.getAll(keys);
+    }
+
+    private void checkBucket(InternalRow key) {
+        if (bucketShard == null) {
+            return;
+        }
+        int bucket = bucketShard.bucket(key);
+        if (BucketShard.shard(bucket, parallelism) != subtaskIndex) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Lookup key of bucket %d is not owned by subtask %d of %d, the lookup "
+                                    + "keys should be partitioned by %s.",
+                            bucket,
+                            subtaskIndex,
+                            parallelism,
+                            BucketShardPartitioner.class.getSimpleName()));
+        }
+    }
+
+    /**
+     * Reads the next changes without touching the lookup table, so that they can be read while
+     * lookups are served. The returned action applies them to the lookup table, and must be run by
+     * the thread serving lookups. Returns null if there is no new snapshot.
+     *
+     * <p>At most {@code maxRows} changes of a snapshot are read into memory at once. A new max
+     * partition is instead loaded as a whole into a separate lookup table, which the returned
+     * action swaps in.
+     */
+    @Nullable
+    ThrowingRunnable<IOException> readNextChanges(int maxRows) throws Exception {
+        if (pendingBatch == null || !pendingBatch.hasNext()) {
+            pendingBatch = nextBatch();
+            if (pendingBatch == null) {
+                return null;
+            }
+
+            if (resetLookupTable) {
+                resetLookupTable = false;
+                StoredLookupTable newTable = createLookupTable();
+                try {
+                    newTable.table.refresh(pendingBatch);
+                } catch (Throwable t) {
+                    newTable.close();
+                    throw t;
+                } finally {
+                    pendingBatch = null;
+                }
+                return () -> {
+                    StoredLookupTable oldTable = lookupTable;
+                    lookupTable = newTable;
+                    oldTable.close();
+                };
+            }
+        }
+
+        List<InternalRow> changes = new ArrayList<>();
+        while (changes.size() < maxRows && pendingBatch.hasNext()) {
+            // rows of the reader may be reused, copy them
+            changes.add(rowSerializer.copy(pendingBatch.next()));
+        }
+        return () -> lookupTable.table.refresh(changes.iterator());
+    }
+
+    Duration refreshInterval() {
+        return refreshInterval;
+    }
+
     @Override
     public void close() throws IOException {
-        if (stateFactory != null) {
-            stateFactory.close();
-            stateFactory = null;
+        if (lookupTable != null) {
+            lookupTable.close();
+            lookupTable = null;
         }
+    }
 
-        if (path != null) {
-            FileIOUtils.deleteDirectoryQuietly(path);
+    /** A {@link LookupTable} with the RocksDB instance and the local directory storing it. */
+    private static class StoredLookupTable {
+
+        private final File path;
+        private final RocksDBStateFactory stateFactory;
+        private LookupTable table;
+
+        private StoredLookupTable(File path, RocksDBStateFactory stateFactory) {
+            this.path = path;
+            this.stateFactory = stateFactory;
+        }
+
+        private void close() throws IOException {
+            try {
+                stateFactory.close();
+            } finally {
+                FileIOUtils.deleteDirectoryQuietly(path);
+            }
         }
     }
 
-    private static String getTmpDirectory(FunctionContext context) {
+    private static StreamingRuntimeContext getRuntimeContext(FunctionContext context) {
         try {
             Field field = context.getClass().getDeclaredField("context");
             field.setAccessible(true);
-            StreamingRuntimeContext runtimeContext = (StreamingRuntimeContext) field.get(context);
-            String[] tmpDirectories =
-                    runtimeContext.getTaskManagerRuntimeInfo().getTmpDirectories();
-            return tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+            Object runtimeContext = field.get(context);
+            while (!(runtimeContext instanceof StreamingRuntimeContext)) {
+                // async functions are opened with (nested) RichAsyncFunctionRuntimeContext wrappers
+                Field wrapped = runtimeContext.getClass().getDeclaredField("runtimeContext");
+                wrapped.setAccessible(true);
+                runtimeContext = wrapped.get(runtimeContext);
+            }
+            return (StreamingRuntimeContext) runtimeContext;
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
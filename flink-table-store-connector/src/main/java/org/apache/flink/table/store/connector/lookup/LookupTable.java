@@ -22,6 +22,7 @@ import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.types.RowType;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -32,6 +33,15 @@ public interface LookupTable {
 
     List<InternalRow> get(InternalRow key) throws IOException;
 
+    /** Gets the rows of each key, which may be more efficient than getting them one by one. */
+    default List<List<InternalRow>> getAll(List<InternalRow> keys) throws IOException {
+        List<List<InternalRow>> results = new ArrayList<>(keys.size());
+        for (InternalRow key : keys) {
+            results.add(get(key));
+        }
+        return results;
+    }
+
     void refresh(Iterator<InternalRow> incremental) throws IOException;
 
     static LookupTable create(
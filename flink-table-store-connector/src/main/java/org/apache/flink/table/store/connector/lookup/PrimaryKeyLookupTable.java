@@ -26,6 +26,7 @@ import org.apache.flink.table.store.utils.KeyProjectedRow;
 import org.apache.flink.table.store.utils.TypeUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -67,6 +68,16 @@ public class PrimaryKeyLookupTable implements LookupTable {
         return value == null ? Collections.emptyList() : Collections.singletonList(value);
     }
 
+    @Override
+    public List<List<InternalRow>> getAll(List<InternalRow> keys) throws IOException {
+        List<InternalRow> values = tableState.getAll(keys);
+        List<List<InternalRow>> results = new ArrayList<>(values.size());
+        for (InternalRow value : values) {
+            results.add(value == null ? Collections.emptyList() : Collections.singletonList(value));
+        }
+        return results;
+    }
+
     @Override
     public void refresh(Iterator<InternalRow> incremental) throws IOException {
         while (incremental.hasNext()) {
@@ -28,6 +28,10 @@ import org.rocksdb.RocksDBException;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
 
@@ -53,6 +57,48 @@ public class RocksDBValueState extends RocksDBState<RocksDBState.Reference> {
         }
     }
 
+    /**
+     * Gets the values of the given keys, the missing keys in cache are read from RocksDB with one
+     * {@link RocksDB#multiGetAsList} call. The value of a key is null if it does not exist.
+     */
+    public List<InternalRow> getAll(List<InternalRow> keys) throws IOException {
+        List<InternalRow> values = new ArrayList<>(keys.size());
+        List<Integer> missingIndexes = new ArrayList<>();
+        List<ByteArray> missingKeys = new ArrayList<>();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                ByteArray keyBytes = wrap(serializeKey(keys.get(i)));
+                Reference valueRef = cache.getIfPresent(keyBytes);
+                if (valueRef == null) {
+                    missingIndexes.add(i);
+                    missingKeys.add(keyBytes);
+                    values.add(null);
+                } else {
+                    values.add(valueRef.isPresent() ? deserializeValue(valueRef.bytes) : null);
+                }
+            }
+
+            if (missingKeys.isEmpty()) {
+                return values;
+            }
+
+            List<byte[]> missingValues =
+                    db.multiGetAsList(
+                            Collections.nCopies(missingKeys.size(), columnFamily),
+                            missingKeys.stream().map(k -> k.bytes).collect(Collectors.toList()));
+            for (int i = 0; i < missingKeys.size(); i++) {
+                Reference valueRef = ref(missingValues.get(i));
+                cache.put(missingKeys.get(i), valueRef);
+                if (valueRef.isPresent()) {
+                    values.set(missingIndexes.get(i), deserializeValue(valueRef.bytes));
+                }
+            }
+            return values;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
     private Reference get(ByteArray keyBytes) throws RocksDBException {
         Reference valueRef = cache.getIfPresent(keyBytes);
         if (valueRef == null) {
@@ -24,25 +24,32 @@ import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.store.connector.FlinkRowWrapper;
-import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.table.FileStoreTable;
 import org.apache.flink.table.store.table.sink.BucketComputer;
 
-/** A {@link StreamPartitioner} to partition records by bucket. */
+/**
+ * A {@link StreamPartitioner} to partition records by bucket. Records are assigned to buckets with
+ * the bucket number of their partition, unless the partitions are overwritten, see {@link
+ * FileStoreTable#bucketComputer}.
+ */
 public class BucketStreamPartitioner extends StreamPartitioner<RowData> {
 
-    private final TableSchema schema;
+    private final FileStoreTable table;
+    private final boolean overwrite;
 
     private transient BucketComputer computer;
     private transient int numberOfChannels;
 
-    public BucketStreamPartitioner(TableSchema schema) {
-        this.schema = schema;
+    public BucketStreamPartitioner(FileStoreTable table, boolean overwrite) {
+        this.table = table;
+        this.overwrite = overwrite;
     }
 
     @Override
     public void setup(int numberOfChannels) {
         super.setup(numberOfChannels);
-        this.computer = new BucketComputer(schema);
+        // overwritten partitions are rewritten with the bucket number of the table
+        this.computer = overwrite ? new BucketComputer(table.schema()) : table.bucketComputer();
         this.numberOfChannels = numberOfChannels;
     }
 
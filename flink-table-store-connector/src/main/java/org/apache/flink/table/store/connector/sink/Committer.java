@@ -20,6 +20,9 @@
 package org.apache.flink.table.store.connector.sink;
 
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
+import org.apache.flink.table.store.file.operation.ExpireMetrics;
+
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.List;
@@ -43,4 +46,10 @@ public interface Committer extends AutoCloseable {
     /** Commits the given {@link ManifestCommittable}. */
     void commit(List<ManifestCommittable> globalCommittables)
             throws IOException, InterruptedException;
+
+    /** Metrics of snapshot expiration done by this committer, null if it does not expire. */
+    @Nullable
+    default ExpireMetrics expireMetrics() {
+        return null;
+    }
 }
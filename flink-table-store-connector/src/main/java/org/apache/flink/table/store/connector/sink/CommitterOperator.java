@@ -17,6 +17,8 @@
 
 package org.apache.flink.table.store.connector.sink;
 
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
@@ -25,8 +27,11 @@ import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
+import org.apache.flink.table.store.file.operation.ExpireMetrics;
 import org.apache.flink.util.function.SerializableFunction;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -102,10 +107,24 @@ public class CommitterOperator extends AbstractStreamOperator<Committable>
                         context, "commit_user_state", String.class, initialCommitUser);
         // parallelism of commit operator is always 1, so commitUser will never be null
         committer = committerFactory.apply(commitUser);
+        registerExpireMetrics(committer.expireMetrics());
 
         committableStateManager.initializeState(context, committer);
     }
 
+    private void registerExpireMetrics(@Nullable ExpireMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        MetricGroup group = getMetricGroup().addGroup("expire");
+        group.gauge("expiredSnapshots", (Gauge<Long>) metrics::expiredSnapshots);
+        group.gauge("deletedDataFiles", (Gauge<Long>) metrics::deletedDataFiles);
+        group.gauge("deletedMetaFiles", (Gauge<Long>) metrics::deletedMetaFiles);
+        group.gauge("pendingDeletes", (Gauge<Long>) metrics::pendingDeletes);
+        group.gauge("lastExpireDurationMillis", (Gauge<Long>) metrics::lastExpireDurationMillis);
+    }
+
     private ManifestCommittable toCommittables(long checkpoint, List<Committable> inputs)
             throws Exception {
         return committer.combine(checkpoint, inputs);
@@ -37,6 +37,7 @@ public class FileStoreSink extends FlinkSink {
 
     private final Lock.Factory lockFactory;
     @Nullable private final Map<String, String> overwritePartition;
+    @Nullable private final Long overwriteBaseSnapshot;
     @Nullable private final LogSinkFunction logSinkFunction;
 
     public FileStoreSink(
@@ -44,9 +45,19 @@ public class FileStoreSink extends FlinkSink {
             Lock.Factory lockFactory,
             @Nullable Map<String, String> overwritePartition,
             @Nullable LogSinkFunction logSinkFunction) {
+        this(table, lockFactory, overwritePartition, null, logSinkFunction);
+    }
+
+    public FileStoreSink(
+            FileStoreTable table,
+            Lock.Factory lockFactory,
+            @Nullable Map<String, String> overwritePartition,
+            @Nullable Long overwriteBaseSnapshot,
+            @Nullable LogSinkFunction logSinkFunction) {
         super(table, overwritePartition != null);
         this.lockFactory = lockFactory;
         this.overwritePartition = overwritePartition;
+        this.overwriteBaseSnapshot = overwriteBaseSnapshot;
         this.logSinkFunction = logSinkFunction;
     }
 
@@ -67,6 +78,7 @@ public class FileStoreSink extends FlinkSink {
                 new StoreCommitter(
                         table.newCommit(user)
                                 .withOverwritePartition(overwritePartition)
+                                .withOverwriteBaseSnapshot(overwriteBaseSnapshot)
                                 .withCreateEmptyCommit(streamingCheckpointEnabled)
                                 .withLock(lockFactory.create()));
     }
@@ -39,6 +39,7 @@ public class FlinkSinkBuilder {
     private DataStream<RowData> input;
     private Lock.Factory lockFactory = Lock.emptyFactory();
     @Nullable private Map<String, String> overwritePartition;
+    @Nullable private Long overwriteBaseSnapshot;
     @Nullable private LogSinkFunction logSinkFunction;
     @Nullable private Integer parallelism;
 
@@ -61,6 +62,15 @@ public class FlinkSinkBuilder {
         return this;
     }
 
+    /**
+     * Overwrites the partition based on the given snapshot, see {@link
+     * org.apache.flink.table.store.table.sink.TableCommit#withOverwriteBaseSnapshot}.
+     */
+    public FlinkSinkBuilder withOverwriteBaseSnapshot(@Nullable Long overwriteBaseSnapshot) {
+        this.overwriteBaseSnapshot = overwriteBaseSnapshot;
+        return this;
+    }
+
     public FlinkSinkBuilder withLogSinkFunction(@Nullable LogSinkFunction logSinkFunction) {
         this.logSinkFunction = logSinkFunction;
         return this;
@@ -72,7 +82,8 @@ public class FlinkSinkBuilder {
     }
 
     public DataStreamSink<?> build() {
-        BucketStreamPartitioner partitioner = new BucketStreamPartitioner(table.schema());
+        BucketStreamPartitioner partitioner =
+                new BucketStreamPartitioner(table, overwritePartition != null);
         PartitionTransformation<RowData> partitioned =
                 new PartitionTransformation<>(input.getTransformation(), partitioner);
         if (parallelism != null) {
@@ -81,7 +92,12 @@ public class FlinkSinkBuilder {
 
         StreamExecutionEnvironment env = input.getExecutionEnvironment();
         FileStoreSink sink =
-                new FileStoreSink(table, lockFactory, overwritePartition, logSinkFunction);
+                new FileStoreSink(
+                        table,
+                        lockFactory,
+                        overwritePartition,
+                        overwriteBaseSnapshot,
+                        logSinkFunction);
         return sink.sinkFrom(new DataStream<>(env, partitioned));
     }
 }
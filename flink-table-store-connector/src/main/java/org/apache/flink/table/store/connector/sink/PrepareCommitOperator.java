@@ -18,12 +18,19 @@
 
 package org.apache.flink.table.store.connector.sink;
 
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
 import org.apache.flink.streaming.api.operators.BoundedOneInput;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
+import org.apache.flink.table.store.file.manifest.ManifestCacheMetrics;
+
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.List;
@@ -60,6 +67,57 @@ public abstract class PrepareCommitOperator extends AbstractStreamOperator<Commi
                 .forEach(committable -> output.collect(new StreamRecord<>(committable)));
     }
 
+    /** Registers the compaction metrics of the given write to the metric group of this operator. */
+    protected void registerCompactionMetrics(@Nullable CompactionMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        MetricGroup group = getMetricGroup().addGroup("compaction");
+        group.gauge("queueDepth", (Gauge<Integer>) metrics::queueDepth);
+        group.gauge("runningCompactions", (Gauge<Integer>) metrics::runningCompactions);
+        group.gauge("completedCompactions", (Gauge<Long>) metrics::completedCompactions);
+        group.gauge(
+                "lastCompactionDurationMillis",
+                (Gauge<Long>) metrics::lastCompactionDurationMillis);
+        group.gauge(
+                "maxCompactionDurationMillis", (Gauge<Long>) metrics::maxCompactionDurationMillis);
+        group.gauge(
+                "avgCompactionDurationMillis", (Gauge<Long>) metrics::avgCompactionDurationMillis);
+    }
+
+    /**
+     * Registers the metrics of the adaptive compaction triggers of the given write to the metric
+     * group of this operator.
+     */
+    protected void registerCompactionPressureMetrics(@Nullable CompactionPressureMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        MetricGroup group = getMetricGroup().addGroup("compaction");
+        group.gauge("ingestBytesPerSecond", (Gauge<Long>) metrics::ingestBytesPerSecond);
+        group.gauge("compactionBytesPerSecond", (Gauge<Long>) metrics::compactionBytesPerSecond);
+        group.gauge("maxSortedRuns", (Gauge<Integer>) metrics::maxSortedRuns);
+        group.gauge(
+                "maxEffectiveCompactionTrigger",
+                (Gauge<Integer>) metrics::maxEffectiveCompactionTrigger);
+        group.gauge("maxEffectiveStopTrigger", (Gauge<Integer>) metrics::maxEffectiveStopTrigger);
+    }
+
+    protected void registerManifestCacheMetrics(@Nullable ManifestCacheMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        // the cache is shared by all tables in this process, so the gauges are process-wide
+        MetricGroup group = getMetricGroup().addGroup("manifestCache");
+        group.gauge("hitCount", (Gauge<Long>) metrics::hitCount);
+        group.gauge("missCount", (Gauge<Long>) metrics::missCount);
+        group.gauge("evictionCount", (Gauge<Long>) metrics::evictionCount);
+        group.gauge("cachedManifests", (Gauge<Long>) metrics::cachedManifests);
+    }
+
     protected abstract List<Committable> prepareCommit(boolean doCompaction, long checkpointId)
             throws IOException;
 }
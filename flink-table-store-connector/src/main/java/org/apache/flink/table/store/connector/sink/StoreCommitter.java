@@ -19,9 +19,12 @@
 package org.apache.flink.table.store.connector.sink;
 
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
+import org.apache.flink.table.store.file.operation.ExpireMetrics;
 import org.apache.flink.table.store.table.sink.FileCommittable;
 import org.apache.flink.table.store.table.sink.TableCommit;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.List;
 
@@ -65,6 +68,12 @@ public class StoreCommitter implements Committer {
         commit.commit(committables);
     }
 
+    @Nullable
+    @Override
+    public ExpireMetrics expireMetrics() {
+        return commit.expireMetrics();
+    }
+
     @Override
     public void close() throws Exception {
         commit.close();
@@ -78,6 +78,9 @@ public class StoreCompactOperator extends PrepareCommitOperator {
         partitionSerializer = new RowDataSerializer(table.schema().logicalPartitionType());
         reusedPartition = new OffsetRow(partitionSerializer.getArity(), 1);
         dataFileMetaSerializer = new DataFileMetaSerializer();
+        registerCompactionMetrics(write.compactionMetrics());
+        registerCompactionPressureMetrics(write.compactionPressureMetrics());
+        registerManifestCacheMetrics(table.store().manifestCacheMetrics());
     }
 
     @Override
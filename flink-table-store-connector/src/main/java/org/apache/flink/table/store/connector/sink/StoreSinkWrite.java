@@ -23,10 +23,14 @@ import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.table.FileStoreTable;
 import org.apache.flink.table.store.table.sink.SinkRecord;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
@@ -46,6 +50,14 @@ interface StoreSinkWrite {
 
     void snapshotState(StateSnapshotContext context) throws Exception;
 
+    /** Metrics of the compaction tasks, null if this write will not receive any records. */
+    @Nullable
+    CompactionMetrics compactionMetrics();
+
+    /** Metrics of the adaptive compaction triggers, null if they are not enabled. */
+    @Nullable
+    CompactionPressureMetrics compactionPressureMetrics();
+
     void close() throws Exception;
 
     @FunctionalInterface
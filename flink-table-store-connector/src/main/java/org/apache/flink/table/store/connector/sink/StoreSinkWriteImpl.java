@@ -23,6 +23,8 @@ import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.disk.IOManagerImpl;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.table.FileStoreTable;
@@ -33,6 +35,8 @@ import org.apache.flink.table.store.table.sink.TableWrite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -131,6 +135,18 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
         // do nothing
     }
 
+    @Nullable
+    @Override
+    public CompactionMetrics compactionMetrics() {
+        return write == null ? null : write.compactionMetrics();
+    }
+
+    @Nullable
+    @Override
+    public CompactionPressureMetrics compactionPressureMetrics() {
+        return write == null ? null : write.compactionPressureMetrics();
+    }
+
     @Override
     public void close() throws Exception {
         if (write != null) {
@@ -100,6 +100,9 @@ public class StoreWriteOperator extends PrepareCommitOperator {
         super.open();
 
         this.sinkContext = new SimpleContext(getProcessingTimeService());
+        registerCompactionMetrics(write.compactionMetrics());
+        registerCompactionPressureMetrics(write.compactionPressureMetrics());
+        registerManifestCacheMetrics(table.store().manifestCacheMetrics());
         if (logSinkFunction != null) {
             FunctionUtils.openFunction(logSinkFunction, new Configuration());
             logCallback = new LogWriteCallback();
@@ -128,6 +131,7 @@ public class StoreWriteOperator extends PrepareCommitOperator {
         } catch (Exception e) {
             throw new IOException(e);
         }
+        checkBucket(record);
 
         if (logSinkFunction != null) {
             // write to log store, need to preserve original pk (which includes partition fields)
@@ -136,6 +140,21 @@ public class StoreWriteOperator extends PrepareCommitOperator {
         }
     }
 
+    private void checkBucket(SinkRecord record) {
+        // the partitioner and the writer resolve the bucket number of a partition separately, they
+        // differ if the partition is rescaled in between, and both resolve it again on failover
+        int parallelism = getRuntimeContext().getNumberOfParallelSubtasks();
+        int subtaskIndex = getRuntimeContext().getIndexOfThisSubtask();
+        if (record.bucket() % parallelism != subtaskIndex) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Record of partition %s is written to bucket %d, which is not owned by "
+                                    + "subtask %d of %d. The partition has been rescaled while it "
+                                    + "is written, please restart the job.",
+                            record.partition(), record.bucket(), subtaskIndex, parallelism));
+        }
+    }
+
     @Override
     public void snapshotState(StateSnapshotContext context) throws Exception {
         super.snapshotState(context);
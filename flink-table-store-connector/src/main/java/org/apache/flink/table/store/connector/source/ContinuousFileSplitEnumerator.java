@@ -23,6 +23,7 @@ import org.apache.flink.api.connector.source.SplitEnumerator;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
 import org.apache.flink.table.store.table.source.DataSplit;
 import org.apache.flink.table.store.table.source.DataTableScan;
+import org.apache.flink.table.store.table.source.snapshot.DiscoveryBackoff;
 import org.apache.flink.table.store.table.source.snapshot.SnapshotEnumerator;
 
 import org.slf4j.Logger;
@@ -64,12 +65,15 @@ public class ContinuousFileSplitEnumerator
 
     private final SnapshotEnumerator snapshotEnumerator;
 
+    private final DiscoveryBackoff discoveryBackoff;
+
     public ContinuousFileSplitEnumerator(
             SplitEnumeratorContext<FileStoreSourceSplit> context,
             Collection<FileStoreSourceSplit> remainSplits,
             Long nextSnapshotId,
             long discoveryInterval,
-            SnapshotEnumerator snapshotEnumerator) {
+            SnapshotEnumerator snapshotEnumerator,
+            DiscoveryBackoff discoveryBackoff) {
         checkArgument(discoveryInterval > 0L);
         this.context = checkNotNull(context);
         this.bucketSplits = new HashMap<>();
@@ -79,6 +83,7 @@ public class ContinuousFileSplitEnumerator
         this.readersAwaitingSplit = new HashSet<>();
         this.splitGenerator = new FileStoreSourceSplitGenerator();
         this.snapshotEnumerator = snapshotEnumerator;
+        this.discoveryBackoff = discoveryBackoff;
     }
 
     private void addSplits(Collection<FileStoreSourceSplit> splits) {
@@ -93,13 +98,12 @@ public class ContinuousFileSplitEnumerator
 
     @Override
     public void start() {
-        context.callAsync(
-                snapshotEnumerator::enumerate, this::processDiscoveredSplits, 0, discoveryInterval);
+        context.callAsync(this::discover, this::processDiscoveredSplits, 0, discoveryInterval);
     }
 
     @Override
     public void close() throws IOException {
-        // no resources to close
+        discoveryBackoff.close();
     }
 
     @Override
@@ -137,6 +141,17 @@ public class ContinuousFileSplitEnumerator
 
     // ------------------------------------------------------------------------
 
+    /** Called by the worker thread at every discovery interval. */
+    @Nullable
+    private DataTableScan.DataFilePlan discover() {
+        if (!discoveryBackoff.shouldDiscover()) {
+            return null;
+        }
+        DataTableScan.DataFilePlan plan = snapshotEnumerator.enumerate();
+        discoveryBackoff.onDiscovered(plan != null);
+        return plan;
+    }
+
     private void processDiscoveredSplits(
             @Nullable DataTableScan.DataFilePlan result, Throwable error) {
         if (error != null) {
@@ -21,13 +21,18 @@ package org.apache.flink.table.store.connector.source;
 import org.apache.flink.api.connector.source.Boundedness;
 import org.apache.flink.api.connector.source.SplitEnumerator;
 import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.table.DataTable;
 import org.apache.flink.table.store.table.source.DataTableScan;
 import org.apache.flink.table.store.table.source.snapshot.ContinuousDataFileSnapshotEnumerator;
+import org.apache.flink.table.store.table.source.snapshot.DiscoveryBackoff;
+import org.apache.flink.table.store.table.source.snapshot.SnapshotNotifier;
 
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -84,11 +89,19 @@ public class ContinuousFileStoreSource extends FlinkSource {
             splits = checkpoint.splits();
         }
 
+        CoreOptions options = table.options();
+        SnapshotNotifier notifier;
+        try {
+            notifier = SnapshotNotifier.create(table.fileIO(), table.location(), options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return new ContinuousFileSplitEnumerator(
                 context,
                 splits,
                 nextSnapshotId,
-                table.options().continuousDiscoveryInterval().toMillis(),
-                enumeratorFactory.create(table, scan, nextSnapshotId));
+                options.continuousDiscoveryInterval().toMillis(),
+                enumeratorFactory.create(table, scan, nextSnapshotId),
+                DiscoveryBackoff.create(options, notifier));
     }
 }
@@ -22,6 +22,7 @@ import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.table.catalog.ObjectIdentifier;
 import org.apache.flink.table.connector.ChangelogMode;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
@@ -33,6 +34,7 @@ import org.apache.flink.table.store.CoreOptions.LogChangelogMode;
 import org.apache.flink.table.store.CoreOptions.LogConsistency;
 import org.apache.flink.table.store.connector.FlinkConnectorOptions;
 import org.apache.flink.table.store.connector.TableStoreDataStreamScanProvider;
+import org.apache.flink.table.store.connector.lookup.AsyncFileStoreLookupFunction;
 import org.apache.flink.table.store.connector.lookup.FileStoreLookupFunction;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.log.LogSourceProvider;
@@ -51,6 +53,8 @@ import static org.apache.flink.table.store.CoreOptions.CHANGELOG_PRODUCER;
 import static org.apache.flink.table.store.CoreOptions.LOG_CHANGELOG_MODE;
 import static org.apache.flink.table.store.CoreOptions.LOG_CONSISTENCY;
 import static org.apache.flink.table.store.CoreOptions.LOG_SCAN_REMOVE_NORMALIZE;
+import static org.apache.flink.table.store.connector.FlinkConnectorOptions.LOOKUP_ASYNC;
+import static org.apache.flink.table.store.connector.FlinkConnectorOptions.LOOKUP_ASYNC_MAX_BATCH_SIZE;
 
 /**
  * Table source to create {@link StaticFileStoreSource} or {@link ContinuousFileStoreSource} under
@@ -206,7 +210,14 @@ public class TableStoreSource extends FlinkTableSource
                         ? IntStream.range(0, table.schema().fields().size()).toArray()
                         : Projection.of(projectFields).toTopLevelIndexes();
         int[] joinKey = Projection.of(context.getKeys()).toTopLevelIndexes();
-        return TableFunctionProvider.of(
-                new FileStoreLookupFunction(table, projection, joinKey, predicate));
+        FileStoreLookupFunction function =
+                new FileStoreLookupFunction(table, projection, joinKey, predicate);
+        Configuration options = Configuration.fromMap(table.schema().options());
+        if (options.get(LOOKUP_ASYNC)) {
+            return AsyncTableFunctionProvider.of(
+                    new AsyncFileStoreLookupFunction(
+                            function, options.get(LOOKUP_ASYNC_MAX_BATCH_SIZE)));
+        }
+        return TableFunctionProvider.of(function);
     }
 }
@@ -121,6 +121,24 @@ public class ContinuousFileStoreITCase extends CatalogITCaseBase {
                 .containsExactlyInAnyOrder(Row.of("7", "8", "9"), Row.of("10", "11", "12"));
     }
 
+    @Test
+    public void testDiscoveryNotifier() throws TimeoutException {
+        // the reader backs off while the inserts are running and is woken up by the watcher
+        BlockingIterator<Row, Row> iterator =
+                BlockingIterator.of(
+                        streamSqlIter(
+                                "SELECT * FROM T1 /*+ OPTIONS("
+                                        + "'continuous.discovery-notifier'='filesystem-watch', "
+                                        + "'continuous.discovery-interval.max'='1 h') */"));
+
+        batchSql("INSERT INTO T1 VALUES ('1', '2', '3'), ('4', '5', '6')");
+        assertThat(iterator.collect(2))
+                .containsExactlyInAnyOrder(Row.of("1", "2", "3"), Row.of("4", "5", "6"));
+
+        batchSql("INSERT INTO T1 VALUES ('7', '8', '9')");
+        assertThat(iterator.collect(1)).containsExactlyInAnyOrder(Row.of("7", "8", "9"));
+    }
+
     @Test
     public void testContinuousFromTimestamp() throws Exception {
         String sql =
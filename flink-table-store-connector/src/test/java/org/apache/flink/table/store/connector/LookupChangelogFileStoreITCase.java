@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector;
+
+import org.apache.flink.table.store.file.utils.BlockingIterator;
+import org.apache.flink.types.Row;
+import org.apache.flink.types.RowKind;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** SQL ITCase for lookup changelog producer. */
+public class LookupChangelogFileStoreITCase extends CatalogITCaseBase {
+
+    @Override
+    @Before
+    public void before() throws IOException {
+        super.before();
+        tEnv.executeSql(
+                "CREATE TABLE IF NOT EXISTS T (a STRING, b STRING, c STRING, PRIMARY KEY (a) NOT ENFORCED)"
+                        + " WITH('changelog-producer'='lookup')");
+    }
+
+    @Test
+    public void testStreamingRead() throws Exception {
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(streamSqlIter("SELECT * FROM T"));
+
+        sql("INSERT INTO T VALUES ('1', '2', '3'), ('4', '5', '6')");
+        assertThat(iterator.collect(2))
+                .containsExactlyInAnyOrder(Row.of("1", "2", "3"), Row.of("4", "5", "6"));
+
+        sql("INSERT INTO T VALUES ('7', '8', '9')");
+        assertThat(iterator.collect(1)).containsExactlyInAnyOrder(Row.of("7", "8", "9"));
+
+        iterator.close();
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        sql("INSERT INTO T VALUES ('1', '2', '3')");
+
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(streamSqlIter("SELECT * FROM T"));
+        assertThat(iterator.collect(1))
+                .containsExactlyInAnyOrder(Row.ofKind(RowKind.INSERT, "1", "2", "3"));
+
+        sql("INSERT INTO T VALUES ('1', '4', '5'), ('6', '7', '8')");
+        assertThat(iterator.collect(3))
+                .containsExactlyInAnyOrder(
+                        Row.ofKind(RowKind.UPDATE_BEFORE, "1", "2", "3"),
+                        Row.ofKind(RowKind.UPDATE_AFTER, "1", "4", "5"),
+                        Row.ofKind(RowKind.INSERT, "6", "7", "8"));
+
+        iterator.close();
+    }
+
+    @Test
+    public void testPartialUpdate() throws Exception {
+        sql(
+                "CREATE TABLE P (k INT, v1 STRING, v2 STRING, PRIMARY KEY (k) NOT ENFORCED)"
+                        + " WITH ('changelog-producer'='lookup', 'merge-engine'='partial-update')");
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(streamSqlIter("SELECT * FROM P"));
+
+        sql("INSERT INTO P VALUES (1, 'a', CAST(NULL AS STRING))");
+        assertThat(iterator.collect(1)).containsExactlyInAnyOrder(Row.of(1, "a", null));
+
+        sql("INSERT INTO P VALUES (1, CAST(NULL AS STRING), 'b')");
+        assertThat(iterator.collect(2))
+                .containsExactlyInAnyOrder(
+                        Row.ofKind(RowKind.UPDATE_BEFORE, 1, "a", null),
+                        Row.ofKind(RowKind.UPDATE_AFTER, 1, "a", "b"));
+
+        iterator.close();
+    }
+}
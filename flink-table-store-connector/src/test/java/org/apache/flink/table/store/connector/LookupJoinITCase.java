@@ -117,6 +117,116 @@ public class LookupJoinITCase extends AbstractTestBase {
         iterator.close();
     }
 
+    @Test
+    public void testAsyncLookup() throws Exception {
+        executeSql("INSERT INTO DIM VALUES (1, 11, 111, 1111), (2, 22, 222, 2222)");
+
+        String query =
+                "SELECT T.i, D.j, D.k1, D.k2 FROM T LEFT JOIN DIM /*+ OPTIONS('lookup.async'='true') */"
+                        + " for system_time as of T.proctime AS D ON T.i = D.i";
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(env.executeSql(query).collect());
+
+        executeSql("INSERT INTO T VALUES (1), (2), (3)");
+        List<Row> result = iterator.collect(3);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, 11, 111, 1111),
+                        Row.of(2, 22, 222, 2222),
+                        Row.of(3, null, null, null));
+
+        executeSql("INSERT INTO DIM VALUES (2, 44, 444, 4444), (3, 33, 333, 3333)");
+        Thread.sleep(2000); // wait refresh
+        executeSql("INSERT INTO T VALUES (1), (2), (3), (4)");
+        result = iterator.collect(4);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, 11, 111, 1111),
+                        Row.of(2, 44, 444, 4444),
+                        Row.of(3, 33, 333, 3333),
+                        Row.of(4, null, null, null));
+
+        iterator.close();
+    }
+
+    @Test
+    public void testLookupPartitionedTable() throws Exception {
+        executeSql(
+                "CREATE TABLE PARTITIONED_DIM (pt INT, i INT, k1 INT, PRIMARY KEY (pt, i) NOT ENFORCED)"
+                        + " PARTITIONED BY (pt) WITH ('continuous.discovery-interval'='1 ms')");
+        executeSql("INSERT INTO PARTITIONED_DIM VALUES (1, 1, 11), (1, 2, 22), (2, 1, 111)");
+
+        String query =
+                "SELECT T.i, D.pt, D.k1 FROM T LEFT JOIN PARTITIONED_DIM for system_time as of T.proctime AS D"
+                        + " ON T.i = D.i";
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(env.executeSql(query).collect());
+
+        executeSql("INSERT INTO T VALUES (1), (2), (3)");
+        List<Row> result = iterator.collect(4);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, 1, 11),
+                        Row.of(1, 2, 111),
+                        Row.of(2, 1, 22),
+                        Row.of(3, null, null));
+
+        executeSql("INSERT INTO PARTITIONED_DIM VALUES (2, 2, 222), (3, 3, 333)");
+        Thread.sleep(2000); // wait refresh
+        executeSql("INSERT INTO T VALUES (2), (3)");
+        result = iterator.collect(3);
+        assertThat(result)
+                .containsExactlyInAnyOrder(Row.of(2, 1, 22), Row.of(2, 2, 222), Row.of(3, 3, 333));
+
+        iterator.close();
+    }
+
+    @Test
+    public void testLookupMaxPartition() throws Exception {
+        innerTestLookupMaxPartition(false);
+    }
+
+    @Test
+    public void testAsyncLookupMaxPartition() throws Exception {
+        innerTestLookupMaxPartition(true);
+    }
+
+    private void innerTestLookupMaxPartition(boolean async) throws Exception {
+        executeSql(
+                "CREATE TABLE PARTITIONED_DIM (pt INT, i INT, k1 INT, PRIMARY KEY (pt, i) NOT ENFORCED)"
+                        + " PARTITIONED BY (pt) WITH ('continuous.discovery-interval'='1 ms',"
+                        + " 'lookup.dynamic-partition'='max_pt()')");
+        executeSql("INSERT INTO PARTITIONED_DIM VALUES (1, 1, 11), (1, 2, 22), (2, 1, 111)");
+
+        String query =
+                String.format(
+                        "SELECT T.i, D.pt, D.k1 FROM T LEFT JOIN PARTITIONED_DIM"
+                                + " /*+ OPTIONS('lookup.async'='%s') */"
+                                + " for system_time as of T.proctime AS D ON T.i = D.i",
+                        async);
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(env.executeSql(query).collect());
+
+        executeSql("INSERT INTO T VALUES (1), (2)");
+        List<Row> result = iterator.collect(2);
+        assertThat(result).containsExactlyInAnyOrder(Row.of(1, 2, 111), Row.of(2, null, null));
+
+        // update the max partition
+        executeSql("INSERT INTO PARTITIONED_DIM VALUES (2, 2, 222)");
+        Thread.sleep(2000); // wait refresh
+        executeSql("INSERT INTO T VALUES (1), (2)");
+        result = iterator.collect(2);
+        assertThat(result).containsExactlyInAnyOrder(Row.of(1, 2, 111), Row.of(2, 2, 222));
+
+        // switch to a new max partition, the previous one is dropped
+        executeSql("INSERT INTO PARTITIONED_DIM VALUES (3, 2, 2222), (3, 3, 3333)");
+        Thread.sleep(2000); // wait refresh
+        executeSql("INSERT INTO T VALUES (1), (2), (3)");
+        result = iterator.collect(3);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, null, null), Row.of(2, 3, 2222), Row.of(3, 3, 3333));
+
+        iterator.close();
+    }
+
     @Test
     public void testLookupWithLatest() throws Exception {
         executeSql("INSERT INTO DIM VALUES (1, 11, 111, 1111), (2, 22, 222, 2222)");
@@ -319,6 +429,39 @@ public class LookupJoinITCase extends AbstractTestBase {
         iterator.close();
     }
 
+    @Test
+    public void testAsyncNonPkLookup() throws Exception {
+        executeSql(
+                "INSERT INTO DIM VALUES (1, 11, 111, 1111), (2, 22, 222, 2222), (3, 22, 333, 3333)");
+
+        String query =
+                "SELECT D.i, T.i, D.k1, D.k2 FROM T LEFT JOIN DIM /*+ OPTIONS('lookup.async'='true') */"
+                        + " for system_time as of T.proctime AS D ON T.i = D.j";
+        BlockingIterator<Row, Row> iterator = BlockingIterator.of(env.executeSql(query).collect());
+
+        executeSql("INSERT INTO T VALUES (11), (22), (33)");
+        List<Row> result = iterator.collect(4);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, 11, 111, 1111),
+                        Row.of(2, 22, 222, 2222),
+                        Row.of(3, 22, 333, 3333),
+                        Row.of(null, 33, null, null));
+
+        executeSql("INSERT INTO DIM VALUES (2, 44, 444, 4444), (3, 33, 333, 3333)");
+        Thread.sleep(2000); // wait refresh
+        executeSql("INSERT INTO T VALUES (11), (22), (33), (44)");
+        result = iterator.collect(4);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        Row.of(1, 11, 111, 1111),
+                        Row.of(null, 22, null, null),
+                        Row.of(3, 33, 333, 3333),
+                        Row.of(2, 44, 444, 4444));
+
+        iterator.close();
+    }
+
     @Test
     public void testNonPkLookupProjection() throws Exception {
         executeSql(
@@ -487,7 +630,7 @@ public class LookupJoinITCase extends AbstractTestBase {
         assertThatThrownBy(() -> env.executeSql(query))
                 .hasRootCauseMessage(
                         "Partial update continuous reading is not supported. "
-                                + "You can use full compaction changelog producer to support streaming reading.");
+                                + "You can use full compaction or lookup changelog producer to support streaming reading.");
     }
 
     @Test
@@ -1057,10 +1057,10 @@ public class ReadWriteTableITCase extends AbstractTestBase {
         insertInto(table, "('US Dollar', 102, '2022-06-20')");
 
         // increase bucket num from 2 to 3
-        assertChangeBucketWithoutRescale(table, 3);
+        assertChangeBucketWithoutRescale(table, 3, "2022-06-21");
 
         // decrease bucket num from 3 to 1
-        assertChangeBucketWithoutRescale(table, 1);
+        assertChangeBucketWithoutRescale(table, 1, "2022-06-22");
     }
 
     @Test
@@ -1176,20 +1176,27 @@ public class ReadWriteTableITCase extends AbstractTestBase {
         }
     }
 
-    private void assertChangeBucketWithoutRescale(String table, int bucketNum) throws Exception {
+    private void assertChangeBucketWithoutRescale(String table, int bucketNum, String newPartition)
+            throws Exception {
         bEnv.executeSql(String.format("ALTER TABLE `%s` SET ('bucket' = '%d')", table, bucketNum));
         // read is ok
         assertThat(
                         BlockingIterator.of(bEnv.executeSql(buildSimpleQuery(table)).collect())
                                 .collect())
-                .containsExactlyInAnyOrder(changelogRow("+I", "US Dollar", 102L, "2022-06-20"));
-        assertThatThrownBy(() -> insertInto(table, "('US Dollar', 102, '2022-06-20')"))
-                .rootCause()
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage(
-                        String.format(
-                                "Try to write partition {dt=2022-06-20} with a new bucket num %d, but the previous bucket num is 2. "
-                                        + "Please switch to batch mode, and perform INSERT OVERWRITE to rescale current data layout first.",
-                                bucketNum));
+                .contains(changelogRow("+I", "US Dollar", 102L, "2022-06-20"));
+        // write is ok, the existing partition keeps its bucket num and the new partition uses the
+        // new one
+        insertInto(
+                table,
+                String.format(
+                        "('Euro', %d, '2022-06-20'), ('Euro', %d, '%s')",
+                        bucketNum, bucketNum, newPartition));
+        assertThat(
+                        BlockingIterator.of(bEnv.executeSql(buildSimpleQuery(table)).collect())
+                                .collect())
+                .contains(
+                        changelogRow("+I", "US Dollar", 102L, "2022-06-20"),
+                        changelogRow("+I", "Euro", (long) bucketNum, "2022-06-20"),
+                        changelogRow("+I", "Euro", (long) bucketNum, newPartition));
     }
 }
@@ -23,10 +23,12 @@ import org.apache.flink.client.program.ClusterClient;
 import org.apache.flink.core.execution.SavepointFormatType;
 import org.apache.flink.runtime.jobgraph.SavepointConfigOptions;
 import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
 import org.apache.flink.types.Row;
 
 import org.junit.Test;
@@ -36,10 +38,10 @@ import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.CoreOptions.BUCKET;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** IT case for overwrite data layout after changing num of bucket. */
 public class RescaleBucketITCase extends CatalogITCaseBase {
@@ -194,30 +196,41 @@ public class RescaleBucketITCase extends CatalogITCaseBase {
         assertThat(batchSql("SELECT * FROM %s", tableName))
                 .containsExactlyInAnyOrderElementsOf(expected);
 
-        // check write without rescale
-        assertThatThrownBy(() -> batchSql("INSERT INTO %s VALUES (6)", tableName))
-                .getRootCause()
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage(
-                        "Try to write table with a new bucket num 4, but the previous bucket num is 2. "
-                                + "Please switch to batch mode, and perform INSERT OVERWRITE to rescale current data layout first.");
+        // check write without rescale, the table keeps the previous bucket num
+        batchSql("INSERT INTO %s VALUES (6)", tableName);
+        assertThat(totalBuckets(tableName)).containsOnly(2);
+        expected = Arrays.asList(Row.of(1), Row.of(2), Row.of(3), Row.of(4), Row.of(5), Row.of(6));
+        assertThat(batchSql("SELECT * FROM %s", tableName))
+                .containsExactlyInAnyOrderElementsOf(expected);
 
         batchSql(rescaleOverwriteSql, tableName, tableName);
         snapshot = findLatestSnapshot(tableName);
         assertThat(snapshot).isNotNull();
-        assertThat(snapshot.id()).isEqualTo(2L);
+        assertThat(snapshot.id()).isEqualTo(3L);
         assertThat(snapshot.commitKind()).isEqualTo(Snapshot.CommitKind.OVERWRITE);
         assertSnapshotSchema(schemaManager, snapshot.schemaId(), 1L, 4);
+        assertThat(totalBuckets(tableName)).containsOnly(4);
         assertThat(batchSql("SELECT * FROM %s", tableName))
                 .containsExactlyInAnyOrderElementsOf(expected);
 
         // insert new data
-        batchSql("INSERT INTO %s VALUES(6)", tableName);
-        expected = Arrays.asList(Row.of(1), Row.of(2), Row.of(3), Row.of(4), Row.of(5), Row.of(6));
+        batchSql("INSERT INTO %s VALUES(7)", tableName);
+        assertThat(totalBuckets(tableName)).containsOnly(4);
+        expected =
+                Arrays.asList(
+                        Row.of(1), Row.of(2), Row.of(3), Row.of(4), Row.of(5), Row.of(6),
+                        Row.of(7));
         assertThat(batchSql("SELECT * FROM %s", tableName))
                 .containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    private List<Integer> totalBuckets(String tableName) {
+        return FileStoreTableFactory.create(LocalFileIO.create(), getTableDirectory(tableName))
+                .store().newScan().plan().files().stream()
+                .map(ManifestEntry::totalBuckets)
+                .collect(Collectors.toList());
+    }
+
     private void executeBoth(List<String> sqlList) {
         sqlList.forEach(
                 sql -> {
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.action;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.source.DataTableScan;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** IT cases for {@link RemoveOrphanFilesAction}. */
+public class RemoveOrphanFilesActionITCase extends ActionITCaseBase {
+
+    private static final DataType[] FIELD_TYPES =
+            new DataType[] {DataTypes.INT(), DataTypes.STRING(), DataTypes.INT()};
+
+    private static final RowType ROW_TYPE = RowType.of(FIELD_TYPES, new String[] {"k", "dt", "v"});
+
+    @Test
+    public void testRemoveOrphanFiles() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        ROW_TYPE,
+                        Collections.singletonList("dt"),
+                        Arrays.asList("k", "dt"),
+                        Collections.emptyMap());
+        snapshotManager = table.snapshotManager();
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+
+        writeData(
+                rowData(1, BinaryString.fromString("2023-01-12"), 10),
+                rowData(2, BinaryString.fromString("2023-01-13"), 20));
+        writeData(rowData(1, BinaryString.fromString("2023-01-12"), 11));
+
+        LocalFileIO fileIO = LocalFileIO.create();
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        Path oldDataFile = new Path(tablePath, "dt=2023-01-12/bucket-0/data-orphan-0.orc");
+        Path oldManifest = new Path(tablePath, "manifest/manifest-orphan-0");
+        Path newManifest = new Path(tablePath, "manifest/manifest-orphan-1");
+        for (Path path : Arrays.asList(oldDataFile, oldManifest, newManifest)) {
+            fileIO.writeFileUtf8(path, "orphan");
+        }
+        assertThat(new File(oldDataFile.toUri().getPath()).setLastModified(twoDaysAgo)).isTrue();
+        assertThat(new File(oldManifest.toUri().getPath()).setLastModified(twoDaysAgo)).isTrue();
+
+        RemoveOrphanFilesAction.create(
+                        new String[] {"--path", tablePath.toString(), "--parallelism", "2"})
+                .get()
+                .run();
+
+        assertThat(fileIO.exists(oldDataFile)).isFalse();
+        assertThat(fileIO.exists(oldManifest)).isFalse();
+        assertThat(fileIO.exists(newManifest)).isTrue();
+
+        DataTableScan.DataFilePlan plan = table.newScan().plan();
+        List<String> actual = getResult(table.newRead(), plan.splits(), ROW_TYPE);
+        assertThat(actual)
+                .containsExactlyInAnyOrder("+I[1, 2023-01-12, 11]", "+I[2, 2023-01-13, 20]");
+    }
+
+    @Test
+    public void testRemoveOrphanFilesOfUnpartitionedTable() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        ROW_TYPE,
+                        Collections.emptyList(),
+                        Collections.singletonList("k"),
+                        Collections.emptyMap());
+        snapshotManager = table.snapshotManager();
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+
+        writeData(rowData(1, BinaryString.fromString("2023-01-12"), 10));
+        writeData(rowData(1, BinaryString.fromString("2023-01-12"), 11));
+
+        // buckets of unpartitioned tables are right under the table root
+        LocalFileIO fileIO = LocalFileIO.create();
+        Path oldDataFile = new Path(tablePath, "bucket-0/data-orphan-0.orc");
+        fileIO.writeFileUtf8(oldDataFile, "orphan");
+        long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        assertThat(new File(oldDataFile.toUri().getPath()).setLastModified(twoDaysAgo)).isTrue();
+
+        RemoveOrphanFilesAction.create(
+                        new String[] {"--path", tablePath.toString(), "--parallelism", "2"})
+                .get()
+                .run();
+
+        assertThat(fileIO.exists(oldDataFile)).isFalse();
+
+        DataTableScan.DataFilePlan plan = table.newScan().plan();
+        List<String> actual = getResult(table.newRead(), plan.splits(), ROW_TYPE);
+        assertThat(actual).containsExactly("+I[1, 2023-01-12, 11]");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.action;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.schema.SchemaChange;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
+import org.apache.flink.table.store.table.source.DataTableScan;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** IT cases for {@link RescaleBucketAction}. */
+public class RescaleBucketActionITCase extends ActionITCaseBase {
+
+    private static final DataType[] FIELD_TYPES =
+            new DataType[] {DataTypes.INT(), DataTypes.STRING(), DataTypes.INT()};
+
+    private static final RowType ROW_TYPE = RowType.of(FIELD_TYPES, new String[] {"k", "dt", "v"});
+
+    @Test
+    public void testRescaleBucket() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        ROW_TYPE,
+                        Collections.singletonList("dt"),
+                        Arrays.asList("k", "dt"),
+                        Collections.singletonMap("bucket", "2"));
+        snapshotManager = table.snapshotManager();
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+
+        writeData(
+                rowData(1, BinaryString.fromString("2023-01-12"), 10),
+                rowData(2, BinaryString.fromString("2023-01-12"), 20),
+                rowData(3, BinaryString.fromString("2023-01-13"), 30));
+
+        new SchemaManager(LocalFileIO.create(), tablePath)
+                .commitChanges(Collections.singletonList(SchemaChange.setOption("bucket", "4")));
+
+        RescaleBucketAction.create(
+                        new String[] {
+                            "--path", tablePath.toString(), "--partition", "dt=2023-01-13"
+                        })
+                .get()
+                .run();
+
+        FileStoreTable rescaledTable =
+                FileStoreTableFactory.create(LocalFileIO.create(), tablePath);
+        Map<String, List<Integer>> totalBuckets =
+                rescaledTable.store().newScan().plan().files().stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        e -> e.partition().getString(0).toString(),
+                                        Collectors.mapping(
+                                                ManifestEntry::totalBuckets, Collectors.toList())));
+        assertThat(totalBuckets.get("2023-01-12")).containsOnly(2);
+        assertThat(totalBuckets.get("2023-01-13")).containsOnly(4);
+
+        DataTableScan.DataFilePlan plan = rescaledTable.newScan().plan();
+        List<String> actual = getResult(rescaledTable.newRead(), plan.splits(), ROW_TYPE);
+        assertThat(actual)
+                .containsExactlyInAnyOrder(
+                        "+I[1, 2023-01-12, 10]", "+I[2, 2023-01-12, 20]", "+I[3, 2023-01-13, 30]");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.table.sink.BucketComputer;
+import org.apache.flink.table.store.types.DataField;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.flink.table.store.CoreOptions.BUCKET;
+import static org.apache.flink.table.store.CoreOptions.BUCKET_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link BucketShard}. */
+public class BucketShardTest {
+
+    @Test
+    public void testBucketOfKey() {
+        TableSchema schema = schema("", "a,b");
+        BucketComputer computer = new BucketComputer(schema);
+        // keys in a different order from the table fields
+        BucketShard shard = new BucketShard(schema, Arrays.asList("b", "a"));
+        BucketShardPartitioner partitioner =
+                new BucketShardPartitioner(schema, Arrays.asList("b", "a"));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100; i++) {
+            int a = random.nextInt();
+            int b = random.nextInt();
+            int bucket = computer.bucket(GenericRow.of(a, b, random.nextInt()));
+            assertThat(shard.bucket(GenericRow.of(b, a))).isEqualTo(bucket);
+            assertThat(partitioner.partition(GenericRowData.of(b, a), 3))
+                    .isEqualTo(BucketShard.shard(bucket, 3));
+        }
+    }
+
+    @Test
+    public void testBucketKeyOption() {
+        TableSchema schema = schema("a", "a,b");
+        BucketComputer computer = new BucketComputer(schema);
+        BucketShard shard = new BucketShard(schema, Collections.singletonList("a"));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 100; i++) {
+            int a = random.nextInt();
+            assertThat(shard.bucket(GenericRow.of(a)))
+                    .isEqualTo(computer.bucket(GenericRow.of(a, random.nextInt(), 0)));
+        }
+    }
+
+    @Test
+    public void testKeysWithoutBucketKeys() {
+        assertThatThrownBy(() -> new BucketShard(schema("", "a,b"), Arrays.asList("a", "c")))
+                .hasMessageContaining(
+                        "Bucket sharding requires the keys [a, c] to contain all bucket keys [a, b].");
+    }
+
+    private static TableSchema schema(String bk, String pk) {
+        RowType rowType =
+                new RowType(
+                        Arrays.asList(
+                                new DataField(0, "a", new IntType()),
+                                new DataField(1, "b", new IntType()),
+                                new DataField(2, "c", new IntType())));
+        List<DataField> fields = TableSchema.newFields(rowType);
+        Map<String, String> options = new HashMap<>();
+        options.put(BUCKET_KEY.key(), bk);
+        options.put(BUCKET.key(), "7");
+        return new TableSchema(
+                0,
+                fields,
+                TableSchema.currentHighestFieldId(fields),
+                Collections.emptyList(),
+                Arrays.asList(pk.split(",")),
+                options,
+                "");
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.connector.lookup;
+
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.file.schema.SchemaChange;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.file.schema.UpdateSchema;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.table.FileStoreTable;
+import org.apache.flink.table.store.table.FileStoreTableFactory;
+import org.apache.flink.table.store.table.sink.TableCommit;
+import org.apache.flink.table.store.table.sink.TableWrite;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.test.util.AbstractTestBase;
+import org.apache.flink.util.CloseableIterator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** IT cases for {@link BucketShardedLookup}. */
+public class BucketShardedLookupITCase extends AbstractTestBase {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(new DataType[] {DataTypes.INT(), DataTypes.INT()}, new String[] {"i", "j"});
+
+    private static final RowType PARTITIONED_ROW_TYPE =
+            RowType.of(
+                    new DataType[] {DataTypes.INT(), DataTypes.INT(), DataTypes.INT()},
+                    new String[] {"pt", "i", "j"});
+
+    @Test
+    public void testLookup() throws Exception {
+        FileStoreTable table = createFileStoreTable();
+        String commitUser = UUID.randomUUID().toString();
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        for (int i = 0; i < 20; i++) {
+            write.write(GenericRow.of(i, i * 10));
+        }
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+        commit.close();
+
+        // more subtasks than one, and a bucket num which is not a multiple of the parallelism
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(3);
+        List<RowData> keys =
+                IntStream.range(0, 30).mapToObj(GenericRowData::of).collect(Collectors.toList());
+        DataStream<RowData> keyStream =
+                env.fromCollection(keys, InternalTypeInfo.ofFields(new IntType()));
+
+        List<String> result = new ArrayList<>();
+        try (CloseableIterator<RowData> iterator =
+                BucketShardedLookup.lookup(keyStream, table, Collections.singletonList("i"))
+                        .executeAndCollect()) {
+            iterator.forEachRemaining(row -> result.add(row.getInt(0) + "|" + row.getInt(1)));
+        }
+        assertThat(result)
+                .containsExactlyInAnyOrderElementsOf(
+                        IntStream.range(0, 20)
+                                .mapToObj(i -> i + "|" + i * 10)
+                                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testLookupWithPartitionsOfDifferentBucketNumbers() throws Exception {
+        Path tablePath = new Path(TEMPORARY_FOLDER.newFolder().toString());
+        SchemaManager schemaManager = new SchemaManager(LocalFileIO.create(), tablePath);
+        schemaManager.commitNewVersion(
+                new UpdateSchema(
+                        PARTITIONED_ROW_TYPE,
+                        Collections.singletonList("pt"),
+                        Arrays.asList("pt", "i"),
+                        Collections.singletonMap(CoreOptions.BUCKET.key(), "2"),
+                        ""));
+        writePartition(FileStoreTableFactory.create(LocalFileIO.create(), tablePath), 1);
+
+        // the existing partition keeps 2 buckets, while the new partition has 4 buckets
+        schemaManager.commitChanges(
+                Collections.singletonList(SchemaChange.setOption(CoreOptions.BUCKET.key(), "4")));
+        FileStoreTable table = FileStoreTableFactory.create(LocalFileIO.create(), tablePath);
+        writePartition(table, 2);
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(3);
+        List<RowData> keys =
+                IntStream.range(0, 30).mapToObj(GenericRowData::of).collect(Collectors.toList());
+        DataStream<RowData> keyStream =
+                env.fromCollection(keys, InternalTypeInfo.ofFields(new IntType()));
+
+        List<String> result = new ArrayList<>();
+        try (CloseableIterator<RowData> iterator =
+                BucketShardedLookup.lookup(keyStream, table, Collections.singletonList("i"))
+                        .executeAndCollect()) {
+            iterator.forEachRemaining(
+                    row -> result.add(row.getInt(0) + "|" + row.getInt(1) + "|" + row.getInt(2)));
+        }
+        List<String> expected = new ArrayList<>();
+        for (int pt = 1; pt <= 2; pt++) {
+            for (int i = 0; i < 20; i++) {
+                expected.add(pt + "|" + i + "|" + i * 10);
+            }
+        }
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private void writePartition(FileStoreTable table, int pt) throws Exception {
+        String commitUser = UUID.randomUUID().toString();
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        for (int i = 0; i < 20; i++) {
+            write.write(GenericRow.of(pt, i, i * 10));
+        }
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+        commit.close();
+    }
+
+    private FileStoreTable createFileStoreTable() throws Exception {
+        Path tablePath = new Path(TEMPORARY_FOLDER.newFolder().toString());
+        TableSchema tableSchema =
+                new SchemaManager(LocalFileIO.create(), tablePath)
+                        .commitNewVersion(
+                                new UpdateSchema(
+                                        ROW_TYPE,
+                                        Collections.emptyList(),
+                                        Collections.singletonList("i"),
+                                        Collections.singletonMap(CoreOptions.BUCKET.key(), "4"),
+                                        ""));
+        return FileStoreTableFactory.create(LocalFileIO.create(), tablePath, tableSchema);
+    }
+}
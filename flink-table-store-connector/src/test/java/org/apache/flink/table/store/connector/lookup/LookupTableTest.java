@@ -32,6 +32,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -146,6 +147,53 @@ public class LookupTableTest {
         assertThat(table.get(row(33))).hasSize(0);
     }
 
+    @Test
+    public void testPkTableGetAll() throws IOException {
+        LookupTable table =
+                LookupTable.create(
+                        stateFactory,
+                        rowType,
+                        singletonList("f0"),
+                        singletonList("f0"),
+                        r -> r.getInt(0) < 3,
+                        ThreadLocalRandom.current().nextInt(2) * 10);
+
+        table.refresh(Arrays.asList(row(1, 11, 111), row(2, 22, 222)).iterator());
+        // get key 1 first to fill the cache
+        assertThat(table.get(row(1))).hasSize(1);
+
+        List<List<InternalRow>> results = table.getAll(Arrays.asList(row(2), row(1), row(3)));
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).hasSize(1);
+        assertRow(results.get(0).get(0), 2, 22, 222);
+        assertThat(results.get(1)).hasSize(1);
+        assertRow(results.get(1).get(0), 1, 11, 111);
+        assertThat(results.get(2)).isEmpty();
+    }
+
+    @Test
+    public void testSecKeyTableGetAll() throws IOException {
+        LookupTable table =
+                LookupTable.create(
+                        stateFactory,
+                        rowType,
+                        singletonList("f0"),
+                        singletonList("f1"),
+                        r -> r.getInt(0) < 4,
+                        ThreadLocalRandom.current().nextInt(2) * 10);
+
+        table.refresh(Arrays.asList(row(1, 11, 111), row(2, 22, 222), row(3, 22, 333)).iterator());
+
+        List<List<InternalRow>> results = table.getAll(Arrays.asList(row(22), row(33), row(11)));
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).hasSize(2);
+        assertRow(results.get(0).get(0), 2, 22, 222);
+        assertRow(results.get(0).get(1), 3, 22, 333);
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).hasSize(1);
+        assertRow(results.get(2).get(0), 1, 11, 111);
+    }
+
     private static InternalRow row(Object... values) {
         return row(RowKind.INSERT, values);
     }
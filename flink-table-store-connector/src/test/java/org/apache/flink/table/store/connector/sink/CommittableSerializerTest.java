@@ -44,7 +44,7 @@ public class CommittableSerializerTest {
         NewFilesIncrement newFilesIncrement = randomNewFilesIncrement();
         CompactIncrement compactIncrement = randomCompactIncrement();
         FileCommittable committable =
-                new FileCommittable(row(0), 1, newFilesIncrement, compactIncrement);
+                new FileCommittable(row(0), 1, 2, newFilesIncrement, compactIncrement);
         FileCommittable newCommittable =
                 (FileCommittable)
                         serializer
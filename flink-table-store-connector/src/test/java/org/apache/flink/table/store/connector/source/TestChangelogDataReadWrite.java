@@ -136,6 +136,7 @@ public class TestChangelogDataReadWrite {
                         VALUE_TYPE,
                         COMPARATOR,
                         DeduplicateMergeFunction.factory(),
+                        CoreOptions.SortEngine.LOSER_TREE,
                         ignore -> avro,
                         pathFactory,
                         EXTRACTOR);
@@ -192,6 +193,7 @@ public class TestChangelogDataReadWrite {
                                 pathFactory,
                                 snapshotManager,
                                 null, // not used, we only create an empty writer
+                                null,
                                 options,
                                 EXTRACTOR)
                         .createEmptyWriterContainer(partition, bucket, service)
@@ -33,8 +33,11 @@ import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.format.FileFormat;
 import org.apache.flink.table.store.fs.Path;
 import org.apache.flink.table.store.options.Options;
+import org.apache.flink.table.store.types.DataTypeRoot;
 import org.apache.flink.table.store.utils.Preconditions;
 
+import javax.annotation.Nullable;
+
 import java.io.Serializable;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -132,6 +135,25 @@ public class CoreOptions implements Serializable {
                             "To avoid frequent manifest merges, this parameter specifies the minimum number "
                                     + "of ManifestFileMeta to merge.");
 
+    public static final ConfigOption<Boolean> MANIFEST_MERGE_ASYNC =
+            ConfigOptions.key("manifest.merge-async")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to merge the manifests of the last committed snapshot in a background "
+                                    + "thread, so that the next commit of the same committer does not have "
+                                    + "to merge them. The merged manifests are discarded if another job "
+                                    + "commits in between.");
+
+    public static final ConfigOption<MemorySize> MANIFEST_CACHE_MAX_MEMORY_SIZE =
+            ConfigOptions.key("manifest.cache.max-memory-size")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Maximum memory of the process-wide cache for decoded manifest entries, "
+                                    + "which is shared by all scans configured with the same size in a JVM. "
+                                    + "If not set, manifest files are read from the file system for every scan.");
+
     public static final ConfigOption<String> PARTITION_DEFAULT_NAME =
             key("partition.default-name")
                     .stringType()
@@ -158,12 +180,54 @@ public class CoreOptions implements Serializable {
                     .defaultValue(Duration.ofHours(1))
                     .withDescription("The maximum time of completed snapshots to retain.");
 
+    public static final ConfigOption<Integer> SNAPSHOT_EXPIRE_THREAD_NUM =
+            ConfigOptions.key("snapshot.expire.thread-num")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads to read manifests and delete files when expiring "
+                                    + "snapshots. Increase it for object stores, where each deletion is "
+                                    + "a round trip.");
+
+    public static final ConfigOption<SnapshotFormat> SNAPSHOT_FORMAT =
+            ConfigOptions.key("snapshot.format")
+                    .enumType(SnapshotFormat.class)
+                    .defaultValue(SnapshotFormat.JSON)
+                    .withDescription(
+                            "The encoding of newly committed snapshot files. Snapshot files of both "
+                                    + "formats can always be read.");
+
     public static final ConfigOption<Duration> CONTINUOUS_DISCOVERY_INTERVAL =
             ConfigOptions.key("continuous.discovery-interval")
                     .durationType()
                     .defaultValue(Duration.ofSeconds(1))
                     .withDescription("The discovery interval of continuous reading.");
 
+    public static final ConfigOption<Duration> CONTINUOUS_DISCOVERY_INTERVAL_MAX =
+            ConfigOptions.key("continuous.discovery-interval.max")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max discovery interval of continuous reading. If set, the interval "
+                                    + "is doubled up to this value while no new snapshot is found, "
+                                    + "and reset to '"
+                                    + CONTINUOUS_DISCOVERY_INTERVAL.key()
+                                    + "' once a snapshot is found. "
+                                    + "By default, the interval is not backed off.");
+
+    public static final ConfigOption<DiscoveryNotifier> CONTINUOUS_DISCOVERY_NOTIFIER =
+            ConfigOptions.key("continuous.discovery-notifier")
+                    .enumType(DiscoveryNotifier.class)
+                    .defaultValue(DiscoveryNotifier.NONE)
+                    .withDescription(
+                            "The mechanism to be notified of new snapshots in continuous reading. "
+                                    + "A notification makes the reader look for new snapshots at "
+                                    + "the next discovery interval even if it is backed off, so "
+                                    + "combined with '"
+                                    + CONTINUOUS_DISCOVERY_INTERVAL_MAX.key()
+                                    + "', readers still wake up promptly on commits while the "
+                                    + "file system is rarely accessed when the table is idle.");
+
     @Immutable
     public static final ConfigOption<MergeEngine> MERGE_ENGINE =
             ConfigOptions.key("merge-engine")
@@ -171,6 +235,14 @@ public class CoreOptions implements Serializable {
                     .defaultValue(MergeEngine.DEDUPLICATE)
                     .withDescription("Specify the merge engine for table with primary key.");
 
+    public static final ConfigOption<SortEngine> SORT_ENGINE =
+            ConfigOptions.key("sort-engine")
+                    .enumType(SortEngine.class)
+                    .defaultValue(SortEngine.LOSER_TREE)
+                    .withDescription(
+                            "Specify the sort engine for table with primary key, which is used to "
+                                    + "merge sorted runs when reading and compacting.");
+
     public static final ConfigOption<Boolean> PARTIAL_UPDATE_IGNORE_DELETE =
             ConfigOptions.key("partial-update.ignore-delete")
                     .booleanType()
@@ -193,6 +265,16 @@ public class CoreOptions implements Serializable {
                             "If set to true, compactions and snapshot expiration will be skipped. "
                                     + "This option is used along with dedicated compact jobs.");
 
+    public static final ConfigOption<Boolean> WRITE_BATCH_RESTORE =
+            ConfigOptions.key("write.batch-restore")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to restore the files of all writers of a partition created upon the same "
+                                    + "snapshot from a single scan of that partition, instead of scanning it once per bucket. "
+                                    + "This speeds up restarting a writer task with many buckets, "
+                                    + "but holds the file metas of the restored partitions in memory until the next commit.");
+
     public static final ConfigOption<MemorySize> SOURCE_SPLIT_TARGET_SIZE =
             ConfigOptions.key("source.split.target-size")
                     .memoryType()
@@ -221,6 +303,15 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "Whether the write buffer can be spillable. Enabled by default when using object storage.");
 
+    public static final ConfigOption<Integer> PREPARE_COMMIT_THREAD_NUM =
+            ConfigOptions.key("prepare-commit.thread-num")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads of a writer task to flush the writers of "
+                                    + "different buckets concurrently when preparing a commit. "
+                                    + "Flushing only releases memory of the shared write buffer.");
+
     public static final ConfigOption<Integer> LOCAL_SORT_MAX_NUM_FILE_HANDLES =
             ConfigOptions.key("local-sort.max-num-file-handles")
                     .intType()
@@ -258,6 +349,29 @@ public class CoreOptions implements Serializable {
                             "The number of sorted runs that trigger the stopping of writes,"
                                     + " the default value is 'num-sorted-run.compaction-trigger' + 1.");
 
+    public static final ConfigOption<Boolean> NUM_SORTED_RUNS_ADAPTIVE_TRIGGER =
+            ConfigOptions.key("num-sorted-run.adaptive-trigger")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to adapt the compaction trigger and the stop trigger of each bucket"
+                                    + " to the observed ingest rate, compaction throughput and number of"
+                                    + " sorted runs. When compaction falls behind ingestion, both triggers"
+                                    + " are raised to merge more runs per compaction instead of stopping"
+                                    + " writes. When compaction has spare capacity, the compaction trigger"
+                                    + " is lowered down to half of 'num-sorted-run.compaction-trigger' to"
+                                    + " reduce the sorted runs merged by readers. Only supported by the"
+                                    + " universal compaction strategy.");
+
+    public static final ConfigOption<Integer> NUM_SORTED_RUNS_ADAPTIVE_MAX_STOP_TRIGGER =
+            ConfigOptions.key("num-sorted-run.adaptive-max-stop-trigger")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The maximum number of sorted runs that the adaptive trigger may raise the"
+                                    + " stop trigger to, the default value is twice the"
+                                    + " 'num-sorted-run.stop-trigger'.");
+
     public static final ConfigOption<Integer> NUM_LEVELS =
             ConfigOptions.key("num-levels")
                     .intType()
@@ -271,6 +385,18 @@ public class CoreOptions implements Serializable {
                     .defaultValue(false)
                     .withDescription("Whether to force a compaction before commit.");
 
+    public static final ConfigOption<Boolean> COMMIT_SINGLE_SNAPSHOT =
+            ConfigOptions.key("commit.single-snapshot")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to commit the new files and the compaction changes of a checkpoint "
+                                    + "into one APPEND snapshot instead of an APPEND and a COMPACT snapshot. "
+                                    + "The delta of such a snapshot also contains compaction changes, so this "
+                                    + "is only supported by the 'input' changelog producer, whose streaming "
+                                    + "readers consume changelog files instead of the delta. There will be no "
+                                    + "COMPACT snapshot for the 'compacted-full' scan mode.");
+
     public static final ConfigOption<Integer> COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT =
             ConfigOptions.key("compaction.max-size-amplification-percent")
                     .intType()
@@ -288,6 +414,31 @@ public class CoreOptions implements Serializable {
                                     + "size is 1% smaller than the next sorted run's size, then include next sorted run "
                                     + "into this candidate set.");
 
+    public static final ConfigOption<CompactionStrategy> COMPACTION_STRATEGY =
+            ConfigOptions.key("compaction.strategy")
+                    .enumType(CompactionStrategy.class)
+                    .defaultValue(CompactionStrategy.UNIVERSAL)
+                    .withDescription(
+                            "The strategy to pick files for compaction of changelog mode table.");
+
+    public static final ConfigOption<MemorySize> COMPACTION_LEVELED_BASE_LEVEL_SIZE =
+            ConfigOptions.key("compaction.leveled.base-level-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256 mb"))
+                    .withDescription(
+                            "Target size of level 1 for the 'leveled' compaction strategy. "
+                                    + "The target size of each higher level is the size of its "
+                                    + "previous level multiplied by 'compaction.leveled.level-size-multiplier', "
+                                    + "the highest level has no target size.");
+
+    public static final ConfigOption<Integer> COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER =
+            ConfigOptions.key("compaction.leveled.level-size-multiplier")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription(
+                            "Ratio between the target sizes of two adjacent levels for the 'leveled' "
+                                    + "compaction strategy.");
+
     public static final ConfigOption<Integer> COMPACTION_MIN_FILE_NUM =
             ConfigOptions.key("compaction.min.file-num")
                     .intType()
@@ -316,6 +467,25 @@ public class CoreOptions implements Serializable {
                                     + "This value avoids merging too much sorted runs at the same time during compaction, "
                                     + "which may lead to OutOfMemoryError.");
 
+    public static final ConfigOption<Integer> COMPACTION_THREAD_NUM =
+            ConfigOptions.key("compaction.thread-num")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads of a writer task to run compactions. "
+                                    + "Compactions of different buckets can run concurrently, "
+                                    + "while compactions of the same bucket are always serial.");
+
+    public static final ConfigOption<Integer> COMPACTION_MAX_SUBCOMPACTIONS =
+            ConfigOptions.key("compaction.max-subcompactions")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of key ranges a compaction of one bucket is split into. "
+                                    + "Key ranges are rewritten concurrently and their outputs form one sorted run. "
+                                    + "Each key range covers at least 'target-file-size' of input files, "
+                                    + "so only large compactions, such as full compactions of large buckets, are split.");
+
     public static final ConfigOption<ChangelogProducer> CHANGELOG_PRODUCER =
             ConfigOptions.key("changelog-producer")
                     .enumType(ChangelogProducer.class)
@@ -336,6 +506,20 @@ public class CoreOptions implements Serializable {
                                     + ChangelogProducer.FULL_COMPACTION.name()
                                     + ", full compaction will be constantly triggered after this interval.");
 
+    public static final ConfigOption<MemorySize> CHANGELOG_PRODUCER_LOOKUP_CACHE_MAX_DISK_SIZE =
+            ConfigOptions.key("changelog-producer.lookup.cache-max-disk-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("1 gb"))
+                    .withDescription(
+                            "When "
+                                    + CHANGELOG_PRODUCER.key()
+                                    + " is set to "
+                                    + ChangelogProducer.LOOKUP.name()
+                                    + ", max disk size of the local lookup files of each bucket. "
+                                    + "Data files of higher levels are copied into local lookup files "
+                                    + "when their keys are looked up, least recently used files are "
+                                    + "deleted when this size is exceeded.");
+
     @Immutable
     public static final ConfigOption<String> SEQUENCE_FIELD =
             ConfigOptions.key("sequence.field")
@@ -477,6 +661,25 @@ public class CoreOptions implements Serializable {
                                                             + "$hour:00:00'."))
                                     .build());
 
+    public static final ConfigOption<Duration> RECORD_LEVEL_EXPIRE_TIME =
+            key("record-level.expire-time")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Record level expire time for table with primary key, expiration"
+                                    + " happens in compaction, so there is no strong guarantee"
+                                    + " that expired records are deleted in time. The"
+                                    + " 'record-level.time-field' must be set as well.");
+
+    public static final ConfigOption<String> RECORD_LEVEL_TIME_FIELD =
+            key("record-level.time-field")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Time field for record level expire, it supports INT (epoch seconds),"
+                                    + " BIGINT (epoch milliseconds) and TIMESTAMP_LTZ. Records"
+                                    + " whose time field is null never expire.");
+
     private final Configuration options;
 
     public CoreOptions(Map<String, String> options) {
@@ -527,6 +730,11 @@ public class CoreOptions implements Serializable {
         return options.get(MANIFEST_TARGET_FILE_SIZE);
     }
 
+    @Nullable
+    public MemorySize manifestCacheMaxMemorySize() {
+        return options.get(MANIFEST_CACHE_MAX_MEMORY_SIZE);
+    }
+
     public String partitionDefaultName() {
         return options.get(PARTITION_DEFAULT_NAME);
     }
@@ -551,14 +759,30 @@ public class CoreOptions implements Serializable {
         return options.get(SNAPSHOT_TIME_RETAINED);
     }
 
+    public int snapshotExpireThreadNum() {
+        return options.get(SNAPSHOT_EXPIRE_THREAD_NUM);
+    }
+
+    public SnapshotFormat snapshotFormat() {
+        return options.get(SNAPSHOT_FORMAT);
+    }
+
     public int manifestMergeMinCount() {
         return options.get(MANIFEST_MERGE_MIN_COUNT);
     }
 
+    public boolean manifestMergeAsync() {
+        return options.get(MANIFEST_MERGE_ASYNC);
+    }
+
     public MergeEngine mergeEngine() {
         return options.get(MERGE_ENGINE);
     }
 
+    public SortEngine sortEngine() {
+        return options.get(SORT_ENGINE);
+    }
+
     public long splitTargetSize() {
         return options.get(SOURCE_SPLIT_TARGET_SIZE).getBytes();
     }
@@ -579,6 +803,15 @@ public class CoreOptions implements Serializable {
         return options.get(CONTINUOUS_DISCOVERY_INTERVAL);
     }
 
+    public Duration continuousDiscoveryIntervalMax() {
+        return options.getOptional(CONTINUOUS_DISCOVERY_INTERVAL_MAX)
+                .orElse(continuousDiscoveryInterval());
+    }
+
+    public DiscoveryNotifier continuousDiscoveryNotifier() {
+        return options.get(CONTINUOUS_DISCOVERY_NOTIFIER);
+    }
+
     public int localSortMaxNumFileHandles() {
         return options.get(LOCAL_SORT_MAX_NUM_FILE_HANDLES);
     }
@@ -587,6 +820,10 @@ public class CoreOptions implements Serializable {
         return (int) options.get(PAGE_SIZE).getBytes();
     }
 
+    public int prepareCommitThreadNum() {
+        return options.get(PREPARE_COMMIT_THREAD_NUM);
+    }
+
     public long targetFileSize() {
         return options.get(TARGET_FILE_SIZE).getBytes();
     }
@@ -603,6 +840,18 @@ public class CoreOptions implements Serializable {
         return Math.max(numSortedRunCompactionTrigger(), stopTrigger);
     }
 
+    public boolean numSortedRunAdaptiveTrigger() {
+        return options.get(NUM_SORTED_RUNS_ADAPTIVE_TRIGGER);
+    }
+
+    public int numSortedRunAdaptiveMaxStopTrigger() {
+        Integer maxStopTrigger = options.get(NUM_SORTED_RUNS_ADAPTIVE_MAX_STOP_TRIGGER);
+        if (maxStopTrigger == null) {
+            maxStopTrigger = numSortedRunStopTrigger() * 2;
+        }
+        return maxStopTrigger;
+    }
+
     public int numLevels() {
         // By default, this ensures that the compaction does not fall to level 0, but at least to
         // level 1
@@ -619,6 +868,10 @@ public class CoreOptions implements Serializable {
         return options.get(COMMIT_FORCE_COMPACT);
     }
 
+    public boolean commitSingleSnapshot() {
+        return options.get(COMMIT_SINGLE_SNAPSHOT);
+    }
+
     public int maxSizeAmplificationPercent() {
         return options.get(COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT);
     }
@@ -627,6 +880,18 @@ public class CoreOptions implements Serializable {
         return options.get(COMPACTION_SIZE_RATIO);
     }
 
+    public CompactionStrategy compactionStrategy() {
+        return options.get(COMPACTION_STRATEGY);
+    }
+
+    public long leveledBaseLevelSize() {
+        return options.get(COMPACTION_LEVELED_BASE_LEVEL_SIZE).getBytes();
+    }
+
+    public int leveledLevelSizeMultiplier() {
+        return options.get(COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER);
+    }
+
     public int compactionMinFileNum() {
         return options.get(COMPACTION_MIN_FILE_NUM);
     }
@@ -639,6 +904,14 @@ public class CoreOptions implements Serializable {
         return options.get(COMPACTION_MAX_SORTED_RUN_NUM);
     }
 
+    public int compactionThreadNum() {
+        return options.get(COMPACTION_THREAD_NUM);
+    }
+
+    public int compactionMaxSubcompactions() {
+        return options.get(COMPACTION_MAX_SUBCOMPACTIONS);
+    }
+
     public ChangelogProducer changelogProducer() {
         return options.get(CHANGELOG_PRODUCER);
     }
@@ -676,6 +949,10 @@ public class CoreOptions implements Serializable {
         return options.get(CHANGELOG_PRODUCER_FULL_COMPACTION_TRIGGER_INTERVAL);
     }
 
+    public MemorySize changelogProducerLookupCacheMaxDiskSize() {
+        return options.get(CHANGELOG_PRODUCER_LOOKUP_CACHE_MAX_DISK_SIZE);
+    }
+
     public Optional<String> sequenceField() {
         return options.getOptional(SEQUENCE_FIELD);
     }
@@ -688,6 +965,10 @@ public class CoreOptions implements Serializable {
         return options.get(WRITE_ONLY);
     }
 
+    public boolean writeBatchRestore() {
+        return options.get(WRITE_BATCH_RESTORE);
+    }
+
     public boolean streamingReadOverwrite() {
         return options.get(STREAMING_READ_OVERWRITE);
     }
@@ -708,6 +989,16 @@ public class CoreOptions implements Serializable {
         return options.get(PARTITION_TIMESTAMP_PATTERN);
     }
 
+    @Nullable
+    public Duration recordLevelExpireTime() {
+        return options.get(RECORD_LEVEL_EXPIRE_TIME);
+    }
+
+    @Nullable
+    public String recordLevelTimeField() {
+        return options.get(RECORD_LEVEL_TIME_FIELD);
+    }
+
     /** Specifies the merge engine for table with primary key. */
     public enum MergeEngine implements DescribedEnum {
         DEDUPLICATE("deduplicate", "De-duplicate and keep the last row."),
@@ -735,6 +1026,34 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the sort engine for table with primary key. */
+    public enum SortEngine implements DescribedEnum {
+        MIN_HEAP("min-heap", "Use min-heap for multiway sorting."),
+
+        LOSER_TREE(
+                "loser-tree",
+                "Use loser-tree for multiway sorting. Compared with heapsort, loser-tree has fewer "
+                        + "comparisons and is more efficient.");
+
+        private final String value;
+        private final String description;
+
+        SortEngine(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** Specifies the startup mode for log consumer. */
     public enum StartupMode implements DescribedEnum {
         DEFAULT(
@@ -868,7 +1187,12 @@ public class CoreOptions implements Serializable {
                 "input",
                 "Double write to a changelog file when flushing memory table, the changelog is from input."),
 
-        FULL_COMPACTION("full-compaction", "Generate changelog files with each full compaction.");
+        FULL_COMPACTION("full-compaction", "Generate changelog files with each full compaction."),
+
+        LOOKUP(
+                "lookup",
+                "Generate changelog files when level 0 files are compacted, by looking up the "
+                        + "previous values of changed keys in higher levels.");
 
         private final String value;
         private final String description;
@@ -889,6 +1213,96 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the strategy to pick files for compaction of changelog mode table. */
+    public enum CompactionStrategy implements DescribedEnum {
+        UNIVERSAL(
+                "universal",
+                "Compact whole sorted runs with similar sizes, and all sorted runs when the size "
+                        + "amplification is too large. Lower write amplification for tables "
+                        + "whose data is mostly updated."),
+
+        LEVELED(
+                "leveled",
+                "Keep the size of each level under its target size by compacting single files "
+                        + "with the overlapping files of the next level, level 0 files are "
+                        + "compacted when their number reaches 'num-sorted-run.compaction-trigger'. "
+                        + "Lower write amplification for large tables whose updates are skewed "
+                        + "to a small part of the keys.");
+
+        private final String value;
+        private final String description;
+
+        CompactionStrategy(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
+    /** Specifies how continuous readers are notified of new snapshots. */
+    public enum DiscoveryNotifier implements DescribedEnum {
+        NONE("none", "Only look for new snapshots at the discovery interval."),
+
+        FILESYSTEM_WATCH(
+                "filesystem-watch",
+                "Watch the snapshot directory with the file system watch service. Only works for "
+                        + "tables on the local file system, other file systems fall back to none.");
+
+        private final String value;
+        private final String description;
+
+        DiscoveryNotifier(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
+    /** Specifies the encoding of snapshot files. */
+    public enum SnapshotFormat implements DescribedEnum {
+        JSON("json", "Human readable json, readable by all versions."),
+
+        BINARY(
+                "binary",
+                "Compact binary encoding which is faster to parse. Older versions cannot read it.");
+
+        private final String value;
+        private final String description;
+
+        SnapshotFormat(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /**
      * Set the default values of the {@link CoreOptions} via the given {@link Configuration}.
      *
@@ -937,6 +1351,14 @@ public class CoreOptions implements Serializable {
                     "Changelog table with full compaction must have primary keys");
         }
 
+        // Only changelog tables with primary keys support lookup changelog producer
+        if (options.changelogProducer() == ChangelogProducer.LOOKUP
+                && options.writeMode() == WriteMode.CHANGE_LOG
+                && schema.primaryKeys().isEmpty()) {
+            throw new UnsupportedOperationException(
+                    "Changelog table with lookup changelog producer must have primary keys");
+        }
+
         // Check column names in schema
         schema.fieldNames()
                 .forEach(
@@ -960,6 +1382,36 @@ public class CoreOptions implements Serializable {
                             + "still want to keep the primary key definition.");
         }
 
+        if (options.commitSingleSnapshot()) {
+            Preconditions.checkArgument(
+                    options.changelogProducer() == ChangelogProducer.INPUT,
+                    "%s is only supported by the '%s' changelog producer.",
+                    COMMIT_SINGLE_SNAPSHOT.key(),
+                    ChangelogProducer.INPUT);
+            Preconditions.checkArgument(
+                    options.startupMode() != StartupMode.COMPACTED_FULL,
+                    "%s does not produce COMPACT snapshots for the '%s' scan mode.",
+                    COMMIT_SINGLE_SNAPSHOT.key(),
+                    StartupMode.COMPACTED_FULL);
+        }
+
+        if (options.numSortedRunAdaptiveTrigger()) {
+            Preconditions.checkArgument(
+                    options.compactionStrategy() == CompactionStrategy.UNIVERSAL
+                            && options.changelogProducer() != ChangelogProducer.LOOKUP,
+                    "%s is only supported by the '%s' compaction strategy without the '%s'"
+                            + " changelog producer.",
+                    NUM_SORTED_RUNS_ADAPTIVE_TRIGGER.key(),
+                    CompactionStrategy.UNIVERSAL,
+                    ChangelogProducer.LOOKUP);
+            Preconditions.checkArgument(
+                    options.numSortedRunAdaptiveMaxStopTrigger()
+                            >= options.numSortedRunStopTrigger(),
+                    "%s should not be smaller than %s.",
+                    NUM_SORTED_RUNS_ADAPTIVE_MAX_STOP_TRIGGER.key(),
+                    NUM_SORTED_RUNS_STOP_TRIGGER.key());
+        }
+
         if (schema.primaryKeys().isEmpty() && options.streamingReadOverwrite()) {
             throw new RuntimeException(
                     "Doesn't support streaming read the changes from overwrite when the primary keys are not defined.");
@@ -971,6 +1423,48 @@ public class CoreOptions implements Serializable {
                         "Can not set 'partition.expiration-time' for non-partitioned table.");
             }
         }
+
+        if (options.recordLevelExpireTime() != null || options.recordLevelTimeField() != null) {
+            validateRecordLevelExpire(schema, options);
+        }
+    }
+
+    private static void validateRecordLevelExpire(TableSchema schema, CoreOptions options) {
+        Preconditions.checkArgument(
+                options.recordLevelExpireTime() != null && options.recordLevelTimeField() != null,
+                "%s and %s must be set together.",
+                RECORD_LEVEL_EXPIRE_TIME.key(),
+                RECORD_LEVEL_TIME_FIELD.key());
+        if (schema.primaryKeys().isEmpty()) {
+            throw new UnsupportedOperationException(
+                    "Record level expire is only supported by tables with primary keys.");
+        }
+        // expired records are dropped silently, which can not be reflected in a changelog
+        // produced by compaction
+        if (options.changelogProducer() == ChangelogProducer.FULL_COMPACTION
+                || options.changelogProducer() == ChangelogProducer.LOOKUP) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Record level expire is not supported by the '%s' changelog producer.",
+                            options.changelogProducer()));
+        }
+
+        String timeField = options.recordLevelTimeField();
+        int index = schema.fieldNames().indexOf(timeField);
+        Preconditions.checkArgument(
+                index >= 0,
+                "Can not find time field %s for record level expire in %s.",
+                timeField,
+                schema.fieldNames());
+        DataTypeRoot typeRoot = schema.fields().get(index).type().getTypeRoot();
+        Preconditions.checkArgument(
+                typeRoot == DataTypeRoot.INTEGER
+                        || typeRoot == DataTypeRoot.BIGINT
+                        || typeRoot == DataTypeRoot.TIMESTAMP_WITH_LOCAL_TIME_ZONE,
+                "The type of time field %s for record level expire must be INT, BIGINT or"
+                        + " TIMESTAMP_LTZ, but is %s.",
+                timeField,
+                schema.fields().get(index).type());
     }
 
     private static void checkOptionExistInMode(
@@ -19,12 +19,17 @@
 package org.apache.flink.table.store.file;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.manifest.ManifestCacheMetrics;
+import org.apache.flink.table.store.file.manifest.ManifestEntryCache;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.operation.FileStoreCommitImpl;
 import org.apache.flink.table.store.file.operation.FileStoreExpireImpl;
+import org.apache.flink.table.store.file.operation.OrphanFilesClean;
+import org.apache.flink.table.store.file.operation.PartitionBucketNumbers;
 import org.apache.flink.table.store.file.operation.PartitionExpire;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
@@ -32,6 +37,8 @@ import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.fs.FileIO;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.time.Duration;
 import java.util.Comparator;
 
@@ -48,6 +55,9 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
     protected final CoreOptions options;
     protected final RowType partitionType;
 
+    // shared by all operations of this store, so that decoded snapshots are cached only once
+    @Nullable private transient SnapshotManager lazySnapshotManager;
+
     public AbstractFileStore(
             FileIO fileIO,
             SchemaManager schemaManager,
@@ -71,7 +81,10 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
 
     @Override
     public SnapshotManager snapshotManager() {
-        return new SnapshotManager(fileIO, options.path());
+        if (lazySnapshotManager == null) {
+            lazySnapshotManager = new SnapshotManager(fileIO, options.path());
+        }
+        return lazySnapshotManager;
     }
 
     @VisibleForTesting
@@ -83,7 +96,20 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
                 partitionType,
                 options.manifestFormat(),
                 pathFactory(),
-                options.manifestTargetSize().getBytes());
+                options.manifestTargetSize().getBytes(),
+                manifestEntryCache());
+    }
+
+    @Nullable
+    private ManifestEntryCache manifestEntryCache() {
+        MemorySize cacheSize = options.manifestCacheMaxMemorySize();
+        return cacheSize == null ? null : ManifestEntryCache.getOrCreate(cacheSize);
+    }
+
+    @Nullable
+    @Override
+    public ManifestCacheMetrics manifestCacheMetrics() {
+        return manifestEntryCache();
     }
 
     @VisibleForTesting
@@ -114,12 +140,19 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
                 manifestFileFactory(),
                 manifestListFactory(),
                 newScan(),
-                options.bucket(),
                 options.manifestTargetSize(),
                 options.manifestMergeMinCount(),
+                options.manifestMergeAsync(),
+                options.commitSingleSnapshot(),
+                options.snapshotFormat(),
                 newKeyComparator());
     }
 
+    @Override
+    public PartitionBucketNumbers newPartitionBucketNumbers() {
+        return new PartitionBucketNumbers(snapshotManager(), newScan(), options.bucket());
+    }
+
     @Override
     public FileStoreExpireImpl newExpire() {
         return new FileStoreExpireImpl(
@@ -127,12 +160,24 @@ public abstract class AbstractFileStore<T> implements FileStore<T> {
                 options.snapshotNumRetainMin(),
                 options.snapshotNumRetainMax(),
                 options.snapshotTimeRetain().toMillis(),
+                options.snapshotExpireThreadNum(),
                 pathFactory(),
                 snapshotManager(),
                 manifestFileFactory(),
                 manifestListFactory());
     }
 
+    @Override
+    public OrphanFilesClean newOrphanFilesClean() {
+        return new OrphanFilesClean(
+                fileIO,
+                pathFactory(),
+                snapshotManager(),
+                manifestFileFactory(),
+                manifestListFactory(),
+                options.snapshotExpireThreadNum());
+    }
+
     public abstract Comparator<InternalRow> newKeyComparator();
 
     @Override
@@ -51,7 +51,16 @@ public class AppendOnlyFileStore extends AbstractFileStore<InternalRow> {
 
     @Override
     public AppendOnlyFileStoreScan newScan() {
-        return newScan(false);
+        return new AppendOnlyFileStoreScan(
+                partitionType,
+                bucketKeyType.getFieldCount() == 0 ? rowType : bucketKeyType,
+                rowType,
+                snapshotManager(),
+                schemaManager,
+                schemaId,
+                manifestFileFactory(),
+                manifestListFactory(),
+                options.bucket());
     }
 
     @Override
@@ -75,24 +84,11 @@ public class AppendOnlyFileStore extends AbstractFileStore<InternalRow> {
                 rowType,
                 pathFactory(),
                 snapshotManager(),
-                newScan(true),
+                newScan(),
+                newPartitionBucketNumbers(),
                 options);
     }
 
-    private AppendOnlyFileStoreScan newScan(boolean checkNumOfBuckets) {
-        return new AppendOnlyFileStoreScan(
-                partitionType,
-                bucketKeyType.getFieldCount() == 0 ? rowType : bucketKeyType,
-                rowType,
-                snapshotManager(),
-                schemaManager,
-                schemaId,
-                manifestFileFactory(),
-                manifestListFactory(),
-                options.bucket(),
-                checkNumOfBuckets);
-    }
-
     @Override
     public Comparator<InternalRow> newKeyComparator() {
         return null;
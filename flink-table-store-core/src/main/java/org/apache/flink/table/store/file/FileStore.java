@@ -19,11 +19,14 @@
 package org.apache.flink.table.store.file;
 
 import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.file.manifest.ManifestCacheMetrics;
 import org.apache.flink.table.store.file.operation.FileStoreCommit;
 import org.apache.flink.table.store.file.operation.FileStoreExpire;
 import org.apache.flink.table.store.file.operation.FileStoreRead;
 import org.apache.flink.table.store.file.operation.FileStoreScan;
 import org.apache.flink.table.store.file.operation.FileStoreWrite;
+import org.apache.flink.table.store.file.operation.OrphanFilesClean;
+import org.apache.flink.table.store.file.operation.PartitionBucketNumbers;
 import org.apache.flink.table.store.file.operation.PartitionExpire;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.types.RowType;
@@ -53,8 +56,16 @@ public interface FileStore<T> extends Serializable {
 
     FileStoreCommit newCommit(String commitUser);
 
+    PartitionBucketNumbers newPartitionBucketNumbers();
+
     FileStoreExpire newExpire();
 
+    OrphanFilesClean newOrphanFilesClean();
+
+    /** Metrics of the manifest entry cache, null if the cache is not enabled. */
+    @Nullable
+    ManifestCacheMetrics manifestCacheMetrics();
+
     @Nullable
     PartitionExpire newPartitionExpire(String commitUser);
 }
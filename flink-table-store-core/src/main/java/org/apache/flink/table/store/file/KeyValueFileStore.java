@@ -68,7 +68,17 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
 
     @Override
     public KeyValueFileStoreScan newScan() {
-        return newScan(false);
+        return new KeyValueFileStoreScan(
+                partitionType,
+                bucketKeyType,
+                keyType,
+                snapshotManager(),
+                schemaManager,
+                schemaId,
+                keyValueFieldsExtractor,
+                manifestFileFactory(),
+                manifestListFactory(),
+                options.bucket());
     }
 
     @Override
@@ -81,6 +91,7 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
                 valueType,
                 newKeyComparator(),
                 mfFactory,
+                options.sortEngine(),
                 FileFormatDiscover.of(options),
                 pathFactory(),
                 keyValueFieldsExtractor);
@@ -99,26 +110,12 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
                 mfFactory,
                 pathFactory(),
                 snapshotManager(),
-                newScan(true),
+                newScan(),
+                newPartitionBucketNumbers(),
                 options,
                 keyValueFieldsExtractor);
     }
 
-    private KeyValueFileStoreScan newScan(boolean checkNumOfBuckets) {
-        return new KeyValueFileStoreScan(
-                partitionType,
-                bucketKeyType,
-                keyType,
-                snapshotManager(),
-                schemaManager,
-                schemaId,
-                keyValueFieldsExtractor,
-                manifestFileFactory(),
-                manifestListFactory(),
-                options.bucket(),
-                checkNumOfBuckets);
-    }
-
     @Override
     public Comparator<InternalRow> newKeyComparator() {
         return keyComparatorSupplier.get();
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file;
 
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestList;
 import org.apache.flink.table.store.file.utils.JsonSerdeUtil;
@@ -30,8 +31,15 @@ import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonPro
 
 import javax.annotation.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +63,10 @@ import java.util.Map;
  *       use checkpointId as commitIdentifier (which is a long value). Json can automatically
  *       perform type conversion so there is no compatibility issue.
  * </ul>
+ *
+ * <p>Snapshot files are encoded either in json or in a compact binary format (see {@link
+ * CoreOptions#SNAPSHOT_FORMAT}). Binary files start with a magic number which can never start a
+ * json file, so readers accept both encodings side by side.
  */
 public class Snapshot {
 
@@ -63,6 +75,10 @@ public class Snapshot {
     private static final int TABLE_STORE_02_VERSION = 1;
     private static final int CURRENT_VERSION = 2;
 
+    // a json file always starts with '{' or white spaces
+    private static final byte[] BINARY_MAGIC = {(byte) 0xFE, 'S', 'N', 'P'};
+    private static final int BINARY_FORMAT_VERSION = 1;
+
     private static final String FIELD_VERSION = "version";
     private static final String FIELD_ID = "id";
     private static final String FIELD_SCHEMA_ID = "schemaId";
@@ -236,6 +252,53 @@ public class Snapshot {
         return JsonSerdeUtil.toJson(this);
     }
 
+    public byte[] toBytes(CoreOptions.SnapshotFormat format) {
+        switch (format) {
+            case JSON:
+                return toJson().getBytes(StandardCharsets.UTF_8);
+            case BINARY:
+                return toBinary();
+            default:
+                throw new UnsupportedOperationException("Unsupported snapshot format: " + format);
+        }
+    }
+
+    /**
+     * Encodes this snapshot in the binary format: the magic number, the format version, then all
+     * fields in declaration order. Nullable fields are prefixed with a boolean and log offsets with
+     * their count.
+     */
+    public byte[] toBinary() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(BINARY_MAGIC);
+            out.writeByte(BINARY_FORMAT_VERSION);
+            out.writeInt(version());
+            out.writeLong(id);
+            out.writeLong(schemaId);
+            out.writeUTF(baseManifestList);
+            out.writeUTF(deltaManifestList);
+            out.writeBoolean(changelogManifestList != null);
+            if (changelogManifestList != null) {
+                out.writeUTF(changelogManifestList);
+            }
+            out.writeUTF(commitUser);
+            out.writeLong(commitIdentifier);
+            out.writeUTF(commitKind.name());
+            out.writeLong(timeMillis);
+            out.writeInt(logOffsets == null ? -1 : logOffsets.size());
+            if (logOffsets != null) {
+                for (Map.Entry<Integer, Long> entry : logOffsets.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
     public List<ManifestFileMeta> readAllDataManifests(ManifestList manifestList) {
         List<ManifestFileMeta> result = new ArrayList<>();
         result.addAll(manifestList.read(baseManifestList));
@@ -247,10 +310,73 @@ public class Snapshot {
         return JsonSerdeUtil.fromJson(json, Snapshot.class);
     }
 
+    public static Snapshot fromBinary(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            in.skipBytes(BINARY_MAGIC.length);
+            int formatVersion = in.readByte();
+            if (formatVersion != BINARY_FORMAT_VERSION) {
+                throw new IllegalArgumentException(
+                        "Unsupported binary snapshot format version " + formatVersion);
+            }
+
+            int version = in.readInt();
+            long id = in.readLong();
+            long schemaId = in.readLong();
+            String baseManifestList = in.readUTF();
+            String deltaManifestList = in.readUTF();
+            String changelogManifestList = in.readBoolean() ? in.readUTF() : null;
+            String commitUser = in.readUTF();
+            long commitIdentifier = in.readLong();
+            CommitKind commitKind = CommitKind.valueOf(in.readUTF());
+            long timeMillis = in.readLong();
+            int numLogOffsets = in.readInt();
+            Map<Integer, Long> logOffsets = null;
+            if (numLogOffsets >= 0) {
+                logOffsets = new HashMap<>(numLogOffsets);
+                for (int i = 0; i < numLogOffsets; i++) {
+                    logOffsets.put(in.readInt(), in.readLong());
+                }
+            }
+            return new Snapshot(
+                    version,
+                    id,
+                    schemaId,
+                    baseManifestList,
+                    deltaManifestList,
+                    changelogManifestList,
+                    commitUser,
+                    commitIdentifier,
+                    commitKind,
+                    timeMillis,
+                    logOffsets);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Decodes a snapshot in either json or binary format. */
+    public static Snapshot fromBytes(byte[] bytes) {
+        if (isBinary(bytes)) {
+            return fromBinary(bytes);
+        }
+        return fromJson(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isBinary(byte[] bytes) {
+        if (bytes.length < BINARY_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < BINARY_MAGIC.length; i++) {
+            if (bytes[i] != BINARY_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static Snapshot fromPath(FileIO fileIO, Path path) {
         try {
-            String json = fileIO.readFileUtf8(path);
-            return Snapshot.fromJson(json);
+            return Snapshot.fromBytes(fileIO.readFileBytes(path));
         } catch (IOException e) {
             throw new RuntimeException("Fails to read snapshot from path " + path, e);
         }
@@ -27,6 +27,7 @@ import org.apache.flink.table.store.file.io.DataFilePathFactory;
 import org.apache.flink.table.store.fs.FileIO;
 import org.apache.flink.table.store.utils.Preconditions;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -134,6 +135,9 @@ public class AppendOnlyCompactManager extends CompactFutureManager {
         return result;
     }
 
+    @Override
+    public void close() throws IOException {}
+
     @VisibleForTesting
     Optional<List<DataFileMeta>> pickCompactBefore() {
         return pick(toCompact, targetFileSize, minFileNum, maxFileNum);
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size thread pool to run the compaction tasks of all buckets of a write, which records
+ * {@link CompactionMetrics}.
+ *
+ * <p>Compactions of one bucket never run concurrently, because a {@link CompactFutureManager} only
+ * submits a new task after the result of the previous one has been fetched. So multiple threads
+ * only speed up compactions of different buckets.
+ */
+public class CompactExecutor extends ThreadPoolExecutor implements CompactionMetrics {
+
+    private final ThreadLocal<Long> startMillis = new ThreadLocal<>();
+
+    private final AtomicLong completedCompactions = new AtomicLong();
+    private final AtomicLong totalDurationMillis = new AtomicLong();
+    private final AtomicLong maxDurationMillis = new AtomicLong();
+    private volatile long lastDurationMillis;
+
+    public CompactExecutor(int numThreads, ThreadFactory threadFactory) {
+        super(
+                numThreads,
+                numThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        startMillis.set(System.currentTimeMillis());
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        Long start = startMillis.get();
+        startMillis.remove();
+        if (start == null || (r instanceof Future && ((Future<?>) r).isCancelled())) {
+            // cancelled tasks are not counted as finished compactions
+            return;
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        lastDurationMillis = duration;
+        maxDurationMillis.accumulateAndGet(duration, Math::max);
+        totalDurationMillis.addAndGet(duration);
+        completedCompactions.incrementAndGet();
+    }
+
+    @Override
+    public int queueDepth() {
+        return getQueue().size();
+    }
+
+    @Override
+    public int runningCompactions() {
+        return getActiveCount();
+    }
+
+    @Override
+    public long completedCompactions() {
+        return completedCompactions.get();
+    }
+
+    @Override
+    public long lastCompactionDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    @Override
+    public long maxCompactionDurationMillis() {
+        return maxDurationMillis.get();
+    }
+
+    @Override
+    public long avgCompactionDurationMillis() {
+        long completed = completedCompactions.get();
+        return completed == 0 ? 0 : totalDurationMillis.get() / completed;
+    }
+}
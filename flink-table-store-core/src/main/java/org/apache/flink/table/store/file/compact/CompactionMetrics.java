@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+/**
+ * Metrics of the compaction tasks of a {@link org.apache.flink.table.store.file.FileStore} write.
+ */
+public interface CompactionMetrics {
+
+    /** Number of compaction tasks which are submitted but not started yet. */
+    int queueDepth();
+
+    /** Number of compaction tasks which are currently running. */
+    int runningCompactions();
+
+    /** Number of compaction tasks which have finished, including failed ones. */
+    long completedCompactions();
+
+    /** Duration in milliseconds of the last finished compaction task. */
+    long lastCompactionDurationMillis();
+
+    /** Maximum duration in milliseconds of all finished compaction tasks. */
+    long maxCompactionDurationMillis();
+
+    /** Average duration in milliseconds of all finished compaction tasks. */
+    long avgCompactionDurationMillis();
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+/**
+ * Metrics of the write and read pressure which adapt the compaction triggers of the buckets of a
+ * {@link org.apache.flink.table.store.file.FileStore} write.
+ */
+public interface CompactionPressureMetrics {
+
+    /** Bytes per second flushed into level 0 by all buckets. */
+    long ingestBytesPerSecond();
+
+    /** Average bytes per second written by the compaction of a bucket while it is running. */
+    long compactionBytesPerSecond();
+
+    /** Maximum number of sorted runs of a bucket, which readers of the bucket have to merge. */
+    int maxSortedRuns();
+
+    /** Maximum effective compaction trigger of a bucket. */
+    int maxEffectiveCompactionTrigger();
+
+    /** Maximum effective stop trigger of a bucket. */
+    int maxEffectiveStopTrigger();
+}
@@ -71,4 +71,9 @@ public class DataFileMetaSerializer extends ObjectSerializer<DataFileMeta> {
                 row.getInt(10),
                 fromStringArrayData(row.getArray(11)));
     }
+
+    /** Reads the level from a row produced by {@link #toRow}. */
+    public static int level(InternalRow row) {
+        return row.getInt(10);
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+/** Metrics of a process-wide {@link ManifestEntryCache}. */
+public interface ManifestCacheMetrics {
+
+    /** Number of manifest reads served from the cache. */
+    long hitCount();
+
+    /** Number of manifest reads which had to load the manifest file. */
+    long missCount();
+
+    /** Number of manifest files evicted from the cache. */
+    long evictionCount();
+
+    /** Number of manifest files currently cached. */
+    long cachedManifests();
+}
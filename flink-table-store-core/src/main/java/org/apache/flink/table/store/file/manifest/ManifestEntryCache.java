@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.stats.BinaryTableStats;
+import org.apache.flink.table.store.fs.Path;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheStats;
+import org.apache.flink.shaded.guava30.com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A process-wide cache of decoded {@link ManifestEntry} lists, keyed by the path of the manifest
+ * file. Manifest files are never modified after being written, so a cached list stays valid until
+ * it is evicted.
+ *
+ * <p>Decoded entries lazily cache their field stats evolved to the schema of the reading table (see
+ * {@link BinaryTableStats#fields}), so lists are additionally keyed by the table schema id.
+ *
+ * <p>Caches are shared by all {@link ManifestFile}s in a JVM which are configured with the same
+ * maximum memory size. Entries are weighed by an estimation of their heap footprint.
+ *
+ * <p>NOTE: Cached lists and entries are shared between threads and must not be modified.
+ */
+public class ManifestEntryCache implements ManifestCacheMetrics {
+
+    private static final Map<Long, ManifestEntryCache> INSTANCES = new ConcurrentHashMap<>();
+
+    // rough estimation of object headers, references and primitive fields of
+    // ManifestEntry, DataFileMeta, BinaryTableStats and their binary rows
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final long maxWeightBytes;
+    private final Cache<String, List<ManifestEntry>> cache;
+
+    private ManifestEntryCache(long maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+        this.cache =
+                CacheBuilder.newBuilder()
+                        .maximumWeight(maxWeightBytes)
+                        .weigher((String key, List<ManifestEntry> entries) -> weigh(key, entries))
+                        .recordStats()
+                        .build();
+    }
+
+    /** Returns the process-wide cache with the given maximum memory size. */
+    public static ManifestEntryCache getOrCreate(MemorySize maxMemorySize) {
+        return INSTANCES.computeIfAbsent(maxMemorySize.getBytes(), ManifestEntryCache::new);
+    }
+
+    /**
+     * Returns the cached entries of the manifest file at the given path, or loads and caches them
+     * with the given loader. The returned list is unmodifiable.
+     */
+    public List<ManifestEntry> get(long schemaId, Path path, Callable<List<ManifestEntry>> loader) {
+        try {
+            return cache.get(
+                    key(schemaId, path), () -> Collections.unmodifiableList(loader.call()));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to read manifest file " + path, cause);
+        }
+    }
+
+    public void invalidate(long schemaId, Path path) {
+        cache.invalidate(key(schemaId, path));
+    }
+
+    public long maxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    /** Number of cached manifest files. */
+    public long size() {
+        return cache.size();
+    }
+
+    /** Hit, miss, load and eviction statistics of this cache. */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    @Override
+    public long cachedManifests() {
+        return cache.size();
+    }
+
+    private static String key(long schemaId, Path path) {
+        return schemaId + "-" + path;
+    }
+
+    private static int weigh(String key, List<ManifestEntry> entries) {
+        long weight = key.length() * 2L;
+        for (ManifestEntry entry : entries) {
+            weight += weigh(entry);
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long weigh(ManifestEntry entry) {
+        DataFileMeta file = entry.file();
+        long weight = ENTRY_OVERHEAD_BYTES;
+        weight += weigh(entry.partition());
+        weight += file.fileName().length() * 2L;
+        weight += weigh(file.minKey()) + weigh(file.maxKey());
+        weight += weigh(file.keyStats()) + weigh(file.valueStats());
+        for (String extraFile : file.extraFiles()) {
+            weight += extraFile.length() * 2L;
+        }
+        return weight;
+    }
+
+    private static long weigh(BinaryTableStats stats) {
+        return weigh(stats.min()) + weigh(stats.max()) + stats.nullCounts().length * 8L;
+    }
+
+    private static long weigh(BinaryRow row) {
+        return row.getSizeInBytes();
+    }
+}
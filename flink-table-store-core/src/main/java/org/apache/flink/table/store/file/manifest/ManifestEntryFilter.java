@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.manifest;
+
+import org.apache.flink.table.store.data.BinaryRow;
+
+/**
+ * Filter of {@link ManifestEntry}s which only tests the fields that are cheap to read from a
+ * serialized entry, so that rejected entries are skipped before their data file meta is
+ * deserialized.
+ */
+@FunctionalInterface
+public interface ManifestEntryFilter {
+
+    /** Note: Keep this thread-safe. */
+    boolean test(BinaryRow partition, int bucket, int totalBuckets, int level);
+
+    default boolean test(ManifestEntry entry) {
+        return test(entry.partition(), entry.bucket(), entry.totalBuckets(), entry.file().level());
+    }
+}
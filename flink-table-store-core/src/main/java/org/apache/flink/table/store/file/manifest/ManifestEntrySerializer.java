@@ -20,6 +20,7 @@ package org.apache.flink.table.store.file.manifest;
 
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFileMetaSerializer;
 import org.apache.flink.table.store.file.utils.VersionedObjectSerializer;
 
@@ -72,4 +73,21 @@ public class ManifestEntrySerializer extends VersionedObjectSerializer<ManifestE
                 row.getInt(3),
                 dataFileMetaSerializer.fromRow(row.getRow(4, dataFileMetaSerializer.numFields())));
     }
+
+    /**
+     * Tests the given filter on a row produced by {@link #toRow}, without deserializing the {@link
+     * DataFileMeta} of the entry.
+     */
+    public boolean test(InternalRow versionedRow, ManifestEntryFilter filter) {
+        if (versionedRow.getInt(0) != getVersion()) {
+            // let fromRow report the incompatible version
+            return true;
+        }
+        return filter.test(
+                deserializeBinaryRow(versionedRow.getBinary(2)),
+                versionedRow.getInt(3),
+                versionedRow.getInt(4),
+                DataFileMetaSerializer.level(
+                        versionedRow.getRow(5, dataFileMetaSerializer.numFields())));
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.FileUtils;
+import org.apache.flink.table.store.file.utils.RecordReaderUtils;
 import org.apache.flink.table.store.file.utils.VersionedObjectSerializer;
 import org.apache.flink.table.store.format.FieldStatsCollector;
 import org.apache.flink.table.store.format.FileFormat;
@@ -34,7 +35,10 @@ import org.apache.flink.table.store.fs.FileIO;
 import org.apache.flink.table.store.fs.Path;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -52,6 +56,7 @@ public class ManifestFile {
     private final FormatWriterFactory writerFactory;
     private final FileStorePathFactory pathFactory;
     private final long suggestedFileSize;
+    @Nullable private final ManifestEntryCache cache;
 
     private ManifestFile(
             FileIO fileIO,
@@ -62,7 +67,8 @@ public class ManifestFile {
             FormatReaderFactory readerFactory,
             FormatWriterFactory writerFactory,
             FileStorePathFactory pathFactory,
-            long suggestedFileSize) {
+            long suggestedFileSize,
+            @Nullable ManifestEntryCache cache) {
         this.fileIO = fileIO;
         this.schemaManager = schemaManager;
         this.schemaId = schemaId;
@@ -72,6 +78,7 @@ public class ManifestFile {
         this.writerFactory = writerFactory;
         this.pathFactory = pathFactory;
         this.suggestedFileSize = suggestedFileSize;
+        this.cache = cache;
     }
 
     @VisibleForTesting
@@ -79,15 +86,58 @@ public class ManifestFile {
         return suggestedFileSize;
     }
 
+    /**
+     * Read all {@link ManifestEntry}s of a manifest file. If a {@link ManifestEntryCache} is
+     * configured, the returned list is shared and must not be modified.
+     */
     public List<ManifestEntry> read(String fileName) {
+        Path path = pathFactory.toManifestFilePath(fileName);
+        if (cache == null) {
+            return readFromFile(path);
+        }
+        return cache.get(schemaId, path, () -> readFromFile(path));
+    }
+
+    /**
+     * Read {@link ManifestEntry}s of a manifest file which are accepted by the given filter.
+     * Without a {@link ManifestEntryCache}, the filter is tested on the serialized entries and
+     * rejected entries are never deserialized.
+     */
+    public List<ManifestEntry> read(String fileName, ManifestEntryFilter filter) {
+        Path path = pathFactory.toManifestFilePath(fileName);
+        if (cache != null) {
+            List<ManifestEntry> result = new ArrayList<>();
+            for (ManifestEntry entry : cache.get(schemaId, path, () -> readFromFile(path))) {
+                if (filter.test(entry)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+
         try {
-            return FileUtils.readListFromFile(
-                    fileIO, pathFactory.toManifestFilePath(fileName), serializer, readerFactory);
+            List<ManifestEntry> result = new ArrayList<>();
+            RecordReaderUtils.forEachRemaining(
+                    FileUtils.createFormatReader(fileIO, readerFactory, path),
+                    row -> {
+                        if (serializer.test(row, filter)) {
+                            result.add(serializer.fromRow(row));
+                        }
+                    });
+            return result;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read manifest file " + fileName, e);
         }
     }
 
+    private List<ManifestEntry> readFromFile(Path path) {
+        try {
+            return FileUtils.readListFromFile(fileIO, path, serializer, readerFactory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read manifest file " + path.getName(), e);
+        }
+    }
+
     /**
      * Write several {@link ManifestEntry}s into manifest files.
      *
@@ -108,7 +158,11 @@ public class ManifestFile {
     }
 
     public void delete(String fileName) {
-        fileIO.deleteQuietly(pathFactory.toManifestFilePath(fileName));
+        Path path = pathFactory.toManifestFilePath(fileName);
+        if (cache != null) {
+            cache.invalidate(schemaId, path);
+        }
+        fileIO.deleteQuietly(path);
     }
 
     private class ManifestEntryWriter extends SingleFileWriter<ManifestEntry, ManifestFileMeta> {
@@ -166,6 +220,7 @@ public class ManifestFile {
         private final FileFormat fileFormat;
         private final FileStorePathFactory pathFactory;
         private final long suggestedFileSize;
+        @Nullable private final ManifestEntryCache cache;
 
         public Factory(
                 FileIO fileIO,
@@ -174,7 +229,8 @@ public class ManifestFile {
                 RowType partitionType,
                 FileFormat fileFormat,
                 FileStorePathFactory pathFactory,
-                long suggestedFileSize) {
+                long suggestedFileSize,
+                @Nullable ManifestEntryCache cache) {
             this.fileIO = fileIO;
             this.schemaManager = schemaManager;
             this.schemaId = schemaId;
@@ -182,6 +238,7 @@ public class ManifestFile {
             this.fileFormat = fileFormat;
             this.pathFactory = pathFactory;
             this.suggestedFileSize = suggestedFileSize;
+            this.cache = cache;
         }
 
         public ManifestFile create() {
@@ -195,7 +252,8 @@ public class ManifestFile {
                     fileFormat.createReaderFactory(entryType),
                     fileFormat.createWriterFactory(entryType),
                     pathFactory,
-                    suggestedFileSize);
+                    suggestedFileSize,
+                    cache);
         }
     }
 }
@@ -25,6 +25,10 @@ import java.util.List;
 /**
  * A factory which creates {@link MemorySegmentPool} from {@link MemoryOwner}. The returned memory
  * pool will try to preempt memory when there is no memory left.
+ *
+ * <p>The returned memory pools are thread safe, so that owners can release memory concurrently.
+ * Preempting memory flushes another owner, so memory must only be requested while no other owner is
+ * being flushed concurrently.
  */
 public class MemoryPoolFactory {
 
@@ -84,26 +88,32 @@ public class MemoryPoolFactory {
 
         @Override
         public void returnAll(List<MemorySegment> memory) {
-            allocatedPages -= memory.size();
-            innerPool.returnAll(memory);
+            synchronized (MemoryPoolFactory.this) {
+                allocatedPages -= memory.size();
+                innerPool.returnAll(memory);
+            }
         }
 
         @Override
         public int freePages() {
-            return totalPages - allocatedPages;
+            synchronized (MemoryPoolFactory.this) {
+                return totalPages - allocatedPages;
+            }
         }
 
         @Override
         public MemorySegment nextSegment() {
-            MemorySegment segment = innerPool.nextSegment();
-            if (segment == null) {
-                preemptMemory(owner);
-                segment = innerPool.nextSegment();
-            }
-            if (segment != null) {
-                allocatedPages++;
+            synchronized (MemoryPoolFactory.this) {
+                MemorySegment segment = innerPool.nextSegment();
+                if (segment == null) {
+                    preemptMemory(owner);
+                    segment = innerPool.nextSegment();
+                }
+                if (segment != null) {
+                    allocatedPages++;
+                }
+                return segment;
             }
-            return segment;
         }
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+
+import javax.annotation.Nullable;
+
+import java.util.Comparator;
+
+/**
+ * A range of keys between an inclusive lower bound and an exclusive upper bound. A null bound means
+ * that the range is unbounded on that side.
+ */
+public class KeyRange {
+
+    @Nullable private final BinaryRow lowerBound;
+    @Nullable private final BinaryRow upperBound;
+
+    public KeyRange(@Nullable BinaryRow lowerBound, @Nullable BinaryRow upperBound) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Nullable
+    public BinaryRow lowerBound() {
+        return lowerBound;
+    }
+
+    @Nullable
+    public BinaryRow upperBound() {
+        return upperBound;
+    }
+
+    public boolean isBelow(InternalRow key, Comparator<InternalRow> keyComparator) {
+        return lowerBound != null && keyComparator.compare(key, lowerBound) < 0;
+    }
+
+    public boolean isAbove(InternalRow key, Comparator<InternalRow> keyComparator) {
+        return upperBound != null && keyComparator.compare(key, upperBound) >= 0;
+    }
+
+    /** Whether the key interval [minKey, maxKey] of the given file overlaps with this range. */
+    public boolean overlaps(DataFileMeta file, Comparator<InternalRow> keyComparator) {
+        return !isBelow(file.maxKey(), keyComparator) && !isAbove(file.minKey(), keyComparator);
+    }
+
+    @Override
+    public String toString() {
+        return "KeyRange{" + "lowerBound=" + lowerBound + ", upperBound=" + upperBound + '}';
+    }
+}
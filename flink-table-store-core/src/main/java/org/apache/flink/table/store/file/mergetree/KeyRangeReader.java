@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.RowDataSerializer;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.table.store.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Comparator;
+
+/**
+ * A {@link RecordReader} which only returns the {@link KeyValue}s whose keys are in a {@link
+ * KeyRange}. Records of the wrapped reader must be sorted by key, so reading stops at the first key
+ * above the range.
+ *
+ * <p>If the range has an upper bound, returned records are copied. Readers may reuse their record
+ * objects, and the record above the range must be read to find the end of the range, while the last
+ * returned record may still be held by the consumer (for example as the max key of a file writer).
+ */
+public class KeyRangeReader implements RecordReader<KeyValue> {
+
+    private final RecordReader<KeyValue> reader;
+    private final KeyRange range;
+    private final Comparator<InternalRow> keyComparator;
+    @Nullable private final RowDataSerializer keySerializer;
+    @Nullable private final RowDataSerializer valueSerializer;
+
+    private boolean reachedUpperBound;
+
+    public KeyRangeReader(
+            RecordReader<KeyValue> reader,
+            KeyRange range,
+            Comparator<InternalRow> keyComparator,
+            RowType keyType,
+            RowType valueType) {
+        this.reader = reader;
+        this.range = range;
+        this.keyComparator = keyComparator;
+        boolean copy = range.upperBound() != null;
+        this.keySerializer = copy ? new RowDataSerializer(keyType) : null;
+        this.valueSerializer = copy ? new RowDataSerializer(valueType) : null;
+        this.reachedUpperBound = false;
+    }
+
+    @Nullable
+    @Override
+    public RecordIterator<KeyValue> readBatch() throws IOException {
+        if (reachedUpperBound) {
+            return null;
+        }
+
+        RecordIterator<KeyValue> batch = reader.readBatch();
+        if (batch == null) {
+            return null;
+        }
+
+        return new RecordIterator<KeyValue>() {
+            @Override
+            public KeyValue next() throws IOException {
+                while (!reachedUpperBound) {
+                    KeyValue kv = batch.next();
+                    if (kv == null) {
+                        return null;
+                    }
+
+                    if (range.isAbove(kv.key(), keyComparator)) {
+                        reachedUpperBound = true;
+                    } else if (!range.isBelow(kv.key(), keyComparator)) {
+                        return keySerializer == null ? kv : kv.copy(keySerializer, valueSerializer);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void releaseBatch() {
+                batch.releaseBatch();
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
@@ -42,6 +43,8 @@ public class Levels {
 
     private final List<SortedRun> levels;
 
+    private final List<DropFileCallback> dropFileCallbacks = new ArrayList<>();
+
     public Levels(
             Comparator<InternalRow> keyComparator, List<DataFileMeta> inputFiles, int numLevels) {
         this.keyComparator = keyComparator;
@@ -83,6 +86,10 @@ public class Levels {
                 "Number of files stored in Levels does not equal to the size of inputFiles. This is unexpected.");
     }
 
+    public void addDropFileCallback(DropFileCallback callback) {
+        dropFileCallbacks.add(callback);
+    }
+
     public void addLevel0File(DataFileMeta file) {
         checkArgument(file.level() == 0);
         level0.add(file);
@@ -148,6 +155,16 @@ public class Levels {
                     groupedBefore.getOrDefault(i, emptyList()),
                     groupedAfter.getOrDefault(i, emptyList()));
         }
+
+        if (dropFileCallbacks.size() > 0) {
+            Set<String> droppedFiles =
+                    before.stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+            // exclude upgrade files
+            after.stream().map(DataFileMeta::fileName).forEach(droppedFiles::remove);
+            for (DropFileCallback callback : dropFileCallbacks) {
+                droppedFiles.forEach(callback::notifyDropFile);
+            }
+        }
     }
 
     private void updateLevel(int level, List<DataFileMeta> before, List<DataFileMeta> after) {
@@ -170,4 +187,10 @@ public class Levels {
         return files.stream()
                 .collect(Collectors.groupingBy(DataFileMeta::level, Collectors.toList()));
     }
+
+    /** A callback to notify drop file. */
+    public interface DropFileCallback {
+
+        void notifyDropFile(String file);
+    }
 }
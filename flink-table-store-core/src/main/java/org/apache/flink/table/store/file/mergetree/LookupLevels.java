@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.core.memory.DataInputViewStreamWrapper;
+import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.RowDataSerializer;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.KeyValueSerializer;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.utils.RecordReaderIterator;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.utils.IOUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Looks up keys in the sorted runs of {@link Levels} above level 0.
+ *
+ * <p>Data files are usually stored in remote file systems. When a key of a file is looked up for
+ * the first time, the file is copied into a local lookup file, which consists of blocks of sorted
+ * records and an in-memory index of the first key of each block. Lookup files are deleted when
+ * their data files are dropped from the levels, or when the total size of lookup files exceeds the
+ * given max disk size, least recently used first.
+ *
+ * <p>NOTE: Lookups are synchronized, so that the key ranges of a compaction which are rewritten
+ * concurrently by {@link org.apache.flink.table.store.file.mergetree.compact.Subcompactions} can
+ * share the lookup files.
+ */
+public class LookupLevels implements Levels.DropFileCallback, Closeable {
+
+    private static final int BLOCK_SIZE = 16 * 1024;
+
+    private final Levels levels;
+    private final Comparator<InternalRow> keyComparator;
+    private final RowDataSerializer keySerializer;
+    private final RowDataSerializer valueSerializer;
+    private final KeyValueSerializer kvSerializer;
+    private final KeyValueFileReaderFactory readerFactory;
+    private final Supplier<File> localFileFactory;
+    private final long maxDiskSize;
+
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, LookupFile> lookupFiles;
+    private long diskSize;
+
+    public LookupLevels(
+            Levels levels,
+            Comparator<InternalRow> keyComparator,
+            RowType keyType,
+            RowType valueType,
+            KeyValueFileReaderFactory readerFactory,
+            Supplier<File> localFileFactory,
+            long maxDiskSize) {
+        this.levels = levels;
+        this.keyComparator = keyComparator;
+        this.keySerializer = new RowDataSerializer(keyType);
+        this.valueSerializer = new RowDataSerializer(valueType);
+        this.kvSerializer = new KeyValueSerializer(keyType, valueType);
+        this.readerFactory = readerFactory;
+        this.localFileFactory = localFileFactory;
+        this.maxDiskSize = maxDiskSize;
+        this.lookupFiles = new LinkedHashMap<>(16, 0.75f, true);
+        this.diskSize = 0;
+
+        levels.addDropFileCallback(this);
+    }
+
+    /**
+     * Looks up the given key in the levels from {@code startLevel} to the max level. As each level
+     * is a sorted run, at most one record is found in each level. Found records are copied and
+     * returned from the max level to {@code startLevel}, that is, from the oldest to the newest.
+     */
+    public synchronized List<KeyValue> lookup(InternalRow key, int startLevel) throws IOException {
+        checkArgument(startLevel > 0, "Level 0 can not be looked up.");
+        List<KeyValue> result = new ArrayList<>();
+        for (int i = levels.numberOfLevels() - 1; i >= startLevel; i--) {
+            KeyValue kv = lookup(key, levels.runOfLevel(i));
+            if (kv != null) {
+                result.add(kv.copy(keySerializer, valueSerializer));
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private KeyValue lookup(InternalRow key, SortedRun run) throws IOException {
+        List<DataFileMeta> files = run.files();
+        if (files.isEmpty()) {
+            return null;
+        }
+
+        // find the first file whose max key is not smaller than the key
+        int left = 0;
+        int right = files.size() - 1;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (keyComparator.compare(files.get(mid).maxKey(), key) < 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+
+        DataFileMeta file = files.get(left);
+        if (keyComparator.compare(file.minKey(), key) > 0
+                || keyComparator.compare(file.maxKey(), key) < 0) {
+            return null;
+        }
+        return lookupFile(file).get(key);
+    }
+
+    private LookupFile lookupFile(DataFileMeta file) throws IOException {
+        LookupFile lookupFile = lookupFiles.get(file.fileName());
+        if (lookupFile == null) {
+            lookupFile = createLookupFile(file);
+            lookupFiles.put(file.fileName(), lookupFile);
+            diskSize += lookupFile.size();
+
+            // never evict the file just created, even if it alone exceeds the max disk size
+            Iterator<LookupFile> iterator = lookupFiles.values().iterator();
+            while (diskSize > maxDiskSize && lookupFiles.size() > 1) {
+                LookupFile eldest = iterator.next();
+                iterator.remove();
+                diskSize -= eldest.size();
+                eldest.close();
+            }
+        }
+        return lookupFile;
+    }
+
+    private LookupFile createLookupFile(DataFileMeta file) throws IOException {
+        File localFile = localFileFactory.get();
+        List<BinaryRow> firstKeys = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+
+        try (OutputStream out = new FileOutputStream(localFile);
+                RecordReaderIterator<KeyValue> iterator =
+                        new RecordReaderIterator<>(
+                                readerFactory.createRecordReader(
+                                        file.schemaId(), file.fileName(), file.level()))) {
+            ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+            DataOutputViewStreamWrapper blockView = new DataOutputViewStreamWrapper(block);
+            long offset = 0;
+            while (iterator.hasNext()) {
+                KeyValue kv = iterator.next();
+                if (block.size() == 0) {
+                    firstKeys.add(keySerializer.toBinaryRow(kv.key()).copy());
+                    offsets.add(offset);
+                }
+                kvSerializer.serialize(kv, blockView);
+                if (block.size() >= BLOCK_SIZE) {
+                    block.writeTo(out);
+                    offset += block.size();
+                    block.reset();
+                }
+            }
+            block.writeTo(out);
+            offset += block.size();
+            offsets.add(offset);
+        } catch (Exception e) {
+            localFile.delete();
+            throw new IOException(
+                    "Failed to create lookup file for data file " + file.fileName(), e);
+        }
+
+        return new LookupFile(localFile, firstKeys, offsets);
+    }
+
+    @Override
+    public synchronized void notifyDropFile(String file) {
+        LookupFile lookupFile = lookupFiles.remove(file);
+        if (lookupFile != null) {
+            diskSize -= lookupFile.size();
+            lookupFile.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        lookupFiles.values().forEach(LookupFile::close);
+        lookupFiles.clear();
+        diskSize = 0;
+    }
+
+    /** A local file of sorted records, which are grouped into blocks. */
+    private class LookupFile {
+
+        private final File localFile;
+        private final BinaryRow[] firstKeys;
+        // offsets of all blocks, and the end offset of the last block
+        private final long[] offsets;
+        private final RandomAccessFile file;
+
+        private int cachedBlock;
+        private byte[] cachedBytes;
+
+        private LookupFile(File localFile, List<BinaryRow> firstKeys, List<Long> offsets)
+                throws IOException {
+            this.localFile = localFile;
+            this.firstKeys = firstKeys.toArray(new BinaryRow[0]);
+            this.offsets = offsets.stream().mapToLong(Long::longValue).toArray();
+            this.file = new RandomAccessFile(localFile, "r");
+            this.cachedBlock = -1;
+        }
+
+        private long size() {
+            return offsets[offsets.length - 1];
+        }
+
+        @Nullable
+        private KeyValue get(InternalRow key) throws IOException {
+            // find the last block whose first key is not greater than the key
+            int left = 0;
+            int right = firstKeys.length - 1;
+            while (left <= right) {
+                int mid = (left + right) >>> 1;
+                if (keyComparator.compare(firstKeys[mid], key) <= 0) {
+                    left = mid + 1;
+                } else {
+                    right = mid - 1;
+                }
+            }
+            if (right < 0) {
+                return null;
+            }
+
+            // keys are usually looked up in order, so consecutive lookups often read the same block
+            if (cachedBlock != right) {
+                cachedBytes = new byte[(int) (offsets[right + 1] - offsets[right])];
+                file.seek(offsets[right]);
+                file.readFully(cachedBytes);
+                cachedBlock = right;
+            }
+
+            ByteArrayInputStream in = new ByteArrayInputStream(cachedBytes);
+            DataInputViewStreamWrapper view = new DataInputViewStreamWrapper(in);
+            while (in.available() > 0) {
+                KeyValue kv = kvSerializer.deserialize(view);
+                int compare = keyComparator.compare(kv.key(), key);
+                if (compare == 0) {
+                    return kv;
+                } else if (compare > 0) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private void close() {
+            IOUtils.closeQuietly(file);
+            localFile.delete();
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.mergetree;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.io.DataFileMeta;
@@ -29,6 +30,8 @@ import org.apache.flink.table.store.file.mergetree.compact.ReducerMergeFunctionW
 import org.apache.flink.table.store.file.mergetree.compact.SortMergeReader;
 import org.apache.flink.table.store.file.utils.RecordReader;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -44,7 +47,28 @@ public class MergeTreeReaders {
             boolean dropDelete,
             KeyValueFileReaderFactory readerFactory,
             Comparator<InternalRow> userKeyComparator,
-            MergeFunction<KeyValue> mergeFunction)
+            MergeFunction<KeyValue> mergeFunction,
+            SortEngine sortEngine)
+            throws IOException {
+        return readerForMergeTree(
+                sections,
+                dropDelete,
+                readerFactory,
+                userKeyComparator,
+                mergeFunction,
+                sortEngine,
+                null);
+    }
+
+    /** Creates a reader for the merge tree which only reads keys in the given range if any. */
+    public static RecordReader<KeyValue> readerForMergeTree(
+            List<List<SortedRun>> sections,
+            boolean dropDelete,
+            KeyValueFileReaderFactory readerFactory,
+            Comparator<InternalRow> userKeyComparator,
+            MergeFunction<KeyValue> mergeFunction,
+            SortEngine sortEngine,
+            @Nullable KeyRange keyRange)
             throws IOException {
         List<ConcatRecordReader.ReaderSupplier<KeyValue>> readers = new ArrayList<>();
         for (List<SortedRun> section : sections) {
@@ -54,7 +78,9 @@ public class MergeTreeReaders {
                                     section,
                                     readerFactory,
                                     userKeyComparator,
-                                    new ReducerMergeFunctionWrapper(mergeFunction)));
+                                    new ReducerMergeFunctionWrapper(mergeFunction),
+                                    sortEngine,
+                                    keyRange));
         }
         RecordReader<KeyValue> reader = ConcatRecordReader.create(readers);
         if (dropDelete) {
@@ -67,27 +93,80 @@ public class MergeTreeReaders {
             List<SortedRun> section,
             KeyValueFileReaderFactory readerFactory,
             Comparator<InternalRow> userKeyComparator,
-            MergeFunctionWrapper<KeyValue> mergeFunctionWrapper)
+            MergeFunctionWrapper<KeyValue> mergeFunctionWrapper,
+            SortEngine sortEngine)
+            throws IOException {
+        return readerForSection(
+                section, readerFactory, userKeyComparator, mergeFunctionWrapper, sortEngine, null);
+    }
+
+    public static RecordReader<KeyValue> readerForSection(
+            List<SortedRun> section,
+            KeyValueFileReaderFactory readerFactory,
+            Comparator<InternalRow> userKeyComparator,
+            MergeFunctionWrapper<KeyValue> mergeFunctionWrapper,
+            SortEngine sortEngine,
+            @Nullable KeyRange keyRange)
             throws IOException {
         List<RecordReader<KeyValue>> readers = new ArrayList<>();
         for (SortedRun run : section) {
-            readers.add(readerForRun(run, readerFactory));
+            readers.add(readerForRun(run, readerFactory, keyRange, userKeyComparator));
         }
         if (readers.size() == 1) {
             return readers.get(0);
         } else {
-            return new SortMergeReader<>(readers, userKeyComparator, mergeFunctionWrapper);
+            return SortMergeReader.createSortMergeReader(
+                    readers, userKeyComparator, mergeFunctionWrapper, sortEngine);
         }
     }
 
     public static RecordReader<KeyValue> readerForRun(
             SortedRun run, KeyValueFileReaderFactory readerFactory) throws IOException {
+        return readerForRun(run, readerFactory, null, null);
+    }
+
+    /**
+     * Creates a reader for the sorted run. If a key range is given, files out of the range are
+     * skipped and records of the other files are filtered by the range.
+     */
+    public static RecordReader<KeyValue> readerForRun(
+            SortedRun run,
+            KeyValueFileReaderFactory readerFactory,
+            @Nullable KeyRange keyRange,
+            @Nullable Comparator<InternalRow> keyComparator)
+            throws IOException {
         List<ConcatRecordReader.ReaderSupplier<KeyValue>> readers = new ArrayList<>();
         for (DataFileMeta file : run.files()) {
-            readers.add(
-                    () ->
-                            readerFactory.createRecordReader(
-                                    file.schemaId(), file.fileName(), file.level()));
+            if (keyRange == null) {
+                readers.add(
+                        () ->
+                                readerFactory.createRecordReader(
+                                        file.schemaId(), file.fileName(), file.level()));
+            } else if (keyRange.overlaps(file, keyComparator)) {
+                // only filter by the bounds within the key interval of the file
+                KeyRange fileRange =
+                        new KeyRange(
+                                keyRange.isBelow(file.minKey(), keyComparator)
+                                        ? keyRange.lowerBound()
+                                        : null,
+                                keyRange.isAbove(file.maxKey(), keyComparator)
+                                        ? keyRange.upperBound()
+                                        : null);
+                readers.add(
+                        () -> {
+                            RecordReader<KeyValue> reader =
+                                    readerFactory.createRecordReader(
+                                            file.schemaId(), file.fileName(), file.level());
+                            return fileRange.lowerBound() == null && fileRange.upperBound() == null
+                                    ? reader
+                                    : new KeyRangeReader(
+                                            reader,
+                                            fileRange,
+                                            keyComparator,
+                                            readerFactory.keyType(),
+                                            readerFactory.valueType());
+                        });
+            }
         }
         return ConcatRecordReader.create(readers);
     }
@@ -207,7 +207,16 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     @Override
     public CommitIncrement prepareCommit(boolean blocking) throws Exception {
         flushWriteBuffer(false, false);
-        trySyncLatestCompaction(blocking || commitForceCompact);
+        if (changelogProducer == ChangelogProducer.LOOKUP) {
+            // changelog is produced when level 0 files are compacted, so all level 0 files are
+            // compacted before committing, including files flushed while the latest compaction
+            // was running
+            trySyncLatestCompaction(true);
+            compactManager.triggerCompaction(false);
+            trySyncLatestCompaction(true);
+        } else {
+            trySyncLatestCompaction(blocking || commitForceCompact);
+        }
         return drainIncrement();
     }
 
@@ -305,5 +314,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         for (DataFileMeta file : delete) {
             writerFactory.deleteFile(file.fileName());
         }
+
+        compactManager.close();
     }
 }
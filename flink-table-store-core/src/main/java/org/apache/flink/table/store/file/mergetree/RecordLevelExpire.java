@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.stats.FieldStatsConverters;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.LocalZonedTimestampType;
+import org.apache.flink.table.store.types.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Record level expiration for tables with primary key. A record is expired when its time field is
+ * older than {@link CoreOptions#RECORD_LEVEL_EXPIRE_TIME}. Expired records are dropped when
+ * compacting into the oldest level, and data files whose records are all expired are dropped
+ * without being read if no newer records merge with them.
+ */
+public class RecordLevelExpire {
+
+    private final int timeFieldIndex;
+    private final DataType timeFieldType;
+    private final long expireTimeMillis;
+    private final FieldStatsConverters valueStatsConverters;
+    private final boolean newerRecordsReplaceOlder;
+
+    private RecordLevelExpire(
+            int timeFieldIndex,
+            DataType timeFieldType,
+            long expireTimeMillis,
+            FieldStatsConverters valueStatsConverters,
+            boolean newerRecordsReplaceOlder) {
+        this.timeFieldIndex = timeFieldIndex;
+        this.timeFieldType = timeFieldType;
+        this.expireTimeMillis = expireTimeMillis;
+        this.valueStatsConverters = valueStatsConverters;
+        this.newerRecordsReplaceOlder = newerRecordsReplaceOlder;
+    }
+
+    /**
+     * Creates a {@link RecordLevelExpire} from the options, returns null if record level expire is
+     * not configured.
+     */
+    @Nullable
+    public static RecordLevelExpire create(
+            CoreOptions options, RowType valueType, FieldStatsConverters valueStatsConverters) {
+        Duration expireTime = options.recordLevelExpireTime();
+        String timeField = options.recordLevelTimeField();
+        if (expireTime == null || timeField == null) {
+            return null;
+        }
+
+        int fieldIndex = valueType.getFieldNames().indexOf(timeField);
+        if (fieldIndex < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Can not find time field %s for record level expire in %s.",
+                            timeField, valueType));
+        }
+        return new RecordLevelExpire(
+                fieldIndex,
+                valueType.getTypeAt(fieldIndex),
+                expireTime.toMillis(),
+                valueStatsConverters,
+                options.mergeEngine() == CoreOptions.MergeEngine.DEDUPLICATE);
+    }
+
+    /**
+     * Returns whether a newer record of a key replaces the older records as a whole. Only then can
+     * an expired file be dropped while newer records of its keys exist, otherwise these newer
+     * records still merge with the dropped ones, e.g. with partial-update or aggregation.
+     */
+    public boolean newerRecordsReplaceOlder() {
+        return newerRecordsReplaceOlder;
+    }
+
+    /** Records whose time is before the returned milliseconds are expired. */
+    public long expireBefore() {
+        return System.currentTimeMillis() - expireTimeMillis;
+    }
+
+    /** Returns whether the given value is expired. Values with a null time never expire. */
+    public boolean isExpired(InternalRow value, long expireBefore) {
+        if (value.isNullAt(timeFieldIndex)) {
+            return false;
+        }
+
+        long millis;
+        switch (timeFieldType.getTypeRoot()) {
+            case INTEGER:
+                millis = value.getInt(timeFieldIndex) * 1000L;
+                break;
+            case BIGINT:
+                millis = value.getLong(timeFieldIndex);
+                break;
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                millis =
+                        value.getTimestamp(
+                                        timeFieldIndex,
+                                        ((LocalZonedTimestampType) timeFieldType).getPrecision())
+                                .getMillisecond();
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported time field type for record level expire: " + timeFieldType);
+        }
+        return millis < expireBefore;
+    }
+
+    /**
+     * Returns whether all records of the given file are expired, judging from the max value of the
+     * time field in the value stats.
+     */
+    public boolean isExpired(DataFileMeta file, long expireBefore) {
+        FieldStats stats =
+                file.valueStats()
+                        .fields(valueStatsConverters.getOrCreate(file.schemaId()), file.rowCount())[
+                        timeFieldIndex];
+        // a file containing null times, or a file written before the time field was added, is
+        // never expired as a whole
+        if (stats.nullCount() > 0 || stats.maxValue() == null) {
+            return false;
+        }
+
+        Object max = stats.maxValue();
+        long millis;
+        if (max instanceof Integer) {
+            millis = (Integer) max * 1000L;
+        } else if (max instanceof Long) {
+            millis = (Long) max;
+        } else if (max instanceof Timestamp) {
+            millis = ((Timestamp) max).getMillisecond();
+        } else {
+            return false;
+        }
+        return millis < expireBefore;
+    }
+
+    /** Wraps the reader to filter out expired records. */
+    public RecordReader<KeyValue> wrap(RecordReader<KeyValue> reader) {
+        return new ExpireReader(reader, expireBefore());
+    }
+
+    /** A {@link RecordReader} which filters out expired {@link KeyValue}s. */
+    private class ExpireReader implements RecordReader<KeyValue> {
+
+        private final RecordReader<KeyValue> reader;
+        private final long expireBefore;
+
+        private ExpireReader(RecordReader<KeyValue> reader, long expireBefore) {
+            this.reader = reader;
+            this.expireBefore = expireBefore;
+        }
+
+        @Nullable
+        @Override
+        public RecordIterator<KeyValue> readBatch() throws IOException {
+            RecordIterator<KeyValue> batch = reader.readBatch();
+
+            if (batch == null) {
+                return null;
+            }
+
+            return new RecordIterator<KeyValue>() {
+                @Override
+                public KeyValue next() throws IOException {
+                    while (true) {
+                        KeyValue kv = batch.next();
+                        if (kv == null || !isExpired(kv.value(), expireBefore)) {
+                            return kv;
+                        }
+                    }
+                }
+
+                @Override
+                public void releaseBatch() {
+                    batch.releaseBatch();
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,6 +35,9 @@ public abstract class AbstractCompactRewriter implements CompactRewriter {
         return new CompactResult(file, file.upgrade(outputLevel));
     }
 
+    @Override
+    public void close() throws IOException {}
+
     protected static List<DataFileMeta> extractFilesFromSections(List<List<SortedRun>> sections) {
         return sections.stream()
                 .flatMap(Collection::stream)
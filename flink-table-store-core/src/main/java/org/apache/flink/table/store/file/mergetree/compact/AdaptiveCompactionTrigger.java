@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Adapts the compaction trigger and the stop trigger of a bucket to its write and read pressure.
+ *
+ * <p>The load of a bucket is its ingest rate, the bytes flushed into level 0 per second, divided by
+ * its compaction throughput, the bytes written per second by a running compaction. Compaction
+ * rewrites ingested data several times, so it falls behind well before the load reaches 1:
+ *
+ * <ul>
+ *   <li>When the load is high and the sorted runs reach the triggers, both triggers are raised by
+ *       one. Each compaction merges more runs, and writes go on instead of waiting for compaction.
+ *   <li>When the load is low, both triggers are lowered by one, so that runs are merged earlier and
+ *       readers merge fewer of them.
+ *   <li>Otherwise both triggers move back towards the configured ones by one.
+ * </ul>
+ *
+ * <p>Triggers keep the configured values until both rates have been observed.
+ */
+public class AdaptiveCompactionTrigger {
+
+    static final double HIGH_LOAD = 0.5;
+    static final double LOW_LOAD = 0.1;
+
+    // weight of the latest observation in the moving averages of the rates
+    private static final double ALPHA = 0.5;
+
+    private final AdaptiveCompactionTriggers triggers;
+    private final LongSupplier clock;
+
+    private long lastUpdateMillis;
+    private long flushedBytes;
+
+    private volatile double ingestBytesPerSecond;
+    private volatile double compactionBytesPerSecond;
+    private volatile int sortedRuns;
+    private volatile int compactionTrigger;
+    private volatile int stopTrigger;
+
+    AdaptiveCompactionTrigger(AdaptiveCompactionTriggers triggers, LongSupplier clock) {
+        this.triggers = triggers;
+        this.clock = clock;
+        this.lastUpdateMillis = clock.getAsLong();
+        this.compactionTrigger = triggers.compactionTrigger();
+        this.stopTrigger = triggers.stopTrigger();
+    }
+
+    /** Records a file flushed into level 0. */
+    public synchronized void notifyNewFile(DataFileMeta file) {
+        flushedBytes += file.fileSize();
+    }
+
+    /** Wraps the compaction task to measure the compaction throughput. */
+    public Callable<CompactResult> measure(Callable<CompactResult> task) {
+        return () -> {
+            long start = clock.getAsLong();
+            CompactResult result = task.call();
+            notifyCompaction(rewrittenBytes(result), clock.getAsLong() - start);
+            return result;
+        };
+    }
+
+    private synchronized void notifyCompaction(long bytes, long durationMillis) {
+        if (bytes > 0) {
+            compactionBytesPerSecond =
+                    average(compactionBytesPerSecond, bytes * 1000.0 / Math.max(1, durationMillis));
+        }
+    }
+
+    /** Updates the rates and the triggers with the current number of sorted runs. */
+    public synchronized void update(int sortedRuns) {
+        this.sortedRuns = sortedRuns;
+
+        long now = clock.getAsLong();
+        long elapsedMillis = now - lastUpdateMillis;
+        if (elapsedMillis <= 0) {
+            return;
+        }
+        ingestBytesPerSecond = average(ingestBytesPerSecond, flushedBytes * 1000.0 / elapsedMillis);
+        flushedBytes = 0;
+        lastUpdateMillis = now;
+
+        if (ingestBytesPerSecond <= 0 || compactionBytesPerSecond <= 0) {
+            return;
+        }
+
+        double load = ingestBytesPerSecond / compactionBytesPerSecond;
+        if (load > HIGH_LOAD) {
+            if (sortedRuns >= stopTrigger) {
+                stopTrigger = Math.min(stopTrigger + 1, triggers.maxStopTrigger());
+            }
+            if (sortedRuns >= compactionTrigger) {
+                compactionTrigger = Math.min(compactionTrigger + 1, stopTrigger);
+            }
+        } else if (load < LOW_LOAD) {
+            compactionTrigger = Math.max(compactionTrigger - 1, triggers.minCompactionTrigger());
+            stopTrigger = Math.max(stopTrigger - 1, triggers.stopTrigger());
+        } else {
+            compactionTrigger = towards(compactionTrigger, triggers.compactionTrigger());
+            stopTrigger = towards(stopTrigger, triggers.stopTrigger());
+        }
+    }
+
+    public int compactionTrigger() {
+        return compactionTrigger;
+    }
+
+    public int stopTrigger() {
+        return stopTrigger;
+    }
+
+    public int sortedRuns() {
+        return sortedRuns;
+    }
+
+    public double ingestBytesPerSecond() {
+        return ingestBytesPerSecond;
+    }
+
+    public double compactionBytesPerSecond() {
+        return compactionBytesPerSecond;
+    }
+
+    /** Stops reporting metrics of this bucket. */
+    public void close() {
+        triggers.remove(this);
+    }
+
+    private static double average(double average, double value) {
+        return average == 0 ? value : ALPHA * value + (1 - ALPHA) * average;
+    }
+
+    private static int towards(int value, int target) {
+        return value + Integer.signum(target - value);
+    }
+
+    private static long rewrittenBytes(CompactResult result) {
+        // upgraded files keep their names and are not rewritten
+        Set<String> before =
+                result.before().stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+        return result.after().stream()
+                .filter(file -> !before.contains(file.fileName()))
+                .mapToLong(DataFileMeta::fileSize)
+                .sum();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Creates the {@link AdaptiveCompactionTrigger}s of the buckets of a write, and reports their
+ * {@link CompactionPressureMetrics}.
+ */
+public class AdaptiveCompactionTriggers implements CompactionPressureMetrics {
+
+    private final int compactionTrigger;
+    private final int stopTrigger;
+    private final int maxStopTrigger;
+    private final LongSupplier clock;
+
+    private final Set<AdaptiveCompactionTrigger> buckets;
+
+    public AdaptiveCompactionTriggers(int compactionTrigger, int stopTrigger, int maxStopTrigger) {
+        this(compactionTrigger, stopTrigger, maxStopTrigger, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    AdaptiveCompactionTriggers(
+            int compactionTrigger, int stopTrigger, int maxStopTrigger, LongSupplier clock) {
+        checkArgument(
+                compactionTrigger <= stopTrigger && stopTrigger <= maxStopTrigger,
+                "Triggers should satisfy compaction trigger (%s) <= stop trigger (%s)"
+                        + " <= max stop trigger (%s).",
+                compactionTrigger,
+                stopTrigger,
+                maxStopTrigger);
+        this.compactionTrigger = compactionTrigger;
+        this.stopTrigger = stopTrigger;
+        this.maxStopTrigger = maxStopTrigger;
+        this.clock = clock;
+        this.buckets = ConcurrentHashMap.newKeySet();
+    }
+
+    /** Creates the trigger of a bucket. */
+    public AdaptiveCompactionTrigger create() {
+        AdaptiveCompactionTrigger trigger = new AdaptiveCompactionTrigger(this, clock);
+        buckets.add(trigger);
+        return trigger;
+    }
+
+    void remove(AdaptiveCompactionTrigger trigger) {
+        buckets.remove(trigger);
+    }
+
+    /** The lowest compaction trigger a bucket is lowered to under low load. */
+    int minCompactionTrigger() {
+        return Math.min(compactionTrigger, Math.max(2, (compactionTrigger + 1) / 2));
+    }
+
+    int compactionTrigger() {
+        return compactionTrigger;
+    }
+
+    int stopTrigger() {
+        return stopTrigger;
+    }
+
+    int maxStopTrigger() {
+        return maxStopTrigger;
+    }
+
+    @Override
+    public long ingestBytesPerSecond() {
+        double sum = 0;
+        for (AdaptiveCompactionTrigger bucket : buckets) {
+            sum += bucket.ingestBytesPerSecond();
+        }
+        return (long) sum;
+    }
+
+    @Override
+    public long compactionBytesPerSecond() {
+        double sum = 0;
+        int count = 0;
+        for (AdaptiveCompactionTrigger bucket : buckets) {
+            double rate = bucket.compactionBytesPerSecond();
+            if (rate > 0) {
+                sum += rate;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : (long) (sum / count);
+    }
+
+    @Override
+    public int maxSortedRuns() {
+        int max = 0;
+        for (AdaptiveCompactionTrigger bucket : buckets) {
+            max = Math.max(max, bucket.sortedRuns());
+        }
+        return max;
+    }
+
+    @Override
+    public int maxEffectiveCompactionTrigger() {
+        int max = 0;
+        for (AdaptiveCompactionTrigger bucket : buckets) {
+            max = Math.max(max, bucket.compactionTrigger());
+        }
+        return max;
+    }
+
+    @Override
+    public int maxEffectiveStopTrigger() {
+        int max = 0;
+        for (AdaptiveCompactionTrigger bucket : buckets) {
+            max = Math.max(max, bucket.stopTrigger());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.types.RowKind;
+
+import javax.annotation.Nullable;
+
+/** Changelog and final result for the same key, produced by changelog merge function wrappers. */
+public class ChangelogResult {
+
+    @Nullable private KeyValue before;
+    @Nullable private KeyValue after;
+    @Nullable private KeyValue result;
+
+    ChangelogResult() {}
+
+    void setChangelog(@Nullable KeyValue before, @Nullable KeyValue after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    ChangelogResult setResult(@Nullable KeyValue result) {
+        return setResult(result, true);
+    }
+
+    ChangelogResult setResult(@Nullable KeyValue result, boolean dropDelete) {
+        if (result != null && (!dropDelete || result.valueKind() != RowKind.DELETE)) {
+            this.result = result;
+        } else {
+            this.result = null;
+        }
+        return this;
+    }
+
+    /**
+     * Previous value of this key seen by changelog consumers. Null if this key has no previous
+     * value or its value remains unchanged.
+     */
+    @Nullable
+    public KeyValue before() {
+        return before;
+    }
+
+    /**
+     * Latest value of this key to be seen by changelog consumers. Null if this key is deleted or
+     * its value remains unchanged.
+     */
+    @Nullable
+    public KeyValue after() {
+        return after;
+    }
+
+    /**
+     * Result of merge function for this key, which will be written into the compacted files. Null
+     * if the merged result is null or is a dropped record of DELETE kind.
+     */
+    @Nullable
+    public KeyValue result() {
+        return result;
+    }
+}
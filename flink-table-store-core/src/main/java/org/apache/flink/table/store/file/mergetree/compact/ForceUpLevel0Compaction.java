@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.file.compact.CompactUnit;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link CompactStrategy} which picks like {@link UniversalCompaction}, but always compacts level
+ * 0 files into higher levels when universal compaction picks nothing. It is used by the lookup
+ * changelog producer, whose changelog is only produced when level 0 files are compacted.
+ */
+public class ForceUpLevel0Compaction implements CompactStrategy {
+
+    private final UniversalCompaction universal;
+
+    public ForceUpLevel0Compaction(UniversalCompaction universal) {
+        this.universal = universal;
+    }
+
+    @Override
+    public Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs) {
+        Optional<CompactUnit> pick = universal.pick(numLevels, runs);
+        if (pick.isPresent()) {
+            return pick;
+        }
+
+        // collect all level 0 files, units of universal compaction never output to level 0
+        int candidateCount = 0;
+        for (LevelSortedRun run : runs) {
+            if (run.level() > 0) {
+                break;
+            }
+            candidateCount++;
+        }
+
+        return candidateCount == 0
+                ? Optional.empty()
+                : Optional.of(
+                        UniversalCompaction.createUnit(
+                                runs, numLevels - 1, candidateCount, Integer.MAX_VALUE));
+    }
+}
@@ -22,8 +22,6 @@ import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.types.RowKind;
 import org.apache.flink.table.store.utils.Preconditions;
 
-import javax.annotation.Nullable;
-
 /**
  * Wrapper for {@link MergeFunction}s to produce changelog during a full compaction.
  *
@@ -36,8 +34,7 @@ import javax.annotation.Nullable;
  *       SortMergeReader}, so there is no issue related to object reuse.
  * </ul>
  */
-public class FullChangelogMergeFunctionWrapper
-        implements MergeFunctionWrapper<FullChangelogMergeFunctionWrapper.Result> {
+public class FullChangelogMergeFunctionWrapper implements MergeFunctionWrapper<ChangelogResult> {
 
     private final MergeFunction<KeyValue> mergeFunction;
     private final int maxLevel;
@@ -47,7 +44,7 @@ public class FullChangelogMergeFunctionWrapper
     private transient KeyValue initialKv;
     private transient boolean isInitialized;
 
-    private transient Result reusedResult;
+    private transient ChangelogResult reusedResult;
     private transient KeyValue reusedBefore;
     private transient KeyValue reusedAfter;
 
@@ -93,9 +90,9 @@ public class FullChangelogMergeFunctionWrapper
     }
 
     @Override
-    public Result getResult() {
+    public ChangelogResult getResult() {
         if (reusedResult == null) {
-            reusedResult = new Result();
+            reusedResult = new ChangelogResult();
             reusedBefore = new KeyValue();
             reusedAfter = new KeyValue();
         }
@@ -140,55 +137,4 @@ public class FullChangelogMergeFunctionWrapper
     private boolean isAdd(KeyValue kv) {
         return kv.valueKind() == RowKind.INSERT || kv.valueKind() == RowKind.UPDATE_AFTER;
     }
-
-    /** Changelog and final result for the same key. */
-    public static class Result {
-
-        @Nullable private KeyValue before;
-        @Nullable private KeyValue after;
-        @Nullable private KeyValue result;
-
-        private Result() {}
-
-        private void setChangelog(@Nullable KeyValue before, @Nullable KeyValue after) {
-            this.before = before;
-            this.after = after;
-        }
-
-        private Result setResult(@Nullable KeyValue result) {
-            if (result != null && result.valueKind() != RowKind.DELETE) {
-                this.result = result;
-            } else {
-                this.result = null;
-            }
-            return this;
-        }
-
-        /**
-         * Previous full compaction result for this key. Null if this key does not appear in the
-         * previous result or its value remains unchanged.
-         */
-        @Nullable
-        public KeyValue before() {
-            return before;
-        }
-
-        /**
-         * Latest full compaction result for this key. Null if this key does not appear in the
-         * latest result or its value remains unchanged.
-         */
-        @Nullable
-        public KeyValue after() {
-            return after;
-        }
-
-        /**
-         * Latest full compaction result (result of merge function) for this key. Null if the merged
-         * result is null or is of DELETE kind.
-         */
-        @Nullable
-        public KeyValue result() {
-            return result;
-        }
-    }
 }
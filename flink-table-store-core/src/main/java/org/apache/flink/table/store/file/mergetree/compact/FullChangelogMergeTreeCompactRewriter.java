@@ -18,26 +18,24 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.compact.CompactResult;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
 import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
-import org.apache.flink.table.store.file.io.RollingFileWriter;
-import org.apache.flink.table.store.file.mergetree.MergeTreeReaders;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
-import org.apache.flink.table.store.file.utils.RecordReader;
-import org.apache.flink.table.store.file.utils.RecordReaderIterator;
 import org.apache.flink.table.store.utils.Preconditions;
 
-import java.util.ArrayList;
+import javax.annotation.Nullable;
+
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
-/** A {@link MergeTreeCompactRewriter} which produces changelog files for each full compaction. */
-public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewriter {
+/** A {@link ChangelogMergeTreeRewriter} which produces changelog files for each full compaction. */
+public class FullChangelogMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter {
 
     private final int maxLevel;
 
@@ -46,8 +44,10 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
             KeyValueFileReaderFactory readerFactory,
             KeyValueFileWriterFactory writerFactory,
             Comparator<InternalRow> keyComparator,
-            MergeFunctionFactory<KeyValue> mfFactory) {
-        super(readerFactory, writerFactory, keyComparator, mfFactory);
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            @Nullable Subcompactions subcompactions) {
+        super(readerFactory, writerFactory, keyComparator, mfFactory, sortEngine, subcompactions);
         this.maxLevel = maxLevel;
     }
 
@@ -65,60 +65,10 @@ public class FullChangelogMergeTreeCompactRewriter extends MergeTreeCompactRewri
     }
 
     private CompactResult rewriteFullCompaction(List<List<SortedRun>> sections) throws Exception {
-        List<ConcatRecordReader.ReaderSupplier<FullChangelogMergeFunctionWrapper.Result>>
-                sectionReaders = new ArrayList<>();
-        for (List<SortedRun> section : sections) {
-            sectionReaders.add(
-                    () -> {
-                        List<RecordReader<KeyValue>> runReaders = new ArrayList<>();
-                        for (SortedRun run : section) {
-                            runReaders.add(MergeTreeReaders.readerForRun(run, readerFactory));
-                        }
-                        return new SortMergeReader<>(
-                                runReaders,
-                                keyComparator,
-                                new FullChangelogMergeFunctionWrapper(
-                                        mfFactory.create(), maxLevel));
-                    });
-        }
-
-        RecordReaderIterator<FullChangelogMergeFunctionWrapper.Result> iterator = null;
-        RollingFileWriter<KeyValue, DataFileMeta> compactFileWriter = null;
-        RollingFileWriter<KeyValue, DataFileMeta> changelogFileWriter = null;
-
-        try {
-            iterator = new RecordReaderIterator<>(ConcatRecordReader.create(sectionReaders));
-            compactFileWriter = writerFactory.createRollingMergeTreeFileWriter(maxLevel);
-            changelogFileWriter = writerFactory.createRollingChangelogFileWriter(maxLevel);
-
-            while (iterator.hasNext()) {
-                FullChangelogMergeFunctionWrapper.Result result = iterator.next();
-                if (result.result() != null) {
-                    compactFileWriter.write(result.result());
-                }
-                if (result.before() != null) {
-                    changelogFileWriter.write(result.before());
-                }
-                if (result.after() != null) {
-                    changelogFileWriter.write(result.after());
-                }
-            }
-        } finally {
-            if (iterator != null) {
-                iterator.close();
-            }
-            if (compactFileWriter != null) {
-                compactFileWriter.close();
-            }
-            if (changelogFileWriter != null) {
-                changelogFileWriter.close();
-            }
-        }
-
-        return new CompactResult(
-                extractFilesFromSections(sections),
-                compactFileWriter.result(),
-                changelogFileWriter.result());
+        return rewriteChangelogCompaction(
+                maxLevel,
+                sections,
+                () -> new FullChangelogMergeFunctionWrapper(mfFactory.create(), maxLevel));
     }
 
     @Override
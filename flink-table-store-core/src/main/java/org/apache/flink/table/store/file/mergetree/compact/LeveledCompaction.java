@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactUnit;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Leveled Compaction Style is a compaction style, targeting the use cases requiring lower write
+ * amplification for large tables whose updates only touch a small part of the keys, trading off
+ * space amplification and the number of files.
+ *
+ * <p>Once the number of level 0 files reaches a trigger, they are all compacted with the
+ * overlapping files of level 1. Otherwise, each level except level 0 and the max level has a target
+ * size, growing by a multiplier from level to level, and from the level exceeding its target size
+ * the most, only the one file with the least overlapping bytes in the next level is compacted with
+ * these overlapping files. Cold key ranges are therefore not rewritten again once they have reached
+ * their level.
+ *
+ * <p>See RocksDb Leveled-Compaction: https://github.com/facebook/rocksdb/wiki/Leveled-Compaction.
+ */
+public class LeveledCompaction implements CompactStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeveledCompaction.class);
+
+    private final Comparator<InternalRow> keyComparator;
+    private final int level0FileNumTrigger;
+    private final long baseLevelSize;
+    private final int levelSizeMultiplier;
+
+    public LeveledCompaction(
+            Comparator<InternalRow> keyComparator,
+            int level0FileNumTrigger,
+            long baseLevelSize,
+            int levelSizeMultiplier) {
+        checkArgument(level0FileNumTrigger > 0, "Level 0 file num trigger must be positive.");
+        checkArgument(baseLevelSize > 0, "Base level size must be positive.");
+        checkArgument(levelSizeMultiplier > 1, "Level size multiplier must be greater than 1.");
+        this.keyComparator = keyComparator;
+        this.level0FileNumTrigger = level0FileNumTrigger;
+        this.baseLevelSize = baseLevelSize;
+        this.levelSizeMultiplier = levelSizeMultiplier;
+    }
+
+    @Override
+    public Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs) {
+        int maxLevel = numLevels - 1;
+        if (maxLevel < 1) {
+            return Optional.empty();
+        }
+
+        List<DataFileMeta> level0 = new ArrayList<>();
+        SortedRun[] levelRuns = new SortedRun[numLevels];
+        for (LevelSortedRun run : runs) {
+            if (run.level() == 0) {
+                level0.addAll(run.run().files());
+            } else {
+                levelRuns[run.level()] = run.run();
+            }
+        }
+
+        // level 0 files are compacted first, they are overlapping sorted runs which slow down
+        // reading and stop writing, and the lookup changelog producer requires them to be
+        // compacted after each flush
+        if (level0.size() >= level0FileNumTrigger) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Leveled compaction of {} level 0 files", level0.size());
+            }
+            return Optional.of(pickLevel0(level0, levelRuns[1]));
+        }
+
+        // the level exceeding its target size the most is compacted, the max level is never
+        // compacted
+        int level = -1;
+        double score = 0;
+        for (int i = 1; i < maxLevel; i++) {
+            if (levelRuns[i] == null) {
+                continue;
+            }
+            double levelScore = (double) levelRuns[i].totalSize() / targetSize(i);
+            if (levelScore >= 1 && levelScore > score) {
+                level = i;
+                score = levelScore;
+            }
+        }
+
+        if (level < 0) {
+            return Optional.empty();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Leveled compaction of level {} with score {}", level, score);
+        }
+        return Optional.of(pickFile(level, levelRuns[level], levelRuns[level + 1]));
+    }
+
+    /** Target size of the given level, which must be neither level 0 nor the max level. */
+    @VisibleForTesting
+    long targetSize(int level) {
+        long size = baseLevelSize;
+        for (int i = 1; i < level && size < Long.MAX_VALUE / levelSizeMultiplier; i++) {
+            size *= levelSizeMultiplier;
+        }
+        return size;
+    }
+
+    private CompactUnit pickLevel0(List<DataFileMeta> level0, SortedRun level1) {
+        // all level 0 files must be compacted together, they are overlapping sorted runs
+        InternalRow minKey = level0.get(0).minKey();
+        InternalRow maxKey = level0.get(0).maxKey();
+        for (DataFileMeta file : level0) {
+            if (keyComparator.compare(file.minKey(), minKey) < 0) {
+                minKey = file.minKey();
+            }
+            if (keyComparator.compare(file.maxKey(), maxKey) > 0) {
+                maxKey = file.maxKey();
+            }
+        }
+
+        List<DataFileMeta> files = new ArrayList<>(level0);
+        if (level1 != null) {
+            for (DataFileMeta file : level1.files()) {
+                if (keyComparator.compare(file.maxKey(), minKey) >= 0
+                        && keyComparator.compare(file.minKey(), maxKey) <= 0) {
+                    files.add(file);
+                }
+            }
+        }
+        return CompactUnit.fromFiles(1, files);
+    }
+
+    /**
+     * Picks the file of the level with the least ratio of overlapping bytes in the next level to
+     * its own size, which moves the most data down for the least amount of rewritten bytes.
+     */
+    private CompactUnit pickFile(int level, SortedRun run, SortedRun nextRun) {
+        List<DataFileMeta> nextFiles = nextRun == null ? Collections.emptyList() : nextRun.files();
+
+        DataFileMeta picked = null;
+        int pickedStart = 0;
+        int pickedEnd = 0;
+        double pickedRatio = Double.MAX_VALUE;
+
+        // files of both runs are sorted and not overlapping, so the window of overlapping files
+        // only moves forward
+        int start = 0;
+        for (DataFileMeta file : run.files()) {
+            while (start < nextFiles.size()
+                    && keyComparator.compare(nextFiles.get(start).maxKey(), file.minKey()) < 0) {
+                start++;
+            }
+            long overlappingSize = 0;
+            int end = start;
+            while (end < nextFiles.size()
+                    && keyComparator.compare(nextFiles.get(end).minKey(), file.maxKey()) <= 0) {
+                overlappingSize += nextFiles.get(end).fileSize();
+                end++;
+            }
+
+            double ratio = (double) overlappingSize / Math.max(1, file.fileSize());
+            if (ratio < pickedRatio) {
+                picked = file;
+                pickedStart = start;
+                pickedEnd = end;
+                pickedRatio = ratio;
+            }
+        }
+
+        List<DataFileMeta> files = new ArrayList<>();
+        files.add(picked);
+        files.addAll(nextFiles.subList(pickedStart, pickedEnd));
+        return CompactUnit.fromFiles(level + 1, files);
+    }
+}
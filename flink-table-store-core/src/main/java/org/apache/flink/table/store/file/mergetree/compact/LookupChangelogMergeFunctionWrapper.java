@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.mergetree.LookupLevels;
+import org.apache.flink.table.store.types.RowKind;
+import org.apache.flink.table.store.utils.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wrapper for {@link MergeFunction}s to produce changelog when level 0 files are compacted into
+ * higher levels.
+ *
+ * <p>Records in levels above 0 represent the values which have already been produced as changelog.
+ * For each key containing level 0 records, the previous value is calculated by merging the records
+ * in the higher levels not involved in this compaction (looked up by {@link LookupLevels}) and the
+ * input records above level 0, while the latest value additionally merges the level 0 records.
+ *
+ * <p>This wrapper can only be used in {@link SortMergeReader}, see {@link
+ * FullChangelogMergeFunctionWrapper} for the reason.
+ */
+public class LookupChangelogMergeFunctionWrapper implements MergeFunctionWrapper<ChangelogResult> {
+
+    private final ReducerMergeFunctionWrapper mergeFunction;
+    private final ReducerMergeFunctionWrapper beforeFunction;
+    private final ReducerMergeFunctionWrapper afterFunction;
+    private final LookupLevels lookupLevels;
+    private final int lookupStartLevel;
+    private final boolean dropDelete;
+
+    private final List<KeyValue> candidates;
+    private transient boolean containsLevel0;
+
+    private transient ChangelogResult reusedResult;
+    private transient KeyValue reusedBefore;
+    private transient KeyValue reusedAfter;
+
+    public LookupChangelogMergeFunctionWrapper(
+            MergeFunctionFactory<KeyValue> mfFactory,
+            LookupLevels lookupLevels,
+            int lookupStartLevel,
+            boolean dropDelete) {
+        MergeFunction<KeyValue> mergeFunction = mfFactory.create();
+        Preconditions.checkArgument(
+                !(mergeFunction instanceof ValueCountMergeFunction),
+                "Value count merge function does not need to produce changelog from lookup. "
+                        + "Please set changelog producer to 'input'.");
+        this.mergeFunction = new ReducerMergeFunctionWrapper(mergeFunction);
+        this.beforeFunction = new ReducerMergeFunctionWrapper(mfFactory.create());
+        this.afterFunction = new ReducerMergeFunctionWrapper(mfFactory.create());
+        this.lookupLevels = lookupLevels;
+        this.lookupStartLevel = lookupStartLevel;
+        this.dropDelete = dropDelete;
+        this.candidates = new ArrayList<>();
+    }
+
+    @Override
+    public void reset() {
+        mergeFunction.reset();
+        candidates.clear();
+        containsLevel0 = false;
+    }
+
+    @Override
+    public void add(KeyValue kv) {
+        mergeFunction.add(kv);
+        candidates.add(kv);
+        if (kv.level() == 0) {
+            containsLevel0 = true;
+        }
+    }
+
+    @Override
+    public ChangelogResult getResult() {
+        if (reusedResult == null) {
+            reusedResult = new ChangelogResult();
+            reusedBefore = new KeyValue();
+            reusedAfter = new KeyValue();
+        }
+
+        KeyValue result = mergeFunction.getResult();
+        if (!containsLevel0) {
+            // this key is not changed, all records have already been produced as changelog
+            reusedResult.setChangelog(null, null);
+            return reusedResult.setResult(result, dropDelete);
+        }
+
+        List<KeyValue> previous;
+        try {
+            previous = lookupLevels.lookup(candidates.get(0).key(), lookupStartLevel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        beforeFunction.reset();
+        afterFunction.reset();
+        boolean hasBefore = false;
+        for (KeyValue kv : previous) {
+            beforeFunction.add(kv);
+            afterFunction.add(kv);
+            hasBefore = true;
+        }
+        for (KeyValue kv : candidates) {
+            if (kv.level() > 0) {
+                beforeFunction.add(kv);
+                hasBefore = true;
+            }
+            afterFunction.add(kv);
+        }
+
+        KeyValue before = hasBefore ? beforeFunction.getResult() : null;
+        KeyValue after = afterFunction.getResult();
+        boolean beforeIsAdd = before != null && isAdd(before);
+        boolean afterIsAdd = after != null && isAdd(after);
+        if (!beforeIsAdd) {
+            reusedResult.setChangelog(
+                    null, afterIsAdd ? replace(reusedAfter, RowKind.INSERT, after) : null);
+        } else if (afterIsAdd) {
+            reusedResult.setChangelog(
+                    replace(reusedBefore, RowKind.UPDATE_BEFORE, before),
+                    replace(reusedAfter, RowKind.UPDATE_AFTER, after));
+        } else {
+            reusedResult.setChangelog(replace(reusedBefore, RowKind.DELETE, before), null);
+        }
+        return reusedResult.setResult(result, dropDelete);
+    }
+
+    private KeyValue replace(KeyValue reused, RowKind valueKind, KeyValue from) {
+        return reused.replace(from.key(), from.sequenceNumber(), valueKind, from.value());
+    }
+
+    private boolean isAdd(KeyValue kv) {
+        return kv.valueKind() == RowKind.INSERT || kv.valueKind() == RowKind.UPDATE_AFTER;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.CoreOptions.SortEngine;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
+import org.apache.flink.table.store.file.mergetree.LookupLevels;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link ChangelogMergeTreeRewriter} which produces changelog files when level 0 files are
+ * compacted into higher levels. Previous values of the changed keys are looked up in the higher
+ * levels by {@link LookupLevels}, so no full compaction is needed.
+ */
+public class LookupMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter {
+
+    private final LookupLevels lookupLevels;
+
+    public LookupMergeTreeCompactRewriter(
+            LookupLevels lookupLevels,
+            KeyValueFileReaderFactory readerFactory,
+            KeyValueFileWriterFactory writerFactory,
+            Comparator<InternalRow> keyComparator,
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            @Nullable Subcompactions subcompactions) {
+        super(readerFactory, writerFactory, keyComparator, mfFactory, sortEngine, subcompactions);
+        this.lookupLevels = lookupLevels;
+    }
+
+    @Override
+    public CompactResult rewrite(
+            int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) throws Exception {
+        if (outputLevel > 0 && containsLevel0(sections)) {
+            return rewriteLookupCompaction(outputLevel, dropDelete, sections);
+        } else {
+            return rewriteCompaction(outputLevel, dropDelete, sections);
+        }
+    }
+
+    @Override
+    public CompactResult upgrade(int outputLevel, DataFileMeta file) throws Exception {
+        if (outputLevel > 0 && file.level() == 0) {
+            // level 0 files are rewritten instead of upgraded to produce their changelog
+            return rewriteLookupCompaction(
+                    outputLevel,
+                    false,
+                    Collections.singletonList(
+                            Collections.singletonList(SortedRun.fromSingle(file))));
+        } else {
+            return super.upgrade(outputLevel, file);
+        }
+    }
+
+    private CompactResult rewriteLookupCompaction(
+            int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) throws Exception {
+        // levels not involved in this compaction are above the output level, see CompactStrategy
+        return rewriteChangelogCompaction(
+                outputLevel,
+                sections,
+                () ->
+                        new LookupChangelogMergeFunctionWrapper(
+                                mfFactory, lookupLevels, outputLevel + 1, dropDelete));
+    }
+
+    private static boolean containsLevel0(List<List<SortedRun>> sections) {
+        for (List<SortedRun> section : sections) {
+            for (SortedRun run : section) {
+                for (DataFileMeta file : run.files()) {
+                    if (file.level() == 0) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lookupLevels.close();
+    }
+}
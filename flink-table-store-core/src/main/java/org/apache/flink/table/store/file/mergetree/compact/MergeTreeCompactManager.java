@@ -22,15 +22,21 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.compact.CompactFutureManager;
 import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.compact.CompactTask;
 import org.apache.flink.table.store.file.compact.CompactUnit;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.LevelSortedRun;
 import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.RecordLevelExpire;
 import org.apache.flink.table.store.utils.Preconditions;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +56,8 @@ public class MergeTreeCompactManager extends CompactFutureManager {
     private final long minFileSize;
     private final int numSortedRunStopTrigger;
     private final CompactRewriter rewriter;
+    @Nullable private final RecordLevelExpire recordLevelExpire;
+    @Nullable private final AdaptiveCompactionTrigger adaptiveTrigger;
 
     public MergeTreeCompactManager(
             ExecutorService executor,
@@ -59,6 +67,28 @@ public class MergeTreeCompactManager extends CompactFutureManager {
             long minFileSize,
             int numSortedRunStopTrigger,
             CompactRewriter rewriter) {
+        this(
+                executor,
+                levels,
+                strategy,
+                keyComparator,
+                minFileSize,
+                numSortedRunStopTrigger,
+                rewriter,
+                null,
+                null);
+    }
+
+    public MergeTreeCompactManager(
+            ExecutorService executor,
+            Levels levels,
+            CompactStrategy strategy,
+            Comparator<InternalRow> keyComparator,
+            long minFileSize,
+            int numSortedRunStopTrigger,
+            CompactRewriter rewriter,
+            @Nullable RecordLevelExpire recordLevelExpire,
+            @Nullable AdaptiveCompactionTrigger adaptiveTrigger) {
         this.executor = executor;
         this.levels = levels;
         this.strategy = strategy;
@@ -66,16 +96,23 @@ public class MergeTreeCompactManager extends CompactFutureManager {
         this.numSortedRunStopTrigger = numSortedRunStopTrigger;
         this.keyComparator = keyComparator;
         this.rewriter = rewriter;
+        this.recordLevelExpire = recordLevelExpire;
+        this.adaptiveTrigger = adaptiveTrigger;
     }
 
     @Override
     public boolean shouldWaitCompaction() {
-        return levels.numberOfSortedRuns() > numSortedRunStopTrigger;
+        int stopTrigger =
+                adaptiveTrigger == null ? numSortedRunStopTrigger : adaptiveTrigger.stopTrigger();
+        return levels.numberOfSortedRuns() > stopTrigger;
     }
 
     @Override
     public void addNewFile(DataFileMeta file) {
         levels.addLevel0File(file);
+        if (adaptiveTrigger != null) {
+            adaptiveTrigger.notifyNewFile(file);
+        }
     }
 
     @Override
@@ -94,15 +131,28 @@ public class MergeTreeCompactManager extends CompactFutureManager {
             }
             optionalUnit = CompactStrategy.pickFullCompaction(levels.numberOfLevels(), runs);
         } else {
+            if (adaptiveTrigger != null) {
+                adaptiveTrigger.update(runs.size());
+            }
             if (taskFuture != null) {
                 return;
             }
+            List<DataFileMeta> expiredFiles = pickExpiredFiles();
+            if (!expiredFiles.isEmpty()) {
+                submitDropExpiredFiles(expiredFiles);
+                return;
+            }
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Trigger normal compaciton. Picking from the following runs\n{}", runs);
             }
             optionalUnit =
                     strategy.pick(levels.numberOfLevels(), runs)
-                            .map(unit -> unit.files().size() < 2 ? null : unit);
+                            .filter(unit -> unit.files().size() > 0)
+                            .filter(
+                                    unit ->
+                                            unit.files().size() > 1
+                                                    || unit.files().get(0).level()
+                                                            != unit.outputLevel());
         }
 
         optionalUnit.ifPresent(
@@ -136,6 +186,58 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                 });
     }
 
+    /**
+     * Picks the files of the highest non-empty level whose records are all expired. There is no
+     * older data than the highest level, so these files can be dropped without being read, unless
+     * newer records in lower levels still merge with their records. Such files are left to the
+     * compaction, which expires records after merging.
+     */
+    private List<DataFileMeta> pickExpiredFiles() {
+        int highestLevel = levels.nonEmptyHighestLevel();
+        if (recordLevelExpire == null || highestLevel <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<DataFileMeta> newerFiles =
+                recordLevelExpire.newerRecordsReplaceOlder()
+                        ? Collections.emptyList()
+                        : levels.allFiles().stream()
+                                .filter(file -> file.level() < highestLevel)
+                                .collect(Collectors.toList());
+        long expireBefore = recordLevelExpire.expireBefore();
+        return levels.runOfLevel(highestLevel).files().stream()
+                .filter(file -> recordLevelExpire.isExpired(file, expireBefore))
+                .filter(file -> newerFiles.stream().noneMatch(newer -> overlaps(file, newer)))
+                .collect(Collectors.toList());
+    }
+
+    private boolean overlaps(DataFileMeta file1, DataFileMeta file2) {
+        return keyComparator.compare(file1.minKey(), file2.maxKey()) <= 0
+                && keyComparator.compare(file2.minKey(), file1.maxKey()) <= 0;
+    }
+
+    private void submitDropExpiredFiles(List<DataFileMeta> files) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Drop these expired files (name, level, size): {}",
+                    files.stream()
+                            .map(
+                                    file ->
+                                            String.format(
+                                                    "(%s, %d, %d)",
+                                                    file.fileName(), file.level(), file.fileSize()))
+                            .collect(Collectors.joining(", ")));
+        }
+        taskFuture =
+                executor.submit(
+                        new CompactTask(files) {
+                            @Override
+                            protected CompactResult doCompact(List<DataFileMeta> inputs) {
+                                return new CompactResult(inputs, Collections.emptyList());
+                            }
+                        });
+    }
+
     @VisibleForTesting
     public Levels levels() {
         return levels;
@@ -155,7 +257,16 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                                                     file.fileName(), file.level(), file.fileSize()))
                             .collect(Collectors.joining(", ")));
         }
-        taskFuture = executor.submit(task);
+        taskFuture =
+                executor.submit(adaptiveTrigger == null ? task : adaptiveTrigger.measure(task));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (adaptiveTrigger != null) {
+            adaptiveTrigger.close();
+        }
+        rewriter.close();
     }
 
     /** Finish current task, and update result files to {@link Levels}. */
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.compact.CompactResult;
@@ -25,11 +26,15 @@ import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
 import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
 import org.apache.flink.table.store.file.io.RollingFileWriter;
+import org.apache.flink.table.store.file.mergetree.KeyRange;
 import org.apache.flink.table.store.file.mergetree.MergeTreeReaders;
+import org.apache.flink.table.store.file.mergetree.RecordLevelExpire;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReaderIterator;
 
+import javax.annotation.Nullable;
+
 import java.util.Comparator;
 import java.util.List;
 
@@ -40,16 +45,42 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
     protected final KeyValueFileWriterFactory writerFactory;
     protected final Comparator<InternalRow> keyComparator;
     protected final MergeFunctionFactory<KeyValue> mfFactory;
+    protected final SortEngine sortEngine;
+    @Nullable private final Subcompactions subcompactions;
+    @Nullable private final RecordLevelExpire recordLevelExpire;
 
     public MergeTreeCompactRewriter(
             KeyValueFileReaderFactory readerFactory,
             KeyValueFileWriterFactory writerFactory,
             Comparator<InternalRow> keyComparator,
-            MergeFunctionFactory<KeyValue> mfFactory) {
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            @Nullable Subcompactions subcompactions) {
+        this(
+                readerFactory,
+                writerFactory,
+                keyComparator,
+                mfFactory,
+                sortEngine,
+                subcompactions,
+                null);
+    }
+
+    public MergeTreeCompactRewriter(
+            KeyValueFileReaderFactory readerFactory,
+            KeyValueFileWriterFactory writerFactory,
+            Comparator<InternalRow> keyComparator,
+            MergeFunctionFactory<KeyValue> mfFactory,
+            SortEngine sortEngine,
+            @Nullable Subcompactions subcompactions,
+            @Nullable RecordLevelExpire recordLevelExpire) {
         this.readerFactory = readerFactory;
         this.writerFactory = writerFactory;
         this.keyComparator = keyComparator;
         this.mfFactory = mfFactory;
+        this.sortEngine = sortEngine;
+        this.subcompactions = subcompactions;
+        this.recordLevelExpire = recordLevelExpire;
     }
 
     @Override
@@ -60,13 +91,49 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
 
     protected CompactResult rewriteCompaction(
             int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) throws Exception {
+        return rewriteKeyRanges(
+                sections,
+                (rangeSections, range) ->
+                        rewriteCompaction(outputLevel, dropDelete, rangeSections, range));
+    }
+
+    private CompactResult rewriteCompaction(
+            int outputLevel,
+            boolean dropDelete,
+            List<List<SortedRun>> sections,
+            @Nullable KeyRange range)
+            throws Exception {
         RollingFileWriter<KeyValue, DataFileMeta> writer =
                 writerFactory.createRollingMergeTreeFileWriter(outputLevel);
         RecordReader<KeyValue> sectionsReader =
                 MergeTreeReaders.readerForMergeTree(
-                        sections, dropDelete, readerFactory, keyComparator, mfFactory.create());
+                        sections,
+                        dropDelete,
+                        readerFactory,
+                        keyComparator,
+                        mfFactory.create(),
+                        sortEngine,
+                        range);
+        if (dropDelete && recordLevelExpire != null) {
+            // like deletes, expired records can only be dropped when there is no older data
+            sectionsReader = recordLevelExpire.wrap(sectionsReader);
+        }
         writer.write(new RecordReaderIterator<>(sectionsReader));
         writer.close();
         return new CompactResult(extractFilesFromSections(sections), writer.result());
     }
+
+    /**
+     * Rewrites the sections with the given rewriter, split into key ranges by {@link
+     * Subcompactions} if configured.
+     */
+    protected CompactResult rewriteKeyRanges(
+            List<List<SortedRun>> sections, Subcompactions.RangeRewriter rangeRewriter)
+            throws Exception {
+        if (subcompactions == null) {
+            return rangeRewriter.rewrite(sections, null);
+        }
+        return subcompactions.rewrite(
+                sections, rangeRewriter, file -> writerFactory.deleteFile(file.fileName()));
+    }
 }
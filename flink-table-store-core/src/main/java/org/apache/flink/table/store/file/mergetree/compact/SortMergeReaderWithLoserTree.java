@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.table.store.utils.Preconditions;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link SortMergeReader} implemented with loser-tree.
+ *
+ * <p>Each leaf of the tree holds the current {@link KeyValue} of a reader. Each internal node holds
+ * the leaf which lost the match at this node, and the overall winner is kept at the top of the
+ * tree. When the value of the winner changes, only the matches on the path from its leaf to the
+ * root are replayed, which needs log2(k) comparisons for k readers.
+ *
+ * <p>Leaves are ordered by key, then by whether they are popped, then by sequence number. When a
+ * winner is merged, it is marked as popped instead of being advanced, because the merge function
+ * may still hold its {@link KeyValue}. A popped leaf still has the smallest key, so the next winner
+ * is a not popped leaf only if it has the same key. After the result of the key is produced, the
+ * popped leaves are the winners of the tree one after another, and they are advanced one by one.
+ *
+ * <p>Each internal node also remembers whether its loser has the same key as the winner of the
+ * match, so that most matches of the same key are decided without comparing keys.
+ */
+public class SortMergeReaderWithLoserTree<T> implements SortMergeReader<T> {
+
+    private final Comparator<InternalRow> userKeyComparator;
+    private final MergeFunctionWrapper<T> mergeFunctionWrapper;
+
+    private final Leaf[] leaves;
+
+    /** Index 0 is the overall winner, indexes 1 to k - 1 are the losers of internal nodes. */
+    private final int[] tree;
+
+    /** Whether the loser of an internal node has the same key as the winner of the match. */
+    private final boolean[] sameKeys;
+
+    private boolean initialized;
+
+    /** The leaf which reaches end of its batch and is waiting for the next batch. */
+    @Nullable private Leaf nextBatchLeaf;
+
+    public SortMergeReaderWithLoserTree(
+            List<RecordReader<KeyValue>> readers,
+            Comparator<InternalRow> userKeyComparator,
+            MergeFunctionWrapper<T> mergeFunctionWrapper) {
+        this.userKeyComparator = userKeyComparator;
+        this.mergeFunctionWrapper = mergeFunctionWrapper;
+
+        this.leaves = new Leaf[readers.size()];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = new Leaf(i, readers.get(i));
+        }
+        this.tree = new int[leaves.length];
+        this.sameKeys = new boolean[leaves.length];
+    }
+
+    @Nullable
+    @Override
+    public RecordIterator<T> readBatch() throws IOException {
+        if (leaves.length == 0) {
+            return null;
+        }
+
+        if (!initialized) {
+            for (Leaf leaf : leaves) {
+                leaf.readNextBatch();
+            }
+            initializeTree();
+            initialized = true;
+        } else if (nextBatchLeaf != null) {
+            nextBatchLeaf.readNextBatch();
+            adjust(nextBatchLeaf.index, false);
+            nextBatchLeaf = null;
+        }
+
+        return leaves[tree[0]].kv == null ? null : new SortMergeIterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Leaf leaf : leaves) {
+            leaf.close();
+        }
+    }
+
+    private void initializeTree() {
+        int size = leaves.length;
+        int[] winners = new int[size];
+        for (int node = size - 1; node > 0; node--) {
+            int left = 2 * node;
+            int right = left + 1;
+            int leftWinner = left >= size ? left - size : winners[left];
+            int rightWinner = right >= size ? right - size : winners[right];
+
+            Leaf leftLeaf = leaves[leftWinner];
+            Leaf rightLeaf = leaves[rightWinner];
+            int cmp = compareKey(leftLeaf, rightLeaf);
+            sameKeys[node] = cmp == 0;
+            if (cmp == 0 ? beatsWithSameKey(leftLeaf, rightLeaf) : cmp < 0) {
+                winners[node] = leftWinner;
+                tree[node] = rightWinner;
+            } else {
+                winners[node] = rightWinner;
+                tree[node] = leftWinner;
+            }
+        }
+        tree[0] = size == 1 ? 0 : winners[1];
+    }
+
+    /**
+     * Replays the matches on the path from the given leaf to the root. The leaf must be the current
+     * winner, and its new value must not be smaller than its old value.
+     *
+     * @param keyUnchanged whether the key of the leaf is unchanged, which is the case when the leaf
+     *     is just popped
+     */
+    private void adjust(int leaf, boolean keyUnchanged) {
+        int size = leaves.length;
+        int winner = leaf;
+        // whether the key of the candidate equals the key of the old winner, note that every
+        // node on the path remembers whether its loser has the same key as the old winner
+        boolean winnerSameKey = keyUnchanged;
+        for (int node = (leaf + size) / 2; node > 0; node /= 2) {
+            int loser = tree[node];
+            boolean loserSameKey = sameKeys[node];
+
+            boolean winnerWins;
+            boolean sameKey;
+            if (winnerSameKey && loserSameKey) {
+                winnerWins = beatsWithSameKey(leaves[winner], leaves[loser]);
+                sameKey = true;
+            } else if (winnerSameKey) {
+                // the key of the loser is larger than the key of the old winner
+                winnerWins = true;
+                sameKey = false;
+            } else if (loserSameKey) {
+                // the key of the candidate is larger than the key of the old winner
+                winnerWins = false;
+                sameKey = false;
+            } else {
+                Leaf winnerLeaf = leaves[winner];
+                Leaf loserLeaf = leaves[loser];
+                int cmp = compareKey(winnerLeaf, loserLeaf);
+                winnerWins = cmp == 0 ? beatsWithSameKey(winnerLeaf, loserLeaf) : cmp < 0;
+                sameKey = cmp == 0;
+            }
+            sameKeys[node] = sameKey;
+
+            if (!winnerWins) {
+                tree[node] = winner;
+                winner = loser;
+                winnerSameKey = loserSameKey;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /** Compares the keys of two leaves, exhausted leaves are larger than all other leaves. */
+    private int compareKey(Leaf a, Leaf b) {
+        if (a.kv == null || b.kv == null) {
+            if (a.kv != null) {
+                return -1;
+            } else if (b.kv != null) {
+                return 1;
+            } else {
+                return Integer.compare(a.index, b.index);
+            }
+        }
+        return userKeyComparator.compare(a.kv.key(), b.kv.key());
+    }
+
+    /** Compares two leaves with the same key. */
+    private static boolean beatsWithSameKey(Leaf a, Leaf b) {
+        if (a.popped != b.popped) {
+            return !a.popped;
+        }
+        int result = Long.compare(a.kv.sequenceNumber(), b.kv.sequenceNumber());
+        return result == 0 ? a.index < b.index : result < 0;
+    }
+
+    /** The iterator iterates on {@link SortMergeReaderWithLoserTree}. */
+    private class SortMergeIterator implements RecordIterator<T> {
+
+        private boolean released = false;
+
+        @Override
+        public T next() throws IOException {
+            while (true) {
+                boolean hasMore = nextImpl();
+                if (!hasMore) {
+                    return null;
+                }
+                T result = mergeFunctionWrapper.getResult();
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        private boolean nextImpl() throws IOException {
+            Preconditions.checkState(
+                    !released, "SortMergeIterator#advanceNext is called after release");
+            Preconditions.checkState(
+                    nextBatchLeaf == null,
+                    "SortMergeIterator#advanceNext is called even if the last call returns null. "
+                            + "This is a bug.");
+
+            // advance previously popped leaves, they are the winners until all are advanced
+            Leaf winner = leaves[tree[0]];
+            while (winner.popped) {
+                if (!winner.advance()) {
+                    // reach end of batch, we end current batch
+                    nextBatchLeaf = winner;
+                    return false;
+                }
+                adjust(winner.index, false);
+                winner = leaves[tree[0]];
+            }
+
+            if (winner.kv == null) {
+                return false;
+            }
+
+            // fetch all leaves with the same key, when no leaf with the same key is left, a
+            // popped leaf becomes the winner
+            // note that the same reader should not produce the same keys, so this code is correct
+            mergeFunctionWrapper.reset();
+            while (!winner.popped) {
+                mergeFunctionWrapper.add(winner.kv);
+                winner.popped = true;
+                adjust(winner.index, true);
+                winner = leaves[tree[0]];
+            }
+            return true;
+        }
+
+        @Override
+        public void releaseBatch() {
+            released = true;
+        }
+    }
+
+    /** A leaf of the loser-tree, which holds the current {@link KeyValue} of a reader. */
+    private static class Leaf {
+
+        private final int index;
+        private final RecordReader<KeyValue> reader;
+
+        @Nullable private RecordIterator<KeyValue> iterator;
+
+        /** Current key value, null if the reader is exhausted. */
+        @Nullable private KeyValue kv;
+
+        private boolean popped;
+        private boolean closed;
+
+        private Leaf(int index, RecordReader<KeyValue> reader) {
+            this.index = index;
+            this.reader = reader;
+        }
+
+        // IMPORTANT: Must not call this for leaves which are not the winner of the tree!
+        private boolean advance() throws IOException {
+            KeyValue nextKv = Preconditions.checkNotNull(iterator).next();
+            if (nextKv == null) {
+                iterator.releaseBatch();
+                iterator = null;
+                return false;
+            }
+            kv = nextKv;
+            popped = false;
+            return true;
+        }
+
+        private void readNextBatch() throws IOException {
+            popped = false;
+            while (true) {
+                RecordIterator<KeyValue> nextIterator = reader.readBatch();
+                if (nextIterator == null) {
+                    // no more batches, permanently close this reader
+                    reader.close();
+                    closed = true;
+                    kv = null;
+                    return;
+                }
+                KeyValue nextKv = nextIterator.next();
+                if (nextKv == null) {
+                    // empty iterator, clean up and try next batch
+                    nextIterator.releaseBatch();
+                } else {
+                    // found next kv
+                    iterator = nextIterator;
+                    kv = nextKv;
+                    return;
+                }
+            }
+        }
+
+        private void close() throws IOException {
+            if (iterator != null) {
+                iterator.releaseBatch();
+                iterator = null;
+            }
+            if (!closed) {
+                reader.close();
+                closed = true;
+            }
+        }
+    }
+}
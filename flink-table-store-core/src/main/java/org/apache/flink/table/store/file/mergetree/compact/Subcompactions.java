@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.KeyRange;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+import org.apache.flink.util.ExceptionUtils;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.apache.flink.table.store.file.mergetree.compact.AbstractCompactRewriter.extractFilesFromSections;
+
+/**
+ * Splits the sections of a compaction into {@link KeyRange}s which are rewritten concurrently.
+ *
+ * <p>Range bounds are min keys of the input files, chosen so that each range covers about the same
+ * size of input files and at least {@code minRangeSize}. Files overlapping with several ranges are
+ * read by each of them, with records out of the range filtered. As ranges do not overlap, their
+ * outputs are concatenated into one sorted run.
+ */
+public class Subcompactions {
+
+    private final ExecutorService executor;
+    private final Comparator<InternalRow> keyComparator;
+    private final int maxSubcompactions;
+    private final long minRangeSize;
+
+    public Subcompactions(
+            ExecutorService executor,
+            Comparator<InternalRow> keyComparator,
+            int maxSubcompactions,
+            long minRangeSize) {
+        this.executor = executor;
+        this.keyComparator = keyComparator;
+        this.maxSubcompactions = maxSubcompactions;
+        this.minRangeSize = Math.max(minRangeSize, 1);
+    }
+
+    /**
+     * Rewrites the sections with the given rewriter, concurrently for each key range if they are
+     * large enough to be split. If any range fails, output files of the other ranges are deleted
+     * with the given deleter.
+     */
+    public CompactResult rewrite(
+            List<List<SortedRun>> sections,
+            RangeRewriter rewriter,
+            Consumer<DataFileMeta> fileDeleter)
+            throws Exception {
+        List<KeyRange> ranges = split(sections);
+        if (ranges.size() <= 1) {
+            return rewriter.rewrite(sections, null);
+        }
+
+        List<Future<CompactResult>> futures = new ArrayList<>();
+        for (KeyRange range : ranges) {
+            List<List<SortedRun>> rangeSections = select(sections, range);
+            futures.add(executor.submit(() -> rewriter.rewrite(rangeSections, range)));
+        }
+
+        List<CompactResult> results = new ArrayList<>();
+        Exception exception = null;
+        for (Future<CompactResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                exception =
+                        ExceptionUtils.firstOrSuppressed(
+                                cause instanceof Exception ? (Exception) cause : e, exception);
+            }
+        }
+
+        if (exception != null) {
+            for (CompactResult result : results) {
+                result.after().forEach(fileDeleter);
+                result.changelog().forEach(fileDeleter);
+            }
+            throw exception;
+        }
+
+        List<DataFileMeta> after = new ArrayList<>();
+        List<DataFileMeta> changelog = new ArrayList<>();
+        for (CompactResult result : results) {
+            after.addAll(result.after());
+            changelog.addAll(result.changelog());
+        }
+        return new CompactResult(extractFilesFromSections(sections), after, changelog);
+    }
+
+    /** Splits the key space of the sections into ordered and non-overlapping ranges. */
+    @VisibleForTesting
+    List<KeyRange> split(List<List<SortedRun>> sections) {
+        List<DataFileMeta> files = extractFilesFromSections(sections);
+        long totalSize = 0;
+        for (DataFileMeta file : files) {
+            totalSize += file.fileSize();
+        }
+
+        int numRanges = (int) Math.min(maxSubcompactions, totalSize / minRangeSize);
+        if (numRanges <= 1) {
+            return Collections.singletonList(new KeyRange(null, null));
+        }
+
+        files.sort((f1, f2) -> keyComparator.compare(f1.minKey(), f2.minKey()));
+        List<BinaryRow> bounds = new ArrayList<>();
+        BinaryRow lastBound = files.get(0).minKey();
+        long sizeBefore = 0;
+        for (DataFileMeta file : files) {
+            // files with smaller min keys roughly measure the size of data before this key
+            if (bounds.size() < numRanges - 1
+                    && sizeBefore >= totalSize * (bounds.size() + 1) / numRanges
+                    && keyComparator.compare(file.minKey(), lastBound) > 0) {
+                bounds.add(file.minKey());
+                lastBound = file.minKey();
+            }
+            sizeBefore += file.fileSize();
+        }
+
+        List<KeyRange> ranges = new ArrayList<>();
+        BinaryRow lowerBound = null;
+        for (BinaryRow bound : bounds) {
+            ranges.add(new KeyRange(lowerBound, bound));
+            lowerBound = bound;
+        }
+        ranges.add(new KeyRange(lowerBound, null));
+        return ranges;
+    }
+
+    private List<List<SortedRun>> select(List<List<SortedRun>> sections, KeyRange range) {
+        List<List<SortedRun>> result = new ArrayList<>();
+        for (List<SortedRun> section : sections) {
+            List<SortedRun> runs = new ArrayList<>();
+            for (SortedRun run : section) {
+                List<DataFileMeta> files = new ArrayList<>();
+                for (DataFileMeta file : run.files()) {
+                    if (range.overlaps(file, keyComparator)) {
+                        files.add(file);
+                    }
+                }
+                if (!files.isEmpty()) {
+                    runs.add(SortedRun.fromSorted(files));
+                }
+            }
+            if (!runs.isEmpty()) {
+                result.add(runs);
+            }
+        }
+        return result;
+    }
+
+    /** Rewrites the records of some sections, which are in the given key range if any. */
+    @FunctionalInterface
+    public interface RangeRewriter {
+
+        CompactResult rewrite(List<List<SortedRun>> sections, @Nullable KeyRange range)
+                throws Exception;
+    }
+}
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntSupplier;
 
 /**
  * Universal Compaction Style is a compaction style, targeting the use cases requiring lower write
@@ -42,11 +43,23 @@ public class UniversalCompaction implements CompactStrategy {
 
     private final int maxSizeAmp;
     private final int sizeRatio;
-    private final int numRunCompactionTrigger;
+    private final IntSupplier numRunCompactionTrigger;
     private final int maxSortedRunNum;
 
     public UniversalCompaction(
             int maxSizeAmp, int sizeRatio, int numRunCompactionTrigger, int maxSortedRunNum) {
+        this(maxSizeAmp, sizeRatio, () -> numRunCompactionTrigger, maxSortedRunNum);
+    }
+
+    /**
+     * The compaction trigger is read upon each pick, so that it can be adapted per bucket, see
+     * {@link AdaptiveCompactionTrigger}.
+     */
+    public UniversalCompaction(
+            int maxSizeAmp,
+            int sizeRatio,
+            IntSupplier numRunCompactionTrigger,
+            int maxSortedRunNum) {
         this.maxSizeAmp = maxSizeAmp;
         this.sizeRatio = sizeRatio;
         this.numRunCompactionTrigger = numRunCompactionTrigger;
@@ -76,9 +89,10 @@ public class UniversalCompaction implements CompactStrategy {
         }
 
         // 3 checking for file num
-        if (runs.size() > numRunCompactionTrigger) {
+        int trigger = numRunCompactionTrigger.getAsInt();
+        if (runs.size() > trigger) {
             // compacting for file num
-            int candidateCount = runs.size() - numRunCompactionTrigger + 1;
+            int candidateCount = runs.size() - trigger + 1;
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Universal compaction due to file num");
             }
@@ -90,7 +104,7 @@ public class UniversalCompaction implements CompactStrategy {
 
     @VisibleForTesting
     CompactUnit pickForSizeAmp(int maxLevel, List<LevelSortedRun> runs) {
-        if (runs.size() < numRunCompactionTrigger) {
+        if (runs.size() < numRunCompactionTrigger.getAsInt()) {
             return null;
         }
 
@@ -112,7 +126,7 @@ public class UniversalCompaction implements CompactStrategy {
 
     @VisibleForTesting
     CompactUnit pickForSizeRatio(int maxLevel, List<LevelSortedRun> runs) {
-        if (runs.size() < numRunCompactionTrigger) {
+        if (runs.size() < numRunCompactionTrigger.getAsInt()) {
             return null;
         }
 
@@ -147,7 +161,6 @@ public class UniversalCompaction implements CompactStrategy {
         return size;
     }
 
-    @VisibleForTesting
     static CompactUnit createUnit(
             List<LevelSortedRun> runs, int maxLevel, int runCount, int maxSortedRunNum) {
         int outputLevel;
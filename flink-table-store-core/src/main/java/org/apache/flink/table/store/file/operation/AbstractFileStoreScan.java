@@ -21,6 +21,7 @@ package org.apache.flink.table.store.file.operation;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestEntryFilter;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestList;
@@ -30,7 +31,6 @@ import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
-import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.FileUtils;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.types.RowType;
@@ -42,10 +42,12 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 /** Default implementation of {@link FileStoreScan}. */
@@ -58,7 +60,6 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
     private final ManifestFile.Factory manifestFileFactory;
     private final ManifestList manifestList;
     private final int numOfBuckets;
-    private final boolean checkNumOfBuckets;
 
     private final ConcurrentMap<Long, TableSchema> tableSchemas;
     private final SchemaManager schemaManager;
@@ -69,9 +70,11 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
 
     private Long specifiedSnapshotId = null;
     private Integer specifiedBucket = null;
+    private IntPredicate bucketFilter = null;
     private List<ManifestFileMeta> specifiedManifests = null;
     private ScanKind scanKind = ScanKind.ALL;
     private Integer specifiedLevel = null;
+    private IntPredicate levelFilter = null;
 
     public AbstractFileStoreScan(
             RowType partitionType,
@@ -81,8 +84,7 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
             long schemaId,
             ManifestFile.Factory manifestFileFactory,
             ManifestList.Factory manifestListFactory,
-            int numOfBuckets,
-            boolean checkNumOfBuckets) {
+            int numOfBuckets) {
         this.partitionStatsConverter = new FieldStatsArraySerializer(partitionType);
         this.partitionConverter = new RowDataToObjectArrayConverter(partitionType);
         Preconditions.checkArgument(
@@ -94,7 +96,6 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         this.manifestFileFactory = manifestFileFactory;
         this.manifestList = manifestListFactory.create();
         this.numOfBuckets = numOfBuckets;
-        this.checkNumOfBuckets = checkNumOfBuckets;
         this.tableSchemas = new ConcurrentHashMap<>();
     }
 
@@ -140,6 +141,12 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         return this;
     }
 
+    @Override
+    public FileStoreScan withBucketFilter(IntPredicate bucketFilter) {
+        this.bucketFilter = bucketFilter;
+        return this;
+    }
+
     @Override
     public FileStoreScan withSnapshot(long snapshotId) {
         this.specifiedSnapshotId = snapshotId;
@@ -170,6 +177,12 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
         return this;
     }
 
+    @Override
+    public FileStoreScan withLevelFilter(IntPredicate levelFilter) {
+        this.levelFilter = levelFilter;
+        return this;
+    }
+
     @Override
     public Plan plan() {
         List<ManifestFileMeta> manifests = specifiedManifests;
@@ -188,6 +201,7 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
 
         final Long readSnapshot = snapshotId;
         final List<ManifestFileMeta> readManifests = manifests;
+        final ManifestEntryFilter entryFilter = createManifestEntryFilter();
 
         List<ManifestEntry> entries;
         try {
@@ -198,42 +212,19 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
                                             readManifests
                                                     .parallelStream()
                                                     .filter(this::filterManifestFileMeta)
-                                                    .flatMap(m -> readManifestFileMeta(m).stream())
-                                                    .filter(this::filterManifestEntry)
+                                                    .flatMap(
+                                                            m ->
+                                                                    readManifestFileMeta(
+                                                                            m, entryFilter)
+                                                                            .stream())
+                                                    .filter(this::filterByStats)
                                                     .collect(Collectors.toList()))
                             .get();
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException("Failed to read ManifestEntry list concurrently", e);
         }
 
-        List<ManifestEntry> files = new ArrayList<>();
-        for (ManifestEntry file : ManifestEntry.mergeEntries(entries)) {
-            if (checkNumOfBuckets && file.totalBuckets() != numOfBuckets) {
-                String partInfo =
-                        partitionConverter.getArity() > 0
-                                ? "partition "
-                                        + FileStorePathFactory.getPartitionComputer(
-                                                        partitionConverter.rowType(),
-                                                        FileStorePathFactory.PARTITION_DEFAULT_NAME
-                                                                .defaultValue())
-                                                .generatePartValues(file.partition())
-                                : "table";
-                throw new RuntimeException(
-                        String.format(
-                                "Try to write %s with a new bucket num %d, but the previous bucket num is %d. "
-                                        + "Please switch to batch mode, and perform INSERT OVERWRITE to rescale current data layout first.",
-                                partInfo, numOfBuckets, file.totalBuckets()));
-            }
-
-            // bucket filter should not be applied along with partition filter
-            // because the specifiedBucket is computed against the current numOfBuckets
-            // however entry.bucket() was computed against the old numOfBuckets
-            // and thus the filtered manifest entries might be empty
-            // which renders the bucket check invalid
-            if (filterByBucket(file) && filterByBucketSelector(file) && filterByLevel(file)) {
-                files.add(file);
-            }
-        }
+        List<ManifestEntry> files = new ArrayList<>(ManifestEntry.mergeEntries(entries));
 
         return new Plan() {
             @Nullable
@@ -300,39 +291,63 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
                         manifest.partitionStats().fields(partitionStatsConverter));
     }
 
-    /** Note: Keep this thread-safe. */
-    private boolean filterManifestEntry(ManifestEntry entry) {
-        return filterByPartition(entry) && filterByStats(entry);
+    /**
+     * Creates the filter which is pushed down into manifest file reading. Partition results are
+     * memoized per plan, as entries of the same partition share the same result.
+     */
+    private ManifestEntryFilter createManifestEntryFilter() {
+        Map<BinaryRow, Boolean> partitionResults = new ConcurrentHashMap<>();
+        return (partition, bucket, totalBuckets, level) -> {
+            if (!filterByPartition(partition, partitionResults)) {
+                return false;
+            }
+            return filterByBucket(bucket, totalBuckets)
+                    && filterByBucketSelector(bucket, totalBuckets)
+                    && filterByLevel(level);
+        };
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterByPartition(ManifestEntry entry) {
-        return (partitionFilter == null
-                || partitionFilter.test(partitionConverter.convert(entry.partition())));
+    private boolean filterByPartition(BinaryRow partition, Map<BinaryRow, Boolean> results) {
+        if (partitionFilter == null) {
+            return true;
+        }
+        Boolean result = results.get(partition);
+        if (result == null) {
+            result = partitionFilter.test(partitionConverter.convert(partition));
+            results.put(partition, result);
+        }
+        return result;
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterByBucket(ManifestEntry entry) {
-        return (specifiedBucket == null || entry.bucket() == specifiedBucket);
+    private boolean filterByBucket(int bucket, int totalBuckets) {
+        // the bucket filter selects bucket indexes of the current bucket num, the same bucket index
+        // holds other keys in a partition with another bucket num, so all of its files are kept
+        return (specifiedBucket == null || bucket == specifiedBucket)
+                && (bucketFilter == null
+                        || totalBuckets != numOfBuckets
+                        || bucketFilter.test(bucket));
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterByBucketSelector(ManifestEntry entry) {
-        return (bucketSelector == null
-                || bucketSelector.select(entry.bucket(), entry.totalBuckets()));
+    private boolean filterByBucketSelector(int bucket, int totalBuckets) {
+        return (bucketSelector == null || bucketSelector.select(bucket, totalBuckets));
     }
 
     /** Note: Keep this thread-safe. */
-    private boolean filterByLevel(ManifestEntry entry) {
-        return (specifiedLevel == null || entry.file().level() == specifiedLevel);
+    private boolean filterByLevel(int level) {
+        return (specifiedLevel == null || level == specifiedLevel)
+                && (levelFilter == null || levelFilter.test(level));
     }
 
     /** Note: Keep this thread-safe. */
     protected abstract boolean filterByStats(ManifestEntry entry);
 
     /** Note: Keep this thread-safe. */
-    private List<ManifestEntry> readManifestFileMeta(ManifestFileMeta manifest) {
-        return manifestFileFactory.create().read(manifest.fileName());
+    private List<ManifestEntry> readManifestFileMeta(
+            ManifestFileMeta manifest, ManifestEntryFilter entryFilter) {
+        return manifestFileFactory.create().read(manifest.fileName(), entryFilter);
     }
 
     // ------------------------------------------------------------------------
@@ -19,15 +19,21 @@
 package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.compact.CompactExecutor;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.disk.IOManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.table.sink.FileCommittable;
+import org.apache.flink.util.ExceptionUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +47,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
 
 /**
  * Base {@link FileStoreWrite} implementation.
@@ -56,25 +66,55 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
     private final String commitUser;
     protected final SnapshotManager snapshotManager;
     private final FileStoreScan scan;
+    private final PartitionBucketNumbers bucketNumbers;
+    private final FileStorePathFactory pathFactory;
+    private final int numBuckets;
 
     @Nullable protected IOManager ioManager;
 
     protected final Map<BinaryRow, Map<Integer, WriterContainer<T>>> writers;
-    private final ExecutorService compactExecutor;
+    private final CompactExecutor compactExecutor;
+    private final int prepareCommitThreadNum;
+
+    @Nullable private ExecutorService prepareCommitExecutor;
+
+    private final boolean batchRestore;
+    @Nullable private Long restoredSnapshotId;
+    @Nullable private Map<BinaryRow, Map<Integer, List<DataFileMeta>>> restoredFiles;
 
     private boolean overwrite = false;
 
     protected AbstractFileStoreWrite(
-            String commitUser, SnapshotManager snapshotManager, FileStoreScan scan) {
+            String commitUser,
+            SnapshotManager snapshotManager,
+            FileStoreScan scan,
+            PartitionBucketNumbers bucketNumbers,
+            FileStorePathFactory pathFactory,
+            CoreOptions options) {
         this.commitUser = commitUser;
         this.snapshotManager = snapshotManager;
         this.scan = scan;
+        this.bucketNumbers = bucketNumbers;
+        this.pathFactory = pathFactory;
+        this.numBuckets = options.bucket();
 
         this.writers = new HashMap<>();
+        int compactionThreadNum = options.compactionThreadNum();
+        checkArgument(
+                compactionThreadNum > 0,
+                "The number of compaction threads must be positive, but is %s.",
+                compactionThreadNum);
         this.compactExecutor =
-                Executors.newSingleThreadScheduledExecutor(
+                new CompactExecutor(
+                        compactionThreadNum,
                         new ExecutorThreadFactory(
                                 Thread.currentThread().getName() + "-compaction"));
+        this.prepareCommitThreadNum = options.prepareCommitThreadNum();
+        checkArgument(
+                prepareCommitThreadNum > 0,
+                "The number of prepare commit threads must be positive, but is %s.",
+                prepareCommitThreadNum);
+        this.batchRestore = options.writeBatchRestore();
     }
 
     @Override
@@ -86,16 +126,72 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
     protected List<DataFileMeta> scanExistingFileMetas(
             Long snapshotId, BinaryRow partition, int bucket) {
         List<DataFileMeta> existingFileMetas = new ArrayList<>();
-        if (snapshotId != null) {
+        if (snapshotId != null && batchRestore) {
+            existingFileMetas.addAll(
+                    restoredFiles(snapshotId, partition)
+                            .getOrDefault(bucket, Collections.emptyList()));
+        } else if (snapshotId != null) {
             // Concat all the DataFileMeta of existing files into existingFileMetas.
-            scan.withSnapshot(snapshotId).withPartitionFilter(Collections.singletonList(partition))
-                    .withBucket(bucket).plan().files().stream()
-                    .map(ManifestEntry::file)
-                    .forEach(existingFileMetas::add);
+            int totalBuckets = numBuckets(partition);
+            for (ManifestEntry entry :
+                    scan.withSnapshot(snapshotId)
+                            .withPartitionFilter(Collections.singletonList(partition))
+                            .withBucket(bucket)
+                            .plan()
+                            .files()) {
+                checkTotalBuckets(entry, totalBuckets);
+                existingFileMetas.add(entry.file());
+            }
         }
         return existingFileMetas;
     }
 
+    /**
+     * Returns the files of the given partition in the given snapshot, grouped by bucket. A
+     * partition is only scanned once for all writers created upon the same snapshot, until the next
+     * commit is prepared. Other partitions are neither scanned nor checked for their number of
+     * buckets.
+     */
+    private Map<Integer, List<DataFileMeta>> restoredFiles(long snapshotId, BinaryRow partition) {
+        if (restoredSnapshotId == null || restoredSnapshotId != snapshotId) {
+            restoredFiles = new HashMap<>();
+            restoredSnapshotId = snapshotId;
+        }
+        return restoredFiles.computeIfAbsent(
+                partition,
+                p -> {
+                    int totalBuckets = numBuckets(p);
+                    Map<Integer, List<DataFileMeta>> files = new HashMap<>();
+                    for (ManifestEntry entry :
+                            scan.withSnapshot(snapshotId)
+                                    .withPartitionFilter(Collections.singletonList(p))
+                                    .plan()
+                                    .files()) {
+                        checkTotalBuckets(entry, totalBuckets);
+                        files.computeIfAbsent(entry.bucket(), k -> new ArrayList<>())
+                                .add(entry.file());
+                    }
+                    return files;
+                });
+    }
+
+    private void checkTotalBuckets(ManifestEntry entry, int totalBuckets) {
+        if (entry.totalBuckets() != totalBuckets) {
+            throw new RuntimeException(
+                    String.format(
+                            "Try to write partition %s with bucket num %d, but the previous bucket num is %d. "
+                                    + "The partition has been rescaled while it is written, please restart the job.",
+                            pathFactory.getPartitionString(entry.partition()),
+                            totalBuckets,
+                            entry.totalBuckets()));
+        }
+    }
+
+    @Override
+    public int numBuckets(BinaryRow partition) {
+        return overwrite ? numBuckets : bucketNumbers.numBuckets(partition);
+    }
+
     public void withOverwrite(boolean overwrite) {
         this.overwrite = overwrite;
     }
@@ -156,6 +252,13 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
                             .orElse(Long.MIN_VALUE);
         }
 
+        // release restored files, most writers are created right after the task starts
+        restoredSnapshotId = null;
+        restoredFiles = null;
+
+        List<RecordWriter.CommitIncrement> increments = prepareCommitWriters(blocking);
+        int i = 0;
+
         List<FileCommittable> result = new ArrayList<>();
 
         Iterator<Map.Entry<BinaryRow, Map<Integer, WriterContainer<T>>>> partIter =
@@ -170,12 +273,12 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
                 int bucket = entry.getKey();
                 WriterContainer<T> writerContainer = entry.getValue();
 
-                RecordWriter.CommitIncrement increment =
-                        writerContainer.writer.prepareCommit(blocking);
+                RecordWriter.CommitIncrement increment = increments.get(i++);
                 FileCommittable committable =
                         new FileCommittable(
                                 partition,
                                 bucket,
+                                numBuckets(partition),
                                 increment.newFilesIncrement(),
                                 increment.compactIncrement());
                 result.add(committable);
@@ -206,12 +309,79 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
 
             if (partEntry.getValue().isEmpty()) {
                 partIter.remove();
+                // the partition might be rescaled before it is written again
+                bucketNumbers.forget(partition);
             }
         }
 
         return result;
     }
 
+    /**
+     * Prepares commit of all writers, in the iteration order of {@link #writers}. Writers of
+     * different buckets are flushed concurrently if {@link CoreOptions#PREPARE_COMMIT_THREAD_NUM}
+     * is greater than one. Flushing a writer only releases memory to the shared write buffer pool,
+     * so concurrent flushes never need to preempt memory from each other.
+     */
+    private List<RecordWriter.CommitIncrement> prepareCommitWriters(boolean blocking)
+            throws Exception {
+        List<RecordWriter<T>> recordWriters = new ArrayList<>();
+        for (Map<Integer, WriterContainer<T>> bucketWriters : writers.values()) {
+            for (WriterContainer<T> writerContainer : bucketWriters.values()) {
+                recordWriters.add(writerContainer.writer);
+            }
+        }
+
+        List<RecordWriter.CommitIncrement> increments = new ArrayList<>(recordWriters.size());
+        if (prepareCommitThreadNum == 1 || recordWriters.size() <= 1) {
+            for (RecordWriter<T> writer : recordWriters) {
+                increments.add(writer.prepareCommit(blocking));
+            }
+            return increments;
+        }
+
+        if (prepareCommitExecutor == null) {
+            prepareCommitExecutor =
+                    Executors.newFixedThreadPool(
+                            prepareCommitThreadNum,
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-prepare-commit"));
+        }
+        List<Future<RecordWriter.CommitIncrement>> futures = new ArrayList<>();
+        for (RecordWriter<T> writer : recordWriters) {
+            futures.add(prepareCommitExecutor.submit(() -> writer.prepareCommit(blocking)));
+        }
+
+        // wait for all writers even if some of them fail, so that no writer is still flushing
+        // when the writers are closed
+        Exception exception = null;
+        for (Future<RecordWriter.CommitIncrement> future : futures) {
+            try {
+                increments.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                exception =
+                        ExceptionUtils.firstOrSuppressed(
+                                cause instanceof Exception ? (Exception) cause : e, exception);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return increments;
+    }
+
+    @Override
+    public CompactionMetrics compactionMetrics() {
+        return compactExecutor;
+    }
+
+    @Nullable
+    @Override
+    public CompactionPressureMetrics compactionPressureMetrics() {
+        return null;
+    }
+
     @Override
     public void close() throws Exception {
         for (Map<Integer, WriterContainer<T>> bucketWriters : writers.values()) {
@@ -221,6 +391,9 @@ public abstract class AbstractFileStoreWrite<T> implements FileStoreWrite<T> {
         }
         writers.clear();
         compactExecutor.shutdownNow();
+        if (prepareCommitExecutor != null) {
+            prepareCommitExecutor.shutdownNow();
+        }
     }
 
     private WriterContainer<T> getWriterWrapper(BinaryRow partition, int bucket) {
@@ -50,8 +50,7 @@ public class AppendOnlyFileStoreScan extends AbstractFileStoreScan {
             long schemaId,
             ManifestFile.Factory manifestFileFactory,
             ManifestList.Factory manifestListFactory,
-            int numOfBuckets,
-            boolean checkNumOfBuckets) {
+            int numOfBuckets) {
         super(
                 partitionType,
                 bucketKeyType,
@@ -60,8 +59,7 @@ public class AppendOnlyFileStoreScan extends AbstractFileStoreScan {
                 schemaId,
                 manifestFileFactory,
                 manifestListFactory,
-                numOfBuckets,
-                checkNumOfBuckets);
+                numOfBuckets);
         this.rowType = rowType;
         this.fieldStatsConverters =
                 new FieldStatsConverters(sid -> scanTableSchema(sid).fields(), schemaId);
@@ -69,8 +69,9 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
             FileStorePathFactory pathFactory,
             SnapshotManager snapshotManager,
             FileStoreScan scan,
+            PartitionBucketNumbers bucketNumbers,
             CoreOptions options) {
-        super(commitUser, snapshotManager, scan);
+        super(commitUser, snapshotManager, scan, bucketNumbers, pathFactory, options);
         this.fileIO = fileIO;
         this.read = read;
         this.schemaId = schemaId;
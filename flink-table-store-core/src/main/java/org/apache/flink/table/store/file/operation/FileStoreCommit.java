@@ -20,6 +20,8 @@ package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 
+import javax.annotation.Nullable;
+
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +34,15 @@ public interface FileStoreCommit {
 
     FileStoreCommit withCreateEmptyCommit(boolean createEmptyCommit);
 
+    /**
+     * Overwrite only deletes the files of the overwritten partitions which are visible in the given
+     * snapshot, instead of the files in the latest snapshot. If these partitions have been changed
+     * by other commits since then, overwrite fails with a conflict instead of dropping the changes.
+     *
+     * <p>This is used when the new files are rewritten from the data of the given snapshot.
+     */
+    FileStoreCommit withOverwriteBaseSnapshot(@Nullable Long snapshotId);
+
     /** Find out which manifest committable need to be retried when recovering from the failure. */
     List<ManifestCommittable> filterCommitted(List<ManifestCommittable> committableList);
 
@@ -58,4 +69,7 @@ public interface FileStoreCommit {
             List<Map<String, String>> partitions,
             ManifestCommittable committable,
             Map<String, String> properties);
+
+    /** Releases the background resources of this commit. */
+    void close();
 }
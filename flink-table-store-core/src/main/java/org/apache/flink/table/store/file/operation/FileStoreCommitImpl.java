@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.Snapshot;
@@ -44,6 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -83,6 +85,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStoreCommitImpl.class);
 
+    // failed attempts are recorded too, so keep some more ids than the latest one
+    private static final int USER_HINT_MAX_SIZE = 16;
+
     private final FileIO fileIO;
     private final long schemaId;
     private final String commitUser;
@@ -93,13 +98,19 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     private final ManifestFile manifestFile;
     private final ManifestList manifestList;
     private final FileStoreScan scan;
-    private final int numBucket;
+    private final PartitionFilesIndex partitionFilesIndex;
     private final MemorySize manifestTargetSize;
     private final int manifestMergeMinCount;
+    @Nullable private final ManifestMergeService manifestMergeService;
+    private final boolean singleSnapshot;
+    private final CoreOptions.SnapshotFormat snapshotFormat;
     @Nullable private final Comparator<InternalRow> keyComparator;
 
     @Nullable private Lock lock;
     private boolean createEmptyCommit;
+    @Nullable private Long overwriteBaseSnapshotId;
+    // snapshot ids in the hint of the commit user, read upon the first commit attempt
+    @Nullable private List<Long> userHintIds;
 
     public FileStoreCommitImpl(
             FileIO fileIO,
@@ -111,9 +122,11 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             ManifestFile.Factory manifestFileFactory,
             ManifestList.Factory manifestListFactory,
             FileStoreScan scan,
-            int numBucket,
             MemorySize manifestTargetSize,
             int manifestMergeMinCount,
+            boolean manifestMergeAsync,
+            boolean singleSnapshot,
+            CoreOptions.SnapshotFormat snapshotFormat,
             @Nullable Comparator<InternalRow> keyComparator) {
         this.fileIO = fileIO;
         this.schemaId = schemaId;
@@ -125,13 +138,23 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         this.manifestFile = manifestFileFactory.create();
         this.manifestList = manifestListFactory.create();
         this.scan = scan;
-        this.numBucket = numBucket;
+        this.partitionFilesIndex = new PartitionFilesIndex(scan, snapshotManager);
         this.manifestTargetSize = manifestTargetSize;
         this.manifestMergeMinCount = manifestMergeMinCount;
+        this.manifestMergeService =
+                manifestMergeAsync
+                        ? new ManifestMergeService(
+                                manifestFileFactory,
+                                manifestTargetSize.getBytes(),
+                                manifestMergeMinCount)
+                        : null;
+        this.singleSnapshot = singleSnapshot;
+        this.snapshotFormat = snapshotFormat;
         this.keyComparator = keyComparator;
 
         this.lock = null;
         this.createEmptyCommit = false;
+        this.overwriteBaseSnapshotId = null;
     }
 
     @Override
@@ -146,6 +169,12 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         return this;
     }
 
+    @Override
+    public FileStoreCommit withOverwriteBaseSnapshot(@Nullable Long snapshotId) {
+        this.overwriteBaseSnapshotId = snapshotId;
+        return this;
+    }
+
     @Override
     public List<ManifestCommittable> filterCommitted(List<ManifestCommittable> committableList) {
         // nothing to filter, fast exit
@@ -188,6 +217,20 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                 appendChangelog,
                 compactTableFiles,
                 compactChangelog);
+        partitionFilesIndex.retainPartitions(
+                changedPartitions(appendTableFiles, compactTableFiles));
+
+        if (singleSnapshot
+                && (!appendTableFiles.isEmpty() || !appendChangelog.isEmpty())
+                && (!compactTableFiles.isEmpty() || !compactChangelog.isEmpty())) {
+            commitSingleSnapshot(
+                    committable,
+                    appendTableFiles,
+                    appendChangelog,
+                    compactTableFiles,
+                    compactChangelog);
+            return;
+        }
 
         if (createEmptyCommit || !appendTableFiles.isEmpty() || !appendChangelog.isEmpty()) {
             // Optimization for common path.
@@ -240,6 +283,39 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         }
     }
 
+    /**
+     * Commits both new files and compaction changes into one APPEND snapshot. New files must come
+     * before compaction changes, because compaction may delete files which are added by the same
+     * commit.
+     */
+    private void commitSingleSnapshot(
+            ManifestCommittable committable,
+            List<ManifestEntry> appendTableFiles,
+            List<ManifestEntry> appendChangelog,
+            List<ManifestEntry> compactTableFiles,
+            List<ManifestEntry> compactChangelog) {
+        List<ManifestEntry> tableFiles = new ArrayList<>(appendTableFiles);
+        tableFiles.addAll(compactTableFiles);
+        List<ManifestEntry> changelogFiles = new ArrayList<>(appendChangelog);
+        changelogFiles.addAll(compactChangelog);
+
+        Long safeLatestSnapshotId = null;
+        Long latestSnapshotId = snapshotManager.latestSnapshotId();
+        if (latestSnapshotId != null) {
+            noConflictsOrFail(
+                    readAllEntriesFromChangedPartitions(latestSnapshotId, tableFiles), tableFiles);
+            safeLatestSnapshotId = latestSnapshotId;
+        }
+
+        tryCommit(
+                tableFiles,
+                changelogFiles,
+                committable.identifier(),
+                committable.logOffsets(),
+                Snapshot.CommitKind.APPEND,
+                safeLatestSnapshotId);
+    }
+
     @Override
     public void overwrite(
             List<Map<String, String>> partitions,
@@ -371,7 +447,11 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     private ManifestEntry makeEntry(
             FileKind kind, FileCommittable fileCommittable, DataFileMeta file) {
         return new ManifestEntry(
-                kind, fileCommittable.partition(), fileCommittable.bucket(), numBucket, file);
+                kind,
+                fileCommittable.partition(),
+                fileCommittable.bucket(),
+                fileCommittable.totalBuckets(),
+                file);
     }
 
     private void tryCommit(
@@ -403,11 +483,15 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             Map<Integer, Long> logOffsets) {
         while (true) {
             Long latestSnapshotId = snapshotManager.latestSnapshotId();
+            // files added to the partitions after the base snapshot are not deleted, they are
+            // detected by the conflict check of tryCommitOnce
+            Long baseSnapshotId =
+                    overwriteBaseSnapshotId == null ? latestSnapshotId : overwriteBaseSnapshotId;
 
             List<ManifestEntry> changesWithOverwrite = new ArrayList<>();
-            if (latestSnapshotId != null) {
+            if (baseSnapshotId != null) {
                 List<ManifestEntry> currentEntries =
-                        scan.withSnapshot(latestSnapshotId)
+                        scan.withSnapshot(baseSnapshotId)
                                 .withPartitionFilter(partitionFilter)
                                 .plan()
                                 .files();
@@ -485,12 +569,16 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                 latestSnapshot.getLogOffsets().forEach(logOffsets::putIfAbsent);
             }
             // merge manifest files with changes
+            List<ManifestFileMeta> mergedMetas =
+                    manifestMergeService == null ? null : manifestMergeService.takeResult(oldMetas);
             newMetas.addAll(
-                    ManifestFileMeta.merge(
-                            oldMetas,
-                            manifestFile,
-                            manifestTargetSize.getBytes(),
-                            manifestMergeMinCount));
+                    mergedMetas != null
+                            ? mergedMetas
+                            : ManifestFileMeta.merge(
+                                    oldMetas,
+                                    manifestFile,
+                                    manifestTargetSize.getBytes(),
+                                    manifestMergeMinCount));
             previousChangesListName = manifestList.write(newMetas);
 
             // write new changes into manifest files
@@ -517,6 +605,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                             commitKind,
                             System.currentTimeMillis(),
                             logOffsets);
+
+            // the snapshot id must be recorded before the snapshot is committed
+            recordUserHint(newSnapshotId);
         } catch (Throwable e) {
             // fails when preparing for commit, we should clean up
             cleanUpTmpManifests(
@@ -543,7 +634,8 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             Callable<Boolean> callable =
                     () -> {
                         boolean committed =
-                                fileIO.writeFileUtf8(newSnapshotPath, newSnapshot.toJson());
+                                fileIO.writeFileBytes(
+                                        newSnapshotPath, newSnapshot.toBytes(snapshotFormat));
                         if (committed) {
                             snapshotManager.commitLatestHint(newSnapshotId);
                         }
@@ -590,6 +682,10 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                                 identifier,
                                 commitKind.name()));
             }
+            if (manifestMergeService != null) {
+                // pre-merge the base manifests of the next commit
+                manifestMergeService.submit(newMetas);
+            }
             return true;
         }
 
@@ -610,20 +706,21 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         return false;
     }
 
+    @SafeVarargs
+    private final List<BinaryRow> changedPartitions(List<ManifestEntry>... changes) {
+        return Arrays.stream(changes)
+                .flatMap(Collection::stream)
+                .map(ManifestEntry::partition)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     @SafeVarargs
     private final List<ManifestEntry> readAllEntriesFromChangedPartitions(
             long snapshotId, List<ManifestEntry>... changes) {
-        List<BinaryRow> changedPartitions =
-                Arrays.stream(changes)
-                        .flatMap(Collection::stream)
-                        .map(ManifestEntry::partition)
-                        .distinct()
-                        .collect(Collectors.toList());
         try {
-            return scan.withSnapshot(snapshotId)
-                    .withPartitionFilter(changedPartitions)
-                    .plan()
-                    .files();
+            // the index is advanced from the previously checked snapshot by delta manifests
+            return partitionFilesIndex.entries(snapshotId, changedPartitions(changes));
         } catch (Throwable e) {
             throw new RuntimeException("Cannot read manifest entries from changed partitions.", e);
         }
@@ -648,6 +745,26 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                     "File deletion conflicts detected! Give up committing.", baseEntries, changes);
         }
 
+        // all files of a partition must be laid out with the same number of buckets, otherwise
+        // records of the same key might be in different buckets
+        Map<BinaryRow, Integer> partitionBuckets = new HashMap<>();
+        for (ManifestEntry entry : mergedEntries) {
+            Integer totalBuckets =
+                    partitionBuckets.putIfAbsent(entry.partition(), entry.totalBuckets());
+            if (totalBuckets != null && totalBuckets != entry.totalBuckets()) {
+                throw createConflictException(
+                        String.format(
+                                "Bucket number conflicts detected! Give up committing. "
+                                        + "Partition %s has files with bucket number %d and %d, "
+                                        + "it might have been rescaled by another job.",
+                                pathFactory.getPartitionString(entry.partition()),
+                                totalBuckets,
+                                entry.totalBuckets()),
+                        baseEntries,
+                        changes);
+            }
+        }
+
         // fast exit for file store without keys
         if (keyComparator == null) {
             return;
@@ -746,6 +863,42 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         }
     }
 
+    /**
+     * Records the snapshot id in the hint of the commit user, see {@link
+     * SnapshotManager#latestSnapshotOfUser}. The hint is optional, so a failed write is only
+     * logged. But a hint which misses a committed snapshot would point to an older snapshot of the
+     * user, so the hint is deleted then, and the commit attempt only fails if that fails too.
+     */
+    private void recordUserHint(long snapshotId) throws IOException {
+        if (userHintIds == null) {
+            // only the first attempt reads the hint, the user commits from this instance only
+            userHintIds = new ArrayList<>(snapshotManager.readUserHint(commitUser));
+        }
+        if (!userHintIds.isEmpty() && userHintIds.get(userHintIds.size() - 1) == snapshotId) {
+            return;
+        }
+
+        // keep ids in ascending order
+        userHintIds.removeIf(id -> id >= snapshotId);
+        userHintIds.add(snapshotId);
+        while (userHintIds.size() > USER_HINT_MAX_SIZE) {
+            userHintIds.remove(0);
+        }
+        try {
+            snapshotManager.commitUserHint(commitUser, userHintIds);
+        } catch (IOException e) {
+            LOG.warn("Failed to write snapshot hint of user {}, delete it instead.", commitUser, e);
+            fileIO.delete(snapshotManager.userHintPath(commitUser), false);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (manifestMergeService != null) {
+            manifestMergeService.close();
+        }
+    }
+
     private static class LevelIdentifier {
 
         private final BinaryRow partition;
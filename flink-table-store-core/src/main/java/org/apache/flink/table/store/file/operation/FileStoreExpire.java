@@ -26,4 +26,7 @@ public interface FileStoreExpire {
 
     /** Expire snapshots. */
     void expire();
+
+    /** Metrics of the expirations done by this object. */
+    ExpireMetrics metrics();
 }
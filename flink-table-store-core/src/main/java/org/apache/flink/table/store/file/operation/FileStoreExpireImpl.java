@@ -24,28 +24,47 @@ import org.apache.flink.table.store.file.manifest.ManifestEntry;
 import org.apache.flink.table.store.file.manifest.ManifestFile;
 import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
 import org.apache.flink.table.store.file.manifest.ManifestList;
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.fs.FileIO;
 import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.util.ExceptionUtils;
 
 import org.apache.flink.shaded.guava30.com.google.common.collect.Iterables;
+import org.apache.flink.shaded.guava30.com.google.common.collect.Lists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
 
 /**
  * Default implementation of {@link FileStoreExpire}. It retains a certain number or period of
@@ -65,6 +84,7 @@ public class FileStoreExpireImpl implements FileStoreExpire {
     // snapshots exceeding any constraint will be expired
     private final int numRetainedMax;
     private final long millisRetained;
+    private final int deleteThreadNum;
 
     private final FileStorePathFactory pathFactory;
     private final SnapshotManager snapshotManager;
@@ -72,12 +92,22 @@ public class FileStoreExpireImpl implements FileStoreExpire {
     private final ManifestList manifestList;
 
     private Lock lock;
+    @Nullable private ExecutorService executor;
+    // latest hinted snapshot ids of the users whose hints are kept, to not read them repeatedly
+    private final Map<String, Long> keptUserHints = new HashMap<>();
+
+    private final AtomicLong expiredSnapshots = new AtomicLong();
+    private final AtomicLong deletedDataFiles = new AtomicLong();
+    private final AtomicLong deletedMetaFiles = new AtomicLong();
+    private final AtomicLong pendingDeletes = new AtomicLong();
+    private volatile long lastExpireDurationMillis;
 
     public FileStoreExpireImpl(
             FileIO fileIO,
             int numRetainedMin,
             int numRetainedMax,
             long millisRetained,
+            int deleteThreadNum,
             FileStorePathFactory pathFactory,
             SnapshotManager snapshotManager,
             ManifestFile.Factory manifestFileFactory,
@@ -86,6 +116,11 @@ public class FileStoreExpireImpl implements FileStoreExpire {
         this.numRetainedMin = numRetainedMin;
         this.numRetainedMax = numRetainedMax;
         this.millisRetained = millisRetained;
+        checkArgument(
+                deleteThreadNum > 0,
+                "Number of expire threads must be positive, but is %s.",
+                deleteThreadNum);
+        this.deleteThreadNum = deleteThreadNum;
         this.pathFactory = pathFactory;
         this.snapshotManager = snapshotManager;
         this.manifestFile = manifestFileFactory.create();
@@ -159,80 +194,155 @@ public class FileStoreExpireImpl implements FileStoreExpire {
                     "Snapshot expire range is [" + beginInclusiveId + ", " + endExclusiveId + ")");
         }
 
-        // delete merge tree files
-        // deleted merge tree files in a snapshot are not used by the next snapshot, so the range of
-        // id should be (beginInclusiveId, endExclusiveId]
-        for (long id = beginInclusiveId + 1; id <= endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete merge tree files not used by snapshot #" + id);
-            }
-            Snapshot snapshot = snapshotManager.snapshot(id);
-            expireMergeTreeFiles(snapshot.deltaManifestList());
-        }
+        long startMillis = System.currentTimeMillis();
+        List<Long> expiredIds =
+                LongStream.range(beginInclusiveId, endExclusiveId)
+                        .boxed()
+                        .collect(Collectors.toList());
 
-        // delete changelog files
-        for (long id = beginInclusiveId; id < endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete changelog files from snapshot #" + id);
-            }
-            Snapshot snapshot = snapshotManager.snapshot(id);
-            if (snapshot.changelogManifestList() != null) {
-                expireChangelogFiles(snapshot.changelogManifestList());
-            }
-        }
+        List<Snapshot> toExpire = mapParallel(expiredIds, snapshotManager::snapshot);
 
-        // delete manifests
         Snapshot exclusiveSnapshot = snapshotManager.snapshot(endExclusiveId);
         Set<ManifestFileMeta> manifestsInUse =
                 new HashSet<>(exclusiveSnapshot.readAllDataManifests(manifestList));
-        // to avoid deleting twice
-        Set<ManifestFileMeta> deletedManifests = new HashSet<>();
-        for (long id = beginInclusiveId; id < endExclusiveId; id++) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Ready to delete manifests in snapshot #" + id);
+        // cannot call `toExpire.readAllDataManifests` directly, it is possible that a job is
+        // killed during expiration, so some manifest files may have been deleted
+        List<List<ManifestFileMeta>> manifests =
+                mapParallel(
+                        toExpire,
+                        snapshot -> {
+                            List<ManifestFileMeta> result = new ArrayList<>();
+                            result.addAll(tryReadManifestList(snapshot.baseManifestList()));
+                            result.addAll(tryReadManifestList(snapshot.deltaManifestList()));
+                            if (snapshot.changelogManifestList() != null) {
+                                result.addAll(
+                                        tryReadManifestList(snapshot.changelogManifestList()));
+                            }
+                            return result;
+                        });
+        // a manifest is deleted with the last expired snapshot using it, so that the snapshots
+        // which are not deleted yet stay readable
+        Map<String, Long> lastSnapshotOfManifest = new HashMap<>();
+        for (int i = 0; i < toExpire.size(); i++) {
+            for (ManifestFileMeta manifest : manifests.get(i)) {
+                if (!manifestsInUse.contains(manifest)) {
+                    lastSnapshotOfManifest.put(manifest.fileName(), toExpire.get(i).id());
+                }
             }
+        }
 
-            Snapshot toExpire = snapshotManager.snapshot(id);
-            // cannot call `toExpire.readAllDataManifests` directly, it is possible that a job is
-            // killed during expiration, so some manifest files may have been deleted
-            List<ManifestFileMeta> toExpireManifests = new ArrayList<>();
-            toExpireManifests.addAll(tryReadManifestList(toExpire.baseManifestList()));
-            toExpireManifests.addAll(tryReadManifestList(toExpire.deltaManifestList()));
-
-            // delete manifest
-            for (ManifestFileMeta manifest : toExpireManifests) {
-                if (!manifestsInUse.contains(manifest) && !deletedManifests.contains(manifest)) {
-                    manifestFile.delete(manifest.fileName());
-                    deletedManifests.add(manifest);
-                }
+        // expire snapshots one by one in the order of ids, so that a killed job leaves at most
+        // one partially deleted snapshot behind and the remaining snapshots are consecutive. The
+        // files of a window of snapshots are read in parallel before they are deleted.
+        int windowSize = deleteThreadNum * 4;
+        for (int begin = 0; begin < toExpire.size(); begin += windowSize) {
+            List<Snapshot> window =
+                    toExpire.subList(begin, Math.min(begin + windowSize, toExpire.size()));
+            // deleted merge tree files in a snapshot are not used by the next snapshot, so the
+            // merge tree files of a snapshot are read from the delta of the next snapshot
+            List<List<ManifestEntry>> dataFileLogs =
+                    mapParallel(
+                            window,
+                            snapshot ->
+                                    readManifestEntries(
+                                            snapshotManager
+                                                    .snapshot(snapshot.id() + 1)
+                                                    .deltaManifestList()));
+            List<List<ManifestEntry>> changelogEntries =
+                    mapParallel(
+                            window,
+                            snapshot ->
+                                    snapshot.changelogManifestList() == null
+                                            ? Collections.emptyList()
+                                            : readManifestEntries(
+                                                    snapshot.changelogManifestList()));
+            for (int i = 0; i < window.size(); i++) {
+                expireSnapshot(
+                        window.get(i),
+                        dataFileLogs.get(i),
+                        changelogEntries.get(i),
+                        manifests.get(begin + i),
+                        lastSnapshotOfManifest);
             }
-            if (toExpire.changelogManifestList() != null) {
-                for (ManifestFileMeta manifest :
-                        tryReadManifestList(toExpire.changelogManifestList())) {
-                    manifestFile.delete(manifest.fileName());
-                }
+        }
+
+        writeEarliestHint(endExclusiveId);
+        expireUserHints(toExpire, endExclusiveId);
+        lastExpireDurationMillis = System.currentTimeMillis() - startMillis;
+        LOG.info(
+                "Expired snapshots [{}, {}) in {} ms.",
+                beginInclusiveId,
+                endExclusiveId,
+                lastExpireDurationMillis);
+    }
+
+    /**
+     * Deletes the hints of the users who committed the expired snapshots, if the users have no
+     * snapshot left. See {@link SnapshotManager#latestSnapshotOfUser}.
+     */
+    private void expireUserHints(List<Snapshot> expired, long earliestId) {
+        Set<String> users = new LinkedHashSet<>();
+        expired.forEach(snapshot -> users.add(snapshot.commitUser()));
+        for (String user : users) {
+            Long latestHintedId = keptUserHints.get(user);
+            if (latestHintedId != null && latestHintedId >= earliestId) {
+                continue;
             }
 
-            // delete manifest lists
-            manifestList.delete(toExpire.baseManifestList());
-            manifestList.delete(toExpire.deltaManifestList());
-            if (toExpire.changelogManifestList() != null) {
-                manifestList.delete(toExpire.changelogManifestList());
+            List<Long> ids = snapshotManager.readUserHint(user);
+            if (!ids.isEmpty() && ids.get(ids.size() - 1) >= earliestId) {
+                keptUserHints.put(user, ids.get(ids.size() - 1));
+            } else {
+                keptUserHints.remove(user);
+                fileIO.deleteQuietly(snapshotManager.userHintPath(user));
+                deletedMetaFiles.incrementAndGet();
             }
+        }
+    }
 
-            // delete snapshot
-            fileIO.deleteQuietly(snapshotManager.snapshotPath(id));
+    private void expireSnapshot(
+            Snapshot snapshot,
+            List<ManifestEntry> dataFileLog,
+            List<ManifestEntry> changelogEntries,
+            List<ManifestFileMeta> manifests,
+            Map<String, Long> lastSnapshotOfManifest) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Ready to expire snapshot #" + snapshot.id());
         }
 
-        writeEarliestHint(endExclusiveId);
-    }
+        // paths are computed in this thread, as the path factory is not thread safe
+        deleteAll(collectMergeTreeFiles(dataFileLog), fileIO::deleteQuietly, deletedDataFiles);
+        deleteAll(collectChangelogFiles(changelogEntries), fileIO::deleteQuietly, deletedDataFiles);
 
-    private void expireMergeTreeFiles(String manifestListName) {
-        expireMergeTreeFiles(getManifestEntriesFromManifestList(manifestListName));
+        // to avoid deleting twice
+        Set<String> manifestsToDelete = new LinkedHashSet<>();
+        for (ManifestFileMeta manifest : manifests) {
+            Long lastSnapshotId = lastSnapshotOfManifest.get(manifest.fileName());
+            if (lastSnapshotId != null && lastSnapshotId == snapshot.id()) {
+                manifestsToDelete.add(manifest.fileName());
+            }
+        }
+        deleteAll(manifestsToDelete, manifestFile::delete, deletedMetaFiles);
+
+        List<String> manifestLists = new ArrayList<>();
+        manifestLists.add(snapshot.baseManifestList());
+        manifestLists.add(snapshot.deltaManifestList());
+        if (snapshot.changelogManifestList() != null) {
+            manifestLists.add(snapshot.changelogManifestList());
+        }
+        deleteAll(manifestLists, manifestList::delete, deletedMetaFiles);
+
+        fileIO.deleteQuietly(snapshotManager.snapshotPath(snapshot.id()));
+        deletedMetaFiles.incrementAndGet();
+        expiredSnapshots.incrementAndGet();
     }
 
     @VisibleForTesting
     void expireMergeTreeFiles(Iterable<ManifestEntry> dataFileLog) {
+        deleteAll(collectMergeTreeFiles(dataFileLog), fileIO::deleteQuietly, deletedDataFiles);
+    }
+
+    private List<Path> collectMergeTreeFiles(Iterable<ManifestEntry> dataFileLog) {
         // we cannot delete a data file directly when we meet a DELETE entry, because that
         // file might be upgraded
         Map<Path, List<Path>> dataFileToDelete = new HashMap<>();
@@ -255,21 +365,133 @@ public class FileStoreExpireImpl implements FileStoreExpire {
                             "Unknown value kind " + entry.kind().name());
             }
         }
+
+        List<Path> result = new ArrayList<>();
         dataFileToDelete.forEach(
                 (path, extraFiles) -> {
-                    fileIO.deleteQuietly(path);
-                    extraFiles.forEach(fileIO::deleteQuietly);
+                    result.add(path);
+                    result.addAll(extraFiles);
                 });
+        return result;
     }
 
-    private void expireChangelogFiles(String manifestListName) {
-        for (ManifestEntry changelogEntry : getManifestEntriesFromManifestList(manifestListName)) {
-            fileIO.deleteQuietly(
+    private List<Path> collectChangelogFiles(List<ManifestEntry> changelogEntries) {
+        List<Path> result = new ArrayList<>();
+        for (ManifestEntry changelogEntry : changelogEntries) {
+            result.add(
                     new Path(
                             pathFactory.bucketPath(
                                     changelogEntry.partition(), changelogEntry.bucket()),
                             changelogEntry.file().fileName()));
         }
+        return result;
+    }
+
+    private <T> void deleteAll(
+            Collection<T> files, Consumer<T> deleter, AtomicLong deletedCounter) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        pendingDeletes.addAndGet(files.size());
+        // delete in batches, one task per file is too much overhead for small files
+        List<List<T>> batches =
+                Lists.partition(
+                        new ArrayList<>(files),
+                        Math.max(
+                                1,
+                                (files.size() + deleteThreadNum * 4 - 1) / (deleteThreadNum * 4)));
+        mapParallel(
+                batches,
+                batch -> {
+                    for (T file : batch) {
+                        deleter.accept(file);
+                        deletedCounter.incrementAndGet();
+                        pendingDeletes.decrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Applies the function to all inputs with the delete executor and returns the results in the
+     * order of the inputs. Runs in the current thread if only one thread is configured.
+     */
+    private <T, R> List<R> mapParallel(List<T> inputs, Function<T, R> function) {
+        List<R> results = new ArrayList<>(inputs.size());
+        if (deleteThreadNum == 1 || inputs.size() <= 1) {
+            for (T input : inputs) {
+                results.add(function.apply(input));
+            }
+            return results;
+        }
+
+        List<Future<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(executor().submit(() -> function.apply(input)));
+        }
+        Throwable exception = null;
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exception = ExceptionUtils.firstOrSuppressed(e, exception);
+            } catch (ExecutionException e) {
+                exception = ExceptionUtils.firstOrSuppressed(e.getCause(), exception);
+            }
+        }
+        if (exception != null) {
+            throw new RuntimeException("Exception occurs when expiring snapshots.", exception);
+        }
+        return results;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            // idle threads time out, so that no shutdown is needed
+            ThreadPoolExecutor pool =
+                    new ThreadPoolExecutor(
+                            deleteThreadNum,
+                            deleteThreadNum,
+                            1,
+                            TimeUnit.MINUTES,
+                            new LinkedBlockingQueue<>(),
+                            new ExecutorThreadFactory("expire-" + pathFactory.root().getName()));
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    @Override
+    public ExpireMetrics metrics() {
+        return new ExpireMetrics() {
+            @Override
+            public long expiredSnapshots() {
+                return expiredSnapshots.get();
+            }
+
+            @Override
+            public long deletedDataFiles() {
+                return deletedDataFiles.get();
+            }
+
+            @Override
+            public long deletedMetaFiles() {
+                return deletedMetaFiles.get();
+            }
+
+            @Override
+            public long pendingDeletes() {
+                return pendingDeletes.get();
+            }
+
+            @Override
+            public long lastExpireDurationMillis() {
+                return lastExpireDurationMillis;
+            }
+        };
     }
 
     private Iterable<ManifestEntry> getManifestEntriesFromManifestList(String manifestListName) {
@@ -300,6 +522,10 @@ public class FileStoreExpireImpl implements FileStoreExpire {
                                 });
     }
 
+    private List<ManifestEntry> readManifestEntries(String manifestListName) {
+        return Lists.newArrayList(getManifestEntriesFromManifestList(manifestListName));
+    }
+
     private List<ManifestFileMeta> tryReadManifestList(String manifestListName) {
         try {
             return manifestList.read(manifestListName);
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 /** Scan operation which produces a plan. */
@@ -42,6 +43,13 @@ public interface FileStoreScan {
 
     FileStoreScan withBucket(int bucket);
 
+    /**
+     * Only reads the buckets accepted by the given filter. The filter is tested against bucket
+     * indexes of the current bucket num, so all files of partitions with another bucket num are
+     * read, and their records must be filtered by the caller.
+     */
+    FileStoreScan withBucketFilter(IntPredicate bucketFilter);
+
     FileStoreScan withSnapshot(long snapshotId);
 
     FileStoreScan withManifestList(List<ManifestFileMeta> manifests);
@@ -50,6 +58,9 @@ public interface FileStoreScan {
 
     FileStoreScan withLevel(int level);
 
+    /** Only reads the files whose levels are accepted by the given filter. */
+    FileStoreScan withLevelFilter(IntPredicate levelFilter);
+
     /** Produce a {@link Plan}. */
     Plan plan();
 
@@ -20,12 +20,16 @@ package org.apache.flink.table.store.file.operation;
 
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.file.FileStore;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.disk.IOManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.table.sink.FileCommittable;
 import org.apache.flink.table.store.table.sink.SinkRecord;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 /**
@@ -45,6 +49,13 @@ public interface FileStoreWrite<T> {
      */
     void withOverwrite(boolean overwrite);
 
+    /**
+     * Returns the number of buckets records of the given partition are written with. This is the
+     * bucket number of the existing files of the partition (see {@link PartitionBucketNumbers}), or
+     * the bucket number of the table if the partition has no files or is overwritten.
+     */
+    int numBuckets(BinaryRow partition);
+
     /**
      * Write the data to the store according to the partition and bucket.
      *
@@ -89,6 +100,16 @@ public interface FileStoreWrite<T> {
      */
     List<FileCommittable> prepareCommit(boolean blocking, long commitIdentifier) throws Exception;
 
+    /** Metrics of the compaction tasks submitted by this write. */
+    CompactionMetrics compactionMetrics();
+
+    /**
+     * Metrics of the pressure which adapts the compaction triggers of this write, null if the
+     * compaction triggers are not adaptive.
+     */
+    @Nullable
+    CompactionPressureMetrics compactionPressureMetrics();
+
     /**
      * Close the writer.
      *
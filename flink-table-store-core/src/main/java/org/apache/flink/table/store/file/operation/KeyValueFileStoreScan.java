@@ -52,8 +52,7 @@ public class KeyValueFileStoreScan extends AbstractFileStoreScan {
             KeyValueFieldsExtractor keyValueFieldsExtractor,
             ManifestFile.Factory manifestFileFactory,
             ManifestList.Factory manifestListFactory,
-            int numOfBuckets,
-            boolean checkNumOfBuckets) {
+            int numOfBuckets) {
         super(
                 partitionType,
                 bucketKeyType,
@@ -62,8 +61,7 @@ public class KeyValueFileStoreScan extends AbstractFileStoreScan {
                 schemaId,
                 manifestFileFactory,
                 manifestListFactory,
-                numOfBuckets,
-                checkNumOfBuckets);
+                numOfBuckets);
         this.fieldStatsConverters =
                 new FieldStatsConverters(
                         sid -> keyValueFieldsExtractor.keyFields(scanTableSchema(sid)), schemaId);
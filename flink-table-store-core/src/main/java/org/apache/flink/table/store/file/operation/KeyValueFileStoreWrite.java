@@ -23,21 +23,32 @@ import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.compact.CompactManager;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.compact.NoopCompactManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
 import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
 import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.LookupLevels;
 import org.apache.flink.table.store.file.mergetree.MergeTreeWriter;
+import org.apache.flink.table.store.file.mergetree.RecordLevelExpire;
+import org.apache.flink.table.store.file.mergetree.compact.AdaptiveCompactionTrigger;
+import org.apache.flink.table.store.file.mergetree.compact.AdaptiveCompactionTriggers;
 import org.apache.flink.table.store.file.mergetree.compact.CompactRewriter;
 import org.apache.flink.table.store.file.mergetree.compact.CompactStrategy;
+import org.apache.flink.table.store.file.mergetree.compact.ForceUpLevel0Compaction;
 import org.apache.flink.table.store.file.mergetree.compact.FullChangelogMergeTreeCompactRewriter;
+import org.apache.flink.table.store.file.mergetree.compact.LeveledCompaction;
+import org.apache.flink.table.store.file.mergetree.compact.LookupMergeTreeCompactRewriter;
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactManager;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactRewriter;
+import org.apache.flink.table.store.file.mergetree.compact.Subcompactions;
 import org.apache.flink.table.store.file.mergetree.compact.UniversalCompaction;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
 import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.stats.FieldStatsConverters;
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
 import org.apache.flink.table.store.file.utils.FileStorePathFactory;
 import org.apache.flink.table.store.file.utils.RecordWriter;
 import org.apache.flink.table.store.file.utils.SnapshotManager;
@@ -48,13 +59,20 @@ import org.apache.flink.table.store.types.RowType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import static org.apache.flink.table.store.file.io.DataFileMeta.getMaxSequenceNumber;
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
 
 /** {@link FileStoreWrite} for {@link org.apache.flink.table.store.file.KeyValueFileStore}. */
 public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
@@ -67,6 +85,10 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
     private final MergeFunctionFactory<KeyValue> mfFactory;
     private final CoreOptions options;
     private final FileIO fileIO;
+    @Nullable private final RecordLevelExpire recordLevelExpire;
+    @Nullable private final AdaptiveCompactionTriggers adaptiveTriggers;
+
+    @Nullable private ExecutorService subcompactionExecutor;
 
     public KeyValueFileStoreWrite(
             FileIO fileIO,
@@ -80,9 +102,10 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             FileStorePathFactory pathFactory,
             SnapshotManager snapshotManager,
             FileStoreScan scan,
+            PartitionBucketNumbers bucketNumbers,
             CoreOptions options,
             KeyValueFieldsExtractor extractor) {
-        super(commitUser, snapshotManager, scan, options);
+        super(commitUser, snapshotManager, scan, bucketNumbers, pathFactory, options);
         this.fileIO = fileIO;
         this.readerFactoryBuilder =
                 KeyValueFileReaderFactory.builder(
@@ -106,6 +129,23 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
         this.keyComparatorSupplier = keyComparatorSupplier;
         this.mfFactory = mfFactory;
         this.options = options;
+        this.recordLevelExpire =
+                RecordLevelExpire.create(
+                        options,
+                        valueType,
+                        new FieldStatsConverters(
+                                sid -> extractor.valueFields(schemaManager.schema(sid)), schemaId));
+        this.adaptiveTriggers =
+                options.numSortedRunAdaptiveTrigger()
+                        ? new AdaptiveCompactionTriggers(
+                                options.numSortedRunCompactionTrigger(),
+                                options.numSortedRunStopTrigger(),
+                                options.numSortedRunAdaptiveMaxStopTrigger())
+                        : null;
+        checkArgument(
+                options.compactionMaxSubcompactions() > 0,
+                "The maximum number of subcompactions must be positive, but is %s.",
+                options.compactionMaxSubcompactions());
     }
 
     @Override
@@ -146,17 +186,18 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
         KeyValueFileWriterFactory writerFactory = writerFactoryBuilder.build(partition, bucket);
         Comparator<InternalRow> keyComparator = keyComparatorSupplier.get();
         Levels levels = new Levels(keyComparator, restoreFiles, options.numLevels());
+        // triggers are only adapted for writers which compact
+        AdaptiveCompactionTrigger adaptiveTrigger =
+                adaptiveTriggers == null || options.writeOnly() ? null : adaptiveTriggers.create();
+        CompactStrategy compactStrategy = createCompactStrategy(keyComparator, adaptiveTrigger);
         CompactManager compactManager =
                 createCompactManager(
                         partition,
                         bucket,
-                        new UniversalCompaction(
-                                options.maxSizeAmplificationPercent(),
-                                options.sortedRunSizeRatio(),
-                                options.numSortedRunCompactionTrigger(),
-                                options.maxSortedRunNum()),
+                        compactStrategy,
                         compactExecutor,
-                        levels);
+                        levels,
+                        adaptiveTrigger);
         return new MergeTreeWriter(
                 bufferSpillable(),
                 options.localSortMaxNumFileHandles(),
@@ -170,6 +211,30 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 options.changelogProducer());
     }
 
+    private CompactStrategy createCompactStrategy(
+            Comparator<InternalRow> keyComparator,
+            @Nullable AdaptiveCompactionTrigger adaptiveTrigger) {
+        boolean lookup = options.changelogProducer() == CoreOptions.ChangelogProducer.LOOKUP;
+        if (options.compactionStrategy() == CoreOptions.CompactionStrategy.LEVELED) {
+            // the lookup changelog producer needs level 0 files to be compacted after each flush
+            return new LeveledCompaction(
+                    keyComparator,
+                    lookup ? 1 : options.numSortedRunCompactionTrigger(),
+                    options.leveledBaseLevelSize(),
+                    options.leveledLevelSizeMultiplier());
+        }
+
+        UniversalCompaction universalCompaction =
+                new UniversalCompaction(
+                        options.maxSizeAmplificationPercent(),
+                        options.sortedRunSizeRatio(),
+                        adaptiveTrigger == null
+                                ? options::numSortedRunCompactionTrigger
+                                : adaptiveTrigger::compactionTrigger,
+                        options.maxSortedRunNum());
+        return lookup ? new ForceUpLevel0Compaction(universalCompaction) : universalCompaction;
+    }
+
     private boolean bufferSpillable() {
         return options.writeBufferSpillable(fileIO.isObjectStore());
     }
@@ -179,38 +244,123 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             int bucket,
             CompactStrategy compactStrategy,
             ExecutorService compactExecutor,
-            Levels levels) {
+            Levels levels,
+            @Nullable AdaptiveCompactionTrigger adaptiveTrigger) {
         if (options.writeOnly()) {
             return new NoopCompactManager();
         } else {
             Comparator<InternalRow> keyComparator = keyComparatorSupplier.get();
-            CompactRewriter rewriter = createRewriter(partition, bucket, keyComparator);
+            CompactRewriter rewriter = createRewriter(partition, bucket, keyComparator, levels);
             return new MergeTreeCompactManager(
                     compactExecutor,
                     levels,
                     compactStrategy,
                     keyComparator,
                     options.targetFileSize(),
-                    options.numSortedRunStopTrigger(),
-                    rewriter);
+                    numSortedRunStopTrigger(),
+                    rewriter,
+                    recordLevelExpire,
+                    adaptiveTrigger);
+        }
+    }
+
+    private int numSortedRunStopTrigger() {
+        int stopTrigger = options.numSortedRunStopTrigger();
+        if (options.compactionStrategy() == CoreOptions.CompactionStrategy.LEVELED) {
+            // leveled compaction keeps all levels non-empty, only level 0 files should stop writes
+            stopTrigger += options.numLevels() - 1;
         }
+        return stopTrigger;
     }
 
     private MergeTreeCompactRewriter createRewriter(
-            BinaryRow partition, int bucket, Comparator<InternalRow> keyComparator) {
+            BinaryRow partition, int bucket, Comparator<InternalRow> keyComparator, Levels levels) {
         KeyValueFileReaderFactory readerFactory = readerFactoryBuilder.build(partition, bucket);
         KeyValueFileWriterFactory writerFactory = writerFactoryBuilder.build(partition, bucket);
+        Subcompactions subcompactions = createSubcompactions(keyComparator);
 
-        if (options.changelogProducer() == CoreOptions.ChangelogProducer.FULL_COMPACTION) {
-            return new FullChangelogMergeTreeCompactRewriter(
-                    options.numLevels() - 1,
-                    readerFactory,
-                    writerFactory,
-                    keyComparator,
-                    mfFactory);
-        } else {
-            return new MergeTreeCompactRewriter(
-                    readerFactory, writerFactory, keyComparator, mfFactory);
+        switch (options.changelogProducer()) {
+            case FULL_COMPACTION:
+                return new FullChangelogMergeTreeCompactRewriter(
+                        options.numLevels() - 1,
+                        readerFactory,
+                        writerFactory,
+                        keyComparator,
+                        mfFactory,
+                        options.sortEngine(),
+                        subcompactions);
+            case LOOKUP:
+                LookupLevels lookupLevels =
+                        new LookupLevels(
+                                levels,
+                                keyComparator,
+                                writerFactory.keyType(),
+                                writerFactory.valueType(),
+                                readerFactory,
+                                this::createLookupFile,
+                                options.changelogProducerLookupCacheMaxDiskSize().getBytes());
+                return new LookupMergeTreeCompactRewriter(
+                        lookupLevels,
+                        readerFactory,
+                        writerFactory,
+                        keyComparator,
+                        mfFactory,
+                        options.sortEngine(),
+                        subcompactions);
+            default:
+                return new MergeTreeCompactRewriter(
+                        readerFactory,
+                        writerFactory,
+                        keyComparator,
+                        mfFactory,
+                        options.sortEngine(),
+                        subcompactions,
+                        recordLevelExpire);
+        }
+    }
+
+    @Nullable
+    private Subcompactions createSubcompactions(Comparator<InternalRow> keyComparator) {
+        int maxSubcompactions = options.compactionMaxSubcompactions();
+        if (maxSubcompactions <= 1) {
+            return null;
+        }
+
+        if (subcompactionExecutor == null) {
+            // shared by the compactions of all buckets, which may run concurrently
+            subcompactionExecutor =
+                    Executors.newFixedThreadPool(
+                            maxSubcompactions * options.compactionThreadNum(),
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-subcompaction"));
+        }
+        return new Subcompactions(
+                subcompactionExecutor, keyComparator, maxSubcompactions, options.targetFileSize());
+    }
+
+    @Nullable
+    @Override
+    public CompactionPressureMetrics compactionPressureMetrics() {
+        return adaptiveTriggers;
+    }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (subcompactionExecutor != null) {
+            subcompactionExecutor.shutdownNow();
+        }
+    }
+
+    private File createLookupFile() {
+        if (ioManager != null) {
+            return ioManager.createChannel().getPathFile();
+        }
+
+        try {
+            return File.createTempFile("lookup-", ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.file.manifest.ManifestFile;
+import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the data manifests of the last committed snapshot in the background, so that the next
+ * commit can use them as its base manifests instead of merging them inline.
+ *
+ * <p>A merge result is only used if its input is still the data manifests of the latest snapshot
+ * when the next commit happens, that is, if no other job has committed in between. Otherwise the
+ * result is discarded and the manifest files created by it are deleted.
+ *
+ * <p>The service writes manifests with its own {@link ManifestFile}, as a manifest file and its
+ * format writer factory must not be used by several threads at the same time.
+ */
+class ManifestMergeService implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ManifestMergeService.class);
+
+    private final ManifestFile manifestFile;
+    private final long suggestedMetaSize;
+    private final int suggestedMinMetaCount;
+    private final ExecutorService executor;
+
+    // once closed, a merge which is still running deletes its result by itself
+    private volatile boolean closed;
+
+    @Nullable private List<ManifestFileMeta> pendingInput;
+    @Nullable private Future<List<ManifestFileMeta>> pendingResult;
+
+    ManifestMergeService(
+            ManifestFile.Factory manifestFileFactory,
+            long suggestedMetaSize,
+            int suggestedMinMetaCount) {
+        this.manifestFile = manifestFileFactory.create();
+        this.suggestedMetaSize = suggestedMetaSize;
+        this.suggestedMinMetaCount = suggestedMinMetaCount;
+        this.executor =
+                Executors.newSingleThreadExecutor(new ExecutorThreadFactory("manifest-merge"));
+    }
+
+    /** Starts merging the given manifests, which are the data manifests of a new snapshot. */
+    void submit(List<ManifestFileMeta> metas) {
+        discardPending();
+        List<ManifestFileMeta> input = new ArrayList<>(metas);
+        pendingInput = input;
+        pendingResult =
+                executor.submit(
+                        () -> {
+                            List<ManifestFileMeta> result =
+                                    ManifestFileMeta.merge(
+                                            input,
+                                            manifestFile,
+                                            suggestedMetaSize,
+                                            suggestedMinMetaCount);
+                            if (closed) {
+                                deleteNewFiles(input, result);
+                            }
+                            return result;
+                        });
+    }
+
+    /**
+     * Returns the result of the background merge if it was submitted for the given manifests,
+     * waiting for it if it is still running. Returns null if there is no such result, then the
+     * caller has to merge the manifests by itself.
+     */
+    @Nullable
+    List<ManifestFileMeta> takeResult(List<ManifestFileMeta> metas) {
+        if (pendingResult == null || !metas.equals(pendingInput)) {
+            discardPending();
+            return null;
+        }
+
+        Future<List<ManifestFileMeta>> result = pendingResult;
+        pendingInput = null;
+        pendingResult = null;
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // new files of a failed merge are already cleaned up, just merge again
+            LOG.warn("Background manifest merge failed, merge manifests inline.", e);
+            return null;
+        }
+    }
+
+    private void discardPending() {
+        if (pendingResult == null) {
+            return;
+        }
+
+        List<ManifestFileMeta> input = pendingInput;
+        Future<List<ManifestFileMeta>> result = pendingResult;
+        pendingInput = null;
+        pendingResult = null;
+        // runs after the merge on the single thread, so the committer never waits for it
+        executor.execute(
+                () -> {
+                    try {
+                        deleteNewFiles(input, result.get());
+                    } catch (Exception e) {
+                        // failed merges clean up by themselves
+                        LOG.debug("Discarded background manifest merge has failed.", e);
+                    }
+                });
+    }
+
+    private void deleteNewFiles(List<ManifestFileMeta> input, List<ManifestFileMeta> result) {
+        Set<ManifestFileMeta> inputSet = new HashSet<>(input);
+        for (ManifestFileMeta meta : result) {
+            if (!inputSet.contains(meta)) {
+                manifestFile.delete(meta.fileName());
+            }
+        }
+    }
+
+    /**
+     * Discards the pending merge and waits for the background thread to finish. If it does not
+     * finish in time, it is interrupted, and a merge which is still running deletes its result once
+     * it finishes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        discardPending();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.warn("Background manifest merge has not finished in time, interrupting it.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestFile;
+import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.manifest.ManifestList;
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.fs.FileIO;
+import org.apache.flink.table.store.fs.FileStatus;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.function.FunctionWithException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Removes files which are not referenced by any snapshot of the table, such as data files and
+ * manifests left behind by failed commits, killed jobs or aborted compactions.
+ *
+ * <p>Candidate files are data and changelog files in bucket directories and files in the manifest
+ * directory. Only candidates which are older than a given timestamp are deleted, because files of
+ * running writers and commits are not referenced by any snapshot yet. Old snapshot hints of commit
+ * users which have no snapshot left are deleted as well.
+ *
+ * <p>Directories are listed before referenced files are collected, so that files which are
+ * committed meanwhile are always seen as referenced. Directories, manifest lists and manifests are
+ * read in parallel with the given number of threads.
+ */
+public class OrphanFilesClean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrphanFilesClean.class);
+
+    private static final String BUCKET_DIR_PREFIX = "bucket-";
+
+    // directories under the table root which do not contain data files
+    private static final Set<String> NON_DATA_DIRS =
+            new HashSet<>(Arrays.asList("snapshot", "schema", "manifest"));
+
+    private final FileIO fileIO;
+    private final FileStorePathFactory pathFactory;
+    private final SnapshotManager snapshotManager;
+    private final ManifestFile manifestFile;
+    private final ManifestList manifestList;
+
+    private int threadNum;
+    private long olderThanMillis;
+
+    public OrphanFilesClean(
+            FileIO fileIO,
+            FileStorePathFactory pathFactory,
+            SnapshotManager snapshotManager,
+            ManifestFile.Factory manifestFileFactory,
+            ManifestList.Factory manifestListFactory,
+            int threadNum) {
+        this.fileIO = fileIO;
+        this.pathFactory = pathFactory;
+        this.snapshotManager = snapshotManager;
+        this.manifestFile = manifestFileFactory.create();
+        this.manifestList = manifestListFactory.create();
+        this.threadNum = threadNum;
+        this.olderThanMillis = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+    }
+
+    /** Only deletes unreferenced files which were last modified before the given timestamp. */
+    public OrphanFilesClean olderThan(long timestampMillis) {
+        this.olderThanMillis = timestampMillis;
+        return this;
+    }
+
+    public OrphanFilesClean withThreadNum(int threadNum) {
+        this.threadNum = threadNum;
+        return this;
+    }
+
+    /** Deletes the orphan files and returns their paths. */
+    public List<Path> clean() throws IOException {
+        checkArgument(threadNum > 0, "Number of threads must be positive, but is %s.", threadNum);
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        threadNum,
+                        new ExecutorThreadFactory(
+                                "orphan-files-clean-" + pathFactory.root().getName()));
+        try {
+            List<FileStatus> candidates = new ArrayList<>(listManifestDirectory());
+            candidates.addAll(listDataDirectories(executor));
+
+            Set<String> referenced = referencedFiles(executor);
+            List<Path> orphans =
+                    candidates.stream()
+                            .filter(
+                                    status ->
+                                            status.getModificationTime() < olderThanMillis
+                                                    && !referenced.contains(
+                                                            status.getPath().getName()))
+                            .map(FileStatus::getPath)
+                            .collect(Collectors.toList());
+
+            mapParallel(
+                    executor,
+                    orphans,
+                    path -> {
+                        fileIO.deleteQuietly(path);
+                        return null;
+                    });
+
+            // hints of commit users which have no snapshot left
+            Long earliestId = snapshotManager.earliestSnapshotId();
+            orphans.addAll(
+                    snapshotManager.deleteExpiredUserHints(
+                            earliestId == null ? Long.MAX_VALUE : earliestId, olderThanMillis));
+            LOG.info(
+                    "Deleted {} orphan files of {} candidates older than {} in table {}.",
+                    orphans.size(),
+                    candidates.size(),
+                    olderThanMillis,
+                    pathFactory.root());
+            return orphans;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<FileStatus> listManifestDirectory() throws IOException {
+        Path manifestDir = new Path(pathFactory.root(), "manifest");
+        if (!fileIO.exists(manifestDir)) {
+            return new ArrayList<>();
+        }
+        return listFiles(manifestDir);
+    }
+
+    /** Lists the partition directories level by level and returns the files of all buckets. */
+    private List<FileStatus> listDataDirectories(ExecutorService executor) throws IOException {
+        List<FileStatus> children = new ArrayList<>();
+        for (FileStatus status : fileIO.listStatus(pathFactory.root())) {
+            if (!NON_DATA_DIRS.contains(status.getPath().getName())) {
+                children.add(status);
+            }
+        }
+
+        // buckets of unpartitioned tables are right under the table root
+        List<Path> buckets = new ArrayList<>();
+        while (!children.isEmpty()) {
+            List<Path> partitions = new ArrayList<>();
+            for (FileStatus child : children) {
+                if (!child.isDir()) {
+                    continue;
+                }
+                if (child.getPath().getName().startsWith(BUCKET_DIR_PREFIX)) {
+                    buckets.add(child.getPath());
+                } else {
+                    partitions.add(child.getPath());
+                }
+            }
+            children =
+                    flatten(
+                            mapParallel(
+                                    executor,
+                                    partitions,
+                                    dir -> Arrays.asList(fileIO.listStatus(dir))));
+        }
+
+        return flatten(mapParallel(executor, buckets, this::listFiles));
+    }
+
+    private List<FileStatus> listFiles(Path dir) throws IOException {
+        List<FileStatus> files = new ArrayList<>();
+        for (FileStatus status : fileIO.listStatus(dir)) {
+            if (!status.isDir()) {
+                files.add(status);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns the names of all manifest lists, manifests, data files and extra files referenced by
+     * the retained snapshots.
+     */
+    private Set<String> referencedFiles(ExecutorService executor) throws IOException {
+        Long earliest = snapshotManager.earliestSnapshotId();
+        Long latest = snapshotManager.latestSnapshotId();
+        if (earliest == null || latest == null) {
+            return new HashSet<>();
+        }
+
+        List<Long> ids =
+                LongStream.rangeClosed(earliest, latest).boxed().collect(Collectors.toList());
+        // snapshots may be expired meanwhile, their files are deleted by the expiration
+        List<Snapshot> snapshots =
+                mapParallel(executor, ids, this::tryReadSnapshot).stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+
+        // meta files are mapped to the latest snapshot using them, so that a file deleted by a
+        // concurrent expiration can be told apart from a file which cannot be read
+        Map<String, Long> manifestLists = new HashMap<>();
+        for (Snapshot snapshot : snapshots) {
+            manifestLists.put(snapshot.baseManifestList(), snapshot.id());
+            manifestLists.put(snapshot.deltaManifestList(), snapshot.id());
+            if (snapshot.changelogManifestList() != null) {
+                manifestLists.put(snapshot.changelogManifestList(), snapshot.id());
+            }
+        }
+
+        Map<String, Long> manifests = new HashMap<>();
+        List<String> manifestListNames = new ArrayList<>(manifestLists.keySet());
+        List<List<ManifestFileMeta>> manifestMetas =
+                mapParallel(
+                        executor,
+                        manifestListNames,
+                        name -> readOfSnapshot(name, manifestLists.get(name), manifestList::read));
+        for (int i = 0; i < manifestListNames.size(); i++) {
+            long snapshotId = manifestLists.get(manifestListNames.get(i));
+            for (ManifestFileMeta meta : manifestMetas.get(i)) {
+                manifests.merge(meta.fileName(), snapshotId, Math::max);
+            }
+        }
+
+        Set<String> referenced = new HashSet<>(manifestLists.keySet());
+        referenced.addAll(manifests.keySet());
+        for (List<String> files :
+                mapParallel(
+                        executor,
+                        new ArrayList<>(manifests.keySet()),
+                        manifest -> {
+                            List<String> names = new ArrayList<>();
+                            for (ManifestEntry entry :
+                                    readOfSnapshot(
+                                            manifest,
+                                            manifests.get(manifest),
+                                            manifestFile::read)) {
+                                names.add(entry.file().fileName());
+                                names.addAll(entry.file().extraFiles());
+                            }
+                            return names;
+                        })) {
+            referenced.addAll(files);
+        }
+        return referenced;
+    }
+
+    @Nullable
+    private Snapshot tryReadSnapshot(long snapshotId) {
+        try {
+            return snapshotManager.snapshot(snapshotId);
+        } catch (RuntimeException e) {
+            if (snapshotManager.snapshotExists(snapshotId)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads a meta file used by the given snapshot and older ones. Returns an empty list if the
+     * file cannot be read because the snapshot has been expired meanwhile.
+     */
+    private <T> List<T> readOfSnapshot(
+            String fileName, long snapshotId, Function<String, List<T>> reader) {
+        try {
+            return reader.apply(fileName);
+        } catch (RuntimeException e) {
+            if (snapshotManager.snapshotExists(snapshotId)) {
+                throw e;
+            }
+            LOG.debug("Snapshot #{} has been expired, skip reading {}.", snapshotId, fileName);
+            return Collections.emptyList();
+        }
+    }
+
+    private static <T, R> List<R> mapParallel(
+            ExecutorService executor,
+            List<T> inputs,
+            FunctionWithException<T, R, IOException> function)
+            throws IOException {
+        List<Future<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(executor.submit(() -> function.apply(input)));
+        }
+
+        List<R> results = new ArrayList<>(inputs.size());
+        Throwable exception = null;
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exception = ExceptionUtils.firstOrSuppressed(e, exception);
+            } catch (ExecutionException e) {
+                exception = ExceptionUtils.firstOrSuppressed(e.getCause(), exception);
+            }
+        }
+        if (exception != null) {
+            throw new IOException("Exception occurs when cleaning orphan files.", exception);
+        }
+        return results;
+    }
+
+    private static <T> List<T> flatten(Collection<? extends Collection<T>> lists) {
+        List<T> result = new ArrayList<>();
+        lists.forEach(result::addAll);
+        return result;
+    }
+}
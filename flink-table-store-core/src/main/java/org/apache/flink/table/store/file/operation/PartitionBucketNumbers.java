@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the number of buckets records of a partition are written with. A partition keeps the
+ * bucket number of its data files in the latest snapshot until it is rescaled, while partitions
+ * without data files use the bucket number of the table.
+ *
+ * <p>The bucket number of a partition is resolved once and cached, until it is {@link #forget
+ * forgotten}. So all records of a partition are assigned to buckets in the same way, even if the
+ * partition is rescaled in the meantime; files written with the old bucket number are then rejected
+ * when restored or committed.
+ *
+ * <p>NOTE: This class is not thread safe.
+ */
+public class PartitionBucketNumbers {
+
+    private final SnapshotManager snapshotManager;
+    private final FileStoreScan scan;
+    private final int numBuckets;
+
+    private final Map<BinaryRow, Integer> partitionNumBuckets;
+
+    public PartitionBucketNumbers(
+            SnapshotManager snapshotManager, FileStoreScan scan, int numBuckets) {
+        this.snapshotManager = snapshotManager;
+        this.scan = scan;
+        this.numBuckets = numBuckets;
+        this.partitionNumBuckets = new HashMap<>();
+    }
+
+    /** Returns the bucket number of the given partition. */
+    public int numBuckets(BinaryRow partition) {
+        Integer result = partitionNumBuckets.get(partition);
+        if (result == null) {
+            result = resolve(partition);
+            partitionNumBuckets.put(partition.copy(), result);
+        }
+        return result;
+    }
+
+    /** Resolves the bucket number of the given partition again upon its next request. */
+    public void forget(BinaryRow partition) {
+        partitionNumBuckets.remove(partition);
+    }
+
+    private int resolve(BinaryRow partition) {
+        Long snapshotId = snapshotManager.latestSnapshotId();
+        if (snapshotId == null) {
+            return numBuckets;
+        }
+
+        // all files of a partition share the same bucket number, see FileStoreCommitImpl
+        List<ManifestEntry> files =
+                scan.withSnapshot(snapshotId)
+                        .withPartitionFilter(Collections.singletonList(partition))
+                        .plan()
+                        .files();
+        return files.isEmpty() ? numBuckets : files.get(0).totalBuckets();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.manifest.FileKind;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory index of the files of some partitions at a snapshot, used by {@link
+ * FileStoreCommitImpl} to detect conflicts.
+ *
+ * <p>When files at a newer snapshot are requested, the index is advanced by only reading the delta
+ * manifests of the snapshots in between, instead of reading all manifests of the requested
+ * partitions again. If some snapshot in between cannot be read (for example because it has been
+ * expired), the index falls back to reading all manifests.
+ *
+ * <p>NOTE: This class is not thread safe.
+ */
+class PartitionFilesIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionFilesIndex.class);
+
+    private final FileStoreScan scan;
+    private final SnapshotManager snapshotManager;
+
+    private final Map<BinaryRow, Map<ManifestEntry.Identifier, ManifestEntry>> partitions;
+    @Nullable private Long snapshotId;
+
+    PartitionFilesIndex(FileStoreScan scan, SnapshotManager snapshotManager) {
+        this.scan = scan;
+        this.snapshotManager = snapshotManager;
+        this.partitions = new HashMap<>();
+        this.snapshotId = null;
+    }
+
+    /** Drops all partitions except the given ones from the index to bound its memory. */
+    void retainPartitions(Collection<BinaryRow> retained) {
+        partitions.keySet().retainAll(new HashSet<>(retained));
+    }
+
+    /** Returns all files of the given partitions at the given snapshot. */
+    List<ManifestEntry> entries(long targetSnapshotId, Collection<BinaryRow> requested) {
+        if (snapshotId == null || snapshotId > targetSnapshotId) {
+            partitions.clear();
+        } else if (snapshotId < targetSnapshotId && !partitions.isEmpty()) {
+            try {
+                advance(targetSnapshotId);
+            } catch (Exception e) {
+                LOG.info(
+                        "Failed to advance partition files index from snapshot {} to {}, "
+                                + "reading all manifests of the requested partitions.",
+                        snapshotId,
+                        targetSnapshotId,
+                        e);
+                partitions.clear();
+            }
+        }
+        snapshotId = targetSnapshotId;
+
+        List<BinaryRow> missing = new ArrayList<>();
+        for (BinaryRow partition : new HashSet<>(requested)) {
+            if (!partitions.containsKey(partition)) {
+                missing.add(partition);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(targetSnapshotId, missing);
+        }
+
+        List<ManifestEntry> result = new ArrayList<>();
+        for (BinaryRow partition : new HashSet<>(requested)) {
+            result.addAll(partitions.get(partition).values());
+        }
+        return result;
+    }
+
+    private void load(long targetSnapshotId, List<BinaryRow> missing) {
+        // partitions are only indexed after they are completely read, a failed read must not
+        // leave them in the index as empty partitions
+        Map<BinaryRow, Map<ManifestEntry.Identifier, ManifestEntry>> loaded = new HashMap<>();
+        for (BinaryRow partition : missing) {
+            loaded.put(partition, new LinkedHashMap<>());
+        }
+        List<ManifestEntry> files =
+                scan.withSnapshot(targetSnapshotId)
+                        .withKind(ScanKind.ALL)
+                        .withPartitionFilter(missing)
+                        .plan()
+                        .files();
+        for (ManifestEntry entry : files) {
+            Map<ManifestEntry.Identifier, ManifestEntry> partitionFiles =
+                    loaded.get(entry.partition());
+            if (partitionFiles != null) {
+                partitionFiles.put(entry.identifier(), entry);
+            }
+        }
+        partitions.putAll(loaded);
+    }
+
+    private void advance(long targetSnapshotId) {
+        List<BinaryRow> indexed = new ArrayList<>(partitions.keySet());
+        try {
+            for (long id = snapshotId + 1; id <= targetSnapshotId; id++) {
+                List<ManifestEntry> delta =
+                        scan.withSnapshot(id)
+                                .withKind(ScanKind.DELTA)
+                                .withPartitionFilter(indexed)
+                                .plan()
+                                .files();
+                for (ManifestEntry entry : delta) {
+                    Map<ManifestEntry.Identifier, ManifestEntry> partitionFiles =
+                            partitions.get(entry.partition());
+                    if (partitionFiles == null) {
+                        continue;
+                    }
+                    if (entry.kind() == FileKind.ADD) {
+                        partitionFiles.put(entry.identifier(), entry);
+                    } else {
+                        partitionFiles.remove(entry.identifier());
+                    }
+                }
+            }
+        } finally {
+            scan.withKind(ScanKind.ALL);
+        }
+    }
+
+    @Nullable
+    Long snapshotId() {
+        return snapshotId;
+    }
+
+    Set<BinaryRow> partitions() {
+        return partitions.keySet();
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.flink.table.store.file.utils;
 
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.fs.FileIO;
+import org.apache.flink.table.store.fs.FileStatus;
 import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.PositionOutputStream;
 import org.apache.flink.table.store.utils.Preconditions;
 
 import org.slf4j.Logger;
@@ -29,10 +31,19 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.utils.FileUtils.listVersionedFiles;
 
@@ -41,18 +52,29 @@ public class SnapshotManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(SnapshotManager.class);
 
-    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    public static final String SNAPSHOT_PREFIX = "snapshot-";
     public static final String EARLIEST = "EARLIEST";
     public static final String LATEST = "LATEST";
+    private static final String USER_HINT_PREFIX = "USER-";
     private static final int READ_HINT_RETRY_NUM = 3;
     private static final int READ_HINT_RETRY_INTERVAL = 1;
+    private static final int SNAPSHOT_CACHE_SIZE = 256;
 
     private final FileIO fileIO;
     private final Path tablePath;
+    // snapshot files are never modified, so decoded snapshots can be cached by id
+    private final Map<Long, Snapshot> snapshotCache;
 
     public SnapshotManager(FileIO fileIO, Path tablePath) {
         this.fileIO = fileIO;
         this.tablePath = tablePath;
+        this.snapshotCache =
+                new LinkedHashMap<Long, Snapshot>(SNAPSHOT_CACHE_SIZE, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+                        return size() > SNAPSHOT_CACHE_SIZE;
+                    }
+                };
     }
 
     public Path snapshotDirectory() {
@@ -63,8 +85,22 @@ public class SnapshotManager {
         return new Path(tablePath + "/snapshot/" + SNAPSHOT_PREFIX + snapshotId);
     }
 
+    /**
+     * Returns the snapshot with the given id. Recently read snapshots are cached, so a snapshot may
+     * still be returned shortly after it has been expired.
+     */
     public Snapshot snapshot(long snapshotId) {
-        return Snapshot.fromPath(fileIO, snapshotPath(snapshotId));
+        Snapshot snapshot;
+        synchronized (snapshotCache) {
+            snapshot = snapshotCache.get(snapshotId);
+        }
+        if (snapshot == null) {
+            snapshot = Snapshot.fromPath(fileIO, snapshotPath(snapshotId));
+            synchronized (snapshotCache) {
+                snapshotCache.put(snapshotId, snapshot);
+            }
+        }
+        return snapshot;
     }
 
     public boolean snapshotExists(long snapshotId) {
@@ -124,13 +160,8 @@ public class SnapshotManager {
             return null;
         }
 
-        for (long i = latest; i >= earliest; i--) {
-            long commitTime = snapshot(i).timeMillis();
-            if (commitTime < timestampMills) {
-                return i;
-            }
-        }
-        return earliest - 1;
+        Long found = latestMatching(earliest, latest, commitTime -> commitTime < timestampMills);
+        return found == null ? earliest - 1 : found;
     }
 
     /** Returns a snapshot earlier than or equals to the timestamp mills. */
@@ -141,13 +172,28 @@ public class SnapshotManager {
             return null;
         }
 
-        for (long i = latest; i >= earliest; i--) {
-            long commitTime = snapshot(i).timeMillis();
-            if (commitTime <= timestampMills) {
-                return i;
+        return latestMatching(earliest, latest, commitTime -> commitTime <= timestampMills);
+    }
+
+    /**
+     * Binary searches the latest snapshot between the given ids whose commit time matches the
+     * filter. Commit times are increasing with snapshot ids, so the matched snapshots form a prefix
+     * of the range. Returns null if no snapshot matches.
+     */
+    private @Nullable Long latestMatching(long earliest, long latest, LongPredicate timeFilter) {
+        Long result = null;
+        long low = earliest;
+        long high = latest;
+        while (low <= high) {
+            long mid = low + (high - low) / 2;
+            if (timeFilter.test(snapshot(mid).timeMillis())) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
             }
         }
-        return null;
+        return result;
     }
 
     public long snapshotCount() throws IOException {
@@ -171,6 +217,21 @@ public class SnapshotManager {
                         earliestSnapshotId(),
                         "Latest snapshot id is not null, but earliest snapshot id is null. "
                                 + "This is unexpected.");
+
+        // the user hint contains all snapshot ids the user tried to commit after its creation, so
+        // the latest existing one committed by the user is the latest snapshot of the user
+        List<Long> hintedIds = readUserHint(user);
+        for (int i = hintedIds.size() - 1; i >= 0; i--) {
+            long id = hintedIds.get(i);
+            if (id >= earliestId && id <= latestId && snapshotExists(id)) {
+                Snapshot snapshot = snapshot(id);
+                if (user.equals(snapshot.commitUser())) {
+                    return Optional.of(snapshot);
+                }
+            }
+        }
+
+        // no hint, or no hinted snapshot is left, fall back to scan all snapshots
         for (long id = latestId; id >= earliestId; id--) {
             Snapshot snapshot = snapshot(id);
             if (user.equals(snapshot.commitUser())) {
@@ -180,6 +241,98 @@ public class SnapshotManager {
         return Optional.empty();
     }
 
+    /**
+     * Returns the snapshot ids recorded in the hint of the given user, in ascending order. Returns
+     * an empty list if there is no readable hint.
+     */
+    public List<Long> readUserHint(String user) {
+        try {
+            return readUserHint(userHintPath(user));
+        } catch (Exception e) {
+            LOG.warn("Failed to read snapshot hint of user {}, ignore it.", user, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<Long> readUserHint(Path path) throws IOException {
+        if (!fileIO.exists(path)) {
+            return Collections.emptyList();
+        }
+        String content = new String(fileIO.readFileBytes(path), StandardCharsets.UTF_8);
+        // the hint is overwritten in place, a hint without line end is still being written
+        if (!content.endsWith("\n")) {
+            throw new IOException("Snapshot hint " + path + " is incomplete.");
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : content.trim().split(",")) {
+            ids.add(Long.parseLong(id));
+        }
+        return ids;
+    }
+
+    /**
+     * Overwrites the hint of the given user with the given snapshot ids in ascending order. The id
+     * of a snapshot must be recorded before the user commits it, see {@link #latestSnapshotOfUser}.
+     */
+    public void commitUserHint(String user, List<Long> snapshotIds) throws IOException {
+        String content =
+                snapshotIds.stream().map(String::valueOf).collect(Collectors.joining(",")) + "\n";
+        try (PositionOutputStream out = fileIO.newOutputStream(userHintPath(user), true)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Deletes the hints of all users whose hinted snapshots are older than the given snapshot id,
+     * so that these users have no snapshot left. Unreadable hints are deleted too, as a missing
+     * hint only makes {@link #latestSnapshotOfUser} scan all snapshots. Only hints which were last
+     * modified before the given timestamp are deleted.
+     *
+     * @return paths of the deleted hints
+     */
+    public List<Path> deleteExpiredUserHints(long earliestSnapshotId, long olderThanMillis)
+            throws IOException {
+        Path snapshotDir = snapshotDirectory();
+        if (!fileIO.exists(snapshotDir)) {
+            return Collections.emptyList();
+        }
+        List<Path> deleted = new ArrayList<>();
+        for (FileStatus status : fileIO.listStatus(snapshotDir)) {
+            Path path = status.getPath();
+            if (path.getName().startsWith(USER_HINT_PREFIX)
+                    && status.getModificationTime() < olderThanMillis
+                    && deleteExpiredUserHint(path, earliestSnapshotId)) {
+                deleted.add(path);
+            }
+        }
+        return deleted;
+    }
+
+    private boolean deleteExpiredUserHint(Path path, long earliestSnapshotId) {
+        List<Long> ids;
+        try {
+            ids = readUserHint(path);
+        } catch (Exception e) {
+            ids = Collections.emptyList();
+        }
+        if (!ids.isEmpty() && ids.get(ids.size() - 1) >= earliestSnapshotId) {
+            return false;
+        }
+        fileIO.deleteQuietly(path);
+        return true;
+    }
+
+    public Path userHintPath(String user) {
+        String name =
+                user.matches("[a-zA-Z0-9_.-]+")
+                        ? user
+                        : "b64-"
+                                + Base64.getUrlEncoder()
+                                        .withoutPadding()
+                                        .encodeToString(user.getBytes(StandardCharsets.UTF_8));
+        return new Path(snapshotDirectory(), USER_HINT_PREFIX + name);
+    }
+
     private @Nullable Long findLatest() throws IOException {
         Path snapshotDir = snapshotDirectory();
         if (!fileIO.exists(snapshotDir)) {
@@ -50,6 +50,7 @@ public abstract class AbstractFileStoreTable implements FileStoreTable {
     }
 
     @VisibleForTesting
+    @Override
     public abstract FileStore<?> store();
 
     protected abstract FileStoreTable copy(TableSchema newTableSchema);
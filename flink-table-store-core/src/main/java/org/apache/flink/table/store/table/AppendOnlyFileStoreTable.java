@@ -24,6 +24,7 @@ import org.apache.flink.table.store.file.AppendOnlyFileStore;
 import org.apache.flink.table.store.file.WriteMode;
 import org.apache.flink.table.store.file.operation.AppendOnlyFileStoreRead;
 import org.apache.flink.table.store.file.operation.AppendOnlyFileStoreScan;
+import org.apache.flink.table.store.file.operation.FileStoreWrite;
 import org.apache.flink.table.store.file.operation.ReverseReader;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.schema.TableSchema;
@@ -81,7 +82,7 @@ public class AppendOnlyFileStoreTable extends AbstractFileStoreTable {
     public AbstractDataTableScan newScan() {
         AppendOnlyFileStoreScan scan = store().newScan();
         return new AbstractDataTableScan(
-                fileIO, scan, tableSchema, store().pathFactory(), options()) {
+                fileIO, scan, tableSchema, store().pathFactory(), snapshotManager(), options()) {
             /**
              * Currently, the streaming read of overwrite is implemented by reversing the {@link
              * RowKind} of overwrote records to {@link RowKind#DELETE}, so only tables that have
@@ -132,9 +133,10 @@ public class AppendOnlyFileStoreTable extends AbstractFileStoreTable {
 
     @Override
     public TableWrite newWrite(String commitUser) {
+        FileStoreWrite<InternalRow> write = store().newWrite(commitUser);
         return new TableWriteImpl<>(
-                store().newWrite(commitUser),
-                new SinkRecordConverter(tableSchema),
+                write,
+                new SinkRecordConverter(tableSchema, write::numBuckets),
                 record -> {
                     Preconditions.checkState(
                             record.row().getRowKind() == RowKind.INSERT,
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.disk.IOManager;
+import org.apache.flink.table.store.file.manifest.ManifestCommittable;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.operation.FileStoreCommit;
+import org.apache.flink.table.store.file.operation.FileStoreScan;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.file.utils.RecordReader;
+import org.apache.flink.table.store.file.utils.RecordReaderIterator;
+import org.apache.flink.table.store.file.utils.RowDataPartitionComputer;
+import org.apache.flink.table.store.table.sink.TableWrite;
+import org.apache.flink.table.store.table.source.DataTableScan;
+import org.apache.flink.table.store.types.RowType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Rewrites the partitions whose data files are laid out with a bucket number different from the
+ * current bucket number of the table, one partition at a time.
+ *
+ * <p>A partition is read from a fixed snapshot, rewritten with the current bucket number and
+ * committed by {@link FileStoreCommit#overwrite} based on that snapshot (see {@link
+ * FileStoreCommit#withOverwriteBaseSnapshot}). If the partition is changed by another job in the
+ * meantime, the commit fails with a conflict and the partition is left unchanged. Partitions with
+ * different bucket numbers can be read together while they are rescaled.
+ *
+ * <p>Writers keep assigning the records of a partition to buckets with the bucket number of its
+ * files, so other partitions can be written while a partition is rescaled. A job writing the
+ * rescaled partition itself fails, either by the conflict above or because its files are rejected
+ * for their old bucket number, and writes the partition with the new bucket number after
+ * restarting.
+ *
+ * <p>This class rewrites a partition within the calling thread, see the rescale bucket action of
+ * the Flink connector for rewriting partitions with Flink jobs.
+ */
+public class BucketRescaler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BucketRescaler.class);
+
+    private static final long COMMIT_IDENTIFIER = Long.MAX_VALUE;
+
+    private final FileStoreTable table;
+    private final int numBuckets;
+    private final String commitUser;
+    private final RowDataPartitionComputer partitionComputer;
+
+    @Nullable private IOManager ioManager;
+    @Nullable private Predicate partitionFilter;
+
+    public BucketRescaler(FileStoreTable table) {
+        this.table = table;
+        this.numBuckets = table.options().bucket();
+        this.commitUser = UUID.randomUUID().toString();
+        this.partitionComputer =
+                FileStorePathFactory.getPartitionComputer(
+                        table.schema().logicalPartitionType(),
+                        table.options().partitionDefaultName());
+    }
+
+    public BucketRescaler withIOManager(IOManager ioManager) {
+        this.ioManager = ioManager;
+        return this;
+    }
+
+    /** Only rescales the given partitions in {@link #rescaleAll}. */
+    public BucketRescaler withPartitions(List<Map<String, String>> partitions) {
+        RowType partitionType = table.schema().logicalPartitionType();
+        List<Predicate> predicates = new ArrayList<>();
+        for (Map<String, String> partition : partitions) {
+            Predicate predicate = PredicateBuilder.partition(partition, partitionType);
+            if (predicate == null) {
+                // an empty partition spec selects the whole table
+                this.partitionFilter = null;
+                return this;
+            }
+            predicates.add(predicate);
+        }
+        this.partitionFilter = predicates.isEmpty() ? null : PredicateBuilder.or(predicates);
+        return this;
+    }
+
+    /**
+     * Returns the partitions of the latest snapshot which are not laid out with the current bucket
+     * number of the table, filtered by {@link #withPartitions}.
+     */
+    public List<BinaryRow> partitionsToRescale() {
+        Long snapshotId = table.snapshotManager().latestSnapshotId();
+        if (snapshotId == null) {
+            return Collections.emptyList();
+        }
+
+        FileStoreScan scan = table.store().newScan().withSnapshot(snapshotId);
+        if (partitionFilter != null) {
+            scan.withPartitionFilter(partitionFilter);
+        }
+        Set<BinaryRow> partitions = new LinkedHashSet<>();
+        for (ManifestEntry entry : scan.plan().files()) {
+            if (entry.totalBuckets() != numBuckets) {
+                partitions.add(entry.partition());
+            }
+        }
+        return new ArrayList<>(partitions);
+    }
+
+    /** Rescales all partitions returned by {@link #partitionsToRescale}. */
+    public List<BinaryRow> rescaleAll() throws Exception {
+        List<BinaryRow> partitions = partitionsToRescale();
+        for (BinaryRow partition : partitions) {
+            rescale(partition);
+        }
+        return partitions;
+    }
+
+    /** Returns the partition spec to overwrite the given partition with. */
+    public Map<String, String> partitionSpec(BinaryRow partition) {
+        for (int i = 0; i < partition.getFieldCount(); i++) {
+            if (partition.isNullAt(i)) {
+                throw new UnsupportedOperationException(
+                        "Cannot rescale partition "
+                                + partitionComputer.generatePartValues(partition)
+                                + " with null values.");
+            }
+        }
+        return partitionComputer.generatePartValues(partition);
+    }
+
+    /**
+     * Rewrites the given partition with the current bucket number of the table, returns false if
+     * the partition is already laid out with this bucket number.
+     */
+    public boolean rescale(BinaryRow partition) throws Exception {
+        Map<String, String> partitionSpec = partitionSpec(partition);
+        Long snapshotId = table.snapshotManager().latestSnapshotId();
+        if (snapshotId == null) {
+            return false;
+        }
+        List<ManifestEntry> files =
+                table.store()
+                        .newScan()
+                        .withSnapshot(snapshotId)
+                        .withPartitionFilter(Collections.singletonList(partition))
+                        .plan()
+                        .files();
+        if (files.stream().allMatch(file -> file.totalBuckets() == numBuckets)) {
+            return false;
+        }
+
+        LOG.info(
+                "Rescaling partition {} of table {} to {} buckets based on snapshot {}.",
+                partitionSpec,
+                table.name(),
+                numBuckets,
+                snapshotId);
+
+        DataTableScan scan = table.newScan().withSnapshot(snapshotId);
+        Predicate partitionFilter = PredicateBuilder.partition(partitionSpec, table.rowType());
+        if (partitionFilter != null) {
+            scan.withFilter(partitionFilter);
+        }
+
+        ManifestCommittable committable = new ManifestCommittable(COMMIT_IDENTIFIER);
+        try (RecordReader<InternalRow> reader = table.newRead().createReader(scan.plan().splits());
+                TableWrite write = table.newWrite(commitUser).withOverwrite(true)) {
+            if (ioManager != null) {
+                write.withIOManager(ioManager);
+            }
+            RecordReaderIterator<InternalRow> iterator = new RecordReaderIterator<>(reader);
+            while (iterator.hasNext()) {
+                write.write(iterator.next());
+            }
+            write.prepareCommit(true, COMMIT_IDENTIFIER).forEach(committable::addFileCommittable);
+        }
+
+        FileStoreCommit commit =
+                table.store().newCommit(commitUser).withOverwriteBaseSnapshot(snapshotId);
+        try {
+            commit.overwrite(partitionSpec, committable, new HashMap<>());
+        } finally {
+            commit.close();
+        }
+        return true;
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.flink.table.store.file.KeyValueFileStore;
 import org.apache.flink.table.store.file.WriteMode;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.mergetree.compact.ValueCountMergeFunction;
+import org.apache.flink.table.store.file.operation.FileStoreWrite;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreScan;
 import org.apache.flink.table.store.file.operation.ReverseReader;
 import org.apache.flink.table.store.file.predicate.Predicate;
@@ -96,7 +97,7 @@ public class ChangelogValueCountFileStoreTable extends AbstractFileStoreTable {
     public AbstractDataTableScan newScan() {
         KeyValueFileStoreScan scan = store().newScan();
         return new AbstractDataTableScan(
-                fileIO, scan, tableSchema, store().pathFactory(), options()) {
+                fileIO, scan, tableSchema, store().pathFactory(), snapshotManager(), options()) {
             /**
              * Currently, the streaming read of overwrite is implemented by reversing the {@link
              * RowKind} of overwrote records to {@link RowKind#DELETE}, so only tables that have
@@ -151,9 +152,10 @@ public class ChangelogValueCountFileStoreTable extends AbstractFileStoreTable {
     @Override
     public TableWrite newWrite(String commitUser) {
         final KeyValue kv = new KeyValue();
+        FileStoreWrite<KeyValue> write = store().newWrite(commitUser);
         return new TableWriteImpl<>(
-                store().newWrite(commitUser),
-                new SinkRecordConverter(tableSchema),
+                write,
+                new SinkRecordConverter(tableSchema, write::numBuckets),
                 record -> {
                     switch (record.row().getRowKind()) {
                         case INSERT:
@@ -28,6 +28,7 @@ import org.apache.flink.table.store.file.mergetree.compact.DeduplicateMergeFunct
 import org.apache.flink.table.store.file.mergetree.compact.MergeFunctionFactory;
 import org.apache.flink.table.store.file.mergetree.compact.PartialUpdateMergeFunction;
 import org.apache.flink.table.store.file.mergetree.compact.aggregate.AggregateMergeFunction;
+import org.apache.flink.table.store.file.operation.FileStoreWrite;
 import org.apache.flink.table.store.file.operation.KeyValueFileStoreScan;
 import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
@@ -151,7 +152,7 @@ public class ChangelogWithKeyFileStoreTable extends AbstractFileStoreTable {
     public AbstractDataTableScan newScan() {
         KeyValueFileStoreScan scan = store().newScan();
         return new AbstractDataTableScan(
-                fileIO(), scan, tableSchema, store().pathFactory(), options()) {
+                fileIO(), scan, tableSchema, store().pathFactory(), snapshotManager(), options()) {
             @Override
             public boolean supportStreamingReadOverwrite() {
                 return new CoreOptions(tableSchema.options()).streamingReadOverwrite();
@@ -220,9 +221,10 @@ public class ChangelogWithKeyFileStoreTable extends AbstractFileStoreTable {
                         .map(field -> new SequenceGenerator(field, schema().logicalRowType()))
                         .orElse(null);
         final KeyValue kv = new KeyValue();
+        FileStoreWrite<KeyValue> write = store().newWrite(commitUser);
         return new TableWriteImpl<>(
-                store().newWrite(commitUser),
-                new SinkRecordConverter(tableSchema),
+                write,
+                new SinkRecordConverter(tableSchema, write::numBuckets),
                 record -> {
                     long sequenceNumber =
                             sequenceGenerator == null
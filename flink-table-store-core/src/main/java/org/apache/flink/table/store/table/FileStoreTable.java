@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.table;
 
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.FileStore;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.stats.BinaryTableStats;
@@ -51,12 +52,18 @@ public interface FileStoreTable extends DataTable, SupportsPartition, SupportsWr
 
     TableSchema schema();
 
+    FileStore<?> store();
+
     @Override
     FileStoreTable copy(Map<String, String> dynamicOptions);
 
+    /**
+     * Returns a {@link BucketComputer} which assigns records to buckets with the bucket number of
+     * their partitions, in the same way as {@link #newWrite} does.
+     */
     @Override
     default BucketComputer bucketComputer() {
-        return new BucketComputer(schema());
+        return new BucketComputer(schema(), store().newPartitionBucketNumbers());
     }
 
     default BinaryTableStats getSchemaFieldStats(DataFileMeta dataFileMeta) {
@@ -23,34 +23,61 @@ import org.apache.flink.table.store.codegen.CodeGenUtils;
 import org.apache.flink.table.store.codegen.Projection;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.operation.PartitionBucketNumbers;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.types.RowKind;
 import org.apache.flink.table.store.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.util.stream.IntStream;
 
-/** A {@link BucketComputer} to compute bucket by bucket keys or primary keys or whole row. */
+/**
+ * A {@link BucketComputer} to compute bucket by bucket keys or primary keys or whole row. The
+ * bucket number is either the bucket number of the table, or resolved per partition by {@link
+ * PartitionBucketNumbers}.
+ */
 public class BucketComputer {
 
     private final int numBucket;
+    @Nullable private final PartitionBucketNumbers partitionBucketNumbers;
 
     private final Projection rowProjection;
+    @Nullable private final Projection partitionProjection;
     private final Projection bucketProjection;
     private final Projection pkProjection;
 
     public BucketComputer(TableSchema tableSchema) {
+        this(tableSchema, null);
+    }
+
+    public BucketComputer(
+            TableSchema tableSchema, @Nullable PartitionBucketNumbers partitionBucketNumbers) {
         this(
                 new CoreOptions(tableSchema.options()).bucket(),
+                partitionBucketNumbers,
                 tableSchema.logicalRowType(),
+                tableSchema.projection(tableSchema.partitionKeys()),
                 tableSchema.projection(tableSchema.originalBucketKeys()),
                 tableSchema.projection(tableSchema.trimmedPrimaryKeys()));
     }
 
-    private BucketComputer(int numBucket, RowType rowType, int[] bucketKeys, int[] primaryKeys) {
+    private BucketComputer(
+            int numBucket,
+            @Nullable PartitionBucketNumbers partitionBucketNumbers,
+            RowType rowType,
+            int[] partitionKeys,
+            int[] bucketKeys,
+            int[] primaryKeys) {
         this.numBucket = numBucket;
+        this.partitionBucketNumbers = partitionBucketNumbers;
         this.rowProjection =
                 CodeGenUtils.newProjection(
                         rowType, IntStream.range(0, rowType.getFieldCount()).toArray());
+        this.partitionProjection =
+                partitionBucketNumbers == null
+                        ? null
+                        : CodeGenUtils.newProjection(rowType, partitionKeys);
         this.bucketProjection = CodeGenUtils.newProjection(rowType, bucketKeys);
         this.pkProjection = CodeGenUtils.newProjection(rowType, primaryKeys);
     }
@@ -69,10 +96,14 @@ public class BucketComputer {
 
     public int bucket(InternalRow row) {
         int hashcode = hashBucketKey(row);
+        int numBucket =
+                partitionProjection == null
+                        ? this.numBucket
+                        : partitionBucketNumbers.numBuckets(partitionProjection.apply(row));
         return bucket(hashcode, numBucket);
     }
 
-    public int bucket(InternalRow row, BinaryRow pk) {
+    public int bucket(InternalRow row, BinaryRow pk, int numBucket) {
         int hashcode = hashBucketKey(row, pk);
         return bucket(hashcode, numBucket);
     }
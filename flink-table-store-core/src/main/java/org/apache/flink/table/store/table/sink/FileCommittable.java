@@ -29,16 +29,19 @@ public class FileCommittable {
 
     private final BinaryRow partition;
     private final int bucket;
+    private final int totalBuckets;
     private final NewFilesIncrement newFilesIncrement;
     private final CompactIncrement compactIncrement;
 
     public FileCommittable(
             BinaryRow partition,
             int bucket,
+            int totalBuckets,
             NewFilesIncrement newFilesIncrement,
             CompactIncrement compactIncrement) {
         this.partition = partition;
         this.bucket = bucket;
+        this.totalBuckets = totalBuckets;
         this.newFilesIncrement = newFilesIncrement;
         this.compactIncrement = compactIncrement;
     }
@@ -51,6 +54,11 @@ public class FileCommittable {
         return bucket;
     }
 
+    /** Returns the number of buckets of the partition which the files are written with. */
+    public int totalBuckets() {
+        return totalBuckets;
+    }
+
     public NewFilesIncrement newFilesIncrement() {
         return newFilesIncrement;
     }
@@ -74,6 +82,7 @@ public class FileCommittable {
 
         FileCommittable that = (FileCommittable) o;
         return bucket == that.bucket
+                && totalBuckets == that.totalBuckets
                 && Objects.equals(partition, that.partition)
                 && Objects.equals(newFilesIncrement, that.newFilesIncrement)
                 && Objects.equals(compactIncrement, that.compactIncrement);
@@ -81,7 +90,7 @@ public class FileCommittable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(partition, bucket, newFilesIncrement, compactIncrement);
+        return Objects.hash(partition, bucket, totalBuckets, newFilesIncrement, compactIncrement);
     }
 
     @Override
@@ -90,8 +99,9 @@ public class FileCommittable {
                 "FileCommittable {"
                         + "partition = %s, "
                         + "bucket = %d, "
+                        + "totalBuckets = %d, "
                         + "newFilesIncrement = %s, "
                         + "compactIncrement = %s}",
-                partition, bucket, newFilesIncrement, compactIncrement);
+                partition, bucket, totalBuckets, newFilesIncrement, compactIncrement);
     }
 }
@@ -38,7 +38,7 @@ import static org.apache.flink.table.store.file.utils.SerializationUtils.seriali
 /** {@link SimpleVersionedSerializer} for {@link FileCommittable}. */
 public class FileCommittableSerializer implements SimpleVersionedSerializer<FileCommittable> {
 
-    private static final int CURRENT_VERSION = 2;
+    private static final int CURRENT_VERSION = 3;
 
     private final DataFileMetaSerializer dataFileSerializer;
 
@@ -69,6 +69,7 @@ public class FileCommittableSerializer implements SimpleVersionedSerializer<File
     private void serialize(FileCommittable obj, DataOutputView view) throws IOException {
         serializeBinaryRow(obj.partition(), view);
         view.writeInt(obj.bucket());
+        view.writeInt(obj.totalBuckets());
         dataFileSerializer.serializeList(obj.newFilesIncrement().newFiles(), view);
         dataFileSerializer.serializeList(obj.newFilesIncrement().changelogFiles(), view);
         dataFileSerializer.serializeList(obj.compactIncrement().compactBefore(), view);
@@ -110,6 +111,7 @@ public class FileCommittableSerializer implements SimpleVersionedSerializer<File
         return new FileCommittable(
                 deserializeBinaryRow(view),
                 view.readInt(),
+                view.readInt(),
                 new NewFilesIncrement(
                         dataFileSerializer.deserializeList(view),
                         dataFileSerializer.deserializeList(view)),
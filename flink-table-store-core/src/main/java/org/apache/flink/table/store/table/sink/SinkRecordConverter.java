@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table.sink;
 
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.codegen.CodeGenUtils;
 import org.apache.flink.table.store.codegen.Projection;
 import org.apache.flink.table.store.data.BinaryRow;
@@ -28,11 +29,13 @@ import org.apache.flink.table.store.types.RowType;
 import javax.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.function.ToIntFunction;
 
 /** Converter for converting {@link InternalRow} to {@link SinkRecord}. */
 public class SinkRecordConverter {
 
     private final BucketComputer bucketComputer;
+    private final ToIntFunction<BinaryRow> partitionNumBuckets;
 
     private final Projection partProjection;
 
@@ -41,12 +44,22 @@ public class SinkRecordConverter {
     @Nullable private final Projection logPkProjection;
 
     public SinkRecordConverter(TableSchema tableSchema) {
+        this(tableSchema, tableNumBuckets(tableSchema));
+    }
+
+    /**
+     * Creates a converter which assigns the records of a partition to buckets with the bucket
+     * number given by {@code partitionNumBuckets}.
+     */
+    public SinkRecordConverter(
+            TableSchema tableSchema, ToIntFunction<BinaryRow> partitionNumBuckets) {
         this(
                 tableSchema.logicalRowType(),
                 tableSchema.projection(tableSchema.partitionKeys()),
                 tableSchema.projection(tableSchema.trimmedPrimaryKeys()),
                 tableSchema.projection(tableSchema.primaryKeys()),
-                new BucketComputer(tableSchema));
+                new BucketComputer(tableSchema),
+                partitionNumBuckets);
     }
 
     private SinkRecordConverter(
@@ -54,8 +67,10 @@ public class SinkRecordConverter {
             int[] partitions,
             int[] primaryKeys,
             int[] logPrimaryKeys,
-            BucketComputer bucketComputer) {
+            BucketComputer bucketComputer,
+            ToIntFunction<BinaryRow> partitionNumBuckets) {
         this.bucketComputer = bucketComputer;
+        this.partitionNumBuckets = partitionNumBuckets;
         this.partProjection = CodeGenUtils.newProjection(inputType, partitions);
         this.pkProjection = CodeGenUtils.newProjection(inputType, primaryKeys);
         this.logPkProjection =
@@ -64,10 +79,16 @@ public class SinkRecordConverter {
                         : CodeGenUtils.newProjection(inputType, logPrimaryKeys);
     }
 
+    private static ToIntFunction<BinaryRow> tableNumBuckets(TableSchema tableSchema) {
+        int numBuckets = new CoreOptions(tableSchema.options()).bucket();
+        return partition -> numBuckets;
+    }
+
     public SinkRecord convert(InternalRow row) {
         BinaryRow partition = partProjection.apply(row);
         BinaryRow primaryKey = primaryKey(row);
-        int bucket = bucketComputer.bucket(row, primaryKey);
+        int bucket =
+                bucketComputer.bucket(row, primaryKey, partitionNumBuckets.applyAsInt(partition));
         return new SinkRecord(partition, bucket, primaryKey, row);
     }
 
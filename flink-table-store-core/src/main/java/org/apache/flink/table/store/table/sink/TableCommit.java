@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.table.sink;
 
 import org.apache.flink.table.store.file.manifest.ManifestCommittable;
+import org.apache.flink.table.store.file.operation.ExpireMetrics;
 import org.apache.flink.table.store.file.operation.FileStoreCommit;
 import org.apache.flink.table.store.file.operation.FileStoreExpire;
 import org.apache.flink.table.store.file.operation.Lock;
@@ -66,6 +67,15 @@ public class TableCommit implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Overwrites the partitions based on the given snapshot, see {@link
+     * FileStoreCommit#withOverwriteBaseSnapshot}.
+     */
+    public TableCommit withOverwriteBaseSnapshot(@Nullable Long snapshotId) {
+        commit.withOverwriteBaseSnapshot(snapshotId);
+        return this;
+    }
+
     public TableCommit withLock(Lock lock) {
         commit.withLock(lock);
 
@@ -129,8 +139,15 @@ public class TableCommit implements AutoCloseable {
         }
     }
 
+    /** Metrics of snapshot expiration, null if snapshots are not expired by this commit. */
+    @Nullable
+    public ExpireMetrics expireMetrics() {
+        return expire == null ? null : expire.metrics();
+    }
+
     @Override
     public void close() throws Exception {
+        commit.close();
         if (lock != null) {
             lock.close();
         }
@@ -21,9 +21,13 @@ package org.apache.flink.table.store.table.sink;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.disk.IOManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 /**
@@ -54,5 +58,14 @@ public interface TableWrite extends AutoCloseable {
 
     List<FileCommittable> prepareCommit(boolean blocking, long commitIdentifier) throws Exception;
 
+    /** Metrics of the compaction tasks submitted by this write. */
+    @Internal
+    CompactionMetrics compactionMetrics();
+
+    /** Metrics of the adaptive compaction triggers, null if they are not enabled. */
+    @Internal
+    @Nullable
+    CompactionPressureMetrics compactionPressureMetrics();
+
     void close() throws Exception;
 }
@@ -20,10 +20,14 @@ package org.apache.flink.table.store.table.sink;
 
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactionMetrics;
+import org.apache.flink.table.store.file.compact.CompactionPressureMetrics;
 import org.apache.flink.table.store.file.disk.IOManager;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.operation.FileStoreWrite;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 /**
@@ -87,6 +91,17 @@ public class TableWriteImpl<T> implements TableWrite {
         return write.prepareCommit(blocking, commitIdentifier);
     }
 
+    @Override
+    public CompactionMetrics compactionMetrics() {
+        return write.compactionMetrics();
+    }
+
+    @Nullable
+    @Override
+    public CompactionPressureMetrics compactionPressureMetrics() {
+        return write.compactionPressureMetrics();
+    }
+
     @Override
     public void close() throws Exception {
         write.close();
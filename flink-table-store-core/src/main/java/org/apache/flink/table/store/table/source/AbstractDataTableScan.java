@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntPredicate;
 
 import static org.apache.flink.table.store.file.predicate.PredicateBuilder.transformFieldMapping;
 
@@ -47,6 +48,7 @@ public abstract class AbstractDataTableScan implements DataTableScan {
     private final FileStoreScan scan;
     private final TableSchema tableSchema;
     private final FileStorePathFactory pathFactory;
+    private final SnapshotManager snapshotManager;
     private final CoreOptions options;
 
     private ScanKind scanKind = ScanKind.ALL;
@@ -56,11 +58,13 @@ public abstract class AbstractDataTableScan implements DataTableScan {
             FileStoreScan scan,
             TableSchema tableSchema,
             FileStorePathFactory pathFactory,
+            SnapshotManager snapshotManager,
             CoreOptions options) {
         this.fileIO = fileIO;
         this.scan = scan;
         this.tableSchema = tableSchema;
         this.pathFactory = pathFactory;
+        this.snapshotManager = snapshotManager;
         this.options = options;
     }
 
@@ -111,6 +115,18 @@ public abstract class AbstractDataTableScan implements DataTableScan {
         return this;
     }
 
+    @Override
+    public AbstractDataTableScan withLevelFilter(IntPredicate levelFilter) {
+        scan.withLevelFilter(levelFilter);
+        return this;
+    }
+
+    @Override
+    public AbstractDataTableScan withBucketFilter(IntPredicate bucketFilter) {
+        scan.withBucketFilter(bucketFilter);
+        return this;
+    }
+
     @VisibleForTesting
     public AbstractDataTableScan withBucket(int bucket) {
         scan.withBucket(bucket);
@@ -138,7 +154,6 @@ public abstract class AbstractDataTableScan implements DataTableScan {
         FileStoreScan.Plan plan = scan.plan();
         long snapshotId = plan.snapshotId();
 
-        SnapshotManager snapshotManager = new SnapshotManager(fileIO, pathFactory.root());
         Snapshot snapshot = snapshotManager.snapshot(snapshotId);
         if (snapshot.commitKind() != Snapshot.CommitKind.OVERWRITE) {
             throw new IllegalStateException(
@@ -217,6 +232,6 @@ public abstract class AbstractDataTableScan implements DataTableScan {
     }
 
     public SnapshotManager snapshotManager() {
-        return new SnapshotManager(fileIO, pathFactory.root());
+        return snapshotManager;
     }
 }
@@ -25,6 +25,7 @@ import org.apache.flink.table.store.file.predicate.Predicate;
 import javax.annotation.Nullable;
 
 import java.util.List;
+import java.util.function.IntPredicate;
 
 /** A {@link TableScan} for reading data. */
 public interface DataTableScan extends TableScan {
@@ -35,6 +36,15 @@ public interface DataTableScan extends TableScan {
 
     DataTableScan withLevel(int level);
 
+    /** Only reads the files whose levels are accepted by the given filter. */
+    DataTableScan withLevelFilter(IntPredicate levelFilter);
+
+    /**
+     * Only reads the buckets accepted by the given filter, see {@link
+     * org.apache.flink.table.store.file.operation.FileStoreScan#withBucketFilter}.
+     */
+    DataTableScan withBucketFilter(IntPredicate bucketFilter);
+
     @Override
     DataTableScan withFilter(Predicate predicate);
 
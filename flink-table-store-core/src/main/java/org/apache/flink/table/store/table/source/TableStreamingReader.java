@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.IntPredicate;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
 
@@ -53,6 +54,18 @@ public class TableStreamingReader {
 
     public TableStreamingReader(
             FileStoreTable table, int[] projection, @Nullable Predicate predicate) {
+        this(table, projection, predicate, null);
+    }
+
+    /**
+     * Creates a reader which only reads the buckets accepted by the given bucket filter, or all
+     * buckets if it is null.
+     */
+    public TableStreamingReader(
+            FileStoreTable table,
+            int[] projection,
+            @Nullable Predicate predicate,
+            @Nullable IntPredicate bucketFilter) {
         this.table = table;
         this.projection = projection;
         this.predicate = predicate;
@@ -86,6 +99,9 @@ public class TableStreamingReader {
         if (predicate != null) {
             scan.withFilter(predicate);
         }
+        if (bucketFilter != null) {
+            scan.withBucketFilter(bucketFilter);
+        }
         enumerator = ContinuousDataFileSnapshotEnumerator.createWithSnapshotStarting(table, scan);
     }
 
@@ -27,7 +27,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * {@link FollowUpScanner} for {@link
- * org.apache.flink.table.store.CoreOptions.ChangelogProducer#FULL_COMPACTION} changelog producer.
+ * org.apache.flink.table.store.CoreOptions.ChangelogProducer#FULL_COMPACTION} and {@link
+ * org.apache.flink.table.store.CoreOptions.ChangelogProducer#LOOKUP} changelog producers.
  */
 public class CompactionChangelogFollowUpScanner implements FollowUpScanner {
 
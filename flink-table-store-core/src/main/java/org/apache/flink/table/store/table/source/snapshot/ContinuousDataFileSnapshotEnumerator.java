@@ -37,6 +37,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 
 import static org.apache.flink.table.store.CoreOptions.ChangelogProducer.FULL_COMPACTION;
+import static org.apache.flink.table.store.CoreOptions.ChangelogProducer.LOOKUP;
 
 /** {@link SnapshotEnumerator} for streaming read. */
 public class ContinuousDataFileSnapshotEnumerator implements SnapshotEnumerator {
@@ -187,6 +188,11 @@ public class ContinuousDataFileSnapshotEnumerator implements SnapshotEnumerator
             // this change in scan will affect both starting scanner and follow-up scanner
             scan.withLevel(table.options().numLevels() - 1);
             return new CompactionChangelogFollowUpScanner();
+        } else if (changelogProducer == CoreOptions.ChangelogProducer.LOOKUP) {
+            // level 0 files are not produced as changelog yet, they will be read from the
+            // changelog of following compactions
+            scan.withLevelFilter(level -> level > 0);
+            return new CompactionChangelogFollowUpScanner();
         } else {
             throw new UnsupportedOperationException(
                     "Unknown changelog producer " + changelogProducer.name());
@@ -205,11 +211,12 @@ public class ContinuousDataFileSnapshotEnumerator implements SnapshotEnumerator
                 };
         if (schema.primaryKeys().size() > 0
                 && mergeEngineDesc.containsKey(mergeEngine)
-                && options.changelogProducer() != FULL_COMPACTION) {
+                && options.changelogProducer() != FULL_COMPACTION
+                && options.changelogProducer() != LOOKUP) {
             throw new RuntimeException(
                     mergeEngineDesc.get(mergeEngine)
                             + " continuous reading is not supported. "
-                            + "You can use full compaction changelog producer to support streaming reading.");
+                            + "You can use full compaction or lookup changelog producer to support streaming reading.");
         }
     }
 
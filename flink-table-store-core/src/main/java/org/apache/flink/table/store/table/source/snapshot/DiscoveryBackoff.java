@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table.source.snapshot;
+
+import org.apache.flink.table.store.CoreOptions;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static org.apache.flink.table.store.utils.Preconditions.checkArgument;
+
+/**
+ * Decides at which ticks of the discovery interval a continuous reader looks for new snapshots.
+ *
+ * <p>While no new snapshot is found, the number of ticks between two discoveries is doubled up to
+ * {@link CoreOptions#CONTINUOUS_DISCOVERY_INTERVAL_MAX}, so that idle tables are rarely accessed.
+ * Once a snapshot is found, or the {@link SnapshotNotifier} reports one, every tick discovers
+ * again.
+ *
+ * <p>NOTE: This class is not thread safe, it must be called by the thread enumerating snapshots.
+ */
+public class DiscoveryBackoff implements Closeable {
+
+    @Nullable private final SnapshotNotifier notifier;
+    private final long maxIntervalTicks;
+
+    private long intervalTicks;
+    private long skippedTicks;
+
+    public DiscoveryBackoff(long maxIntervalTicks, @Nullable SnapshotNotifier notifier) {
+        checkArgument(maxIntervalTicks > 0, "Max interval ticks must be positive.");
+        this.notifier = notifier;
+        this.maxIntervalTicks = maxIntervalTicks;
+        this.intervalTicks = 1;
+        this.skippedTicks = 0;
+    }
+
+    /** Called at every tick, returns true if snapshots should be enumerated at this tick. */
+    public boolean shouldDiscover() {
+        // always ask the notifier, so that old notifications are consumed
+        boolean notified = notifier != null && notifier.hasNewSnapshots();
+        if (notified || skippedTicks + 1 >= intervalTicks) {
+            skippedTicks = 0;
+            return true;
+        }
+        skippedTicks++;
+        return false;
+    }
+
+    /** Called after enumerating snapshots. */
+    public void onDiscovered(boolean found) {
+        intervalTicks = found ? 1 : Math.min(intervalTicks * 2, maxIntervalTicks);
+    }
+
+    /** Current number of ticks between two discoveries. */
+    public long intervalTicks() {
+        return intervalTicks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (notifier != null) {
+            notifier.close();
+        }
+    }
+
+    /** Creates a {@link DiscoveryBackoff} from the continuous discovery options. */
+    public static DiscoveryBackoff create(
+            CoreOptions options, @Nullable SnapshotNotifier notifier) {
+        long interval = options.continuousDiscoveryInterval().toMillis();
+        long maxInterval = options.continuousDiscoveryIntervalMax().toMillis();
+        checkArgument(
+                maxInterval >= interval,
+                "%s must not be smaller than %s.",
+                CoreOptions.CONTINUOUS_DISCOVERY_INTERVAL_MAX.key(),
+                CoreOptions.CONTINUOUS_DISCOVERY_INTERVAL.key());
+        return new DiscoveryBackoff(maxInterval / interval, notifier);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table.source.snapshot;
+
+import org.apache.flink.table.store.fs.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import static org.apache.flink.table.store.file.utils.SnapshotManager.SNAPSHOT_PREFIX;
+
+/**
+ * A {@link SnapshotNotifier} watching the snapshot directory of a table on the local file system
+ * with a {@link WatchService}.
+ *
+ * <p>The snapshot directory may not exist before the first commit, so it is registered lazily. A
+ * successful registration is reported as a notification, because snapshots may have been committed
+ * before.
+ */
+public class LocalSnapshotWatcher implements SnapshotNotifier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalSnapshotWatcher.class);
+
+    private final java.nio.file.Path snapshotDir;
+    private final WatchService watchService;
+
+    @Nullable private WatchKey watchKey;
+
+    public LocalSnapshotWatcher(Path snapshotDir) throws IOException {
+        this.snapshotDir = new File(snapshotDir.toUri().getPath()).toPath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    public static boolean isSupported(Path path) {
+        String scheme = path.toUri().getScheme();
+        if (scheme == null || "file".equals(scheme)) {
+            return true;
+        }
+        LOG.warn(
+                "File system watch is not supported for {}, fall back to polling snapshots.", path);
+        return false;
+    }
+
+    @Override
+    public boolean hasNewSnapshots() {
+        if (watchKey == null) {
+            return tryRegister();
+        }
+
+        boolean changed = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // OVERFLOW events have no context, events might have been lost
+                Object context = event.context();
+                if (context == null || context.toString().startsWith(SNAPSHOT_PREFIX)) {
+                    changed = true;
+                }
+            }
+            if (!key.reset()) {
+                // the directory is no longer accessible, register again at next call
+                watchKey = null;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean tryRegister() {
+        try {
+            // snapshot files are renamed into place and never modified
+            watchKey = snapshotDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+            return true;
+        } catch (IOException e) {
+            LOG.debug("Cannot watch snapshot directory {} yet.", snapshotDir, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
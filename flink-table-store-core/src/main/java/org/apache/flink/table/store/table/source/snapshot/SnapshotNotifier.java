@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table.source.snapshot;
+
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.fs.FileIO;
+import org.apache.flink.table.store.fs.Path;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Notifies continuous readers of new snapshots, so that they do not need to check the file system
+ * for the next snapshot when nothing has been committed.
+ *
+ * <p>Notifications are hints: readers still look for new snapshots at a backed off interval (see
+ * {@link DiscoveryBackoff}) in case a notification is lost.
+ */
+public interface SnapshotNotifier extends Closeable {
+
+    /**
+     * Returns true if a snapshot may have been committed since the last call. This is called at
+     * every discovery interval and must be cheap.
+     */
+    boolean hasNewSnapshots();
+
+    /**
+     * Creates the notifier configured by {@link CoreOptions#CONTINUOUS_DISCOVERY_NOTIFIER}, returns
+     * null if no notifier is configured or the file system of the table is not supported.
+     */
+    @Nullable
+    static SnapshotNotifier create(FileIO fileIO, Path tablePath, CoreOptions options)
+            throws IOException {
+        switch (options.continuousDiscoveryNotifier()) {
+            case NONE:
+                return null;
+            case FILESYSTEM_WATCH:
+                Path snapshotDir = new SnapshotManager(fileIO, tablePath).snapshotDirectory();
+                return LocalSnapshotWatcher.isSupported(snapshotDir)
+                        ? new LocalSnapshotWatcher(snapshotDir)
+                        : null;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported discovery notifier: " + options.continuousDiscoveryNotifier());
+        }
+    }
+}
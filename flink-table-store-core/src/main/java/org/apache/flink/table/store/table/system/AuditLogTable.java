@@ -50,6 +50,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.catalog.Catalog.SYSTEM_TABLE_SPLITTER;
@@ -176,6 +177,18 @@ public class AuditLogTable implements DataTable {
             return this;
         }
 
+        @Override
+        public DataTableScan withLevelFilter(IntPredicate levelFilter) {
+            dataScan.withLevelFilter(levelFilter);
+            return this;
+        }
+
+        @Override
+        public DataTableScan withBucketFilter(IntPredicate bucketFilter) {
+            dataScan.withBucketFilter(bucketFilter);
+            return this;
+        }
+
         @Override
         public DataTableScan.DataFilePlan plan() {
             return dataScan.plan();
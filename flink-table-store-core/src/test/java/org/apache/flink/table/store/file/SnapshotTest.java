@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file;
+
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link Snapshot}. */
+public class SnapshotTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testBinaryFormat() {
+        Map<Integer, Long> logOffsets = new HashMap<>();
+        logOffsets.put(0, 10L);
+        logOffsets.put(3, 42L);
+        Snapshot withChangelog =
+                new Snapshot(
+                        5,
+                        1,
+                        "base",
+                        "delta",
+                        "changelog",
+                        "user",
+                        Long.MAX_VALUE,
+                        Snapshot.CommitKind.COMPACT,
+                        123456789L,
+                        logOffsets);
+        Snapshot withoutChangelog =
+                new Snapshot(
+                        6,
+                        1,
+                        "base",
+                        "delta",
+                        null,
+                        "user",
+                        7,
+                        Snapshot.CommitKind.APPEND,
+                        123456790L,
+                        Collections.emptyMap());
+
+        for (Snapshot snapshot : new Snapshot[] {withChangelog, withoutChangelog}) {
+            byte[] binary = snapshot.toBinary();
+            byte[] json = snapshot.toBytes(CoreOptions.SnapshotFormat.JSON);
+            assertThat(binary.length).isLessThan(json.length);
+            assertThat(Snapshot.fromBytes(binary).toJson()).isEqualTo(snapshot.toJson());
+            assertThat(Snapshot.fromBytes(json).toJson()).isEqualTo(snapshot.toJson());
+        }
+    }
+
+    @Test
+    public void testFromPath() throws Exception {
+        LocalFileIO fileIO = LocalFileIO.create();
+        Snapshot snapshot =
+                new Snapshot(
+                        1,
+                        0,
+                        "base",
+                        "delta",
+                        null,
+                        "user",
+                        1,
+                        Snapshot.CommitKind.APPEND,
+                        1000L,
+                        Collections.emptyMap());
+
+        for (CoreOptions.SnapshotFormat format : CoreOptions.SnapshotFormat.values()) {
+            Path path = new Path(tempDir.toString(), "snapshot-" + format);
+            assertThat(fileIO.writeFileBytes(path, snapshot.toBytes(format))).isTrue();
+            assertThat(Snapshot.fromPath(fileIO, path).toJson()).isEqualTo(snapshot.toJson());
+        }
+    }
+}
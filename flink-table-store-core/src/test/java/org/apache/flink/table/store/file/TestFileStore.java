@@ -55,6 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -125,11 +126,17 @@ public class TestFileStore extends KeyValueFileStore {
 
     public FileStoreExpireImpl newExpire(
             int numRetainedMin, int numRetainedMax, long millisRetained) {
+        return newExpire(numRetainedMin, numRetainedMax, millisRetained, 1);
+    }
+
+    public FileStoreExpireImpl newExpire(
+            int numRetainedMin, int numRetainedMax, long millisRetained, int deleteThreadNum) {
         return new FileStoreExpireImpl(
                 fileIO,
                 numRetainedMin,
                 numRetainedMax,
                 millisRetained,
+                deleteThreadNum,
                 pathFactory(),
                 snapshotManager(),
                 manifestFileFactory(),
@@ -231,6 +238,7 @@ public class TestFileStore extends KeyValueFileStore {
                         new FileCommittable(
                                 entryWithPartition.getKey(),
                                 entryWithBucket.getKey(),
+                                options().bucket(),
                                 increment.newFilesIncrement(),
                                 increment.compactIncrement()));
             }
@@ -449,6 +457,16 @@ public class TestFileStore extends KeyValueFileStore {
         // snapshot file
         result.add(snapshotPath);
 
+        // hint of the commit user, which is kept as long as the user has a snapshot
+        Path userHintPath = snapshotManager.userHintPath(snapshot.commitUser());
+        try {
+            if (fileIO.exists(userHintPath)) {
+                result.add(userHintPath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
         // manifest lists
         result.add(pathFactory.toManifestListPath(snapshot.baseManifestList()));
         result.add(pathFactory.toManifestListPath(snapshot.deltaManifestList()));
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.compact;
+
+import org.apache.flink.table.store.file.utils.ExecutorThreadFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link CompactExecutor}. */
+public class CompactExecutorTest {
+
+    private CompactExecutor executor;
+
+    @BeforeEach
+    public void before() {
+        executor = new CompactExecutor(2, new ExecutorThreadFactory("compact-executor-test"));
+    }
+
+    @AfterEach
+    public void after() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Test
+    public void testConcurrentCompactions() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                started.countDown();
+                                finish.await();
+                                return null;
+                            }));
+        }
+
+        // two tasks run concurrently, the third one is queued
+        assertThat(started.await(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(executor.runningCompactions()).isEqualTo(2);
+        assertThat(executor.queueDepth()).isEqualTo(1);
+        assertThat(executor.completedCompactions()).isEqualTo(0);
+
+        finish.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(executor.queueDepth()).isEqualTo(0);
+        assertThat(executor.completedCompactions()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCompactionDuration() throws Exception {
+        executor.submit(() -> sleep(50)).get();
+        executor.submit(() -> sleep(10)).get();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(executor.completedCompactions()).isEqualTo(2);
+        assertThat(executor.maxCompactionDurationMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(executor.lastCompactionDurationMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(executor.avgCompactionDurationMillis()).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    public void testCancelledCompactionNotCounted() throws Exception {
+        CountDownLatch finish = new CountDownLatch(1);
+        List<Future<?>> blocking = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            blocking.add(
+                    executor.submit(
+                            () -> {
+                                finish.await();
+                                return null;
+                            }));
+        }
+        Future<?> queued = executor.submit(() -> {});
+        assertThat(queued.cancel(false)).isTrue();
+
+        finish.countDown();
+        for (Future<?> future : blocking) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(executor.completedCompactions()).isEqualTo(2);
+    }
+
+    private static Void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return null;
+    }
+}
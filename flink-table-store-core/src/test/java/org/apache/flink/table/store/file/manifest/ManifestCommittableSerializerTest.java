@@ -72,7 +72,7 @@ public class ManifestCommittableSerializerTest {
             NewFilesIncrement newFilesIncrement = randomNewFilesIncrement();
             CompactIncrement compactIncrement = randomCompactIncrement();
             FileCommittable fileCommittable =
-                    new FileCommittable(partition, bucket, newFilesIncrement, compactIncrement);
+                    new FileCommittable(partition, bucket, 2, newFilesIncrement, compactIncrement);
             fileCommittables.add(fileCommittable);
             committable.addFileCommittable(fileCommittable);
         }
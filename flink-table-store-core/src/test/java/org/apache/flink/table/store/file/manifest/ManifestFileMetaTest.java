@@ -150,7 +150,8 @@ public class ManifestFileMetaTest {
                                 PARTITION_TYPE,
                                 "default",
                                 CoreOptions.FILE_FORMAT.defaultValue()),
-                        Long.MAX_VALUE)
+                        Long.MAX_VALUE,
+                        null)
                 .create();
     }
 
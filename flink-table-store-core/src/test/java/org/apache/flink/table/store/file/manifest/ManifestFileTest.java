@@ -19,6 +19,7 @@
 package org.apache.flink.table.store.file.manifest;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.stats.StatsTestUtils;
@@ -30,9 +31,15 @@ import org.apache.flink.table.store.fs.FileIOFinder;
 import org.apache.flink.table.store.fs.Path;
 import org.apache.flink.table.store.fs.local.LocalFileIO;
 
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheStats;
+
 import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.annotation.Nullable;
+
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,6 +49,7 @@ import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.TestKeyValueGenerator.DEFAULT_PART_TYPE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Tests for {@link ManifestFile}. */
 public class ManifestFileTest {
@@ -83,6 +91,77 @@ public class ManifestFileTest {
         }
     }
 
+    @RepeatedTest(10)
+    public void testReadWithFilter() {
+        List<ManifestEntry> entries = generateData();
+        ManifestFile manifestFile = createManifestFile(tempDir.toString());
+        List<ManifestFileMeta> metas = manifestFile.write(entries);
+
+        ManifestEntry target = entries.get(ThreadLocalRandom.current().nextInt(entries.size()));
+        ManifestEntryFilter filter =
+                (partition, bucket, totalBuckets, level) ->
+                        partition.equals(target.partition()) && bucket == target.bucket();
+        List<ManifestEntry> actualEntries =
+                metas.stream()
+                        .flatMap(m -> manifestFile.read(m.fileName(), filter).stream())
+                        .collect(Collectors.toList());
+        assertThat(actualEntries)
+                .isEqualTo(entries.stream().filter(filter::test).collect(Collectors.toList()))
+                .contains(target);
+    }
+
+    @Test
+    public void testReadWithCache() {
+        ManifestEntryCache cache = ManifestEntryCache.getOrCreate(MemorySize.ofMebiBytes(64));
+        List<ManifestEntry> entries = generateData();
+        ManifestFile manifestFile = createManifestFile(tempDir.toString(), cache);
+        List<ManifestFileMeta> metas = manifestFile.write(entries);
+
+        CacheStats before = cache.stats();
+        List<ManifestEntry> actualEntries = readAll(manifestFile, metas);
+        assertThat(actualEntries).isEqualTo(entries);
+        assertThat(cache.stats().minus(before).missCount()).isEqualTo(metas.size());
+
+        before = cache.stats();
+        actualEntries = readAll(manifestFile, metas);
+        assertThat(actualEntries).isEqualTo(entries);
+        assertThat(cache.stats().minus(before).hitCount()).isEqualTo(metas.size());
+        assertThat(cache.hitCount()).isEqualTo(cache.stats().hitCount());
+        assertThat(cache.cachedManifests()).isGreaterThanOrEqualTo(metas.size());
+
+        // deleted files are removed from cache
+        metas.forEach(m -> manifestFile.delete(m.fileName()));
+        assertThatThrownBy(() -> manifestFile.read(metas.get(0).fileName()))
+                .hasRootCauseInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    public void testCacheEviction() {
+        // every list is heavier than the maximum weight, so it is evicted right after loading
+        ManifestEntryCache cache = ManifestEntryCache.getOrCreate(new MemorySize(1));
+        ManifestFile manifestFile = createManifestFile(tempDir.toString(), cache);
+        List<ManifestFileMeta> metas = manifestFile.write(generateData());
+
+        CacheStats before = cache.stats();
+        readAll(manifestFile, metas);
+        readAll(manifestFile, metas);
+        CacheStats stats = cache.stats().minus(before);
+        assertThat(stats.hitCount()).isEqualTo(0);
+        assertThat(stats.missCount()).isEqualTo(2L * metas.size());
+        assertThat(stats.evictionCount()).isEqualTo(2L * metas.size());
+
+        ManifestCacheMetrics metrics = cache;
+        assertThat(metrics.missCount()).isEqualTo(cache.stats().missCount());
+        assertThat(metrics.evictionCount()).isEqualTo(cache.stats().evictionCount());
+        assertThat(metrics.cachedManifests()).isEqualTo(0);
+    }
+
+    private List<ManifestEntry> readAll(ManifestFile manifestFile, List<ManifestFileMeta> metas) {
+        return metas.stream()
+                .flatMap(m -> manifestFile.read(m.fileName()).stream())
+                .collect(Collectors.toList());
+    }
+
     private List<ManifestEntry> generateData() {
         List<ManifestEntry> entries = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
@@ -92,6 +171,10 @@ public class ManifestFileTest {
     }
 
     private ManifestFile createManifestFile(String pathStr) {
+        return createManifestFile(pathStr, null);
+    }
+
+    private ManifestFile createManifestFile(String pathStr, @Nullable ManifestEntryCache cache) {
         Path path = new Path(pathStr);
         FileStorePathFactory pathFactory =
                 new FileStorePathFactory(
@@ -105,7 +188,8 @@ public class ManifestFileTest {
                         DEFAULT_PART_TYPE,
                         avro,
                         pathFactory,
-                        suggestedFileSize)
+                        suggestedFileSize,
+                        cache)
                 .create();
     }
 
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.format.FlushingFileFormat;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.io.KeyValueFileReaderFactory;
+import org.apache.flink.table.store.file.io.KeyValueFileWriterFactory;
+import org.apache.flink.table.store.file.io.RollingFileWriter;
+import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
+import org.apache.flink.table.store.file.schema.TableSchema;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.format.FileFormat;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.table.SchemaEvolutionTableTestBase;
+import org.apache.flink.table.store.types.DataField;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowKind;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link LookupLevels}. */
+public class LookupLevelsTest {
+
+    private static final RowType KEY_TYPE =
+            new RowType(singletonList(new DataField(0, "k", new IntType())));
+    private static final RowType VALUE_TYPE =
+            new RowType(singletonList(new DataField(1, "v", new IntType())));
+
+    @TempDir java.nio.file.Path tempDir;
+    @TempDir java.nio.file.Path localDir;
+
+    private final Comparator<InternalRow> comparator = Comparator.comparingInt(o -> o.getInt(0));
+
+    private KeyValueFileReaderFactory readerFactory;
+    private KeyValueFileWriterFactory writerFactory;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        Path path = new Path(tempDir.toString());
+        FileStorePathFactory pathFactory = new FileStorePathFactory(path);
+        FileFormat format = new FlushingFileFormat("avro");
+        TableSchema schema =
+                new TableSchema(
+                        0,
+                        new ArrayList<>(),
+                        -1,
+                        new ArrayList<>(),
+                        new ArrayList<>(),
+                        new HashMap<>(),
+                        "");
+        Map<Long, TableSchema> schemas = new HashMap<>();
+        schemas.put(schema.id(), schema);
+
+        readerFactory =
+                KeyValueFileReaderFactory.builder(
+                                LocalFileIO.create(),
+                                new SchemaEvolutionTableTestBase.TestingSchemaManager(
+                                        path, schemas),
+                                0,
+                                KEY_TYPE,
+                                VALUE_TYPE,
+                                ignore -> format,
+                                pathFactory,
+                                new KeyValueFieldsExtractor() {
+                                    @Override
+                                    public List<DataField> keyFields(TableSchema schema) {
+                                        return KEY_TYPE.getFields();
+                                    }
+
+                                    @Override
+                                    public List<DataField> valueFields(TableSchema schema) {
+                                        return VALUE_TYPE.getFields();
+                                    }
+                                })
+                        .build(BinaryRow.EMPTY_ROW, 0);
+        writerFactory =
+                KeyValueFileWriterFactory.builder(
+                                LocalFileIO.create(),
+                                0,
+                                KEY_TYPE,
+                                VALUE_TYPE,
+                                format,
+                                pathFactory,
+                                1024 * 1024)
+                        .build(BinaryRow.EMPTY_ROW, 0);
+        LocalFileIO.create().mkdirs(writerFactory.pathFactory().toPath("ignore").getParent());
+    }
+
+    @Test
+    public void testLookupFromLevels() throws Exception {
+        DataFileMeta level1 = writeFile(1, 1, 11, 3, 13);
+        DataFileMeta level2 = writeFile(2, 1, 21, 2, 22);
+        Levels levels = new Levels(comparator, Arrays.asList(level1, level2), 3);
+
+        try (LookupLevels lookupLevels = createLookupLevels(levels, Long.MAX_VALUE)) {
+            // records are returned from the oldest to the newest
+            assertThat(lookup(lookupLevels, 1, 1)).containsExactly("1:21", "1:11");
+            assertThat(lookup(lookupLevels, 1, 2)).containsExactly("1:21");
+            assertThat(lookup(lookupLevels, 2, 1)).containsExactly("2:22");
+            assertThat(lookup(lookupLevels, 3, 2)).isEmpty();
+            assertThat(lookup(lookupLevels, 4, 1)).isEmpty();
+            assertThat(localFiles()).hasSize(2);
+        }
+        assertThat(localFiles()).isEmpty();
+    }
+
+    @Test
+    public void testLookupManyKeys() throws Exception {
+        // large enough to span multiple blocks, odd keys only
+        int[] first = new int[4000];
+        int[] second = new int[4000];
+        for (int i = 0; i < 2000; i++) {
+            first[i * 2] = i * 2 + 1;
+            first[i * 2 + 1] = i;
+            second[i * 2] = 4000 + i * 2 + 1;
+            second[i * 2 + 1] = -i;
+        }
+        Levels levels =
+                new Levels(comparator, Arrays.asList(writeFile(1, first), writeFile(1, second)), 3);
+
+        try (LookupLevels lookupLevels = createLookupLevels(levels, Long.MAX_VALUE)) {
+            for (int k = 0; k <= 8001; k++) {
+                List<String> result = lookup(lookupLevels, k, 1);
+                if (k % 2 == 0 || k > 8000) {
+                    assertThat(result).isEmpty();
+                } else {
+                    int value = k < 4000 ? k / 2 : -((k - 4000) / 2);
+                    assertThat(result).containsExactly(k + ":" + value);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDropAndEvictLookupFiles() throws Exception {
+        DataFileMeta file1 = writeFile(1, 1, 11);
+        DataFileMeta file2 = writeFile(1, 2, 12);
+        Levels levels = new Levels(comparator, Arrays.asList(file1, file2), 3);
+
+        // the max disk size only allows one lookup file
+        try (LookupLevels lookupLevels = createLookupLevels(levels, 1)) {
+            assertThat(lookup(lookupLevels, 1, 1)).containsExactly("1:11");
+            assertThat(localFiles()).hasSize(1);
+            assertThat(lookup(lookupLevels, 2, 1)).containsExactly("2:12");
+            assertThat(localFiles()).hasSize(1);
+            assertThat(lookup(lookupLevels, 1, 1)).containsExactly("1:11");
+            assertThat(localFiles()).hasSize(1);
+
+            // upgraded files are not dropped
+            levels.update(singletonList(file1), singletonList(file1.upgrade(2)));
+            assertThat(localFiles()).hasSize(1);
+            levels.update(singletonList(file1.upgrade(2)), Collections.emptyList());
+            assertThat(localFiles()).isEmpty();
+            assertThat(lookup(lookupLevels, 1, 1)).isEmpty();
+        }
+    }
+
+    private LookupLevels createLookupLevels(Levels levels, long maxDiskSize) {
+        return new LookupLevels(
+                levels,
+                comparator,
+                KEY_TYPE,
+                VALUE_TYPE,
+                readerFactory,
+                () -> new File(localDir.toFile(), UUID.randomUUID().toString()),
+                maxDiskSize);
+    }
+
+    private List<String> lookup(LookupLevels lookupLevels, int key, int startLevel)
+            throws Exception {
+        List<String> result = new ArrayList<>();
+        for (KeyValue kv : lookupLevels.lookup(GenericRow.of(key), startLevel)) {
+            result.add(kv.key().getInt(0) + ":" + kv.value().getInt(0));
+        }
+        return result;
+    }
+
+    /** Writes a data file of the given level, with the given sorted keys and values. */
+    private DataFileMeta writeFile(int level, int... keysAndValues) throws Exception {
+        RollingFileWriter<KeyValue, DataFileMeta> writer =
+                writerFactory.createRollingMergeTreeFileWriter(level);
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            writer.write(
+                    new KeyValue()
+                            .replace(
+                                    GenericRow.of(keysAndValues[i]),
+                                    i,
+                                    RowKind.INSERT,
+                                    GenericRow.of(keysAndValues[i + 1])));
+        }
+        writer.close();
+        assertThat(writer.result()).hasSize(1);
+        return writer.result().get(0);
+    }
+
+    private File[] localFiles() {
+        return localDir.toFile().listFiles();
+    }
+}
@@ -37,7 +37,10 @@ import org.apache.flink.table.store.file.mergetree.compact.AbstractCompactRewrit
 import org.apache.flink.table.store.file.mergetree.compact.CompactStrategy;
 import org.apache.flink.table.store.file.mergetree.compact.DeduplicateMergeFunction;
 import org.apache.flink.table.store.file.mergetree.compact.IntervalPartition;
+import org.apache.flink.table.store.file.mergetree.compact.LeveledCompaction;
 import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactManager;
+import org.apache.flink.table.store.file.mergetree.compact.MergeTreeCompactRewriter;
+import org.apache.flink.table.store.file.mergetree.compact.Subcompactions;
 import org.apache.flink.table.store.file.mergetree.compact.UniversalCompaction;
 import org.apache.flink.table.store.file.schema.KeyValueFieldsExtractor;
 import org.apache.flink.table.store.file.schema.SchemaManager;
@@ -126,7 +129,10 @@ public class MergeTreeTest {
     }
 
     private void recreateMergeTree(long targetFileSize) {
-        Configuration configuration = new Configuration();
+        recreateMergeTree(targetFileSize, new Configuration());
+    }
+
+    private void recreateMergeTree(long targetFileSize, Configuration configuration) {
         configuration.set(CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * 3));
         configuration.set(CoreOptions.PAGE_SIZE, new MemorySize(4096));
         configuration.set(CoreOptions.TARGET_FILE_SIZE, new MemorySize(targetFileSize));
@@ -258,6 +264,61 @@ public class MergeTreeTest {
         assertRecords(expected, compactedFiles, true);
     }
 
+    @Test
+    public void testFullCompactionWithSubcompactions() throws Exception {
+        // small target file size to produce many files with different key ranges
+        recreateMergeTree(1024);
+        List<TestRecord> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.addAll(writeBatch(2_000));
+            writer.prepareCommit(true);
+        }
+        List<DataFileMeta> files =
+                ((MergeTreeCompactManager) ((MergeTreeWriter) writer).compactManager())
+                        .levels()
+                        .allFiles();
+
+        ExecutorService subcompactionExecutor = Executors.newFixedThreadPool(4);
+        try {
+            MergeTreeCompactRewriter rewriter =
+                    new MergeTreeCompactRewriter(
+                            compactReaderFactory,
+                            compactWriterFactory,
+                            comparator,
+                            DeduplicateMergeFunction.factory(),
+                            options.sortEngine(),
+                            new Subcompactions(subcompactionExecutor, comparator, 4, 1024));
+            CompactResult result =
+                    rewriter.rewrite(
+                            options.numLevels() - 1,
+                            true,
+                            new IntervalPartition(files, comparator).partition());
+
+            assertThat(result.before()).containsExactlyInAnyOrderElementsOf(files);
+            // outputs of all key ranges form one sorted run
+            SortedRun.fromUnsorted(new ArrayList<>(result.after()), comparator);
+            assertRecords(expected, result.after(), true);
+        } finally {
+            subcompactionExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLeveledCompaction() throws Exception {
+        // small level sizes to compact files from level to level
+        Configuration configuration = new Configuration();
+        configuration.set(CoreOptions.COMPACTION_STRATEGY, CoreOptions.CompactionStrategy.LEVELED);
+        configuration.set(CoreOptions.COMPACTION_LEVELED_BASE_LEVEL_SIZE, new MemorySize(4096));
+        configuration.set(CoreOptions.COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER, 2);
+        recreateMergeTree(1024, configuration);
+        doTestWriteRead(20, 500);
+
+        // data has been moved down beyond level 1 by partial compactions
+        Levels levels =
+                ((MergeTreeCompactManager) ((MergeTreeWriter) writer).compactManager()).levels();
+        assertThat(levels.nonEmptyHighestLevel()).isGreaterThan(1);
+    }
+
     @Test
     public void testWriteMany() throws Exception {
         doTestWriteRead(3, 20_000);
@@ -332,11 +393,17 @@ public class MergeTreeTest {
     private MergeTreeCompactManager createCompactManager(
             ExecutorService compactExecutor, List<DataFileMeta> files) {
         CompactStrategy strategy =
-                new UniversalCompaction(
-                        options.maxSizeAmplificationPercent(),
-                        options.sortedRunSizeRatio(),
-                        options.numSortedRunCompactionTrigger(),
-                        options.maxSortedRunNum());
+                options.compactionStrategy() == CoreOptions.CompactionStrategy.LEVELED
+                        ? new LeveledCompaction(
+                                comparator,
+                                options.numSortedRunCompactionTrigger(),
+                                options.leveledBaseLevelSize(),
+                                options.leveledLevelSizeMultiplier())
+                        : new UniversalCompaction(
+                                options.maxSizeAmplificationPercent(),
+                                options.sortedRunSizeRatio(),
+                                options.numSortedRunCompactionTrigger(),
+                                options.maxSortedRunNum());
         return new MergeTreeCompactManager(
                 compactExecutor,
                 new Levels(comparator, files, options.numLevels()),
@@ -423,7 +490,8 @@ public class MergeTreeTest {
                         dropDelete,
                         readerFactory,
                         comparator,
-                        DeduplicateMergeFunction.factory().create());
+                        DeduplicateMergeFunction.factory().create(),
+                        options.sortEngine());
         List<TestRecord> records = new ArrayList<>();
         try (RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(reader)) {
             while (iterator.hasNext()) {
@@ -466,7 +534,8 @@ public class MergeTreeTest {
                             dropDelete,
                             compactReaderFactory,
                             comparator,
-                            DeduplicateMergeFunction.factory().create());
+                            DeduplicateMergeFunction.factory().create(),
+                            options.sortEngine());
             writer.write(new RecordReaderIterator<>(sectionsReader));
             writer.close();
             return new CompactResult(extractFilesFromSections(sections), writer.result());
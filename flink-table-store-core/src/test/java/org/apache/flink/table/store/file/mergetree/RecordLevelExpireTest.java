@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree;
+
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.GenericRow;
+import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.file.stats.FieldStatsConverters;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.types.DataType;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RecordLevelExpire}. */
+public class RecordLevelExpireTest {
+
+    @Test
+    public void testNotConfigured() {
+        assertThat(create(DataTypes.BIGINT(), null)).isNull();
+    }
+
+    @Test
+    public void testExpireRecord() {
+        RecordLevelExpire intExpire = create(DataTypes.INT(), "1 h");
+        assertThat(intExpire.isExpired(GenericRow.of(1, 999), 1_000_000)).isTrue();
+        assertThat(intExpire.isExpired(GenericRow.of(1, 1000), 1_000_000)).isFalse();
+
+        RecordLevelExpire longExpire = create(DataTypes.BIGINT(), "1 h");
+        assertThat(longExpire.isExpired(GenericRow.of(1, 999_999L), 1_000_000)).isTrue();
+        assertThat(longExpire.isExpired(GenericRow.of(1, 1_000_000L), 1_000_000)).isFalse();
+        assertThat(longExpire.isExpired(GenericRow.of(1, null), 1_000_000)).isFalse();
+
+        RecordLevelExpire timestampExpire =
+                create(DataTypes.TIMESTAMP_WITH_LOCAL_TIME_ZONE(), "1 h");
+        assertThat(
+                        timestampExpire.isExpired(
+                                GenericRow.of(1, Timestamp.fromEpochMillis(999_999L)), 1_000_000))
+                .isTrue();
+        assertThat(
+                        timestampExpire.isExpired(
+                                GenericRow.of(1, Timestamp.fromEpochMillis(1_000_000L)), 1_000_000))
+                .isFalse();
+    }
+
+    @Test
+    public void testExpireBefore() {
+        RecordLevelExpire expire = create(DataTypes.BIGINT(), "1 h");
+        long now = System.currentTimeMillis();
+        assertThat(expire.expireBefore()).isBetween(now - 3_600_000, now);
+    }
+
+    @Test
+    public void testExpireFile() {
+        RecordLevelExpire expire = create(DataTypes.BIGINT(), "1 h");
+        assertThat(expire.isExpired(newFile(new FieldStats(1L, 999_999L, 0)), 1_000_000)).isTrue();
+        assertThat(expire.isExpired(newFile(new FieldStats(1L, 1_000_000L, 0)), 1_000_000))
+                .isFalse();
+        // null times never expire
+        assertThat(expire.isExpired(newFile(new FieldStats(1L, 999_999L, 1)), 1_000_000)).isFalse();
+        assertThat(expire.isExpired(newFile(new FieldStats(null, null, 10)), 1_000_000)).isFalse();
+    }
+
+    private static RowType valueType(DataType timeType) {
+        return RowType.of(DataTypes.INT(), timeType);
+    }
+
+    private static RecordLevelExpire create(DataType timeType, String expireTime) {
+        RowType valueType = valueType(timeType);
+        Map<String, String> options = new HashMap<>();
+        options.put(CoreOptions.RECORD_LEVEL_TIME_FIELD.key(), valueType.getFieldNames().get(1));
+        if (expireTime != null) {
+            options.put(CoreOptions.RECORD_LEVEL_EXPIRE_TIME.key(), expireTime);
+        }
+        return RecordLevelExpire.create(
+                new CoreOptions(options),
+                valueType,
+                new FieldStatsConverters(sid -> valueType.getFields(), 0));
+    }
+
+    private static DataFileMeta newFile(FieldStats timeStats) {
+        FieldStatsArraySerializer serializer =
+                new FieldStatsArraySerializer(valueType(DataTypes.BIGINT()));
+        return new DataFileMeta(
+                "",
+                1,
+                10,
+                row(0),
+                row(9),
+                null,
+                serializer.toBinary(new FieldStats[] {new FieldStats(0, 9, 0), timeStats}),
+                0,
+                10,
+                0,
+                1);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.file.compact.CompactResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.newFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link AdaptiveCompactionTrigger}. */
+public class AdaptiveCompactionTriggerTest {
+
+    private long currentMillis;
+    private AdaptiveCompactionTriggers triggers;
+
+    @BeforeEach
+    public void before() {
+        currentMillis = 0;
+        triggers = new AdaptiveCompactionTriggers(5, 6, 10, () -> currentMillis);
+    }
+
+    @Test
+    public void testInvalidTriggers() {
+        assertThatThrownBy(() -> new AdaptiveCompactionTriggers(5, 6, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testMinCompactionTrigger() {
+        assertThat(triggers.minCompactionTrigger()).isEqualTo(3);
+        assertThat(new AdaptiveCompactionTriggers(2, 3, 6).minCompactionTrigger()).isEqualTo(2);
+        assertThat(new AdaptiveCompactionTriggers(1, 1, 2).minCompactionTrigger()).isEqualTo(1);
+    }
+
+    @Test
+    public void testConfiguredTriggersBeforeRatesObserved() {
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        for (int i = 0; i < 10; i++) {
+            flush(trigger, 100, 20);
+        }
+        assertThat(trigger.ingestBytesPerSecond()).isEqualTo(100);
+        assertThat(trigger.compactionTrigger()).isEqualTo(5);
+        assertThat(trigger.stopTrigger()).isEqualTo(6);
+    }
+
+    @Test
+    public void testRaiseTriggersUnderHighLoad() throws Exception {
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        compact(trigger, 100, 1000);
+
+        // sorted runs are below the triggers
+        flush(trigger, 100, 3);
+        assertThat(trigger.compactionTrigger()).isEqualTo(5);
+        assertThat(trigger.stopTrigger()).isEqualTo(6);
+
+        flush(trigger, 100, 5);
+        assertThat(trigger.compactionTrigger()).isEqualTo(6);
+        assertThat(trigger.stopTrigger()).isEqualTo(6);
+
+        for (int runs = 6; runs < 20; runs++) {
+            flush(trigger, 100, runs);
+        }
+        assertThat(trigger.compactionTrigger()).isEqualTo(10);
+        assertThat(trigger.stopTrigger()).isEqualTo(10);
+    }
+
+    @Test
+    public void testLowerTriggersUnderLowLoad() throws Exception {
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        compact(trigger, 10000, 1000);
+        for (int i = 0; i < 10; i++) {
+            flush(trigger, 100, 3);
+        }
+        assertThat(trigger.compactionTrigger()).isEqualTo(3);
+        assertThat(trigger.stopTrigger()).isEqualTo(6);
+    }
+
+    @Test
+    public void testBackToConfiguredTriggers() throws Exception {
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        compact(trigger, 100, 1000);
+        for (int runs = 5; runs < 10; runs++) {
+            flush(trigger, 100, runs);
+        }
+        assertThat(trigger.compactionTrigger()).isEqualTo(9);
+        assertThat(trigger.stopTrigger()).isEqualTo(10);
+
+        // compaction speeds up, load is about 0.2 at the end
+        compact(trigger, 500, 1000);
+        compact(trigger, 500, 1000);
+        compact(trigger, 500, 1000);
+        for (int i = 0; i < 10; i++) {
+            flush(trigger, 100, 5);
+        }
+        assertThat(trigger.compactionTrigger()).isEqualTo(5);
+        assertThat(trigger.stopTrigger()).isEqualTo(6);
+    }
+
+    @Test
+    public void testUpgradeNotMeasured() throws Exception {
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        trigger.measure(
+                        () -> {
+                            currentMillis += 1000;
+                            return new CompactResult(
+                                    newFile("a", 0, 1, 100, 0), newFile("a", 1, 1, 100, 0));
+                        })
+                .call();
+        assertThat(trigger.compactionBytesPerSecond()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        AdaptiveCompactionTrigger trigger1 = triggers.create();
+        AdaptiveCompactionTrigger trigger2 = triggers.create();
+        compact(trigger1, 100, 1000);
+        compact(trigger2, 300, 1000);
+        // one second of flushes and two seconds of compactions have passed
+        flush(trigger1, 300, 7);
+        trigger2.update(4);
+
+        assertThat(triggers.ingestBytesPerSecond()).isEqualTo(100);
+        assertThat(triggers.compactionBytesPerSecond()).isEqualTo(200);
+        assertThat(triggers.maxSortedRuns()).isEqualTo(7);
+        assertThat(triggers.maxEffectiveCompactionTrigger()).isEqualTo(6);
+        assertThat(triggers.maxEffectiveStopTrigger()).isEqualTo(7);
+
+        trigger1.close();
+        assertThat(triggers.ingestBytesPerSecond()).isEqualTo(0);
+        assertThat(triggers.compactionBytesPerSecond()).isEqualTo(300);
+        assertThat(triggers.maxSortedRuns()).isEqualTo(4);
+        assertThat(triggers.maxEffectiveCompactionTrigger()).isEqualTo(5);
+        assertThat(triggers.maxEffectiveStopTrigger()).isEqualTo(6);
+    }
+
+    /** Flushes a file of the given size one second after the last flush. */
+    private void flush(AdaptiveCompactionTrigger trigger, int fileSize, int sortedRuns) {
+        trigger.notifyNewFile(newFile("flushed", 0, 1, fileSize, 0));
+        currentMillis += 1000;
+        trigger.update(sortedRuns);
+    }
+
+    private void compact(AdaptiveCompactionTrigger trigger, int outputSize, long durationMillis)
+            throws Exception {
+        trigger.measure(
+                        () -> {
+                            currentMillis += durationMillis;
+                            return new CompactResult(
+                                    newFile("before", 0, 1, outputSize, 0),
+                                    newFile("after", 1, 1, outputSize, 0));
+                        })
+                .call();
+    }
+}
@@ -90,7 +90,7 @@ public abstract class FullChangelogMergeFunctionWrapperTestBase {
             wrapper.reset();
             List<KeyValue> kvs = INPUT_KVS.get(i);
             kvs.forEach(kv -> wrapper.add(kv));
-            FullChangelogMergeFunctionWrapper.Result actualResult = wrapper.getResult();
+            ChangelogResult actualResult = wrapper.getResult();
             MergeFunctionTestUtils.assertKvEquals(getExpectedBefore(i), actualResult.before());
             MergeFunctionTestUtils.assertKvEquals(getExpectedAfter(i), actualResult.after());
             MergeFunctionTestUtils.assertKvEquals(getExpectedResult(i), actualResult.result());
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.compact.CompactUnit;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.Levels;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.newFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LeveledCompaction}. */
+public class LeveledCompactionTest {
+
+    private static final Comparator<InternalRow> COMPARATOR =
+            Comparator.comparingInt(o -> o.getInt(0));
+
+    @Test
+    public void testTargetSize() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 4, 10, 10);
+        assertThat(compaction.targetSize(1)).isEqualTo(10);
+        assertThat(compaction.targetSize(3)).isEqualTo(1000);
+
+        compaction = new LeveledCompaction(COMPARATOR, 4, Long.MAX_VALUE / 4, 10);
+        assertThat(compaction.targetSize(5)).isEqualTo(Long.MAX_VALUE / 4);
+    }
+
+    @Test
+    public void testNoCompaction() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 3, 100, 10);
+        Levels levels =
+                levels(
+                        4,
+                        newFile("a", 0, 0, 9, 5),
+                        newFile("b", 0, 5, 14, 6),
+                        newFile("c", 1, 0, 49, 4),
+                        newFile("d", 2, 0, 499, 3));
+        assertThat(compaction.pick(4, levels.levelSortedRuns())).isEmpty();
+    }
+
+    @Test
+    public void testPickLevel0() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 3, 100, 10);
+        Levels levels =
+                levels(
+                        3,
+                        newFile("a", 0, 0, 9, 7),
+                        newFile("b", 0, 5, 14, 8),
+                        newFile("c", 0, 30, 39, 9),
+                        newFile("d", 1, 0, 3, 4),
+                        newFile("e", 1, 12, 20, 5),
+                        newFile("f", 1, 40, 50, 6));
+        Optional<CompactUnit> unit = compaction.pick(3, levels.levelSortedRuns());
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(1);
+        assertThat(unit.get().files())
+                .extracting(DataFileMeta::fileName)
+                .containsExactlyInAnyOrder("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    public void testLevel0First() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 1, 10, 10);
+        Levels levels =
+                levels(
+                        3,
+                        newFile("a", 0, 0, 9, 3),
+                        newFile("b", 1, 0, 99, 2),
+                        newFile("c", 1, 200, 299, 1));
+        // level 1 exceeds its target size, but level 0 files are compacted first
+        Optional<CompactUnit> unit = compaction.pick(3, levels.levelSortedRuns());
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(1);
+        assertThat(unit.get().files())
+                .extracting(DataFileMeta::fileName)
+                .containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    public void testPickFileWithLeastOverlapping() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 4, 10, 10);
+        Levels levels =
+                levels(
+                        4,
+                        newFile("a", 0, 0, 9, 9),
+                        newFile("b", 1, 0, 9, 7),
+                        newFile("c", 1, 20, 29, 8),
+                        newFile("d", 2, 0, 4, 4),
+                        newFile("e", 2, 5, 19, 5),
+                        newFile("f", 2, 22, 25, 6),
+                        newFile("g", 3, 0, 99, 3));
+        // level 1 exceeds its target size the most
+        Optional<CompactUnit> unit = compaction.pick(4, levels.levelSortedRuns());
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(2);
+        assertThat(unit.get().files())
+                .extracting(DataFileMeta::fileName)
+                .containsExactlyInAnyOrder("c", "f");
+    }
+
+    @Test
+    public void testPickFileWithoutOverlapping() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 4, 10, 10);
+        Levels levels = levels(4, newFile("a", 1, 0, 9, 2), newFile("b", 1, 20, 29, 1));
+        Optional<CompactUnit> unit = compaction.pick(4, levels.levelSortedRuns());
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(2);
+        assertThat(unit.get().files()).extracting(DataFileMeta::fileName).containsExactly("a");
+    }
+
+    @Test
+    public void testMaxLevelNotCompacted() {
+        LeveledCompaction compaction = new LeveledCompaction(COMPARATOR, 4, 10, 10);
+        Levels levels = levels(3, newFile("a", 0, 0, 9, 3), newFile("b", 2, 0, 999, 1));
+        assertThat(compaction.pick(3, levels.levelSortedRuns())).isEmpty();
+    }
+
+    private Levels levels(int numLevels, DataFileMeta... files) {
+        return new Levels(COMPARATOR, Arrays.asList(files), numLevels);
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.compact.CompactResult;
@@ -25,17 +26,26 @@ import org.apache.flink.table.store.file.compact.CompactUnit;
 import org.apache.flink.table.store.file.io.DataFileMeta;
 import org.apache.flink.table.store.file.io.DataFileTestUtils;
 import org.apache.flink.table.store.file.mergetree.Levels;
+import org.apache.flink.table.store.file.mergetree.RecordLevelExpire;
 import org.apache.flink.table.store.file.mergetree.SortedRun;
+import org.apache.flink.table.store.file.stats.FieldStatsArraySerializer;
+import org.apache.flink.table.store.file.stats.FieldStatsConverters;
+import org.apache.flink.table.store.format.FieldStats;
+import org.apache.flink.table.store.types.DataTypes;
+import org.apache.flink.table.store.types.RowType;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -90,9 +100,16 @@ public class MergeTreeCompactManagerTest {
 
     @Test
     public void testNoCompaction() throws ExecutionException, InterruptedException {
+        innerTest(
+                Collections.singletonList(new LevelMinMax(2, 1, 3)),
+                Collections.singletonList(new LevelMinMax(2, 1, 3)));
+    }
+
+    @Test
+    public void testUpgradeSingleFile() throws ExecutionException, InterruptedException {
         innerTest(
                 Collections.singletonList(new LevelMinMax(0, 1, 3)),
-                Collections.singletonList(new LevelMinMax(0, 1, 3)));
+                Collections.singletonList(new LevelMinMax(2, 1, 3)));
     }
 
     @Test
@@ -179,6 +196,144 @@ public class MergeTreeCompactManagerTest {
                 Collections.singletonList(new LevelMinMax(2, 1, 10)));
     }
 
+    @Test
+    public void testDropExpiredFiles() throws ExecutionException, InterruptedException {
+        RowType valueType = RowType.of(DataTypes.INT(), DataTypes.BIGINT());
+        RecordLevelExpire recordLevelExpire =
+                createRecordLevelExpire(valueType, CoreOptions.MergeEngine.DEDUPLICATE);
+
+        long expired = System.currentTimeMillis() - Duration.ofHours(2).toMillis();
+        long notExpired = System.currentTimeMillis();
+        FieldStatsArraySerializer serializer = new FieldStatsArraySerializer(valueType);
+        List<DataFileMeta> files =
+                Arrays.asList(
+                        newFileWithTime(serializer, 0, 1, 3, notExpired),
+                        newFileWithTime(serializer, 2, 1, 5, expired),
+                        newFileWithTime(serializer, 2, 6, 8, notExpired));
+        Levels levels = new Levels(comparator, files, 3);
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                        service,
+                        levels,
+                        (numLevels, runs) -> {
+                            throw new AssertionError("Expired files should be dropped first.");
+                        },
+                        comparator,
+                        2,
+                        Integer.MAX_VALUE,
+                        new TestRewriter(true),
+                        recordLevelExpire,
+                        null);
+        manager.triggerCompaction(false);
+        manager.getCompactionResult(true);
+        List<LevelMinMax> outputs =
+                levels.allFiles().stream().map(LevelMinMax::new).collect(Collectors.toList());
+        assertThat(outputs).containsExactly(new LevelMinMax(0, 1, 3), new LevelMinMax(2, 6, 8));
+    }
+
+    @Test
+    public void testKeepExpiredFilesMergedWithNewerRecords()
+            throws ExecutionException, InterruptedException {
+        RowType valueType = RowType.of(DataTypes.INT(), DataTypes.BIGINT());
+        RecordLevelExpire recordLevelExpire =
+                createRecordLevelExpire(valueType, CoreOptions.MergeEngine.PARTIAL_UPDATE);
+
+        long expired = System.currentTimeMillis() - Duration.ofHours(2).toMillis();
+        FieldStatsArraySerializer serializer = new FieldStatsArraySerializer(valueType);
+        List<DataFileMeta> files =
+                Arrays.asList(
+                        newFileWithTime(serializer, 0, 1, 3, expired),
+                        newFileWithTime(serializer, 2, 1, 5, expired),
+                        newFileWithTime(serializer, 2, 6, 8, expired));
+        Levels levels = new Levels(comparator, files, 3);
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                        service,
+                        levels,
+                        (numLevels, runs) -> Optional.empty(),
+                        comparator,
+                        2,
+                        Integer.MAX_VALUE,
+                        new TestRewriter(true),
+                        recordLevelExpire,
+                        null);
+        manager.triggerCompaction(false);
+        manager.getCompactionResult(true);
+        // newer records of keys 1 to 3 still merge with the records of the first file
+        List<LevelMinMax> outputs =
+                levels.allFiles().stream().map(LevelMinMax::new).collect(Collectors.toList());
+        assertThat(outputs).containsExactly(new LevelMinMax(0, 1, 3), new LevelMinMax(2, 1, 5));
+    }
+
+    @Test
+    public void testAdaptiveTrigger() throws Exception {
+        List<DataFileMeta> files = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            files.add(newFile(0, 1, 3, i));
+        }
+        Levels levels = new Levels(comparator, files, 3);
+        AdaptiveCompactionTriggers triggers = new AdaptiveCompactionTriggers(5, 6, 10);
+        AdaptiveCompactionTrigger trigger = triggers.create();
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                        service,
+                        levels,
+                        new UniversalCompaction(
+                                200, 1, trigger::compactionTrigger, Integer.MAX_VALUE),
+                        comparator,
+                        2,
+                        6,
+                        new TestRewriter(true),
+                        null,
+                        trigger);
+
+        // sorted runs are below the effective compaction trigger
+        manager.triggerCompaction(false);
+        assertThat(manager.getCompactionResult(true)).isEmpty();
+        assertThat(triggers.maxSortedRuns()).isEqualTo(4);
+
+        manager.addNewFile(newFile(0, 1, 3, 4));
+        manager.triggerCompaction(false);
+        assertThat(manager.getCompactionResult(true)).isPresent();
+        List<LevelMinMax> outputs =
+                levels.allFiles().stream().map(LevelMinMax::new).collect(Collectors.toList());
+        assertThat(outputs).containsExactly(new LevelMinMax(2, 1, 3));
+
+        manager.close();
+        assertThat(triggers.maxSortedRuns()).isEqualTo(0);
+    }
+
+    private static RecordLevelExpire createRecordLevelExpire(
+            RowType valueType, CoreOptions.MergeEngine mergeEngine) {
+        Map<String, String> options = new HashMap<>();
+        options.put(CoreOptions.RECORD_LEVEL_EXPIRE_TIME.key(), "1 h");
+        options.put(CoreOptions.RECORD_LEVEL_TIME_FIELD.key(), valueType.getFieldNames().get(1));
+        options.put(CoreOptions.MERGE_ENGINE.key(), mergeEngine.toString());
+        return RecordLevelExpire.create(
+                new CoreOptions(options),
+                valueType,
+                new FieldStatsConverters(sid -> valueType.getFields(), 0));
+    }
+
+    private static DataFileMeta newFileWithTime(
+            FieldStatsArraySerializer serializer, int level, int minKey, int maxKey, long time) {
+        return new DataFileMeta(
+                "",
+                maxKey - minKey + 1,
+                maxKey - minKey + 1,
+                row(minKey),
+                row(maxKey),
+                null,
+                serializer.toBinary(
+                        new FieldStats[] {
+                            new FieldStats(minKey, maxKey, 0), new FieldStats(time, time, 0)
+                        }),
+                0,
+                maxKey,
+                0,
+                level);
+    }
+
     private void innerTest(List<LevelMinMax> inputs, List<LevelMinMax> expected)
             throws ExecutionException, InterruptedException {
         innerTest(inputs, expected, testStrategy(), true);
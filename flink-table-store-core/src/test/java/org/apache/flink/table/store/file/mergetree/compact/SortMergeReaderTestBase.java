@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.file.mergetree.compact;
 
+import org.apache.flink.table.store.CoreOptions.SortEngine;
 import org.apache.flink.table.store.file.KeyValue;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.ReusingTestData;
@@ -32,14 +33,25 @@ import java.util.List;
 /** Tests for {@link SortMergeReader}. */
 public abstract class SortMergeReaderTestBase extends CombiningRecordReaderTestBase {
 
+    private SortEngine sortEngine;
+
     protected abstract MergeFunction<KeyValue> createMergeFunction();
 
     @Override
     protected RecordReader<KeyValue> createRecordReader(List<TestReusingRecordReader> readers) {
-        return new SortMergeReader<>(
+        return SortMergeReader.createSortMergeReader(
                 new ArrayList<>(readers),
                 KEY_COMPARATOR,
-                new ReducerMergeFunctionWrapper(createMergeFunction()));
+                new ReducerMergeFunctionWrapper(createMergeFunction()),
+                sortEngine);
+    }
+
+    @Override
+    protected void runTest(List<List<ReusingTestData>> readersData) throws IOException {
+        for (SortEngine engine : SortEngine.values()) {
+            sortEngine = engine;
+            super.runTest(readersData);
+        }
     }
 
     @Test
@@ -64,6 +76,19 @@ public abstract class SortMergeReaderTestBase extends CombiningRecordReaderTestB
         runTest(parseData("1, 1, +, 100 | 3, 3, +, 300", "1, 4, +, 200 | 3, 5, +, 300"));
     }
 
+    @Test
+    public void testManyReadersWithSameKeys() throws IOException {
+        runTest(
+                parseData(
+                        "1, 1, +, 100 | 2, 11, +, 200 | 4, 21, +, 400",
+                        "1, 2, +, 100 | 3, 12, +, 300 | 4, 22, +, 400",
+                        "1, 3, +, 100 | 2, 13, +, 200 | 4, 23, +, 400",
+                        "1, 4, +, 100 | 3, 14, +, 300 | 4, 24, +, 400",
+                        "1, 5, +, 100 | 2, 15, +, 200 | 5, 25, +, 500",
+                        "",
+                        "1, 6, +, 100 | 4, 16, +, 400 | 5, 26, +, 500"));
+    }
+
     @Test
     public void testLongTailRecords() throws IOException {
         runTest(
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.mergetree.compact;
+
+import org.apache.flink.table.store.codegen.RecordComparator;
+import org.apache.flink.table.store.file.compact.CompactResult;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.mergetree.KeyRange;
+import org.apache.flink.table.store.file.mergetree.SortedRun;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.store.file.io.DataFileTestUtils.newFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link Subcompactions}. */
+public class SubcompactionsTest {
+
+    private static final RecordComparator COMPARATOR =
+            (RecordComparator) (o1, o2) -> o1.getInt(0) - o2.getInt(0);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNoSplitForSmallCompaction() {
+        Subcompactions subcompactions = new Subcompactions(executor, COMPARATOR, 4, 1000);
+        List<KeyRange> ranges = subcompactions.split(createSections());
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0).lowerBound()).isNull();
+        assertThat(ranges.get(0).upperBound()).isNull();
+    }
+
+    @Test
+    public void testSplitByFileSize() {
+        // total size is 200, so each of the 4 ranges covers about 50
+        Subcompactions subcompactions = new Subcompactions(executor, COMPARATOR, 4, 10);
+        assertThat(bounds(subcompactions.split(createSections())))
+                .containsExactly("(-inf, 10)", "[10, 20)", "[20, 50)", "[50, +inf)");
+
+        // each range should cover at least 100
+        subcompactions = new Subcompactions(executor, COMPARATOR, 4, 100);
+        assertThat(bounds(subcompactions.split(createSections())))
+                .containsExactly("(-inf, 10)", "[10, +inf)");
+    }
+
+    @Test
+    public void testNoSplitForSameMinKeys() {
+        List<List<SortedRun>> sections =
+                Collections.singletonList(
+                        Arrays.asList(
+                                SortedRun.fromSingle(newFile(0, 0, 99, 2)),
+                                SortedRun.fromSingle(newFile(0, 0, 99, 1))));
+        Subcompactions subcompactions = new Subcompactions(executor, COMPARATOR, 4, 1);
+        assertThat(subcompactions.split(sections)).hasSize(1);
+    }
+
+    @Test
+    public void testRewrite() throws Exception {
+        Subcompactions subcompactions = new Subcompactions(executor, COMPARATOR, 4, 10);
+        List<List<SortedRun>> sections = createSections();
+        Map<String, List<String>> rangeFiles = new ConcurrentHashMap<>();
+
+        CompactResult result =
+                subcompactions.rewrite(
+                        sections,
+                        (rangeSections, range) -> {
+                            rangeFiles.put(
+                                    bound(range),
+                                    AbstractCompactRewriter.extractFilesFromSections(rangeSections)
+                                            .stream()
+                                            .map(f -> f.minKey().getInt(0) + "")
+                                            .sorted()
+                                            .collect(Collectors.toList()));
+                            return new CompactResult(
+                                    Collections.emptyList(),
+                                    Collections.singletonList(
+                                            newFile(
+                                                    5,
+                                                    range.lowerBound() == null
+                                                            ? 0
+                                                            : range.lowerBound().getInt(0),
+                                                    0,
+                                                    0)));
+                        },
+                        file -> {
+                            throw new AssertionError("No file should be deleted");
+                        });
+
+        assertThat(rangeFiles.get("(-inf, 10)")).containsExactly("0", "0");
+        assertThat(rangeFiles.get("[10, 20)")).containsExactly("0", "10");
+        assertThat(rangeFiles.get("[20, 50)")).containsExactly("0", "20", "30", "40");
+        assertThat(rangeFiles.get("[50, +inf)")).containsExactly("0", "50", "60", "70", "80", "90");
+
+        assertThat(result.before())
+                .containsExactlyInAnyOrderElementsOf(
+                        AbstractCompactRewriter.extractFilesFromSections(sections));
+        assertThat(result.after().stream().map(f -> f.minKey().getInt(0)))
+                .containsExactly(0, 10, 20, 50);
+    }
+
+    @Test
+    public void testRewriteFailure() {
+        Subcompactions subcompactions = new Subcompactions(executor, COMPARATOR, 4, 10);
+        List<Integer> deleted = Collections.synchronizedList(new ArrayList<>());
+
+        assertThatThrownBy(
+                        () ->
+                                subcompactions.rewrite(
+                                        createSections(),
+                                        (rangeSections, range) -> {
+                                            if (range.lowerBound() == null) {
+                                                throw new RuntimeException("Expected failure");
+                                            }
+                                            int minKey = range.lowerBound().getInt(0);
+                                            return new CompactResult(
+                                                    Collections.emptyList(),
+                                                    Collections.singletonList(
+                                                            newFile(5, minKey, minKey, 0)));
+                                        },
+                                        file -> deleted.add(file.minKey().getInt(0))))
+                .hasMessage("Expected failure");
+        assertThat(deleted).containsExactlyInAnyOrder(10, 20, 50);
+    }
+
+    private List<List<SortedRun>> createSections() {
+        // a level 0 file of size 100 overlapping with a run of 10 files of size 10
+        List<DataFileMeta> runFiles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            runFiles.add(newFile(5, i * 10, i * 10 + 9, 0));
+        }
+        return Collections.singletonList(
+                Arrays.asList(
+                        SortedRun.fromSingle(newFile(0, 0, 99, 1)),
+                        SortedRun.fromSorted(runFiles)));
+    }
+
+    private static List<String> bounds(List<KeyRange> ranges) {
+        return ranges.stream().map(SubcompactionsTest::bound).collect(Collectors.toList());
+    }
+
+    private static String bound(KeyRange range) {
+        return (range.lowerBound() == null ? "(-inf" : "[" + range.lowerBound().getInt(0))
+                + ", "
+                + (range.upperBound() == null ? "+inf" : range.upperBound().getInt(0))
+                + ")";
+    }
+}
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.apache.flink.table.store.file.mergetree.compact.UniversalCompaction.createUnit;
@@ -107,6 +108,37 @@ public class UniversalCompactionTest {
         assertThat(results).isEqualTo(new long[] {1, 2});
     }
 
+    @Test
+    public void testPickWithChangingTrigger() {
+        AtomicInteger trigger = new AtomicInteger(5);
+        UniversalCompaction compaction =
+                new UniversalCompaction(25, 1, trigger::get, Integer.MAX_VALUE);
+        // neither size amplification nor size ratio picks these runs
+        List<LevelSortedRun> runs =
+                Arrays.asList(
+                        level(0, 1),
+                        level(1, 10),
+                        level(2, 100),
+                        level(3, 1000),
+                        level(4, 10000),
+                        level(5, 100000));
+
+        // by file num, with the trigger read upon each pick
+        Optional<CompactUnit> pick = compaction.pick(6, runs);
+        assertThat(pick.isPresent()).isTrue();
+        long[] results = pick.get().files().stream().mapToLong(DataFileMeta::fileSize).toArray();
+        assertThat(results).isEqualTo(new long[] {1, 10});
+
+        trigger.set(3);
+        pick = compaction.pick(6, runs);
+        assertThat(pick.isPresent()).isTrue();
+        results = pick.get().files().stream().mapToLong(DataFileMeta::fileSize).toArray();
+        assertThat(results).isEqualTo(new long[] {1, 10, 100, 1000});
+
+        trigger.set(6);
+        assertThat(compaction.pick(6, runs)).isEmpty();
+    }
+
     @Test
     public void testNoOutputLevel0() {
         UniversalCompaction compaction = new UniversalCompaction(25, 1, 3, 2);
@@ -38,6 +38,7 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import static org.apache.flink.table.store.data.BinaryRow.EMPTY_ROW;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for {@link FileStoreExpireImpl}. After expiration, only useful files should be retained.
@@ -187,6 +188,84 @@ public class CleanedFileStoreExpireTest extends FileStoreExpireTestBase {
         assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(earliestId);
     }
 
+    @Test
+    public void testExpireWithMultipleThreads() throws Exception {
+        FileStoreExpire expire = store.newExpire(1, 2, Long.MAX_VALUE, 4);
+
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            commit(ThreadLocalRandom.current().nextInt(5) + 1, allData, snapshotPositions);
+        }
+        expire.expire();
+
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+        for (int i = 1; i <= latestSnapshotId; i++) {
+            if (i > latestSnapshotId - 2) {
+                assertThat(snapshotManager.snapshotExists(i)).isTrue();
+                assertSnapshot(i, allData, snapshotPositions);
+            } else {
+                assertThat(snapshotManager.snapshotExists(i)).isFalse();
+            }
+        }
+
+        ExpireMetrics metrics = expire.metrics();
+        assertThat(metrics.expiredSnapshots()).isEqualTo(latestSnapshotId - 2);
+        // each expired snapshot has at least a file and two manifest lists
+        assertThat(metrics.deletedMetaFiles()).isGreaterThanOrEqualTo(3L * (latestSnapshotId - 2));
+        assertThat(metrics.pendingDeletes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testKilledExpireKeepsLaterSnapshots() throws Exception {
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            commit(ThreadLocalRandom.current().nextInt(5) + 1, allData, snapshotPositions);
+        }
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+        int killedSnapshotId = latestSnapshotId / 2;
+
+        // the job is killed when deleting the file of a snapshot
+        Path killedSnapshotPath = snapshotManager.snapshotPath(killedSnapshotId);
+        LocalFileIO killingFileIO =
+                new LocalFileIO() {
+                    @Override
+                    public boolean delete(Path path, boolean recursive) throws IOException {
+                        if (path.equals(killedSnapshotPath)) {
+                            throw new RuntimeException("Killed.");
+                        }
+                        return super.delete(path, recursive);
+                    }
+                };
+        FileStoreExpire expire =
+                new FileStoreExpireImpl(
+                        killingFileIO,
+                        1,
+                        1,
+                        Long.MAX_VALUE,
+                        4,
+                        store.pathFactory(),
+                        snapshotManager,
+                        store.manifestFileFactory(),
+                        store.manifestListFactory());
+        assertThatThrownBy(expire::expire).hasMessage("Killed.");
+
+        // only the snapshot being expired is partially deleted
+        for (int i = 1; i < killedSnapshotId; i++) {
+            assertThat(snapshotManager.snapshotExists(i)).isFalse();
+        }
+        assertThat(snapshotManager.snapshotExists(killedSnapshotId)).isTrue();
+        for (int i = killedSnapshotId + 1; i <= latestSnapshotId; i++) {
+            assertSnapshot(i, allData, snapshotPositions);
+        }
+
+        // a later expiration finishes the job
+        store.newExpire(1, 1, Long.MAX_VALUE, 4).expire();
+        assertThat(snapshotManager.earliestSnapshotId()).isEqualTo(latestSnapshotId);
+        assertSnapshot(latestSnapshotId, allData, snapshotPositions);
+    }
+
     @Test
     public void testExpireWithTime() throws Exception {
         FileStoreExpire expire = store.newExpire(1, Integer.MAX_VALUE, 1000);
@@ -466,6 +466,39 @@ public class FileStoreCommitTest {
         assertThat(store.snapshotManager().latestSnapshotId()).isEqualTo(snapshot.id() + 1);
     }
 
+    @Test
+    public void testUserHintIsOptional() throws Exception {
+        TestFileStore store = createStore(false);
+        SnapshotManager snapshotManager = store.snapshotManager();
+        Snapshot snapshot =
+                store.commitData(generateDataList(10), gen::getPartition, kv -> 0).get(0);
+        String user = snapshot.commitUser();
+        assertThat(snapshotManager.readUserHint(user)).containsExactly(snapshot.id());
+
+        // the hint cannot be overwritten, so it is deleted and the commit still succeeds
+        LocalFileIO fileIO = LocalFileIO.create();
+        Path hintPath = snapshotManager.userHintPath(user);
+        fileIO.delete(hintPath, false);
+        fileIO.mkdirs(hintPath);
+        snapshot = store.commitData(generateDataList(10), gen::getPartition, kv -> 0).get(0);
+        assertThat(fileIO.exists(hintPath)).isFalse();
+        assertThat(snapshotManager.latestSnapshotOfUser(user).get().id()).isEqualTo(snapshot.id());
+
+        // the hint is written again by the next commit
+        snapshot = store.commitData(generateDataList(10), gen::getPartition, kv -> 0).get(0);
+        assertThat(snapshotManager.readUserHint(user)).endsWith(snapshot.id());
+
+        // the commit fails if the hint can neither be written nor deleted, as the hint would
+        // miss the committed snapshot
+        fileIO.delete(hintPath, false);
+        fileIO.writeFileUtf8(new Path(hintPath, "file"), "");
+        Long latestId = snapshotManager.latestSnapshotId();
+        assertThrows(
+                RuntimeException.class,
+                () -> store.commitData(generateDataList(10), gen::getPartition, kv -> 0));
+        assertThat(snapshotManager.latestSnapshotId()).isEqualTo(latestId);
+    }
+
     @Test
     public void testCommitOldSnapshotAgain() throws Exception {
         TestFileStore store = createStore(false, 2);
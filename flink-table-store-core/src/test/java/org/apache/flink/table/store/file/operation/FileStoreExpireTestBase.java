@@ -31,6 +31,7 @@ import org.apache.flink.table.store.file.utils.SnapshotManager;
 import org.apache.flink.table.store.fs.FileIO;
 import org.apache.flink.table.store.fs.Path;
 import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.types.RowType;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.io.TempDir;
@@ -54,21 +55,35 @@ public class FileStoreExpireTestBase {
 
     @BeforeEach
     public void beforeEach() throws Exception {
-        gen = new TestKeyValueGenerator();
-        store = createStore();
+        initStore(TestKeyValueGenerator.GeneratorMode.MULTI_PARTITIONED, tempDir.toString());
+    }
+
+    protected void initStore(TestKeyValueGenerator.GeneratorMode mode, String root)
+            throws Exception {
+        RowType rowType;
+        RowType partitionType;
+        if (mode == TestKeyValueGenerator.GeneratorMode.NON_PARTITIONED) {
+            rowType = TestKeyValueGenerator.NON_PARTITIONED_ROW_TYPE;
+            partitionType = TestKeyValueGenerator.NON_PARTITIONED_PART_TYPE;
+        } else {
+            rowType = TestKeyValueGenerator.DEFAULT_ROW_TYPE;
+            partitionType = TestKeyValueGenerator.DEFAULT_PART_TYPE;
+        }
+
+        gen = new TestKeyValueGenerator(mode);
+        store = createStore(root, rowType, partitionType);
         snapshotManager = store.snapshotManager();
-        SchemaManager schemaManager = new SchemaManager(fileIO, new Path(tempDir.toUri()));
+        SchemaManager schemaManager = new SchemaManager(fileIO, new Path(root));
         schemaManager.commitNewVersion(
                 new UpdateSchema(
-                        TestKeyValueGenerator.DEFAULT_ROW_TYPE,
-                        TestKeyValueGenerator.DEFAULT_PART_TYPE.getFieldNames(),
-                        TestKeyValueGenerator.getPrimaryKeys(
-                                TestKeyValueGenerator.GeneratorMode.MULTI_PARTITIONED),
+                        rowType,
+                        partitionType.getFieldNames(),
+                        TestKeyValueGenerator.getPrimaryKeys(mode),
                         Collections.emptyMap(),
                         null));
     }
 
-    private TestFileStore createStore() {
+    private TestFileStore createStore(String root, RowType rowType, RowType partitionType) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
 
         CoreOptions.ChangelogProducer changelogProducer;
@@ -80,11 +95,11 @@ public class FileStoreExpireTestBase {
 
         return new TestFileStore.Builder(
                         "avro",
-                        tempDir.toString(),
+                        root,
                         1,
-                        TestKeyValueGenerator.DEFAULT_PART_TYPE,
+                        partitionType,
                         TestKeyValueGenerator.KEY_TYPE,
-                        TestKeyValueGenerator.DEFAULT_ROW_TYPE,
+                        rowType,
                         TestKeyValueGenerator.TestKeyValueFieldsExtractor.EXTRACTOR,
                         DeduplicateMergeFunction.factory())
                 .changelogProducer(changelogProducer)
@@ -143,6 +143,27 @@ public class KeyValueFileStoreScanTest {
         runTestContainsAll(scan, snapshot.id(), expected);
     }
 
+    @Test
+    public void testWithBucketFilter() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<KeyValue> data = generateData(random.nextInt(1000) + 1);
+        Snapshot snapshot = writeData(data);
+
+        int parallelism = random.nextInt(NUM_BUCKETS) + 1;
+        int index = random.nextInt(parallelism);
+
+        FileStoreScan scan = store.newScan();
+        scan.withSnapshot(snapshot.id());
+        scan.withBucketFilter(bucket -> bucket % parallelism == index);
+
+        Map<BinaryRow, BinaryRow> expected =
+                store.toKvMap(
+                        data.stream()
+                                .filter(kv -> getBucket(kv) % parallelism == index)
+                                .collect(Collectors.toList()));
+        runTestExactMatch(scan, snapshot.id(), expected);
+    }
+
     @Test
     public void testWithBucket() throws Exception {
         ThreadLocalRandom random = ThreadLocalRandom.current();
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.store.CoreOptions;
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.data.BinaryRowWriter;
+import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.manifest.FileKind;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.manifest.ManifestFile;
+import org.apache.flink.table.store.file.manifest.ManifestFileMeta;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.stats.StatsTestUtils;
+import org.apache.flink.table.store.file.utils.FileStorePathFactory;
+import org.apache.flink.table.store.format.FileFormat;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link ManifestMergeService}. */
+public class ManifestMergeServiceTest {
+
+    private static final RowType PARTITION_TYPE = RowType.of(new IntType());
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private ManifestFile manifestFile;
+    private ManifestMergeService service;
+
+    @BeforeEach
+    public void beforeEach() {
+        Path path = new Path(tempDir.toString());
+        LocalFileIO fileIO = LocalFileIO.create();
+        ManifestFile.Factory manifestFileFactory =
+                new ManifestFile.Factory(
+                        fileIO,
+                        new SchemaManager(fileIO, path),
+                        0,
+                        PARTITION_TYPE,
+                        FileFormat.fromIdentifier("avro", new Configuration()),
+                        new FileStorePathFactory(
+                                path,
+                                PARTITION_TYPE,
+                                "default",
+                                CoreOptions.FILE_FORMAT.defaultValue()),
+                        Long.MAX_VALUE,
+                        null);
+        manifestFile = manifestFileFactory.create();
+        // merge all manifests into one file when there are at least 3 of them
+        service = new ManifestMergeService(manifestFileFactory, Long.MAX_VALUE, 3);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        service.close();
+    }
+
+    @Test
+    public void testUseBackgroundResult() throws IOException {
+        List<ManifestFileMeta> input = makeManifests(0, 3);
+        service.submit(input);
+
+        List<ManifestFileMeta> merged = service.takeResult(input);
+        assertThat(merged).hasSize(1);
+        assertThat(merged.get(0).numAddedFiles()).isEqualTo(3);
+        // the background result is reused, no other merged file is created
+        assertThat(numManifestFiles()).isEqualTo(4);
+    }
+
+    @Test
+    public void testDiscardOutdatedResult() throws IOException {
+        List<ManifestFileMeta> input = makeManifests(0, 3);
+        service.submit(input);
+
+        // another job has committed in between, so the input has changed
+        List<ManifestFileMeta> newInput = new ArrayList<>(input);
+        newInput.addAll(makeManifests(3, 1));
+        assertThat(service.takeResult(newInput)).isNull();
+
+        // the file merged from the outdated input is deleted before the next merge finishes
+        service.submit(newInput);
+        assertThat(service.takeResult(newInput)).hasSize(1);
+        assertThat(numManifestFiles()).isEqualTo(5);
+    }
+
+    @Test
+    public void testNoBackgroundResult() throws IOException {
+        List<ManifestFileMeta> input = makeManifests(0, 2);
+        assertThat(service.takeResult(input)).isNull();
+        service.submit(input);
+        assertThat(service.takeResult(input)).isEqualTo(input);
+        assertThat(numManifestFiles()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCloseDeletesDiscardedResult() throws IOException {
+        List<ManifestFileMeta> input = makeManifests(0, 3);
+        service.submit(input);
+
+        // the merge is waited for and its result is deleted when closing
+        service.close();
+        assertThat(numManifestFiles()).isEqualTo(3);
+    }
+
+    private long numManifestFiles() throws IOException {
+        try (Stream<java.nio.file.Path> files = Files.list(tempDir.resolve("manifest"))) {
+            return files.count();
+        }
+    }
+
+    private List<ManifestFileMeta> makeManifests(int start, int num) {
+        List<ManifestFileMeta> metas = new ArrayList<>();
+        for (int i = start; i < start + num; i++) {
+            metas.addAll(
+                    manifestFile.write(Collections.singletonList(makeEntry(String.valueOf(i)))));
+        }
+        return metas;
+    }
+
+    private ManifestEntry makeEntry(String fileName) {
+        BinaryRow binaryRow = new BinaryRow(1);
+        BinaryRowWriter writer = new BinaryRowWriter(binaryRow);
+        writer.writeInt(0, 0);
+        writer.complete();
+
+        return new ManifestEntry(
+                FileKind.ADD,
+                binaryRow,
+                0,
+                0,
+                new DataFileMeta(
+                        fileName,
+                        0,
+                        0,
+                        binaryRow,
+                        binaryRow,
+                        StatsTestUtils.newEmptyTableStats(),
+                        StatsTestUtils.newEmptyTableStats(),
+                        0,
+                        0,
+                        0,
+                        0));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.Snapshot;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.SeekableInputStream;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.store.file.TestKeyValueGenerator.GeneratorMode.NON_PARTITIONED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link OrphanFilesClean}. */
+public class OrphanFilesCleanTest extends FileStoreExpireTestBase {
+
+    @Test
+    public void testCleanOrphanFiles() throws Exception {
+        innerTestCleanOrphanFiles();
+    }
+
+    @Test
+    public void testCleanOrphanFilesOfUnpartitionedTable() throws Exception {
+        // buckets are right under the table root
+        initStore(NON_PARTITIONED, tempDir.resolve("unpartitioned").toString());
+        innerTestCleanOrphanFiles();
+    }
+
+    @Test
+    public void testSkipSnapshotExpiredMeanwhile() throws Exception {
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        commit(3, allData, snapshotPositions);
+        List<Path> orphans = writeOrphanFiles();
+
+        // the first snapshot is expired after it is found to exist
+        Path firstSnapshotPath = snapshotManager.snapshotPath(Snapshot.FIRST_SNAPSHOT_ID);
+        LocalFileIO expiringFileIO =
+                new LocalFileIO() {
+                    @Override
+                    public SeekableInputStream newInputStream(Path path) throws IOException {
+                        if (path.equals(firstSnapshotPath)) {
+                            delete(path, false);
+                        }
+                        return super.newInputStream(path);
+                    }
+                };
+        List<Path> deleted =
+                new OrphanFilesClean(
+                                fileIO,
+                                store.pathFactory(),
+                                new SnapshotManager(expiringFileIO, store.options().path()),
+                                store.manifestFileFactory(),
+                                store.manifestListFactory(),
+                                4)
+                        .olderThan(System.currentTimeMillis() + 60_000)
+                        .clean();
+
+        assertThat(deleted.stream().map(Path::getName))
+                .containsAll(orphans.stream().map(Path::getName).collect(Collectors.toList()));
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+        for (int i = 2; i <= latestSnapshotId; i++) {
+            assertSnapshot(i, allData, snapshotPositions);
+        }
+    }
+
+    private void innerTestCleanOrphanFiles() throws Exception {
+        List<KeyValue> allData = new ArrayList<>();
+        List<Integer> snapshotPositions = new ArrayList<>();
+        commit(5, allData, snapshotPositions);
+        store.newExpire(1, 3, Long.MAX_VALUE).expire();
+
+        List<Path> orphans = writeOrphanFiles();
+        List<Path> deleted =
+                store.newOrphanFilesClean()
+                        .olderThan(System.currentTimeMillis() + 60_000)
+                        .withThreadNum(4)
+                        .clean();
+
+        assertThat(deleted.stream().map(Path::getName))
+                .containsExactlyInAnyOrderElementsOf(
+                        orphans.stream().map(Path::getName).collect(Collectors.toList()));
+        for (Path orphan : orphans) {
+            assertThat(fileIO.exists(orphan)).isFalse();
+        }
+        store.assertCleaned();
+
+        int latestSnapshotId = snapshotManager.latestSnapshotId().intValue();
+        for (int i = snapshotManager.earliestSnapshotId().intValue(); i <= latestSnapshotId; i++) {
+            assertSnapshot(i, allData, snapshotPositions);
+        }
+    }
+
+    @Test
+    public void testKeepNewFiles() throws Exception {
+        commit(2, new ArrayList<>(), new ArrayList<>());
+
+        List<Path> orphans = writeOrphanFiles();
+        List<Path> deleted =
+                store.newOrphanFilesClean().olderThan(System.currentTimeMillis() - 60_000).clean();
+
+        assertThat(deleted).isEmpty();
+        for (Path orphan : orphans) {
+            assertThat(fileIO.exists(orphan)).isTrue();
+        }
+    }
+
+    private List<Path> writeOrphanFiles() throws Exception {
+        BinaryRow partition = gen.getPartition(gen.next());
+        Path bucketPath = store.pathFactory().bucketPath(partition, 0);
+        Path dataFile = new Path(bucketPath, "data-orphan-0.avro");
+        Path manifest = store.pathFactory().newManifestFile();
+        Path manifestList = store.pathFactory().newManifestList();
+        for (Path path : Arrays.asList(dataFile, manifest, manifestList)) {
+            fileIO.writeFileUtf8(path, "orphan");
+        }
+        return Arrays.asList(dataFile, manifest, manifestList);
+    }
+}
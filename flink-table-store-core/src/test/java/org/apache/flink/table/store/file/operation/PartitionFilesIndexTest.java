@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.file.operation;
+
+import org.apache.flink.table.store.data.BinaryRow;
+import org.apache.flink.table.store.file.KeyValue;
+import org.apache.flink.table.store.file.TestFileStore;
+import org.apache.flink.table.store.file.TestKeyValueGenerator;
+import org.apache.flink.table.store.file.manifest.ManifestEntry;
+import org.apache.flink.table.store.file.mergetree.compact.DeduplicateMergeFunction;
+import org.apache.flink.table.store.file.schema.SchemaManager;
+import org.apache.flink.table.store.file.schema.UpdateSchema;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link PartitionFilesIndex}. */
+public class PartitionFilesIndexTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private TestKeyValueGenerator gen;
+    private TestFileStore store;
+    private SnapshotManager snapshotManager;
+
+    @BeforeEach
+    public void beforeEach() throws Exception {
+        gen = new TestKeyValueGenerator();
+        Path path = new Path(tempDir.toUri());
+        new SchemaManager(LocalFileIO.create(), path)
+                .commitNewVersion(
+                        new UpdateSchema(
+                                TestKeyValueGenerator.DEFAULT_ROW_TYPE,
+                                TestKeyValueGenerator.DEFAULT_PART_TYPE.getFieldNames(),
+                                TestKeyValueGenerator.getPrimaryKeys(
+                                        TestKeyValueGenerator.GeneratorMode.MULTI_PARTITIONED),
+                                Collections.emptyMap(),
+                                null));
+        store =
+                new TestFileStore.Builder(
+                                "avro",
+                                tempDir.toString(),
+                                2,
+                                TestKeyValueGenerator.DEFAULT_PART_TYPE,
+                                TestKeyValueGenerator.KEY_TYPE,
+                                TestKeyValueGenerator.DEFAULT_ROW_TYPE,
+                                TestKeyValueGenerator.TestKeyValueFieldsExtractor.EXTRACTOR,
+                                DeduplicateMergeFunction.factory())
+                        .build();
+        snapshotManager = store.snapshotManager();
+    }
+
+    @Test
+    public void testAdvanceByDelta() throws Exception {
+        PartitionFilesIndex index = new PartitionFilesIndex(store.newScan(), snapshotManager);
+        Set<BinaryRow> partitions = new LinkedHashSet<>();
+        for (int i = 0; i < 10; i++) {
+            List<KeyValue> data = generateData(100);
+            data.forEach(kv -> partitions.add(gen.getPartition(kv)));
+            store.commitData(data, gen::getPartition, this::bucket);
+            assertIndexed(index, new ArrayList<>(partitions));
+        }
+    }
+
+    @Test
+    public void testAdvanceWithOverwrite() throws Exception {
+        PartitionFilesIndex index = new PartitionFilesIndex(store.newScan(), snapshotManager);
+        List<KeyValue> data = generateData(200);
+        store.commitData(data, gen::getPartition, this::bucket);
+        List<BinaryRow> partitions =
+                data.stream().map(gen::getPartition).distinct().collect(Collectors.toList());
+        assertIndexed(index, partitions);
+
+        String dt = partitions.get(0).getString(0).toString();
+        List<KeyValue> overwrite =
+                generateData(200).stream()
+                        .filter(kv -> dt.equals(gen.getPartition(kv).getString(0).toString()))
+                        .collect(Collectors.toList());
+        store.overwriteData(
+                overwrite, gen::getPartition, this::bucket, Collections.singletonMap("dt", dt));
+        assertIndexed(index, partitions);
+    }
+
+    @Test
+    public void testFallbackAfterExpire() throws Exception {
+        PartitionFilesIndex index = new PartitionFilesIndex(store.newScan(), snapshotManager);
+        List<KeyValue> data = generateData(100);
+        store.commitData(data, gen::getPartition, this::bucket);
+        List<BinaryRow> partitions =
+                data.stream().map(gen::getPartition).distinct().collect(Collectors.toList());
+        assertIndexed(index, partitions);
+
+        for (int i = 0; i < 5; i++) {
+            store.commitData(generateData(100), gen::getPartition, this::bucket);
+        }
+        store.newExpire(1, 1, 1).expire();
+        assertThat(snapshotManager.earliestSnapshotId())
+                .isEqualTo(snapshotManager.latestSnapshotId());
+        assertIndexed(index, partitions);
+    }
+
+    @Test
+    public void testRetainPartitions() throws Exception {
+        PartitionFilesIndex index = new PartitionFilesIndex(store.newScan(), snapshotManager);
+        List<KeyValue> data = generateData(100);
+        store.commitData(data, gen::getPartition, this::bucket);
+        List<BinaryRow> partitions =
+                data.stream().map(gen::getPartition).distinct().collect(Collectors.toList());
+        assertIndexed(index, partitions);
+        assertThat(index.partitions()).containsExactlyInAnyOrderElementsOf(partitions);
+
+        index.retainPartitions(partitions.subList(0, 1));
+        assertThat(index.partitions()).containsExactly(partitions.get(0));
+
+        store.commitData(generateData(100), gen::getPartition, this::bucket);
+        assertIndexed(index, partitions);
+    }
+
+    private void assertIndexed(PartitionFilesIndex index, List<BinaryRow> partitions) {
+        long snapshotId = snapshotManager.latestSnapshotId();
+        List<ManifestEntry> expected =
+                store.newScan()
+                        .withSnapshot(snapshotId)
+                        .withPartitionFilter(partitions)
+                        .plan()
+                        .files();
+        assertThat(index.entries(snapshotId, partitions))
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(index.snapshotId()).isEqualTo(snapshotId);
+    }
+
+    private int bucket(KeyValue kv) {
+        return Math.abs(kv.key().hashCode()) % 2;
+    }
+
+    private List<KeyValue> generateData(int numRecords) {
+        List<KeyValue> data = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            data.add(gen.next());
+        }
+        return data;
+    }
+}
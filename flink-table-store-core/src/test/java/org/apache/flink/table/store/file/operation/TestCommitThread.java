@@ -138,7 +138,11 @@ public class TestCommitThread extends Thread {
             RecordWriter.CommitIncrement inc = entry.getValue().prepareCommit(true);
             committable.addFileCommittable(
                     new FileCommittable(
-                            entry.getKey(), 0, inc.newFilesIncrement(), inc.compactIncrement()));
+                            entry.getKey(),
+                            0,
+                            write.numBuckets(entry.getKey()),
+                            inc.newFilesIncrement(),
+                            inc.compactIncrement()));
         }
 
         runWithRetry(committable, () -> commit.commit(committable, Collections.emptyMap()));
@@ -149,7 +153,12 @@ public class TestCommitThread extends Thread {
         ManifestCommittable committable = new ManifestCommittable(commitIdentifier++);
         RecordWriter.CommitIncrement inc = writers.get(partition).prepareCommit(true);
         committable.addFileCommittable(
-                new FileCommittable(partition, 0, inc.newFilesIncrement(), inc.compactIncrement()));
+                new FileCommittable(
+                        partition,
+                        0,
+                        write.numBuckets(partition),
+                        inc.newFilesIncrement(),
+                        inc.compactIncrement()));
 
         runWithRetry(
                 committable,
@@ -172,7 +181,11 @@ public class TestCommitThread extends Thread {
                     RecordWriter.CommitIncrement inc = writer.prepareCommit(true);
                     committable.addFileCommittable(
                             new FileCommittable(
-                                    partition, 0, inc.newFilesIncrement(), inc.compactIncrement()));
+                                    partition,
+                                    0,
+                                    write.numBuckets(partition),
+                                    inc.newFilesIncrement(),
+                                    inc.compactIncrement()));
                 }
                 commit.commit(committable, Collections.emptyMap());
                 break;
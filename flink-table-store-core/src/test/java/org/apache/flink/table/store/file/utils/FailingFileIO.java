@@ -169,6 +169,11 @@ public class FailingFileIO extends TraceableFileIO {
             return path;
         }
 
+        @Override
+        public long getModificationTime() {
+            return file.lastModified();
+        }
+
         @Override
         public String toString() {
             return "FailingLocalFileStatus{file=" + this.file + ", path=" + this.path + '}';
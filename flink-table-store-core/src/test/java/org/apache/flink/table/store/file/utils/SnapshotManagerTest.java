@@ -18,12 +18,19 @@
 
 package org.apache.flink.table.store.file.utils;
 
+import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.SeekableInputStream;
 import org.apache.flink.table.store.fs.local.LocalFileIO;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Tests for {@link SnapshotManager}. */
@@ -40,4 +47,146 @@ public class SnapshotManagerTest {
                     .isEqualTo(new Path(tempDir.toString() + "/snapshot/snapshot-" + i));
         }
     }
+
+    @Test
+    public void testEarlierThanTimeMills() throws IOException {
+        AtomicInteger reads = new AtomicInteger();
+        SnapshotManager snapshotManager = createSnapshots(reads, 100, 1000);
+
+        // snapshot i is committed at i * 10
+        assertThat(snapshotManager.earlierThanTimeMills(0)).isEqualTo(99);
+        assertThat(snapshotManager.earlierThanTimeMills(1000)).isEqualTo(99);
+        assertThat(snapshotManager.earlierThanTimeMills(1001)).isEqualTo(100);
+        assertThat(snapshotManager.earlierThanTimeMills(5000)).isEqualTo(499);
+        assertThat(snapshotManager.earlierThanTimeMills(5005)).isEqualTo(500);
+        assertThat(snapshotManager.earlierThanTimeMills(10000)).isEqualTo(999);
+        assertThat(snapshotManager.earlierThanTimeMills(Long.MAX_VALUE)).isEqualTo(1000);
+
+        // each search reads about log2(900) snapshots
+        reads.set(0);
+        snapshotManager.earlierThanTimeMills(7777);
+        assertThat(reads.get()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    public void testEarlierOrEqualTimeMills() throws IOException {
+        SnapshotManager snapshotManager = createSnapshots(new AtomicInteger(), 100, 1000);
+
+        assertThat(snapshotManager.earlierOrEqualTimeMills(0)).isNull();
+        assertThat(snapshotManager.earlierOrEqualTimeMills(999)).isNull();
+        assertThat(snapshotManager.earlierOrEqualTimeMills(1000)).isEqualTo(100);
+        assertThat(snapshotManager.earlierOrEqualTimeMills(5000)).isEqualTo(500);
+        assertThat(snapshotManager.earlierOrEqualTimeMills(5009)).isEqualTo(500);
+        assertThat(snapshotManager.earlierOrEqualTimeMills(Long.MAX_VALUE)).isEqualTo(1000);
+    }
+
+    @Test
+    public void testSnapshotCache() throws IOException {
+        AtomicInteger reads = new AtomicInteger();
+        SnapshotManager snapshotManager = createSnapshots(reads, 1, 10);
+
+        reads.set(0);
+        for (int i = 0; i < 3; i++) {
+            for (long id = 1; id <= 10; id++) {
+                assertThat(snapshotManager.snapshot(id).timeMillis()).isEqualTo(id * 10);
+            }
+        }
+        assertThat(reads.get()).isEqualTo(10);
+    }
+
+    @Test
+    public void testLatestSnapshotOfUser() throws IOException {
+        AtomicInteger reads = new AtomicInteger();
+        SnapshotManager snapshotManager = createSnapshots(reads, 1, 100);
+        // snapshot 50 is committed by another user
+        writeSnapshot(snapshotManager, 50, "other");
+        writeSnapshot(snapshotManager, 101, "other");
+        snapshotManager.commitLatestHint(101);
+
+        // without hint, all snapshots are scanned
+        assertThat(snapshotManager.latestSnapshotOfUser("user").get().id()).isEqualTo(100);
+        assertThat(snapshotManager.latestSnapshotOfUser("other").get().id()).isEqualTo(101);
+        assertThat(snapshotManager.latestSnapshotOfUser("unknown")).isEmpty();
+
+        // ids of failed attempts are skipped
+        snapshotManager.commitUserHint("other", Arrays.asList(10L, 50L, 99L));
+        // a new manager without cached snapshots
+        snapshotManager = newSnapshotManager(reads);
+        reads.set(0);
+        assertThat(snapshotManager.latestSnapshotOfUser("other").get().id()).isEqualTo(50);
+        assertThat(reads.get()).isEqualTo(2);
+
+        // fall back to scan if no hinted snapshot is left
+        snapshotManager.commitUserHint("user", Arrays.asList(101L, 102L));
+        assertThat(snapshotManager.readUserHint("user")).containsExactly(101L, 102L);
+        assertThat(snapshotManager.latestSnapshotOfUser("user").get().id()).isEqualTo(100);
+
+        // user names are encoded into hint file names
+        assertThat(snapshotManager.userHintPath("a/b").getName()).isEqualTo("USER-b64-YS9i");
+    }
+
+    @Test
+    public void testDeleteExpiredUserHints() throws IOException {
+        SnapshotManager snapshotManager = createSnapshots(new AtomicInteger(), 1, 10);
+        LocalFileIO fileIO = LocalFileIO.create();
+        snapshotManager.commitUserHint("expired", Arrays.asList(3L, 4L));
+        snapshotManager.commitUserHint("alive", Arrays.asList(4L, 5L));
+        // a hint without line end is incomplete and ignored
+        Path incomplete = snapshotManager.userHintPath("incomplete");
+        fileIO.writeFileUtf8(incomplete, "8,9");
+        assertThat(snapshotManager.readUserHint("incomplete")).isEmpty();
+
+        // hints modified after the given timestamp are kept
+        assertThat(snapshotManager.deleteExpiredUserHints(5, 0)).isEmpty();
+
+        assertThat(snapshotManager.deleteExpiredUserHints(5, Long.MAX_VALUE))
+                .extracting(Path::getName)
+                .containsExactlyInAnyOrder(
+                        snapshotManager.userHintPath("expired").getName(), incomplete.getName());
+        assertThat(snapshotManager.readUserHint("expired")).isEmpty();
+        assertThat(snapshotManager.readUserHint("alive")).containsExactly(4L, 5L);
+    }
+
+    private SnapshotManager createSnapshots(AtomicInteger snapshotReads, long earliest, long latest)
+            throws IOException {
+        SnapshotManager snapshotManager = newSnapshotManager(snapshotReads);
+        for (long id = earliest; id <= latest; id++) {
+            writeSnapshot(snapshotManager, id, "user");
+        }
+        snapshotManager.commitEarliestHint(earliest);
+        snapshotManager.commitLatestHint(latest);
+        return snapshotManager;
+    }
+
+    private SnapshotManager newSnapshotManager(AtomicInteger snapshotReads) {
+        LocalFileIO fileIO =
+                new LocalFileIO() {
+                    @Override
+                    public SeekableInputStream newInputStream(Path path) throws IOException {
+                        if (path.getName().startsWith("snapshot-")) {
+                            snapshotReads.incrementAndGet();
+                        }
+                        return super.newInputStream(path);
+                    }
+                };
+        return new SnapshotManager(fileIO, new Path(tempDir.toString()));
+    }
+
+    private void writeSnapshot(SnapshotManager snapshotManager, long id, String user)
+            throws IOException {
+        Snapshot snapshot =
+                new Snapshot(
+                        id,
+                        0,
+                        "base",
+                        "delta",
+                        null,
+                        user,
+                        id,
+                        Snapshot.CommitKind.APPEND,
+                        id * 10,
+                        Collections.emptyMap());
+        LocalFileIO.create().delete(snapshotManager.snapshotPath(id), false);
+        LocalFileIO.create().writeFileUtf8(snapshotManager.snapshotPath(id), snapshot.toJson());
+    }
 }
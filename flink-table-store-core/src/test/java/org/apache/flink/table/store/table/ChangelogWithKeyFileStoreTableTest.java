@@ -18,10 +18,13 @@
 
 package org.apache.flink.table.store.table;
 
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.CoreOptions.ChangelogProducer;
 import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
+import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.WriteMode;
 import org.apache.flink.table.store.file.operation.ScanKind;
 import org.apache.flink.table.store.file.predicate.Predicate;
@@ -29,6 +32,9 @@ import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.schema.SchemaManager;
 import org.apache.flink.table.store.file.schema.TableSchema;
 import org.apache.flink.table.store.file.schema.UpdateSchema;
+import org.apache.flink.table.store.file.utils.SnapshotManager;
+import org.apache.flink.table.store.fs.Path;
+import org.apache.flink.table.store.fs.SeekableInputStream;
 import org.apache.flink.table.store.fs.local.LocalFileIO;
 import org.apache.flink.table.store.options.Options;
 import org.apache.flink.table.store.table.sink.FileCommittable;
@@ -52,17 +58,24 @@ import org.apache.flink.table.store.utils.CompatibilityTestUtils;
 import org.apache.flink.util.function.FunctionWithException;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.apache.flink.table.store.data.DataFormatTestUtil.rowDataToString;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Tests for {@link ChangelogWithKeyFileStoreTable}. */
 public class ChangelogWithKeyFileStoreTableTest extends FileStoreTableTestBase {
@@ -119,6 +132,221 @@ public class ChangelogWithKeyFileStoreTableTest extends FileStoreTableTestBase {
                                 "1|11|101|binary|varbinary|mapKey:mapVal|multiset"));
     }
 
+    @Test
+    public void testRecordLevelExpire() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.RECORD_LEVEL_EXPIRE_TIME, Duration.ofHours(1));
+                            conf.set(CoreOptions.RECORD_LEVEL_TIME_FIELD, "b");
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        long now = System.currentTimeMillis();
+        long expired = now - Duration.ofHours(2).toMillis();
+        write.write(rowData(1, 10, now));
+        write.write(rowData(1, 11, expired));
+        write.write(rowData(1, 12, expired));
+        commit.commit(0, write.prepareCommit(true, 0));
+        // the update makes the record of key 12 alive again
+        write.write(rowData(1, 12, now));
+        commit.commit(1, write.prepareCommit(true, 1));
+
+        Function<InternalRow, String> rowToString = row -> String.valueOf(row.getInt(1));
+        TableRead read = table.newRead();
+        // expired records are not dropped before compaction
+        assertThat(getResult(read, table.newScan().plan().splits(), binaryRow(1), 0, rowToString))
+                .containsExactly("10", "11", "12");
+
+        write.compact(binaryRow(1), 0, true);
+        commit.commit(2, write.prepareCommit(true, 2));
+        write.close();
+        assertThat(getResult(read, table.newScan().plan().splits(), binaryRow(1), 0, rowToString))
+                .containsExactly("10", "12");
+    }
+
+    @Test
+    public void testRecordLevelExpirePartialUpdate() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf ->
+                                conf.set(
+                                        CoreOptions.MERGE_ENGINE,
+                                        CoreOptions.MergeEngine.PARTIAL_UPDATE));
+        long now = System.currentTimeMillis();
+        long expired = now - Duration.ofHours(2).toMillis();
+        // the expired record is compacted into the highest level before expiration is enabled
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, expired));
+        write.compact(binaryRow(1), 0, true);
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+
+        Map<String, String> expireOptions = new HashMap<>();
+        expireOptions.put(CoreOptions.RECORD_LEVEL_EXPIRE_TIME.key(), "1 h");
+        expireOptions.put(CoreOptions.RECORD_LEVEL_TIME_FIELD.key(), "b");
+        table = table.copy(expireOptions);
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+        // only the time field is updated, so the merged record is not expired
+        write.write(GenericRow.of(1, 10, now, null, null, null, null));
+        write.compact(binaryRow(1), 0, false);
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.compact(binaryRow(1), 0, true);
+        commit.commit(2, write.prepareCommit(true, 2));
+        write.close();
+
+        assertThat(
+                        getResult(
+                                table.newRead(),
+                                table.newScan().plan().splits(),
+                                binaryRow(1),
+                                0,
+                                BATCH_ROW_TO_STRING))
+                .containsExactly(
+                        String.format("1|10|%d|binary|varbinary|mapKey:mapVal|multiset", now));
+    }
+
+    @Test
+    public void testRecordLevelExpireValidation() {
+        assertThatThrownBy(
+                        () ->
+                                createFileStoreTable(
+                                        conf ->
+                                                conf.set(
+                                                        CoreOptions.RECORD_LEVEL_EXPIRE_TIME,
+                                                        Duration.ofHours(1))))
+                .hasMessageContaining("must be set together");
+        assertThatThrownBy(
+                        () ->
+                                createFileStoreTable(
+                                        conf -> {
+                                            conf.set(
+                                                    CoreOptions.RECORD_LEVEL_EXPIRE_TIME,
+                                                    Duration.ofHours(1));
+                                            conf.set(CoreOptions.RECORD_LEVEL_TIME_FIELD, "e");
+                                        }))
+                .hasMessageContaining("must be INT, BIGINT or TIMESTAMP_LTZ");
+        assertThatThrownBy(
+                        () ->
+                                createFileStoreTable(
+                                        conf -> {
+                                            conf.set(
+                                                    CoreOptions.RECORD_LEVEL_EXPIRE_TIME,
+                                                    Duration.ofHours(1));
+                                            conf.set(CoreOptions.RECORD_LEVEL_TIME_FIELD, "b");
+                                            conf.set(
+                                                    CoreOptions.CHANGELOG_PRODUCER,
+                                                    ChangelogProducer.LOOKUP);
+                                        }))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testAdaptiveCompactionTrigger() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.NUM_SORTED_RUNS_ADAPTIVE_TRIGGER, true);
+                            conf.set(CoreOptions.NUM_SORTED_RUNS_COMPACTION_TRIGGER, 3);
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            write.write(rowData(1, i, (long) i));
+            write.write(rowData(1, 0, (long) i));
+            commit.commit(i, write.prepareCommit(true, i));
+            expected.add(String.format("1|%d|%d|binary|varbinary|mapKey:mapVal|multiset", i, i));
+        }
+        expected.set(0, "1|0|9|binary|varbinary|mapKey:mapVal|multiset");
+
+        // the adapted triggers themselves are covered by AdaptiveCompactionTriggerTest
+        assertThat(write.compactionPressureMetrics()).isNotNull();
+        write.close();
+
+        List<Split> splits = table.newScan().plan().splits();
+        assertThat(getResult(table.newRead(), splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .isEqualTo(expected);
+
+        assertThatThrownBy(
+                        () ->
+                                createFileStoreTable(
+                                        conf -> {
+                                            conf.set(
+                                                    CoreOptions.NUM_SORTED_RUNS_ADAPTIVE_TRIGGER,
+                                                    true);
+                                            conf.set(
+                                                    CoreOptions.COMPACTION_STRATEGY,
+                                                    CoreOptions.CompactionStrategy.LEVELED);
+                                        }))
+                .hasMessageContaining("is only supported by the 'universal' compaction strategy");
+    }
+
+    @Test
+    public void testBatchRestore() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.BUCKET, 4);
+                            conf.set(CoreOptions.WRITE_BATCH_RESTORE, true);
+                        });
+
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        for (int i = 0; i < 5; i++) {
+            for (int pt = 1; pt <= 2; pt++) {
+                for (int a = 0; a < 20; a++) {
+                    write.write(rowData(pt, a, 100L));
+                }
+            }
+        }
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+
+        // partitions not being restored are not checked for their number of buckets
+        new BucketRescaler(table.copy(Collections.singletonMap(CoreOptions.BUCKET.key(), "8")))
+                .rescale(binaryRow(2));
+
+        // count the reads of manifest lists to find out how often a snapshot is planned
+        AtomicInteger manifestListReads = new AtomicInteger();
+        LocalFileIO countingFileIO =
+                new LocalFileIO() {
+                    @Override
+                    public SeekableInputStream newInputStream(Path path) throws IOException {
+                        if (path.getName().startsWith("manifest-list-")) {
+                            manifestListReads.incrementAndGet();
+                        }
+                        return super.newInputStream(path);
+                    }
+                };
+        table = new ChangelogWithKeyFileStoreTable(countingFileIO, tablePath, table.schema());
+        table.store().newScan().plan();
+        int readsPerPlan = manifestListReads.getAndSet(0);
+        assertThat(readsPerPlan).isPositive();
+
+        // writers of all buckets restore their files from one scan of the partition, besides the
+        // scan resolving the bucket number of the partition, updates must have greater sequence
+        // numbers than the restored records
+        write = table.newWrite(commitUser);
+        List<String> expected = new ArrayList<>();
+        for (int a = 0; a < 20; a++) {
+            write.write(rowData(1, a, 200L));
+            expected.add(String.format("1|%d|200|binary|varbinary|mapKey:mapVal|multiset", a));
+            expected.add(String.format("2|%d|100|binary|varbinary|mapKey:mapVal|multiset", a));
+        }
+        assertThat(manifestListReads.get()).isEqualTo(2 * readsPerPlan);
+        commit = table.newCommit(commitUser);
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+        commit.close();
+
+        List<String> result =
+                getResult(table.newRead(), table.newScan().plan().splits(), BATCH_ROW_TO_STRING);
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
     @Test
     public void testBatchReadWrite() throws Exception {
         writeData();
@@ -256,13 +484,71 @@ public class ChangelogWithKeyFileStoreTableTest extends FileStoreTableTestBase {
     }
 
     @Test
-    public void testStreamingFullChangelog() throws Exception {
+    public void testSingleSnapshotCommit() throws Exception {
+        assertThatThrownBy(
+                        () ->
+                                createFileStoreTable(
+                                        conf -> conf.set(CoreOptions.COMMIT_SINGLE_SNAPSHOT, true)))
+                .hasMessageContaining("only supported by the 'input' changelog producer");
+
         FileStoreTable table =
                 createFileStoreTable(
-                        conf ->
-                                conf.set(
-                                        CoreOptions.CHANGELOG_PRODUCER,
-                                        ChangelogProducer.FULL_COMPACTION));
+                        conf -> {
+                            conf.set(CoreOptions.CHANGELOG_PRODUCER, ChangelogProducer.INPUT);
+                            conf.set(CoreOptions.COMMIT_SINGLE_SNAPSHOT, true);
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 20, 200L));
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        // new files and compaction changes of one commit are in one APPEND snapshot
+        write.write(rowData(1, 10, 101L));
+        write.write(rowData(1, 30, 300L));
+        write.compact(binaryRow(1), 0, true);
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+
+        SnapshotManager snapshotManager = new SnapshotManager(LocalFileIO.create(), tablePath);
+        assertThat(snapshotManager.snapshotCount()).isEqualTo(2);
+        Snapshot latest = snapshotManager.snapshot(snapshotManager.latestSnapshotId());
+        assertThat(latest.commitKind()).isEqualTo(Snapshot.CommitKind.APPEND);
+
+        TableRead read = table.newRead();
+        List<Split> splits = table.newScan().plan().splits();
+        assertThat(splits).hasSize(1);
+        assertThat(((DataSplit) splits.get(0)).files()).hasSize(1);
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .containsExactly(
+                        "1|10|101|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|20|200|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|30|300|binary|varbinary|mapKey:mapVal|multiset");
+
+        // streaming readers only see the input changelog of the latest snapshot
+        splits =
+                table.newScan()
+                        .withKind(ScanKind.CHANGELOG)
+                        .withSnapshot(latest.id())
+                        .plan()
+                        .splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "+I 1|10|101|binary|varbinary|mapKey:mapVal|multiset",
+                        "+I 1|30|300|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    public void testStreamingFullChangelog(int maxSubcompactions) throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(
+                                    CoreOptions.CHANGELOG_PRODUCER,
+                                    ChangelogProducer.FULL_COMPACTION);
+                            setSubcompactions(conf, maxSubcompactions);
+                        });
         TableWrite write = table.newWrite(commitUser);
         TableCommit commit = table.newCommit(commitUser);
 
@@ -336,6 +622,150 @@ public class ChangelogWithKeyFileStoreTableTest extends FileStoreTableTestBase {
                         "+U 2|40|242|binary|varbinary|mapKey:mapVal|multiset");
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    public void testStreamingLookupChangelog(int maxSubcompactions) throws Exception {
+        innerTestStreamingLookupChangelog(conf -> setSubcompactions(conf, maxSubcompactions));
+    }
+
+    @Test
+    public void testStreamingLookupChangelogLeveledCompaction() throws Exception {
+        innerTestStreamingLookupChangelog(
+                conf -> {
+                    // tiny levels so that files are compacted into higher levels
+                    conf.set(
+                            CoreOptions.COMPACTION_STRATEGY,
+                            CoreOptions.CompactionStrategy.LEVELED);
+                    conf.set(
+                            CoreOptions.COMPACTION_LEVELED_BASE_LEVEL_SIZE,
+                            MemorySize.parse("1 b"));
+                    conf.set(CoreOptions.COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER, 2);
+                });
+    }
+
+    private void innerTestStreamingLookupChangelog(Consumer<Options> configure) throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.CHANGELOG_PRODUCER, ChangelogProducer.LOOKUP);
+                            configure.accept(conf);
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        TableRead read = table.newRead();
+
+        write.write(rowData(1, 10, 110L));
+        write.write(rowData(1, 20, 120L));
+        write.write(rowData(2, 10, 210L));
+        write.write(rowData(2, 20, 220L));
+        write.write(rowDataWithKind(RowKind.DELETE, 2, 10, 210L));
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        // changelog is produced at each commit without any full compaction
+        List<Split> splits = table.newScan().withKind(ScanKind.CHANGELOG).plan().splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "+I 1|10|110|binary|varbinary|mapKey:mapVal|multiset",
+                        "+I 1|20|120|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(getResult(read, splits, binaryRow(2), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder("+I 2|20|220|binary|varbinary|mapKey:mapVal|multiset");
+
+        write.write(rowData(1, 30, 130L));
+        write.write(rowData(2, 20, 221L));
+        commit.commit(1, write.prepareCommit(true, 1));
+
+        splits = table.newScan().withKind(ScanKind.CHANGELOG).plan().splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder("+I 1|30|130|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(getResult(read, splits, binaryRow(2), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "-U 2|20|220|binary|varbinary|mapKey:mapVal|multiset",
+                        "+U 2|20|221|binary|varbinary|mapKey:mapVal|multiset");
+
+        // previous values are looked up from different levels
+        write.write(rowDataWithKind(RowKind.DELETE, 1, 10, 110L));
+        write.write(rowData(1, 30, 131L));
+        write.write(rowData(1, 40, 140L));
+        write.write(rowData(2, 20, 222L));
+        commit.commit(2, write.prepareCommit(true, 2));
+
+        splits = table.newScan().withKind(ScanKind.CHANGELOG).plan().splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "-D 1|10|110|binary|varbinary|mapKey:mapVal|multiset",
+                        "-U 1|30|130|binary|varbinary|mapKey:mapVal|multiset",
+                        "+U 1|30|131|binary|varbinary|mapKey:mapVal|multiset",
+                        "+I 1|40|140|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(getResult(read, splits, binaryRow(2), 0, CHANGELOG_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "-U 2|20|221|binary|varbinary|mapKey:mapVal|multiset",
+                        "+U 2|20|222|binary|varbinary|mapKey:mapVal|multiset");
+
+        // no level 0 files are left after committing
+        splits = table.newScan().plan().splits();
+        for (Split split : splits) {
+            assertThat(((DataSplit) split).files()).allMatch(file -> file.level() > 0);
+        }
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrder(
+                        "1|20|120|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|30|131|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|40|140|binary|varbinary|mapKey:mapVal|multiset");
+        write.close();
+    }
+
+    private void setSubcompactions(Options conf, int maxSubcompactions) {
+        conf.set(CoreOptions.COMPACTION_MAX_SUBCOMPACTIONS, maxSubcompactions);
+        if (maxSubcompactions > 1) {
+            // tiny files so that every compaction is split into key ranges
+            conf.set(CoreOptions.TARGET_FILE_SIZE, MemorySize.parse("1 b"));
+        }
+    }
+
+    @Test
+    public void testStreamingLookupChangelogPartialUpdate() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CoreOptions.CHANGELOG_PRODUCER, ChangelogProducer.LOOKUP);
+                            conf.set(
+                                    CoreOptions.MERGE_ENGINE,
+                                    CoreOptions.MergeEngine.PARTIAL_UPDATE);
+                        });
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        TableRead read = table.newRead();
+        Function<InternalRow, String> toString =
+                row ->
+                        row.getRowKind().shortString()
+                                + " "
+                                + row.getInt(1)
+                                + "|"
+                                + (row.isNullAt(2) ? null : row.getLong(2))
+                                + "|"
+                                + (row.isNullAt(3) ? null : new String(row.getBinary(3)))
+                                + "|"
+                                + (row.isNullAt(4) ? null : new String(row.getBinary(4)));
+
+        write.write(GenericRow.of(1, 10, 110L, null, null, null, null));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.write(GenericRow.of(1, 10, null, "binary".getBytes(), null, null, null));
+        commit.commit(1, write.prepareCommit(true, 1));
+
+        List<Split> splits = table.newScan().withKind(ScanKind.CHANGELOG).plan().splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, toString))
+                .containsExactlyInAnyOrder("-U 10|110|null|null", "+U 10|110|binary|null");
+
+        // partial records of the previous value are merged from different levels
+        write.write(GenericRow.of(1, 10, null, null, "varbinary".getBytes(), null, null));
+        commit.commit(2, write.prepareCommit(true, 2));
+
+        splits = table.newScan().withKind(ScanKind.CHANGELOG).plan().splits();
+        assertThat(getResult(read, splits, binaryRow(1), 0, toString))
+                .containsExactlyInAnyOrder("-U 10|110|binary|null", "+U 10|110|binary|varbinary");
+        write.close();
+    }
+
     @Test
     public void testStreamingChangelogCompatibility02() throws Exception {
         // already contains 2 commits
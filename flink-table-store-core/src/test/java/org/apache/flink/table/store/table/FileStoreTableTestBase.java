@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.store.table;
 
+import org.apache.flink.table.store.CoreOptions;
 import org.apache.flink.table.store.data.BinaryRow;
 import org.apache.flink.table.store.data.BinaryRowWriter;
 import org.apache.flink.table.store.data.BinaryString;
@@ -26,8 +27,10 @@ import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.file.Snapshot;
 import org.apache.flink.table.store.file.io.DataFileMeta;
+import org.apache.flink.table.store.file.manifest.ManifestCommittable;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader;
 import org.apache.flink.table.store.file.mergetree.compact.ConcatRecordReader.ReaderSupplier;
+import org.apache.flink.table.store.file.operation.FileStoreCommit;
 import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReaderIterator;
@@ -39,6 +42,7 @@ import org.apache.flink.table.store.options.Options;
 import org.apache.flink.table.store.table.sink.FileCommittable;
 import org.apache.flink.table.store.table.sink.TableCommit;
 import org.apache.flink.table.store.table.sink.TableWrite;
+import org.apache.flink.table.store.table.source.AbstractDataTableScan;
 import org.apache.flink.table.store.table.source.DataSplit;
 import org.apache.flink.table.store.table.source.Split;
 import org.apache.flink.table.store.table.source.TableRead;
@@ -57,8 +61,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -69,10 +75,15 @@ import static org.apache.flink.table.store.CoreOptions.BUCKET;
 import static org.apache.flink.table.store.CoreOptions.BUCKET_KEY;
 import static org.apache.flink.table.store.CoreOptions.COMPACTION_MAX_FILE_NUM;
 import static org.apache.flink.table.store.CoreOptions.FILE_FORMAT;
+import static org.apache.flink.table.store.CoreOptions.MANIFEST_MERGE_ASYNC;
+import static org.apache.flink.table.store.CoreOptions.MANIFEST_MERGE_MIN_COUNT;
+import static org.apache.flink.table.store.CoreOptions.PREPARE_COMMIT_THREAD_NUM;
+import static org.apache.flink.table.store.CoreOptions.SNAPSHOT_FORMAT;
 import static org.apache.flink.table.store.CoreOptions.SNAPSHOT_NUM_RETAINED_MAX;
 import static org.apache.flink.table.store.CoreOptions.SNAPSHOT_NUM_RETAINED_MIN;
 import static org.apache.flink.table.store.CoreOptions.WRITE_ONLY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Base test class for {@link FileStoreTable}. */
 public abstract class FileStoreTableTestBase {
@@ -313,6 +324,276 @@ public abstract class FileStoreTableTestBase {
         write.close();
     }
 
+    @Test
+    public void testConcurrentPrepareCommit() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(BUCKET, 4);
+                            conf.set(PREPARE_COMMIT_THREAD_NUM, 4);
+                        });
+
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            for (int pt = 1; pt <= 2; pt++) {
+                for (int a = i * 20; a < (i + 1) * 20; a++) {
+                    write.write(rowData(pt, a, (long) a * 100));
+                    expected.add(
+                            String.format(
+                                    "%d|%d|%d|binary|varbinary|mapKey:mapVal|multiset",
+                                    pt, a, a * 100));
+                }
+            }
+            commit.commit(i, write.prepareCommit(true, i));
+        }
+        write.close();
+
+        List<String> result =
+                getResult(table.newRead(), table.newScan().plan().splits(), BATCH_ROW_TO_STRING);
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testManifestMergeAsync() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(MANIFEST_MERGE_ASYNC, true);
+                            conf.set(MANIFEST_MERGE_MIN_COUNT, 2);
+                        });
+
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (int pt = 1; pt <= 2; pt++) {
+                write.write(rowData(pt, i, (long) i * 100));
+                expected.add(
+                        String.format(
+                                "%d|%d|%d|binary|varbinary|mapKey:mapVal|multiset",
+                                pt, i, i * 100));
+            }
+            // manifests of the previous snapshot are merged in the background
+            commit.commit(i, write.prepareCommit(true, i));
+        }
+        write.close();
+        commit.close();
+
+        List<String> result =
+                getResult(table.newRead(), table.newScan().plan().splits(), BATCH_ROW_TO_STRING);
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testBinarySnapshotFormat() throws Exception {
+        FileStoreTable jsonTable = createFileStoreTable();
+        FileStoreTable binaryTable =
+                jsonTable.copy(
+                        Collections.singletonMap(
+                                SNAPSHOT_FORMAT.key(),
+                                CoreOptions.SnapshotFormat.BINARY.toString()));
+
+        for (FileStoreTable table : Arrays.asList(jsonTable, binaryTable)) {
+            TableWrite write = table.newWrite(commitUser);
+            TableCommit commit = table.newCommit(commitUser);
+            long identifier = table == jsonTable ? 0 : 1;
+            write.write(rowData(1, (int) identifier, identifier * 100));
+            commit.commit(identifier, write.prepareCommit(true, identifier));
+            write.close();
+            commit.close();
+        }
+
+        SnapshotManager snapshotManager = binaryTable.snapshotManager();
+        assertThat(binaryTable.fileIO().readFileBytes(snapshotManager.snapshotPath(1))[0])
+                .isEqualTo((byte) '{');
+        assertThat(binaryTable.fileIO().readFileBytes(snapshotManager.snapshotPath(2))[0])
+                .isNotEqualTo((byte) '{');
+        assertThat(snapshotManager.snapshot(2).commitIdentifier()).isEqualTo(1);
+
+        // both formats are readable side by side
+        List<String> result =
+                getResult(
+                        jsonTable.newRead(),
+                        jsonTable.newScan().plan().splits(),
+                        BATCH_ROW_TO_STRING);
+        assertThat(result)
+                .containsExactlyInAnyOrder(
+                        "1|0|0|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|1|100|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
+    @Test
+    public void testSharedSnapshotManager() throws Exception {
+        FileStoreTable table = createFileStoreTable();
+        SnapshotManager snapshotManager = table.snapshotManager();
+
+        // all operations of a table share the snapshots cached by one manager
+        assertThat(table.snapshotManager()).isSameAs(snapshotManager);
+        assertThat(((AbstractDataTableScan) table.newScan()).snapshotManager())
+                .isSameAs(snapshotManager);
+    }
+
+    @Test
+    public void testRescaleBucket() throws Exception {
+        FileStoreTable table = createFileStoreTable(2);
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        write.write(rowData(1, 11, 101L));
+        write.write(rowData(2, 20, 200L));
+        write.write(rowData(2, 21, 201L));
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        // a write with the old bucket number, which is not committed before rescaling
+        write.write(rowData(1, 12, 102L));
+        List<FileCommittable> staleCommittables = write.prepareCommit(true, 1);
+
+        FileStoreTable rescaledTable = table.copy(Collections.singletonMap(BUCKET.key(), "4"));
+        BucketRescaler rescaler = new BucketRescaler(rescaledTable);
+        assertThat(rescaler.partitionsToRescale())
+                .containsExactlyInAnyOrder(binaryRow(1), binaryRow(2));
+        assertThat(rescaler.rescale(binaryRow(1))).isTrue();
+        assertThat(rescaler.rescale(binaryRow(1))).isFalse();
+        assertThat(rescaler.partitionsToRescale()).containsExactly(binaryRow(2));
+        SnapshotManager snapshotManager = table.snapshotManager();
+        assertThat(snapshotManager.snapshot(snapshotManager.latestSnapshotId()).commitKind())
+                .isEqualTo(Snapshot.CommitKind.OVERWRITE);
+
+        Map<BinaryRow, Set<Integer>> totalBuckets = new HashMap<>();
+        rescaledTable
+                .store()
+                .newScan()
+                .plan()
+                .files()
+                .forEach(
+                        e ->
+                                totalBuckets
+                                        .computeIfAbsent(e.partition(), p -> new HashSet<>())
+                                        .add(e.totalBuckets()));
+        assertThat(totalBuckets.get(binaryRow(1))).containsExactly(4);
+        assertThat(totalBuckets.get(binaryRow(2))).containsExactly(2);
+
+        // partitions with different bucket numbers are readable together
+        List<String> expected =
+                Arrays.asList(
+                        "1|10|100|binary|varbinary|mapKey:mapVal|multiset",
+                        "1|11|101|binary|varbinary|mapKey:mapVal|multiset",
+                        "2|20|200|binary|varbinary|mapKey:mapVal|multiset",
+                        "2|21|201|binary|varbinary|mapKey:mapVal|multiset");
+        assertThat(
+                        getResult(
+                                rescaledTable.newRead(),
+                                rescaledTable.newScan().plan().splits(),
+                                BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        // the bucket filter only applies to partitions with the bucket number of the table, files
+        // of other partitions are all read and their records are filtered by the reader
+        Map<BinaryRow, Set<Integer>> filteredBuckets = new HashMap<>();
+        rescaledTable
+                .store()
+                .newScan()
+                .withBucketFilter(b -> b >= 2)
+                .plan()
+                .files()
+                .forEach(
+                        e ->
+                                filteredBuckets
+                                        .computeIfAbsent(e.partition(), p -> new HashSet<>())
+                                        .add(e.bucket()));
+        assertThat(filteredBuckets.getOrDefault(binaryRow(1), Collections.emptySet()))
+                .allMatch(b -> b >= 2);
+        assertThat(filteredBuckets.get(binaryRow(2))).isNotEmpty().allMatch(b -> b < 2);
+
+        // files with the old bucket number cannot be committed into the rescaled partition
+        assertThatThrownBy(() -> commit.commit(1, staleCommittables))
+                .hasMessageContaining("Bucket number conflicts detected!");
+        write.close();
+        commit.close();
+
+        assertThat(rescaler.rescaleAll()).containsExactly(binaryRow(2));
+        assertThat(rescaler.partitionsToRescale()).isEmpty();
+        assertThat(
+                        getResult(
+                                rescaledTable.newRead(),
+                                rescaledTable.newScan().plan().splits(),
+                                BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(
+                        getResult(
+                                rescaledTable.newRead(),
+                                rescaledTable.newScan().withBucketFilter(b -> true).plan().splits(),
+                                BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testWriteWithPartitionBucketNumber() throws Exception {
+        FileStoreTable table = createFileStoreTable(2);
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+        commit.close();
+
+        // existing partitions keep their bucket number, new partitions use the new one
+        FileStoreTable rescaledTable = table.copy(Collections.singletonMap(BUCKET.key(), "4"));
+        write = rescaledTable.newWrite(commitUser);
+        commit = rescaledTable.newCommit(commitUser);
+        write.write(rowData(1, 11, 101L));
+        write.write(rowData(2, 20, 200L));
+        List<FileCommittable> committables = write.prepareCommit(true, 1);
+        assertThat(committables)
+                .allMatch(c -> c.totalBuckets() == (c.partition().equals(binaryRow(1)) ? 2 : 4));
+        assertThat(rescaledTable.bucketComputer().bucket(rowData(1, 12, 102L))).isLessThan(2);
+        commit.commit(1, committables);
+        write.close();
+        commit.close();
+
+        Map<BinaryRow, Set<Integer>> totalBuckets = new HashMap<>();
+        rescaledTable
+                .store()
+                .newScan()
+                .plan()
+                .files()
+                .forEach(
+                        e ->
+                                totalBuckets
+                                        .computeIfAbsent(e.partition(), p -> new HashSet<>())
+                                        .add(e.totalBuckets()));
+        assertThat(totalBuckets.get(binaryRow(1))).containsExactly(2);
+        assertThat(totalBuckets.get(binaryRow(2))).containsExactly(4);
+        assertThat(new BucketRescaler(rescaledTable).partitionsToRescale())
+                .containsExactly(binaryRow(1));
+    }
+
+    @Test
+    public void testOverwriteBaseSnapshot() throws Exception {
+        FileStoreTable table = createFileStoreTable();
+        TableWrite write = table.newWrite(commitUser);
+        TableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 10, 100L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        long baseSnapshotId = table.snapshotManager().latestSnapshotId();
+        write.write(rowData(1, 11, 101L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+        commit.close();
+
+        // only the files of the base snapshot are overwritten
+        FileStoreCommit overwrite =
+                table.store().newCommit(commitUser).withOverwriteBaseSnapshot(baseSnapshotId);
+        overwrite.overwrite(
+                Collections.singletonMap("pt", "1"), new ManifestCommittable(2), new HashMap<>());
+        overwrite.close();
+
+        assertThat(getResult(table.newRead(), table.newScan().plan().splits(), BATCH_ROW_TO_STRING))
+                .containsExactly("1|11|101|binary|varbinary|mapKey:mapVal|multiset");
+    }
+
     @Test
     public void testWriteWithoutCompactionAndExpiration() throws Exception {
         FileStoreTable table =
@@ -39,9 +39,9 @@ public class FileCommittableSerializerTest {
         NewFilesIncrement newFilesIncrement = randomNewFilesIncrement();
         CompactIncrement compactIncrement = randomCompactIncrement();
         FileCommittable committable =
-                new FileCommittable(row(0), 1, newFilesIncrement, compactIncrement);
+                new FileCommittable(row(0), 1, 2, newFilesIncrement, compactIncrement);
         FileCommittable newCommittable =
-                serializer.deserialize(2, serializer.serialize(committable));
+                serializer.deserialize(3, serializer.serialize(committable));
         assertThat(newCommittable).isEqualTo(committable);
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.table.source.snapshot;
+
+import org.apache.flink.table.store.fs.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link DiscoveryBackoff} and {@link LocalSnapshotWatcher}. */
+public class DiscoveryBackoffTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testBackoff() {
+        DiscoveryBackoff backoff = new DiscoveryBackoff(8, null);
+        List<Integer> discoveredTicks = new ArrayList<>();
+        int pendingSnapshots = 0;
+        for (int tick = 0; tick < 40; tick++) {
+            if (tick == 20) {
+                pendingSnapshots++;
+            }
+            if (backoff.shouldDiscover()) {
+                discoveredTicks.add(tick);
+                backoff.onDiscovered(pendingSnapshots > 0);
+                pendingSnapshots = 0;
+            }
+        }
+        // intervals 2, 4, 8, 8, reset by the snapshot found at tick 22, then 2, 4, 8
+        assertThat(discoveredTicks).containsExactly(0, 2, 6, 14, 22, 23, 25, 29, 37);
+        assertThat(backoff.intervalTicks()).isEqualTo(8);
+    }
+
+    @Test
+    public void testNoBackoff() {
+        DiscoveryBackoff backoff = new DiscoveryBackoff(1, null);
+        for (int tick = 0; tick < 10; tick++) {
+            assertThat(backoff.shouldDiscover()).isTrue();
+            backoff.onDiscovered(false);
+        }
+    }
+
+    @Test
+    public void testNotified() {
+        AtomicBoolean committed = new AtomicBoolean(false);
+        SnapshotNotifier notifier =
+                new SnapshotNotifier() {
+                    @Override
+                    public boolean hasNewSnapshots() {
+                        return committed.getAndSet(false);
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+        DiscoveryBackoff backoff = new DiscoveryBackoff(100, notifier);
+        for (int i = 0; i < 10; i++) {
+            if (backoff.shouldDiscover()) {
+                backoff.onDiscovered(false);
+            }
+        }
+        assertThat(backoff.shouldDiscover()).isFalse();
+
+        committed.set(true);
+        assertThat(backoff.shouldDiscover()).isTrue();
+        backoff.onDiscovered(true);
+        assertThat(backoff.intervalTicks()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLocalSnapshotWatcher() throws Exception {
+        java.nio.file.Path snapshotDir = tempDir.resolve("snapshot");
+        try (LocalSnapshotWatcher watcher =
+                new LocalSnapshotWatcher(new Path(snapshotDir.toUri()))) {
+            // directory does not exist yet
+            assertThat(watcher.hasNewSnapshots()).isFalse();
+
+            // snapshots may have been committed before the registration
+            Files.createDirectories(snapshotDir);
+            assertThat(watcher.hasNewSnapshots()).isTrue();
+            assertThat(watcher.hasNewSnapshots()).isFalse();
+
+            // only snapshot files are notified
+            Files.write(snapshotDir.resolve("LATEST"), new byte[] {1});
+            Files.write(snapshotDir.resolve("snapshot-1"), new byte[] {1});
+            assertThat(waitForNotification(watcher)).isTrue();
+            assertThat(watcher.hasNewSnapshots()).isFalse();
+        }
+    }
+
+    private static boolean waitForNotification(SnapshotNotifier notifier) throws Exception {
+        // watch events are delivered asynchronously
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (notifier.hasNewSnapshots()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
@@ -267,5 +267,10 @@ public abstract class HadoopCompliantFileIO implements FileIO {
         public Path getPath() {
             return new Path(status.getPath().toUri());
         }
+
+        @Override
+        public long getModificationTime() {
+            return status.getModificationTime();
+        }
     }
 }
@@ -99,7 +99,9 @@ public class OrcWriterFactory implements FormatWriterFactory {
     }
 
     @Override
-    public FormatWriter create(PositionOutputStream out) throws IOException {
+    public synchronized FormatWriter create(PositionOutputStream out) throws IOException {
+        // the physical writer is set into the shared writer options, so writers of concurrent
+        // compactions must be created one by one
         OrcFile.WriterOptions opts = getWriterOptions();
         opts.physicalWriter(new PhysicalWriterImpl(out, opts));
 
@@ -54,7 +54,8 @@ public class ParquetFileFormat extends FileFormat {
             RowType type, int[][] projection, List<Predicate> filters) {
         return new ParquetReaderFactory(
                 getParquetConfiguration(formatOptions),
-                (RowType) Projection.of(projection).project(type));
+                (RowType) Projection.of(projection).project(type),
+                filters);
     }
 
     @Override
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format.parquet;
+
+import org.apache.flink.table.store.file.predicate.FieldRef;
+import org.apache.flink.table.store.file.predicate.FunctionVisitor;
+import org.apache.flink.table.store.file.predicate.Predicate;
+
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+
+import javax.annotation.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Converts table store {@link Predicate}s to Parquet {@link FilterPredicate}s, which are used to
+ * skip row groups by statistics, dictionaries and bloom filters.
+ *
+ * <p>Predicates are converted against the schema of each file. Predicates on fields which are
+ * missing from the file or have a different physical type (for example after schema evolution) are
+ * not pushed down, just like unsupported functions.
+ */
+public class ParquetFilters {
+
+    private ParquetFilters() {}
+
+    /** Converts the conjunction of the given predicates into a Parquet filter. */
+    public static FilterCompat.Filter convert(
+            @Nullable List<Predicate> predicates, MessageType fileSchema) {
+        if (predicates == null || predicates.isEmpty()) {
+            return FilterCompat.NOOP;
+        }
+
+        ConvertVisitor visitor = new ConvertVisitor(fileSchema);
+        FilterPredicate result = null;
+        for (Predicate predicate : predicates) {
+            Optional<FilterPredicate> converted = predicate.visit(visitor);
+            if (converted.isPresent()) {
+                result = result == null ? converted.get() : FilterApi.and(result, converted.get());
+            }
+        }
+        return result == null ? FilterCompat.NOOP : FilterCompat.get(result);
+    }
+
+    private enum Comparison {
+        EQ,
+        NOT_EQ,
+        LT,
+        LT_EQ,
+        GT,
+        GT_EQ
+    }
+
+    /** A {@link FunctionVisitor} to convert a predicate against a file schema. */
+    private static class ConvertVisitor implements FunctionVisitor<Optional<FilterPredicate>> {
+
+        private final MessageType fileSchema;
+
+        private ConvertVisitor(MessageType fileSchema) {
+            this.fileSchema = fileSchema;
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitIsNotNull(FieldRef fieldRef) {
+            return convert(fieldRef, null, Comparison.NOT_EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitIsNull(FieldRef fieldRef) {
+            return convert(fieldRef, null, Comparison.EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitStartsWith(FieldRef fieldRef, Object literal) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitLessThan(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.LT);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitGreaterOrEqual(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.GT_EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitNotEqual(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.NOT_EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitLessOrEqual(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.LT_EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitEqual(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.EQ);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitGreaterThan(FieldRef fieldRef, Object literal) {
+            return convertBinary(fieldRef, literal, Comparison.GT);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitIn(FieldRef fieldRef, List<Object> literals) {
+            return convertIn(fieldRef, literals, false);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitNotIn(FieldRef fieldRef, List<Object> literals) {
+            return convertIn(fieldRef, literals, true);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitAnd(List<Optional<FilterPredicate>> children) {
+            // dropping some children of a conjunction only makes the filter less selective
+            FilterPredicate result = null;
+            for (Optional<FilterPredicate> child : children) {
+                if (child.isPresent()) {
+                    result = result == null ? child.get() : FilterApi.and(result, child.get());
+                }
+            }
+            return Optional.ofNullable(result);
+        }
+
+        @Override
+        public Optional<FilterPredicate> visitOr(List<Optional<FilterPredicate>> children) {
+            FilterPredicate result = null;
+            for (Optional<FilterPredicate> child : children) {
+                if (!child.isPresent()) {
+                    return Optional.empty();
+                }
+                result = result == null ? child.get() : FilterApi.or(result, child.get());
+            }
+            return Optional.ofNullable(result);
+        }
+
+        private Optional<FilterPredicate> convertBinary(
+                FieldRef fieldRef, Object literal, Comparison comparison) {
+            // comparing with null is never true, but the Parquet filter would match null values
+            if (literal == null) {
+                return Optional.empty();
+            }
+            return convert(fieldRef, literal, comparison);
+        }
+
+        private Optional<FilterPredicate> convert(
+                FieldRef fieldRef, @Nullable Object literal, Comparison comparison) {
+            PrimitiveTypeName typeName = physicalType(fieldRef);
+            if (typeName == null) {
+                return Optional.empty();
+            }
+
+            String name = fieldRef.name();
+            switch (typeName) {
+                case BOOLEAN:
+                    Operators.BooleanColumn booleanColumn = FilterApi.booleanColumn(name);
+                    Boolean booleanValue = (Boolean) literal;
+                    switch (comparison) {
+                        case EQ:
+                            return Optional.of(FilterApi.eq(booleanColumn, booleanValue));
+                        case NOT_EQ:
+                            return Optional.of(FilterApi.notEq(booleanColumn, booleanValue));
+                        default:
+                            return Optional.empty();
+                    }
+                case INT32:
+                    return Optional.of(
+                            compare(
+                                    FilterApi.intColumn(name),
+                                    literal == null ? null : ((Number) literal).intValue(),
+                                    comparison));
+                case INT64:
+                    return Optional.of(
+                            compare(
+                                    FilterApi.longColumn(name),
+                                    literal == null ? null : ((Number) literal).longValue(),
+                                    comparison));
+                case FLOAT:
+                    return Optional.of(
+                            compare(
+                                    FilterApi.floatColumn(name),
+                                    literal == null ? null : ((Number) literal).floatValue(),
+                                    comparison));
+                case DOUBLE:
+                    return Optional.of(
+                            compare(
+                                    FilterApi.doubleColumn(name),
+                                    literal == null ? null : ((Number) literal).doubleValue(),
+                                    comparison));
+                case BINARY:
+                    return Optional.of(
+                            compare(
+                                    FilterApi.binaryColumn(name),
+                                    literal == null ? null : Binary.fromString(literal.toString()),
+                                    comparison));
+                default:
+                    return Optional.empty();
+            }
+        }
+
+        private Optional<FilterPredicate> convertIn(
+                FieldRef fieldRef, List<Object> literals, boolean negate) {
+            PrimitiveTypeName typeName = physicalType(fieldRef);
+            if (typeName == null || literals.contains(null)) {
+                return Optional.empty();
+            }
+
+            String name = fieldRef.name();
+            switch (typeName) {
+                case INT32:
+                    Set<Integer> ints = new HashSet<>();
+                    literals.forEach(l -> ints.add(((Number) l).intValue()));
+                    return Optional.of(in(FilterApi.intColumn(name), ints, negate));
+                case INT64:
+                    Set<Long> longs = new HashSet<>();
+                    literals.forEach(l -> longs.add(((Number) l).longValue()));
+                    return Optional.of(in(FilterApi.longColumn(name), longs, negate));
+                case FLOAT:
+                    Set<Float> floats = new HashSet<>();
+                    literals.forEach(l -> floats.add(((Number) l).floatValue()));
+                    return Optional.of(in(FilterApi.floatColumn(name), floats, negate));
+                case DOUBLE:
+                    Set<Double> doubles = new HashSet<>();
+                    literals.forEach(l -> doubles.add(((Number) l).doubleValue()));
+                    return Optional.of(in(FilterApi.doubleColumn(name), doubles, negate));
+                case BINARY:
+                    Set<Binary> binaries = new HashSet<>();
+                    literals.forEach(l -> binaries.add(Binary.fromString(l.toString())));
+                    return Optional.of(in(FilterApi.binaryColumn(name), binaries, negate));
+                default:
+                    return Optional.empty();
+            }
+        }
+
+        /**
+         * Returns the physical type of the referenced field, or null if the field cannot be
+         * filtered in this file.
+         */
+        @Nullable
+        private PrimitiveTypeName physicalType(FieldRef fieldRef) {
+            PrimitiveTypeName expected = toParquetType(fieldRef);
+            if (expected == null || !fileSchema.containsField(fieldRef.name())) {
+                return null;
+            }
+
+            Type type = fileSchema.getType(fieldRef.name());
+            if (!type.isPrimitive()
+                    || type.isRepetition(Type.Repetition.REPEATED)
+                    || type.asPrimitiveType().getPrimitiveTypeName() != expected) {
+                return null;
+            }
+            return expected;
+        }
+
+        /** See {@link ParquetSchemaConverter#convertToParquetType}. */
+        @Nullable
+        private static PrimitiveTypeName toParquetType(FieldRef fieldRef) {
+            switch (fieldRef.type().getTypeRoot()) {
+                case BOOLEAN:
+                    return PrimitiveTypeName.BOOLEAN;
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                case DATE:
+                case TIME_WITHOUT_TIME_ZONE:
+                    return PrimitiveTypeName.INT32;
+                case BIGINT:
+                    return PrimitiveTypeName.INT64;
+                case FLOAT:
+                    return PrimitiveTypeName.FLOAT;
+                case DOUBLE:
+                    return PrimitiveTypeName.DOUBLE;
+                case CHAR:
+                case VARCHAR:
+                    return PrimitiveTypeName.BINARY;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+            FilterPredicate compare(C column, @Nullable T value, Comparison comparison) {
+        switch (comparison) {
+            case EQ:
+                return FilterApi.eq(column, value);
+            case NOT_EQ:
+                return FilterApi.notEq(column, value);
+            case LT:
+                return FilterApi.lt(column, value);
+            case LT_EQ:
+                return FilterApi.ltEq(column, value);
+            case GT:
+                return FilterApi.gt(column, value);
+            case GT_EQ:
+                return FilterApi.gtEq(column, value);
+            default:
+                throw new UnsupportedOperationException("Unsupported comparison: " + comparison);
+        }
+    }
+
+    private static <
+                    T extends Comparable<T>,
+                    C extends Operators.Column<T> & Operators.SupportsEqNotEq>
+            FilterPredicate in(C column, Set<T> values, boolean negate) {
+        return negate ? FilterApi.notIn(column, values) : FilterApi.in(column, values);
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.flink.table.store.data.columnar.ColumnarRow;
 import org.apache.flink.table.store.data.columnar.ColumnarRowIterator;
 import org.apache.flink.table.store.data.columnar.VectorizedColumnBatch;
 import org.apache.flink.table.store.data.columnar.writable.WritableColumnVector;
+import org.apache.flink.table.store.file.predicate.Predicate;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.file.utils.RecordReader.RecordIterator;
 import org.apache.flink.table.store.format.FormatReaderFactory;
@@ -40,8 +41,11 @@ import org.apache.flink.table.store.utils.Pool;
 import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
@@ -52,8 +56,11 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -79,17 +86,32 @@ public class ParquetReaderFactory implements FormatReaderFactory {
     private final String[] projectedFields;
     private final DataType[] projectedTypes;
     private final int batchSize;
+    @Nullable private final List<Predicate> filters;
     private final Set<Integer> unknownFieldsIndices = new HashSet<>();
 
     public ParquetReaderFactory(Configuration formatConfig, RowType projectedType) {
-        this(formatConfig, projectedType, BATCH_SIZE);
+        this(formatConfig, projectedType, null);
+    }
+
+    public ParquetReaderFactory(
+            Configuration formatConfig, RowType projectedType, @Nullable List<Predicate> filters) {
+        this(formatConfig, projectedType, BATCH_SIZE, filters);
     }
 
     public ParquetReaderFactory(Configuration conf, RowType projectedType, int batchSize) {
+        this(conf, projectedType, batchSize, null);
+    }
+
+    public ParquetReaderFactory(
+            Configuration conf,
+            RowType projectedType,
+            int batchSize,
+            @Nullable List<Predicate> filters) {
         this.conf = conf;
         this.projectedFields = projectedType.getFieldNames().toArray(new String[0]);
         this.projectedTypes = projectedType.getFieldTypes().toArray(new DataType[0]);
         this.batchSize = batchSize;
+        this.filters = filters;
     }
 
     @Override
@@ -109,9 +131,56 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
         checkSchema(fileSchema, requestedSchema);
 
+        boolean[] selectedRowGroups = filterRowGroups(reader, fileSchema);
+        long totalRowCount = 0;
+        for (int i = 0; i < selectedRowGroups.length; i++) {
+            if (selectedRowGroups[i]) {
+                totalRowCount += reader.getRowGroups().get(i).getRowCount();
+            }
+        }
+
         Pool<ParquetReaderBatch> poolOfBatches = createPoolOfBatches(requestedSchema);
 
-        return new ParquetReader(reader, requestedSchema, reader.getRecordCount(), poolOfBatches);
+        return new ParquetReader(
+                reader, requestedSchema, selectedRowGroups, totalRowCount, poolOfBatches);
+    }
+
+    /**
+     * Selects the row groups which might contain rows matching {@link #filters}, by testing the
+     * filters against row group statistics, dictionaries and bloom filters.
+     *
+     * <p>The filters are converted per file so that only columns existing in the file are filtered.
+     * Column index (page level) filtering is not applied, because the vectorized column readers
+     * read whole row groups.
+     */
+    private boolean[] filterRowGroups(ParquetFileReader reader, MessageType fileSchema) {
+        List<BlockMetaData> blocks = reader.getRowGroups();
+        boolean[] selected = new boolean[blocks.size()];
+
+        FilterCompat.Filter filter = ParquetFilters.convert(filters, fileSchema);
+        List<RowGroupFilter.FilterLevel> levels = new ArrayList<>();
+        if (conf.getBoolean(ParquetInputFormat.STATS_FILTERING_ENABLED, true)) {
+            levels.add(RowGroupFilter.FilterLevel.STATISTICS);
+        }
+        if (conf.getBoolean(ParquetInputFormat.DICTIONARY_FILTERING_ENABLED, true)) {
+            levels.add(RowGroupFilter.FilterLevel.DICTIONARY);
+        }
+        if (conf.getBoolean(ParquetInputFormat.BLOOM_FILTERING_ENABLED, true)) {
+            levels.add(RowGroupFilter.FilterLevel.BLOOMFILTER);
+        }
+
+        if (!FilterCompat.isFilteringRequired(filter) || levels.isEmpty()) {
+            Arrays.fill(selected, true);
+            return selected;
+        }
+
+        Set<BlockMetaData> remaining =
+                Collections.newSetFromMap(new IdentityHashMap<>(blocks.size()));
+        remaining.addAll(RowGroupFilter.filterRowGroups(levels, filter, blocks, reader));
+        for (int i = 0; i < blocks.size(); i++) {
+            selected[i] = remaining.contains(blocks.get(i));
+        }
+        return selected;
     }
 
     private void setReadOptions(ParquetReadOptions.Builder builder) {
@@ -237,9 +306,12 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
         private final MessageType requestedSchema;
 
+        /** Whether each row group of the file is read, row groups skipped by filters are false. */
+        private final boolean[] selectedRowGroups;
+
         /**
          * The total number of rows this RecordReader will eventually read. The sum of the rows of
-         * all the row groups.
+         * all the selected row groups.
          */
         private final long totalRowCount;
 
@@ -251,6 +323,9 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         /** The number of rows that have been reading, including the current in flight row group. */
         private long totalCountLoadedSoFar;
 
+        /** The index of the next row group in the file. */
+        private int nextRowGroup;
+
         /**
          * For each request column, the reader to read this column. This is NULL if this column is
          * missing from the file, in which case we populate the attribute with NULL.
@@ -261,10 +336,12 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         private ParquetReader(
                 ParquetFileReader reader,
                 MessageType requestedSchema,
+                boolean[] selectedRowGroups,
                 long totalRowCount,
                 Pool<ParquetReaderBatch> pool) {
             this.reader = reader;
             this.requestedSchema = requestedSchema;
+            this.selectedRowGroups = selectedRowGroups;
             this.totalRowCount = totalRowCount;
             this.pool = pool;
             this.rowsReturned = 0;
@@ -312,7 +389,12 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         }
 
         private void readNextRowGroup() throws IOException {
+            while (nextRowGroup < selectedRowGroups.length && !selectedRowGroups[nextRowGroup]) {
+                reader.skipNextRowGroup();
+                nextRowGroup++;
+            }
             PageReadStore pages = reader.readNextRowGroup();
+            nextRowGroup++;
             if (pages == null) {
                 throw new IOException(
                         "expecting more rows but reached last block. Read "
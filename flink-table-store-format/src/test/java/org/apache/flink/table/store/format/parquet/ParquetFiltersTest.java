@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.store.format.parquet;
+
+import org.apache.flink.table.store.data.BinaryString;
+import org.apache.flink.table.store.file.predicate.Predicate;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
+import org.apache.flink.table.store.types.BigIntType;
+import org.apache.flink.table.store.types.DataField;
+import org.apache.flink.table.store.types.DoubleType;
+import org.apache.flink.table.store.types.IntType;
+import org.apache.flink.table.store.types.RowType;
+import org.apache.flink.table.store.types.TimestampType;
+import org.apache.flink.table.store.types.VarCharType;
+
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Unit Tests for {@link ParquetFilters}. */
+public class ParquetFiltersTest {
+
+    private static final RowType ROW_TYPE =
+            new RowType(
+                    Arrays.asList(
+                            new DataField(0, "long1", new BigIntType()),
+                            new DataField(1, "int1", new IntType()),
+                            new DataField(2, "string1", new VarCharType()),
+                            new DataField(3, "ts1", new TimestampType(9))));
+
+    private static final MessageType FILE_SCHEMA =
+            ParquetSchemaConverter.convertToParquetMessageType("table_store_schema", ROW_TYPE);
+
+    private final PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+
+    @Test
+    public void testApplyPredicate() {
+        test(builder.isNull(0), FilterApi.eq(FilterApi.longColumn("long1"), null));
+        test(builder.isNotNull(0), FilterApi.notEq(FilterApi.longColumn("long1"), null));
+        test(builder.equal(0, 10L), FilterApi.eq(FilterApi.longColumn("long1"), 10L));
+        test(builder.notEqual(0, 10L), FilterApi.notEq(FilterApi.longColumn("long1"), 10L));
+        test(builder.lessThan(0, 10L), FilterApi.lt(FilterApi.longColumn("long1"), 10L));
+        test(builder.lessOrEqual(0, 10L), FilterApi.ltEq(FilterApi.longColumn("long1"), 10L));
+        test(builder.greaterThan(0, 10L), FilterApi.gt(FilterApi.longColumn("long1"), 10L));
+        test(builder.greaterOrEqual(0, 10L), FilterApi.gtEq(FilterApi.longColumn("long1"), 10L));
+
+        // large in lists are not expanded to equals by the predicate builder
+        List<Object> literals = new ArrayList<>();
+        for (long i = 0; i < 30; i++) {
+            literals.add(i);
+        }
+        Set<Long> values = new HashSet<>();
+        literals.forEach(l -> values.add((Long) l));
+        test(builder.in(0, literals), FilterApi.in(FilterApi.longColumn("long1"), values));
+        test(builder.notIn(0, literals), FilterApi.notIn(FilterApi.longColumn("long1"), values));
+
+        test(
+                builder.equal(2, BinaryString.fromString("a")),
+                FilterApi.eq(FilterApi.binaryColumn("string1"), Binary.fromString("a")));
+        test(
+                PredicateBuilder.and(builder.equal(0, 10L), builder.lessThan(1, 5)),
+                FilterApi.and(
+                        FilterApi.eq(FilterApi.longColumn("long1"), 10L),
+                        FilterApi.lt(FilterApi.intColumn("int1"), 5)));
+        test(
+                PredicateBuilder.or(builder.equal(0, 10L), builder.lessThan(1, 5)),
+                FilterApi.or(
+                        FilterApi.eq(FilterApi.longColumn("long1"), 10L),
+                        FilterApi.lt(FilterApi.intColumn("int1"), 5)));
+    }
+
+    @Test
+    public void testUnsupportedPredicate() {
+        // unsupported type
+        testNoop(builder.isNull(3));
+        // unsupported function
+        testNoop(builder.startsWith(2, BinaryString.fromString("a")));
+        // comparison with null
+        testNoop(builder.equal(0, null));
+        // or with an unsupported child
+        testNoop(PredicateBuilder.or(builder.equal(0, 10L), builder.isNull(3)));
+        // and with an unsupported child keeps the supported children
+        test(
+                PredicateBuilder.and(builder.equal(0, 10L), builder.isNull(3)),
+                FilterApi.eq(FilterApi.longColumn("long1"), 10L));
+    }
+
+    @Test
+    public void testSchemaEvolution() {
+        // field does not exist in the file
+        RowType newType =
+                new RowType(
+                        Arrays.asList(
+                                new DataField(0, "long1", new BigIntType()),
+                                new DataField(4, "long2", new BigIntType())));
+        testNoop(new PredicateBuilder(newType).equal(1, 10L));
+
+        // physical type of the field is changed
+        RowType changedType =
+                new RowType(Collections.singletonList(new DataField(0, "long1", new DoubleType())));
+        testNoop(new PredicateBuilder(changedType).equal(0, 10.0));
+    }
+
+    private void test(Predicate predicate, FilterPredicate expected) {
+        FilterCompat.Filter filter =
+                ParquetFilters.convert(Collections.singletonList(predicate), FILE_SCHEMA);
+        assertThat(filter).isInstanceOf(FilterCompat.FilterPredicateCompat.class);
+        assertThat(((FilterCompat.FilterPredicateCompat) filter).getFilterPredicate())
+                .isEqualTo(expected);
+    }
+
+    private void testNoop(Predicate predicate) {
+        assertThat(ParquetFilters.convert(Collections.singletonList(predicate), FILE_SCHEMA))
+                .isSameAs(FilterCompat.NOOP);
+    }
+}
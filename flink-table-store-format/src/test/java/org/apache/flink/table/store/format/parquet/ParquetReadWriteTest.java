@@ -26,6 +26,7 @@ import org.apache.flink.table.store.data.GenericMap;
 import org.apache.flink.table.store.data.GenericRow;
 import org.apache.flink.table.store.data.InternalRow;
 import org.apache.flink.table.store.data.Timestamp;
+import org.apache.flink.table.store.file.predicate.PredicateBuilder;
 import org.apache.flink.table.store.file.utils.RecordReader;
 import org.apache.flink.table.store.format.FormatWriter;
 import org.apache.flink.table.store.format.parquet.writer.RowDataParquetBuilder;
@@ -58,6 +59,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +68,7 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.flink.table.store.file.utils.RecordReaderUtils.forEachRemaining;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -280,6 +283,46 @@ public class ParquetReadWriteTest {
                 });
     }
 
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void testReadWithFilter(int rowGroupSize) throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            records.add(newRow(i));
+        }
+
+        Path testPath = createTempParquetFile(folder, records, rowGroupSize);
+
+        // test reader
+        RowType readType =
+                RowType.builder()
+                        .fields(new DataType[] {new IntType()}, new String[] {"f4"})
+                        .build();
+        PredicateBuilder builder = new PredicateBuilder(readType);
+        ParquetReaderFactory format =
+                new ParquetReaderFactory(
+                        new Configuration(),
+                        readType,
+                        500,
+                        Collections.singletonList(builder.greaterOrEqual(0, 900)));
+
+        List<Integer> result = new ArrayList<>();
+        forEachRemaining(
+                format.createReader(new LocalFileIO(), testPath), row -> result.add(row.getInt(0)));
+
+        // only row groups are filtered, the remaining rows are not filtered
+        assertThat(result).isNotEmpty();
+        int first = result.get(0);
+        assertThat(first).isLessThanOrEqualTo(900);
+        assertThat(result)
+                .containsExactlyElementsOf(
+                        IntStream.range(first, number).boxed().collect(Collectors.toList()));
+        if (rowGroupSize < 1000) {
+            assertThat(first).isGreaterThan(0);
+        }
+    }
+
     private void innerTestTypes(File folder, List<Integer> records, int rowGroupSize)
             throws IOException {
         List<InternalRow> rows = records.stream().map(this::newRow).collect(Collectors.toList());